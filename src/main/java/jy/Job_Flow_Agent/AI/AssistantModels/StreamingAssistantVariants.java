@@ -0,0 +1,163 @@
+package jy.Job_Flow_Agent.AI.AssistantModels;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Tools.ToolDispatcher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 의도별 도구 묶음으로 미리 만들어 둔 StreamingAssistant 모음
+ *
+ * 모든 요청에 다섯 개 Tool 명세를 다 싣지 않고, IntentClassifier 결과에 맞는 Tool 만 가진 Assistant 를 고른다.
+ * - AiServices 프록시는 시작 시 의도별로 한 번만 생성 (요청마다 만들지 않음)
+ * - 묶음이 없는 의도(GENERAL 등)나 비활성화 시에는 전체 도구 Assistant 사용
+ * - 한 메시지가 도구 의도 여러 개에 걸치거나, 최근 대화에 Tool 결과가 있으면(이어지는 질문이 앞 Tool 을 다시 쓸 수 있음)
+ *   전체 도구 Assistant 사용. 잡담 묶음(오늘 날짜)은 모든 묶음에 포함되므로 잡담 + 도구 의도 하나는 그 도구 묶음
+ * - 대화 메모리는 같은 저장소를 쓰므로 어떤 Assistant 로 답해도 대화가 이어짐
+ *
+ * 메트릭: ai.assistant.tool.schema.tokens (toolset 태그, Tool 명세 토큰 추정치),
+ *        ai.chat.ttft (intent, toolset=subset|full 태그, 턴 시작 → 첫 토큰)
+ */
+@Slf4j
+public class StreamingAssistantVariants {
+
+    private static final String FULL = "full";
+    private static final String SUBSET = "subset";
+
+    /**
+     * Tool 결과가 있는지 볼 최근 메시지 수 (Tool 요청 → 결과 → 답변 + 다음 질문 정도)
+     */
+    private static final int TOOL_CONTEXT_WINDOW = 6;
+
+    /**
+     * 잡담은 도구 묶음 선택에서 다른 의도와 겹쳐도 세지 않음
+     */
+    private static final Set<ChatIntent> NON_TOOL_INTENTS = EnumSet.of(ChatIntent.SMALL_TALK, ChatIntent.GENERAL);
+
+    private final StreamingAssistant full;
+    private final Map<ChatIntent, StreamingAssistant> variants = new EnumMap<>(ChatIntent.class);
+    private final boolean enabled;
+    private final ChatMemoryStore chatMemoryStore;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param factory       Tool 목록 → Assistant 생성 (시스템 메시지/메모리/모델은 모든 묶음이 같음)
+     * @param toolsByIntent 의도별 Tool 객체 (없는 의도는 전체 도구)
+     * @param allTools      전체 Tool 객체 (대체용)
+     * @param enabled       false 면 항상 전체 도구 Assistant 사용 (비교 측정용)
+     * @param chatMemoryStore 최근 대화의 Tool 결과 확인용 (Assistant 메모리와 같은 저장소)
+     */
+    public StreamingAssistantVariants(Function<Map<ToolSpecification, ToolExecutor>, StreamingAssistant> factory,
+                                      ToolDispatcher toolDispatcher,
+                                      Map<ChatIntent, List<Object>> toolsByIntent,
+                                      List<Object> allTools,
+                                      boolean enabled,
+                                      ChatMemoryStore chatMemoryStore,
+                                      Tokenizer tokenizer,
+                                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.chatMemoryStore = chatMemoryStore;
+        this.meterRegistry = meterRegistry;
+
+        Map<ToolSpecification, ToolExecutor> fullTools = toolDispatcher.dispatch(allTools.toArray());
+        this.full = factory.apply(fullTools);
+        int fullTokens = schemaTokens(fullTools, tokenizer, FULL);
+
+        toolsByIntent.forEach((intent, toolObjects) -> {
+            Map<ToolSpecification, ToolExecutor> tools = toolDispatcher.dispatch(toolObjects.toArray());
+            variants.put(intent, factory.apply(tools));
+            int tokens = schemaTokens(tools, tokenizer, intent.name());
+            log.info("🧩 의도별 Assistant 준비 - intent: {}, Tool {}개 / {}개, 명세 토큰 약 {} / {}",
+                    intent, tools.size(), fullTools.size(), tokens, fullTokens);
+        });
+    }
+
+    /**
+     * 의도에 맞는 Assistant (묶음이 없거나 비활성화면 전체 도구)
+     */
+    public StreamingAssistant forIntent(ChatIntent intent) {
+        if (!enabled || intent == null) {
+            return full;
+        }
+        return variants.getOrDefault(intent, full);
+    }
+
+    /**
+     * 메시지의 의도들(IntentClassifier.classifyAll)과 대화 상태로 고른 Assistant
+     * - 도구 의도가 둘 이상이거나, 분류 불가(GENERAL)이거나, 최근 대화에 Tool 결과가 있으면 전체 도구
+     * - 그 외에는 하나뿐인 의도의 묶음 (잡담 + 도구 의도 하나 → 그 도구 묶음)
+     */
+    public StreamingAssistant select(Object memoryId, Set<ChatIntent> intents) {
+        if (!enabled || intents == null || intents.isEmpty() || intents.contains(ChatIntent.GENERAL)) {
+            return full;
+        }
+        Set<ChatIntent> toolIntents = EnumSet.copyOf(intents);
+        toolIntents.removeAll(NON_TOOL_INTENTS);
+        if (toolIntents.size() > 1) {
+            return full;
+        }
+        if (hasRecentToolContext(memoryId)) {
+            log.debug("최근 대화에 Tool 결과가 있어 전체 도구 사용 - memoryId: {}, intents: {}", memoryId, intents);
+            return full;
+        }
+        return forIntent(toolIntents.isEmpty() ? ChatIntent.SMALL_TALK : toolIntents.iterator().next());
+    }
+
+    /**
+     * 최근 TOOL_CONTEXT_WINDOW 개 메시지에 Tool 결과가 있는지 (조회 실패 시 있다고 보고 전체 도구 사용)
+     */
+    private boolean hasRecentToolContext(Object memoryId) {
+        if (chatMemoryStore == null || memoryId == null) {
+            return false;
+        }
+        try {
+            List<ChatMessage> messages = chatMemoryStore.getMessages(memoryId);
+            return messages.subList(Math.max(0, messages.size() - TOOL_CONTEXT_WINDOW), messages.size()).stream()
+                    .anyMatch(message -> message instanceof ToolExecutionResultMessage);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ 대화 기록 조회 실패, 전체 도구 사용 - memoryId: {}, 원인: {}", memoryId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 턴 시작 → 첫 토큰 지연 기록 (도구 묶음 적용 전후 비교)
+     *
+     * @param assistant 이번 턴에 사용한 Assistant (select 결과)
+     */
+    public void recordTtft(ChatIntent intent, StreamingAssistant assistant, long nanos) {
+        Timer.builder("ai.chat.ttft")
+                .description("Time from chat turn start to first streamed token")
+                .tag("intent", intent != null ? intent.name() : ChatIntent.GENERAL.name())
+                .tag("toolset", assistant == full ? FULL : SUBSET)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private int schemaTokens(Map<ToolSpecification, ToolExecutor> tools, Tokenizer tokenizer, String toolset) {
+        int tokens = tokenizer.estimateTokenCountInToolSpecifications(tools.keySet());
+        Gauge.builder("ai.assistant.tool.schema.tokens", () -> tokens)
+                .description("Estimated prompt tokens of tool specifications sent per model call")
+                .tag("toolset", toolset)
+                .register(meterRegistry);
+        return tokens;
+    }
+}
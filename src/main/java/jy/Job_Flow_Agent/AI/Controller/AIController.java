@@ -2,23 +2,43 @@ package jy.Job_Flow_Agent.AI.Controller;
 
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistant;
-import jy.Job_Flow_Agent.AI.Event.UIEvent;
+import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistantVariants;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamEvent;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamService;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamSession;
 import jy.Job_Flow_Agent.AI.Event.UIEventService;
+import jy.Job_Flow_Agent.AI.RAG.Service.RagPrefetcher;
+import jy.Job_Flow_Agent.AI.Service.ChatAdmissionQueue;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
 import jy.Job_Flow_Agent.Member.Service.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 @Slf4j
@@ -27,13 +47,21 @@ import java.util.Map;
 @RequestMapping("/api/v1/ai")
 public class AIController {
 
-    private final StreamingAssistant streamingAssistant;
+    private final StreamingAssistantVariants streamingAssistants;
     private final UIEventService uiEventService;
+    private final ChatTurnRegistry chatTurnRegistry;
+    private final IntentClassifier intentClassifier;
+    private final RagPrefetcher ragPrefetcher;
+    private final ChatStreamService chatStreamService;
+    private final ChatAdmissionQueue chatAdmissionQueue;
+    private final ObjectMapper objectMapper;
+
+    private static final Duration QUEUE_STATUS_INTERVAL = Duration.ofSeconds(1);
 
 
 
     @PostMapping(value = "/chat", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<Object>> chat(
+    public Flux<ServerSentEvent<String>> chat(
             @RequestBody Map<String, String> request, 
             @AuthenticationPrincipal CustomUserDetails customUserDetails) {
         
@@ -41,67 +69,157 @@ public class AIController {
         String username = (customUserDetails != null) ? customUserDetails.getUsername() : "anonymous";
         log.info("Streaming Chat message from {}: {}", username, message);
 
+        // 입장 제어 (자리가 없으면 대기열 순번/예상 대기 시간을 queued 이벤트로 안내)
+        ChatAdmissionQueue.Ticket ticket = chatAdmissionQueue.acquire(username);
+        AtomicBoolean started = new AtomicBoolean(false);
+        Mono<Void> admitted = Mono.fromFuture(ticket.admitted(), true);
+
+        Flux<ServerSentEvent<String>> queuedStatus = Flux.interval(Duration.ZERO, QUEUE_STATUS_INTERVAL)
+                .map(tick -> ticket.position())
+                .takeWhile(position -> position > 0)
+                .distinctUntilChanged()
+                .map(position -> ServerSentEvent.<String>builder()
+                        .event("queued")
+                        .data("{\"position\":" + position + ",\"estimatedWaitMs\":" + ticket.estimatedWaitMillis(position) + "}")
+                        .build())
+                .takeUntilOther(admitted.onErrorResume(e -> Mono.empty()))
+                .concatWith(admitted.then(Mono.empty()));
+
+        Flux<ServerSentEvent<String>> turnEvents = Flux.defer(() -> {
+                    started.set(true);
+                    return startTurn(username, message, ticket);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+
         // 초기 버퍼링 방지용 공백
-        Flux<ServerSentEvent<Object>> initialBurst = Flux.just(
-                ServerSentEvent.builder().comment(" ".repeat(1024)).build()
+        Flux<ServerSentEvent<String>> initialBurst = Flux.just(
+                ServerSentEvent.<String>builder().comment(" ".repeat(1024)).build()
         );
 
-        // 종료 신호를 위한 Sink
-        Sinks.Empty<Void> completionSink = Sinks.empty();
-
-        // 1. UI 이벤트 스트림
-        Flux<ServerSentEvent<Object>> uiStream = uiEventService.subscribe(username)
-                .map(event -> ServerSentEvent.builder()
-                        .event("ui_render")
-                        .data(event)
-                        .build());
-
-        // 2. 텍스트 스트리밍
-        Flux<ServerSentEvent<Object>> textStream = Flux.create(sink -> {
-            try {
-                streamingAssistant.chat(username, message)
-                        .onPartialResponse(token -> {
-                            sink.next(ServerSentEvent.builder()
-                                    .event("message")
-                                    .data(token)
-                                    .build());
-                        })
-                        .onCompleteResponse(responseObj -> {
-                            sink.complete();
-                            completionSink.tryEmitEmpty(); // 답변 종료 시 신호 발생
-                        })
-                        .onError(e -> {
-                            log.error("AI Assistant Error: ", e);
-                            sink.next(ServerSentEvent.builder()
-                                    .event("error")
-                                    .data(Map.of("message", "AI 응답 생성 중 오류가 발생했습니다."))
-                                    .build());
-                            sink.complete();
-                            completionSink.tryEmitEmpty();
-                        })
-                        .start();
-            } catch (Exception e) {
-                sink.error(e);
-                completionSink.tryEmitEmpty();
-            }
-        });
-
-        return Flux.concat(initialBurst, Flux.merge(textStream, uiStream))
-                .takeUntilOther(completionSink.asMono()) // 종료 신호 수신 시 전체 스트림 종료
+        return Flux.concat(initialBurst, queuedStatus, turnEvents)
                 .onErrorResume(e -> {
-                    log.error("SSE Stream Error: ", e);
-                    return Flux.just(ServerSentEvent.builder()
-                            .event("error")
-                            .data(Map.of("message", "시스템 오류가 발생했습니다."))
-                            .build());
+                    log.warn("Chat admission failed - user: {}, reason: {}", username, e.getMessage());
+                    String reason = (e instanceof GlobalException) ? e.getMessage() : "시스템 오류가 발생했습니다.";
+                    return Flux.just(errorEvent(reason));
                 })
-                .doOnCancel(() -> uiEventService.unsubscribe(username))
-                .doOnTerminate(() -> {
-                    uiEventService.unsubscribe(username);
-                    log.info("🏁 Streaming Finished for {}", username);
+                .doOnCancel(() -> {
+                    // 입장 전(대기 중) 연결 종료만 자리 반납. 입장 후에는 턴 종료 시 반납
+                    if (!started.get()) {
+                        ticket.release();
+                    }
+                });
+    }
+
+    /**
+     * 입장한 요청의 채팅 턴 시작 (생성은 세션에서 진행되고, 응답은 세션 이벤트 구독)
+     */
+    private Flux<ServerSentEvent<String>> startTurn(String username, String message, ChatAdmissionQueue.Ticket ticket) {
+        // 턴 마감 시각 등록 (Tool 내부 검색 등에 전파)
+        Set<ChatIntent> intents = intentClassifier.classifyAll(message);
+        ChatIntent intent = intentClassifier.classify(message);
+        String streamId = UUID.randomUUID().toString();
+        ChatTurnRegistry.ChatTurn turn = chatTurnRegistry.begin(username, intent, streamId);
+
+        // 문서 관련 질문이면 첫 모델 호출과 병렬로 RAG 검색 선행 실행
+        if (intents.contains(ChatIntent.DOCUMENT)) {
+            ragPrefetcher.prefetch(username, message, turn);
+        }
+        long turnStartNanos = System.nanoTime();
+        AtomicBoolean firstToken = new AtomicBoolean(true);
+
+        // 생성은 클라이언트 연결과 분리된 세션에서 진행 (연결이 끊겨도 유예 시간 동안 계속)
+        Runnable finishTurn = () -> {
+            uiEventService.unsubscribe(username, streamId);
+            chatTurnRegistry.end(turn);
+            ragPrefetcher.discard(turn);
+            ticket.release();
+            log.info("🏁 Streaming Finished for {}", username);
+        };
+        ChatStreamSession session;
+        try {
+            session = chatStreamService.open(username, streamId, finishTurn);
+        } catch (RuntimeException e) {
+            finishTurn.run();
+            throw e;
+        }
+
+        // 1. UI 이벤트 → 세션 기록
+        uiEventService.subscribe(username, streamId)
+                .subscribe(event -> chatStreamService.emit(session, "ui_render", event));
+
+        // 2. 텍스트 스트리밍 → 세션 기록 (의도에 필요한 Tool 만 가진 Assistant 사용, Tool 실행에 턴 전파)
+        try {
+            StreamingAssistant assistant = streamingAssistants.select(username, intents);
+            ChatTurnRegistry.runWithin(turn, () -> assistant.chat(username, message)
+                    .onPartialResponse(token -> {
+                        if (firstToken.compareAndSet(true, false)) {
+                            long ttftNanos = System.nanoTime() - turnStartNanos;
+                            streamingAssistants.recordTtft(intent, assistant, ttftNanos);
+                            log.info("⏱️ TTFT {}ms - user: {}, intent: {}", ttftNanos / 1_000_000, username, intent);
+                        }
+                        session.emitToken(token);
+                    })
+                    .onCompleteResponse(responseObj -> session.complete())
+                    .onError(e -> {
+                        log.error("AI Assistant Error: ", e);
+                        chatStreamService.emit(session, "error", Map.of("message", "AI 응답 생성 중 오류가 발생했습니다."));
+                        session.complete();
+                    })
+                    .start());
+        } catch (Exception e) {
+            log.error("SSE Stream Error: ", e);
+            chatStreamService.emit(session, "error", Map.of("message", "시스템 오류가 발생했습니다."));
+            session.complete();
+        }
+
+        return toServerSentEvents(chatStreamService.attach(username, streamId, null));
+    }
+
+    /**
+     * 끊긴 채팅 스트림 재연결 (Last-Event-ID 이후 이벤트 재전송 후 라이브 이벤트 이어받기)
+     * 첫 이벤트 "stream" 의 data 로 받은 streamId 를 사용한다.
+     */
+    @GetMapping(value = "/chat/{streamId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> resume(
+            @PathVariable String streamId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+
+        String username = (customUserDetails != null) ? customUserDetails.getUsername() : "anonymous";
+        log.info("🔁 Chat stream resume - user: {}, stream: {}, lastEventId: {}", username, streamId, lastEventId);
+        if (lastEventId != null && !ChatStreamEvent.isValidId(lastEventId)) {
+            throw new GlobalException("Last-Event-ID 형식이 올바르지 않습니다", "INVALID_LAST_EVENT_ID", HttpStatus.BAD_REQUEST);
+        }
+        return toServerSentEvents(chatStreamService.attach(username, streamId, lastEventId));
+    }
+
+    private Flux<ServerSentEvent<String>> toServerSentEvents(Flux<ChatStreamEvent> events) {
+        return events
+                .map(event -> ServerSentEvent.<String>builder()
+                        .id(event.id())
+                        .event(event.event())
+                        .data(event.data())
+                        .build())
+                .onErrorResume(e -> {
+                    log.error("SSE Stream Error: ", e);
+                    return Flux.just(errorEvent("시스템 오류가 발생했습니다."));
                 });
     }
 
+    private ServerSentEvent<String> errorEvent(String message) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(Map.of("message", message));
+        } catch (JsonProcessingException e) {
+            log.error("❌ SSE 오류 이벤트 직렬화 실패", e);
+            data = "{\"message\":\"시스템 오류가 발생했습니다.\"}";
+        }
+        return ServerSentEvent.<String>builder()
+                .event("error")
+                .data(data)
+                .build();
+    }
+
 
 }
 
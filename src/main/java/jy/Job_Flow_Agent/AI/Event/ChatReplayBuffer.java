@@ -0,0 +1,141 @@
+package jy.Job_Flow_Agent.AI.Event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 턴별 SSE 이벤트 재전송 버퍼 (Redis Stream)
+ *
+ * - chat:replay:{streamId}       : 이벤트 스트림 (MAXLEN ~ 로 길이 제한)
+ * - chat:replay-owner:{streamId} : 스트림 소유 사용자
+ * - chat:replay-lease:{streamId} : 다른 노드에서 이어 받는 구독자의 임대 (폴링마다 갱신, 갱신이 끊기면 만료)
+ * 스트림/소유자 키는 TTL 이 지나면 사라지며, 재연결은 TTL 안에서만 가능하다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatReplayBuffer {
+
+    private static final String STREAM_KEY_PREFIX = "chat:replay:";
+    private static final String OWNER_KEY_PREFIX = "chat:replay-owner:";
+    private static final String LEASE_KEY_PREFIX = "chat:replay-lease:";
+    private static final String FIELD_EVENT = "e";
+    private static final String FIELD_DATA = "d";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${ai.chat.replay.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${ai.chat.replay.max-events:2000}")
+    private long maxEvents;
+
+    /**
+     * 스트림 생성 (소유자 기록 + 시작 이벤트로 키 생성 후 TTL 설정)
+     *
+     * @return 시작 이벤트 ID (세션은 이후 이벤트 ID 를 이보다 크게 직접 발급)
+     */
+    public String open(String streamId, String username) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        stringRedisTemplate.opsForValue().set(OWNER_KEY_PREFIX + streamId, username, ttl);
+        String startEventId = append(streamId, "stream", streamId);
+        stringRedisTemplate.expire(STREAM_KEY_PREFIX + streamId, ttl);
+        return startEventId;
+    }
+
+    /**
+     * @return 기록된 이벤트 ID
+     */
+    public String append(String streamId, String event, String data) {
+        MapRecord<String, String, String> record = StreamRecords.newRecord()
+                .in(STREAM_KEY_PREFIX + streamId)
+                .ofMap(Map.of(FIELD_EVENT, event, FIELD_DATA, data));
+        RecordId recordId = stringRedisTemplate.opsForStream()
+                .add(record, RedisStreamCommands.XAddOptions.maxlen(maxEvents).approximateTrimming(true));
+        return recordId.getValue();
+    }
+
+    /**
+     * 호출자가 발급한 ID 로 기록 (스트림의 마지막 ID 보다 커야 함)
+     */
+    public void append(String streamId, String id, String event, String data) {
+        MapRecord<String, String, String> record = StreamRecords.newRecord()
+                .in(STREAM_KEY_PREFIX + streamId)
+                .withId(RecordId.of(id))
+                .ofMap(Map.of(FIELD_EVENT, event, FIELD_DATA, data));
+        stringRedisTemplate.opsForStream()
+                .add(record, RedisStreamCommands.XAddOptions.maxlen(maxEvents).approximateTrimming(true));
+    }
+
+    /**
+     * 종료 후 재연결 가능 시간을 TTL 만큼 다시 보장
+     */
+    public void touch(String streamId) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        stringRedisTemplate.expire(STREAM_KEY_PREFIX + streamId, ttl);
+        stringRedisTemplate.expire(OWNER_KEY_PREFIX + streamId, ttl);
+    }
+
+    /**
+     * 재연결 가능 시간 (스트림 키 TTL)
+     */
+    public Duration ttl() {
+        return Duration.ofSeconds(ttlSeconds);
+    }
+
+    /**
+     * 원격 구독자 임대 갱신 (세션을 가진 노드는 임대가 남아 있는 동안 턴을 끝내지 않음)
+     */
+    public void renewLease(String streamId, Duration leaseTtl) {
+        stringRedisTemplate.opsForValue().set(LEASE_KEY_PREFIX + streamId, "1", leaseTtl);
+    }
+
+    /**
+     * @return 원격 구독자 임대의 남은 시간 (임대가 없으면 empty)
+     */
+    public Optional<Duration> leaseRemaining(String streamId) {
+        Long remainingMillis = stringRedisTemplate.getExpire(LEASE_KEY_PREFIX + streamId, TimeUnit.MILLISECONDS);
+        return remainingMillis == null || remainingMillis <= 0
+                ? Optional.empty()
+                : Optional.of(Duration.ofMillis(remainingMillis));
+    }
+
+    public Optional<String> owner(String streamId) {
+        return Optional.ofNullable(stringRedisTemplate.opsForValue().get(OWNER_KEY_PREFIX + streamId));
+    }
+
+    /**
+     * lastEventId 이후 이벤트 (null 이면 처음부터)
+     */
+    public List<ChatStreamEvent> readAfter(String streamId, String lastEventId) {
+        Range<String> range = lastEventId == null
+                ? Range.unbounded()
+                : Range.rightUnbounded(Range.Bound.inclusive(lastEventId));
+        List<MapRecord<String, Object, Object>> records =
+                stringRedisTemplate.opsForStream().range(STREAM_KEY_PREFIX + streamId, range);
+        if (records == null) {
+            return List.of();
+        }
+        return records.stream()
+                .map(record -> new ChatStreamEvent(
+                        record.getId().getValue(),
+                        (String) record.getValue().get(FIELD_EVENT),
+                        (String) record.getValue().get(FIELD_DATA)))
+                .filter(event -> event.isAfter(lastEventId))
+                .toList();
+    }
+}
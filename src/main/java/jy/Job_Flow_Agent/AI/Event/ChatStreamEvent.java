@@ -0,0 +1,48 @@
+package jy.Job_Flow_Agent.AI.Event;
+
+import java.util.regex.Pattern;
+
+/**
+ * 채팅 스트림에 기록되는 SSE 이벤트 1건
+ *
+ * @param id    Redis Stream 레코드 ID (단조 증가, SSE id / Last-Event-ID 로 사용)
+ * @param event SSE 이벤트 이름 (message, ui_render, error, done)
+ * @param data  SSE data (토큰은 원문 그대로, 객체는 JSON)
+ */
+public record ChatStreamEvent(String id, String event, String data) {
+
+    /**
+     * 스트림 종료 표시 (클라이언트에는 전송하지 않음)
+     */
+    public static final String DONE = "done";
+
+    private static final Pattern ID_PATTERN = Pattern.compile("^\\d{1,18}-\\d{1,18}$");
+
+    public boolean terminal() {
+        return DONE.equals(event);
+    }
+
+    /**
+     * Redis Stream ID("밀리초-시퀀스") 형식 여부 (클라이언트가 보낸 Last-Event-ID 검증용)
+     */
+    public static boolean isValidId(String id) {
+        return id != null && ID_PATTERN.matcher(id).matches();
+    }
+
+    /**
+     * Redis Stream ID("밀리초-시퀀스") 순서 비교 (isValidId 를 통과한 ID 만 사용)
+     */
+    public static int compareIds(String a, String b) {
+        int dashA = a.indexOf('-');
+        int dashB = b.indexOf('-');
+        int byMillis = Long.compare(Long.parseLong(a.substring(0, dashA)), Long.parseLong(b.substring(0, dashB)));
+        if (byMillis != 0) {
+            return byMillis;
+        }
+        return Long.compare(Long.parseLong(a.substring(dashA + 1)), Long.parseLong(b.substring(dashB + 1)));
+    }
+
+    public boolean isAfter(String otherId) {
+        return otherId == null || compareIds(id, otherId) > 0;
+    }
+}
@@ -0,0 +1,169 @@
+package jy.Job_Flow_Agent.AI.Event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 재연결 가능한 채팅 스트림 관리
+ *
+ * - open(): 턴 시작 시 세션 생성 (이벤트는 전용 가상 스레드 실행기에서 ChatReplayBuffer 에 순서대로 기록)
+ * - attach(): 최초 연결/재연결 공통. Last-Event-ID 이후 이벤트를 재전송한 뒤 라이브 이벤트에 이어 붙인다.
+ *   세션이 다른 노드에 있거나 이미 끝났으면 Redis Stream 을 주기적으로 읽어 이어 보낸다 (종료 이벤트 또는 재전송 TTL 까지).
+ *   이때 폴링마다 Redis 임대(유효 시간 = 유예 시간)를 갱신해 세션을 가진 노드에 구독자가 있음을 알린다.
+ * - 구독자가 모두 끊기면 ai.chat.resume-grace-ms 동안 생성을 계속하고, 그 안에 재연결(로컬 구독 또는 원격 임대)이 없으면 턴을 종료한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatStreamService {
+
+    private static final Duration REMOTE_POLL_INTERVAL = Duration.ofMillis(250);
+
+    private final ChatReplayBuffer replayBuffer;
+    private final ObjectMapper objectMapper;
+    private final TokenCoalescer tokenCoalescer;
+    private final Map<String, ChatStreamSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService replayWriter = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${ai.chat.resume-grace-ms:60000}")
+    private long resumeGraceMs;
+
+    public ChatStreamSession open(String username, String streamId, Runnable onFinish) {
+        String startEventId = replayBuffer.open(streamId, username);
+        ChatStreamSession session = new ChatStreamSession(streamId, username, startEventId, replayBuffer, replayWriter,
+                tokenCoalescer, () -> {
+                    sessions.remove(streamId);
+                    onFinish.run();
+                });
+        sessions.put(streamId, session);
+        return session;
+    }
+
+    /**
+     * 문자열은 그대로, 객체는 JSON 으로 기록 (기존 SSE data 형식 유지)
+     */
+    public void emit(ChatStreamSession session, String event, Object data) {
+        if (data instanceof String text) {
+            session.emit(event, text);
+            return;
+        }
+        try {
+            session.emit(event, objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            log.error("❌ SSE 이벤트 직렬화 실패 - 스트림: {}, 이벤트: {}", session.streamId(), event, e);
+        }
+    }
+
+    /**
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID (null 이면 처음부터)
+     */
+    public Flux<ChatStreamEvent> attach(String username, String streamId, String lastEventId) {
+        String owner = replayBuffer.owner(streamId)
+                .orElseThrow(() -> new GlobalException("채팅 스트림을 찾을 수 없습니다", "CHAT_STREAM_NOT_FOUND", HttpStatus.NOT_FOUND));
+        if (!owner.equals(username)) {
+            throw new GlobalException("채팅 스트림에 접근할 수 없습니다", "CHAT_STREAM_FORBIDDEN", HttpStatus.FORBIDDEN);
+        }
+
+        ChatStreamSession session = sessions.get(streamId);
+        Flux<ChatStreamEvent> events = session != null
+                ? attachLocal(session, lastEventId)
+                : attachRemote(streamId, lastEventId);
+        return events
+                .takeUntil(ChatStreamEvent::terminal)
+                .filter(event -> !event.terminal());
+    }
+
+    private Flux<ChatStreamEvent> attachLocal(ChatStreamSession session, String lastEventId) {
+        return Flux.defer(() -> {
+                    List<ChatStreamEvent> missed = replayBuffer.readAfter(session.streamId(), lastEventId);
+                    String cursor = missed.isEmpty() ? lastEventId : missed.get(missed.size() - 1).id();
+                    // 재전송 직후 라이브로 넘어갈 때 중복 제거 (라이브는 최근 이벤트를 다시 보내줌)
+                    return Flux.fromIterable(missed)
+                            .concatWith(session.live().filter(event -> event.id() == null || event.isAfter(cursor)));
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnSubscribe(subscription -> session.attach())
+                .doFinally(signal -> {
+                    if (session.detach() == 0 && !session.finished()) {
+                        scheduleGraceCheck(session);
+                    }
+                });
+    }
+
+    /**
+     * 세션이 이 노드에 없으면 Redis Stream 폴링으로 이어 보냄 (종료 이벤트 또는 재전송 TTL 까지)
+     * 폴링마다 임대를 갱신해 세션을 가진 노드가 유예 시간 초과로 턴을 끝내지 않게 한다.
+     */
+    private Flux<ChatStreamEvent> attachRemote(String streamId, String lastEventId) {
+        AtomicReference<String> cursor = new AtomicReference<>(lastEventId);
+        Duration lease = Duration.ofMillis(resumeGraceMs);
+        return Flux.interval(Duration.ZERO, REMOTE_POLL_INTERVAL)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(() -> {
+                            replayBuffer.renewLease(streamId, lease);
+                            return replayBuffer.readAfter(streamId, cursor.get());
+                        })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapIterable(events -> events))
+                .doOnNext(event -> cursor.set(event.id()))
+                .takeUntil(ChatStreamEvent::terminal)
+                .take(replayBuffer.ttl());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replayWriter.shutdown();
+    }
+
+    private void scheduleGraceCheck(ChatStreamSession session) {
+        log.info("🔌 채팅 스트림 연결 끊김 - 스트림: {}, {}ms 동안 생성 유지", session.streamId(), resumeGraceMs);
+        scheduleGraceCheck(session, resumeGraceMs);
+    }
+
+    /**
+     * 유예 시간 확인 (임대 조회가 Redis I/O 라 boundedElastic 에서 실행)
+     * 다른 노드의 구독자 임대가 남아 있으면 임대가 끝날 때 다시 확인한다 (임대 유효 시간 = 유예 시간).
+     */
+    private void scheduleGraceCheck(ChatStreamSession session, long delayMs) {
+        Schedulers.boundedElastic().schedule(() -> {
+            if (session.subscribers() > 0 || session.finished()) {
+                return;
+            }
+            Optional<Duration> remoteLease;
+            try {
+                remoteLease = replayBuffer.leaseRemaining(session.streamId());
+            } catch (Exception e) {
+                log.warn("⚠️ 원격 구독자 임대 조회 실패 - 스트림: {}", session.streamId(), e);
+                remoteLease = Optional.empty();
+            }
+            if (remoteLease.isPresent()) {
+                log.debug("다른 노드에서 구독 중 - 스트림: {}, {}ms 후 다시 확인", session.streamId(), remoteLease.get().toMillis());
+                scheduleGraceCheck(session, remoteLease.get().toMillis());
+                return;
+            }
+            log.info("⌛ 재연결 유예 시간 초과 - 스트림: {}, 턴 종료", session.streamId());
+            emit(session, "error", Map.of("message", "연결이 끊겨 응답 생성이 중단되었습니다."));
+            session.complete();
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,212 @@
+package jy.Job_Flow_Agent.AI.Event;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서버 측에서 진행되는 채팅 턴 1건의 이벤트 스트림
+ *
+ * 모델 응답/UI 이벤트에 세션이 직접 ID("밀리초-시퀀스", 시작 이벤트 ID 이후 단조 증가)를 붙여 라이브 구독자에게 바로 전달하고,
+ * 재전송 버퍼(Redis Stream) 기록은 같은 ID 로 전용 실행기에서 순서대로 한다 (모델 콜백/스케줄러 스레드가 Redis 를 기다리지 않음).
+ * 클라이언트 연결과 수명이 분리되어 있어 연결이 끊겨도 유예 시간 동안 생성이 계속된다.
+ * 텍스트 토큰은 TokenCoalescer 설정에 따라 묶어서 "message" 이벤트 1건으로 기록한다.
+ */
+@Slf4j
+public class ChatStreamSession {
+
+    /**
+     * 재연결 구독자가 Redis 재전송을 읽는 동안 발생한 이벤트를 놓치지 않도록 라이브 구독 시 다시 보내주는 개수
+     */
+    private static final int LIVE_REPLAY_SIZE = 256;
+
+    private final String streamId;
+    private final String username;
+    private final ChatReplayBuffer replayBuffer;
+    private final Runnable onFinish;
+    private final Executor replayWriter;
+    private final TokenCoalescer.Batch tokenBatch;
+    private final long coalesceIntervalMs;
+    private boolean flushScheduled;
+    private long lastIdMillis;
+    private long lastIdSequence;
+    /**
+     * 재전송 버퍼 기록 체인 (앞선 기록이 끝난 뒤 다음 기록 시작 → 스트림 ID 순서 유지)
+     */
+    private CompletableFuture<Void> pendingWrites = CompletableFuture.completedFuture(null);
+    /**
+     * Tool UI 이벤트는 가상 스레드에서 들어오므로 synchronized 대신 사용 (캐리어 스레드 고정 방지)
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Sinks.Many<ChatStreamEvent> live = Sinks.many().replay().limit(LIVE_REPLAY_SIZE);
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    /**
+     * @param startEventId 재전송 버퍼의 시작 이벤트 ID (이후 이벤트 ID 는 이보다 크게 발급)
+     * @param replayWriter 재전송 버퍼 기록용 실행기
+     */
+    public ChatStreamSession(String streamId, String username, String startEventId, ChatReplayBuffer replayBuffer,
+                             Executor replayWriter, TokenCoalescer tokenCoalescer, Runnable onFinish) {
+        this.streamId = streamId;
+        this.username = username;
+        this.replayBuffer = replayBuffer;
+        this.replayWriter = replayWriter;
+        this.onFinish = onFinish;
+        this.tokenBatch = tokenCoalescer.newBatch();
+        this.coalesceIntervalMs = tokenCoalescer.intervalMs();
+        int dash = startEventId.indexOf('-');
+        this.lastIdMillis = Long.parseLong(startEventId.substring(0, dash));
+        this.lastIdSequence = Long.parseLong(startEventId.substring(dash + 1));
+    }
+
+    public String streamId() {
+        return streamId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public boolean finished() {
+        return finished.get();
+    }
+
+    /**
+     * 버퍼 기록과 라이브 전달 순서를 같게 유지하기 위해 직렬화 (토큰 콜백 / Tool UI 이벤트 스레드)
+     */
+    public void emit(String event, String data) {
+        lock.lock();
+        try {
+            if (finished.get()) {
+                return;
+            }
+            // 대기 중인 토큰을 먼저 내보내 이벤트 순서 유지
+            flushTokens();
+            write(event, data);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 부분 응답 토큰 (첫 토큰/크기 초과 시 즉시, 그 외에는 묶기 주기 후 전송)
+     */
+    public void emitToken(String token) {
+        lock.lock();
+        try {
+            if (finished.get()) {
+                return;
+            }
+            if (tokenBatch.add(token)) {
+                flushTokens();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                Schedulers.parallel().schedule(this::scheduledFlush, coalesceIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduledFlush() {
+        lock.lock();
+        try {
+            flushScheduled = false;
+            if (!finished.get()) {
+                flushTokens();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushTokens() {
+        if (!tokenBatch.isEmpty()) {
+            write("message", tokenBatch.drain());
+        }
+    }
+
+    private void write(String event, String data) {
+        String id = nextId();
+        pendingWrites = pendingWrites.thenRunAsync(() -> {
+            try {
+                replayBuffer.append(streamId, id, event, data);
+            } catch (Exception e) {
+                // Redis 장애 시 재연결만 불가능해지고 현재 연결은 계속 받음
+                log.warn("⚠️ 재전송 버퍼 기록 실패 - 스트림: {}", streamId, e);
+            }
+        }, replayWriter);
+        live.tryEmitNext(new ChatStreamEvent(id, event, data));
+    }
+
+    /**
+     * Redis Stream ID 형식의 단조 증가 ID (같은 밀리초 또는 시계가 뒤로 가면 시퀀스 증가)
+     */
+    private String nextId() {
+        long now = System.currentTimeMillis();
+        if (now > lastIdMillis) {
+            lastIdMillis = now;
+            lastIdSequence = 0;
+        } else {
+            lastIdSequence++;
+        }
+        return lastIdMillis + "-" + lastIdSequence;
+    }
+
+    /**
+     * 턴 종료 (정상 완료, 오류, 유예 시간 초과 공통)
+     */
+    public void complete() {
+        lock.lock();
+        try {
+            if (finished.get()) {
+                return;
+            }
+            emit(ChatStreamEvent.DONE, "");
+            finished.set(true);
+            live.tryEmitComplete();
+            // 남은 기록이 끝난 뒤 TTL 갱신
+            pendingWrites = pendingWrites.thenRunAsync(() -> {
+                try {
+                    replayBuffer.touch(streamId);
+                } catch (Exception e) {
+                    log.warn("⚠️ 재전송 버퍼 TTL 갱신 실패 - 스트림: {}", streamId, e);
+                }
+            }, replayWriter);
+        } finally {
+            lock.unlock();
+        }
+        onFinish.run();
+    }
+
+    /**
+     * 라이브 이벤트 (최근 LIVE_REPLAY_SIZE 건을 먼저 다시 보낸 뒤 이어서 전달)
+     */
+    public Flux<ChatStreamEvent> live() {
+        return live.asFlux();
+    }
+
+    public int attach() {
+        return subscribers.incrementAndGet();
+    }
+
+    /**
+     * @return 남은 구독자 수
+     */
+    public int detach() {
+        return subscribers.decrementAndGet();
+    }
+
+    public int subscribers() {
+        return subscribers.get();
+    }
+}
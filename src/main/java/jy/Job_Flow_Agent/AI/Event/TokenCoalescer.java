@@ -0,0 +1,94 @@
+package jy.Job_Flow_Agent.AI.Event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 부분 응답 토큰을 SSE 프레임 단위로 묶는 설정 + 메트릭
+ *
+ * - 첫 토큰은 즉시 전송 (TTFT 유지)
+ * - 이후 토큰은 ai.chat.coalesce.interval-ms 마다, 또는 ai.chat.coalesce.max-bytes 이상 쌓이면 전송
+ * - interval-ms 가 0 이면 토큰마다 전송 (기존 동작)
+ *
+ * 메트릭: ai.chat.sse.frames (프레임 수, rate 로 초당 프레임), ai.chat.sse.frame.bytes (프레임당 바이트),
+ *        ai.chat.sse.tokens (묶이기 전 토큰 수)
+ */
+@Component
+public class TokenCoalescer {
+
+    @Value("${ai.chat.coalesce.interval-ms:40}")
+    private long intervalMs;
+
+    @Value("${ai.chat.coalesce.max-bytes:512}")
+    private int maxBytes;
+
+    private final Counter frames;
+    private final Counter tokens;
+    private final DistributionSummary frameBytes;
+
+    public TokenCoalescer(MeterRegistry meterRegistry) {
+        this.frames = Counter.builder("ai.chat.sse.frames")
+                .description("Coalesced SSE text frames sent")
+                .register(meterRegistry);
+        this.tokens = Counter.builder("ai.chat.sse.tokens")
+                .description("Partial response tokens received from the model")
+                .register(meterRegistry);
+        this.frameBytes = DistributionSummary.builder("ai.chat.sse.frame.bytes")
+                .description("UTF-8 bytes per coalesced SSE text frame")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public long intervalMs() {
+        return intervalMs;
+    }
+
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * 스트림 1개의 대기 토큰 (동기화는 호출 측 ChatStreamSession 이 담당)
+     */
+    public class Batch {
+
+        private final StringBuilder pending = new StringBuilder();
+        private int pendingBytes;
+        private boolean first = true;
+
+        /**
+         * @return 바로 전송해야 하면 true (첫 토큰, 크기 초과, 묶기 비활성화)
+         */
+        public boolean add(String token) {
+            tokens.increment();
+            pending.append(token);
+            pendingBytes += token.getBytes(StandardCharsets.UTF_8).length;
+            if (first) {
+                first = false;
+                return true;
+            }
+            return intervalMs <= 0 || pendingBytes >= maxBytes;
+        }
+
+        public boolean isEmpty() {
+            return pending.isEmpty();
+        }
+
+        /**
+         * 대기 토큰을 프레임 1개로 꺼냄
+         */
+        public String drain() {
+            String frame = pending.toString();
+            frames.increment();
+            frameBytes.record(pendingBytes);
+            pending.setLength(0);
+            pendingBytes = 0;
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package jy.Job_Flow_Agent.AI.Event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 노드 간 UI 이벤트 전달 버스 (Redis Pub/Sub)
+ *
+ * - 스트림 레지스트리: ui:streams:{username} 해시 (streamId → nodeId)
+ * - 노드별 채널: ui:node:{nodeId} (각 노드는 자기 채널만 구독)
+ * - 메시지: [username, streamId, type, data] JSON 배열 (필드명/클래스 정보 없이 전송)
+ *
+ * 구독 스트림이 같은 노드에 있으면 UIEventService 가 Redis 를 거치지 않고 바로 전달하고,
+ * 다른 노드에 있을 때만 이 버스를 사용한다.
+ */
+@Slf4j
+@Component
+public class UIEventBus {
+
+    private static final String STREAMS_KEY_PREFIX = "ui:streams:";
+    private static final String NODE_CHANNEL_PREFIX = "ui:node:";
+    private static final Duration STREAM_REGISTRY_TTL = Duration.ofHours(6);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private MessageListener nodeListener;
+
+    /**
+     * 이 노드로 들어온 이벤트를 로컬 스트림에 전달하는 콜백 (streamId 가 null 이면 사용자의 모든 로컬 스트림)
+     */
+    @FunctionalInterface
+    public interface LocalDelivery {
+        void deliver(String username, String streamId, UIEvent event);
+    }
+
+    public UIEventBus(StringRedisTemplate stringRedisTemplate,
+                      RedisMessageListenerContainer listenerContainer,
+                      ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 이 노드 채널 구독 시작
+     */
+    public void listen(LocalDelivery delivery) {
+        nodeListener = (message, pattern) -> {
+            try {
+                JsonNode fields = objectMapper.readTree(message.getBody());
+                String username = fields.get(0).asText();
+                String streamId = fields.get(1).isNull() ? null : fields.get(1).asText();
+                UIEvent event = new UIEvent(fields.get(2).asText(), objectMapper.treeToValue(fields.get(3), Object.class));
+                delivery.deliver(username, streamId, event);
+            } catch (IOException e) {
+                log.error("❌ UI Event 메시지 역직렬화 실패 - 채널: {}", new String(message.getChannel(), StandardCharsets.UTF_8), e);
+            }
+        };
+        listenerContainer.addMessageListener(nodeListener, new ChannelTopic(NODE_CHANNEL_PREFIX + nodeId));
+        log.info("📡 UI Event Bus 구독 시작 - 노드: {}", nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (nodeListener != null) {
+            listenerContainer.removeMessageListener(nodeListener);
+        }
+    }
+
+    public void registerStream(String username, String streamId) {
+        String key = STREAMS_KEY_PREFIX + username;
+        stringRedisTemplate.opsForHash().put(key, streamId, nodeId);
+        stringRedisTemplate.expire(key, STREAM_REGISTRY_TTL);
+    }
+
+    public void unregisterStream(String username, String streamId) {
+        stringRedisTemplate.opsForHash().delete(STREAMS_KEY_PREFIX + username, streamId);
+    }
+
+    /**
+     * 다른 노드에 있는 사용자 스트림으로 이벤트 전달
+     *
+     * @param streamId 대상 스트림 (null 이면 해당 사용자의 모든 원격 스트림)
+     * @return 이벤트를 보낸 원격 노드 수
+     */
+    public int publishRemote(String username, String streamId, UIEvent event) {
+        Map<Object, Object> streams = stringRedisTemplate.opsForHash().entries(STREAMS_KEY_PREFIX + username);
+
+        // 노드별로 묶어서 노드당 한 번만 발행 (streamId 가 null 인 경우)
+        Map<String, Set<String>> streamsByNode = new HashMap<>();
+        streams.forEach((stream, node) -> {
+            if (!nodeId.equals(node) && (streamId == null || streamId.equals(stream))) {
+                streamsByNode.computeIfAbsent((String) node, key -> new HashSet<>()).add((String) stream);
+            }
+        });
+
+        int delivered = 0;
+        for (Map.Entry<String, Set<String>> entry : streamsByNode.entrySet()) {
+            String targetNode = entry.getKey();
+            Long receivers = stringRedisTemplate.convertAndSend(NODE_CHANNEL_PREFIX + targetNode,
+                    encode(username, streamId, event));
+            if (receivers == null || receivers == 0) {
+                // 노드가 내려가 구독자가 없으면 레지스트리에서 정리
+                log.warn("⚠️ UI Event 수신 노드 없음 - 노드: {}, 스트림 정리: {}", targetNode, entry.getValue());
+                stringRedisTemplate.opsForHash().delete(STREAMS_KEY_PREFIX + username, entry.getValue().toArray());
+            } else {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    private String encode(String username, String streamId, UIEvent event) {
+        try {
+            return objectMapper.writeValueAsString(new Object[]{username, streamId, event.getType(), event.getData()});
+        } catch (IOException e) {
+            throw new IllegalStateException("UI Event 직렬화 실패", e);
+        }
+    }
+}
@@ -1,43 +1,147 @@
 package jy.Job_Flow_Agent.AI.Event;
 
+import jakarta.annotation.PostConstruct;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import jy.Job_Flow_Agent.AI.Tools.UserInterfaceTools.UIEventWrapper;
 
+/**
+ * 사용자별 UI 이벤트 스트림 관리
+ *
+ * 한 사용자가 여러 채팅 스트림(탭, 재시도 요청)을 동시에 가질 수 있도록 스트림 ID 별로 Sink 를 둔다.
+ * 각 Sink 는 크기가 제한된 버퍼를 사용하며, 가득 차면 이벤트를 버리고 경고 로그를 남긴다. 발행은 Sink 단위로 직렬화한다.
+ * Tool 이벤트는 그 이벤트를 발행한 채팅 턴(ChatTurnRegistry, 스레드에 bind 된 턴)이 시작된 스트림으로만 전달한다.
+ * 대상 스트림이 이 노드에 있으면 바로 전달하고, 없으면 UIEventBus(Redis Pub/Sub)로 해당 노드에 전달한다.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class UIEventService {
 
-    private final Map<String, Sinks.Many<UIEvent>> userSinks = new ConcurrentHashMap<>();
+    private final ChatTurnRegistry chatTurnRegistry;
+    private final UIEventBus uiEventBus;
 
-    public Flux<UIEvent> subscribe(String username) {
-        Sinks.Many<UIEvent> sink = Sinks.many().multicast().onBackpressureBuffer();
-        userSinks.put(username, sink);
-        return sink.asFlux().doFinally(signalType -> userSinks.remove(username));
+    /**
+     * username → (streamId → Sink)
+     */
+    private final Map<String, Map<String, Sinks.Many<UIEvent>>> userSinks = new ConcurrentHashMap<>();
+
+    @Value("${ui.event.buffer-size:32}")
+    private int bufferSize;
+
+    @PostConstruct
+    public void listenRemoteEvents() {
+        uiEventBus.listen(this::deliverLocal);
+    }
+
+    public Flux<UIEvent> subscribe(String username, String streamId) {
+        Sinks.Many<UIEvent> sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<UIEvent>get(bufferSize).get());
+        userSinks.computeIfAbsent(username, key -> new ConcurrentHashMap<>()).put(streamId, sink);
+        try {
+            uiEventBus.registerStream(username, streamId);
+        } catch (Exception e) {
+            // Redis 장애 시에도 같은 노드 내 이벤트 전달은 유지
+            log.warn("⚠️ UI 스트림 레지스트리 등록 실패 - 사용자: {}, 스트림: {}", username, streamId, e);
+        }
+        return sink.asFlux().doFinally(signalType -> unsubscribe(username, streamId));
     }
 
-    public void unsubscribe(String username) {
-        log.info("🔌 UI Event 구독 해제 - 사용자: {}", username);
-        userSinks.remove(username);
+    public void unsubscribe(String username, String streamId) {
+        userSinks.computeIfPresent(username, (key, streams) -> {
+            if (streams.remove(streamId) != null) {
+                log.info("🔌 UI Event 구독 해제 - 사용자: {}, 스트림: {}", username, streamId);
+                try {
+                    uiEventBus.unregisterStream(username, streamId);
+                } catch (Exception e) {
+                    log.warn("⚠️ UI 스트림 레지스트리 해제 실패 - 사용자: {}, 스트림: {}", username, streamId, e);
+                }
+            }
+            return streams.isEmpty() ? null : streams;
+        });
     }
 
     @EventListener
     public void handleUIEvent(UIEventWrapper eventWrapper) {
         String username = eventWrapper.username();
-        Sinks.Many<UIEvent> sink = userSinks.get(username);
+        Map<String, Sinks.Many<UIEvent>> streams = userSinks.getOrDefault(username, Map.of());
+
+        UIEvent event = new UIEvent(eventWrapper.type(), eventWrapper.data());
+        String originStreamId = chatTurnRegistry.current(username)
+                .map(ChatTurnRegistry.ChatTurn::streamId)
+                .orElse(null);
+        Sinks.Many<UIEvent> originSink = originStreamId != null ? streams.get(originStreamId) : null;
+
+        // 턴을 시작한 스트림이 이 노드에 있으면 Redis 를 거치지 않고 바로 전달
+        if (originSink != null) {
+            log.info("📢 UI Event 전달 - 사용자: {}, 스트림: {}, 타입: {}", username, originStreamId, eventWrapper.type());
+            emit(username, originStreamId, originSink, event);
+            return;
+        }
+
+        // 턴을 시작한 스트림을 알 수 없으면 해당 사용자의 모든 스트림에 전달
+        int localStreams = 0;
+        if (originStreamId == null) {
+            streams.forEach((streamId, sink) -> emit(username, streamId, sink, event));
+            localStreams = streams.size();
+        }
+        int remoteNodes = publishRemote(username, originStreamId, event);
+
+        if (localStreams + remoteNodes == 0) {
+            log.warn("⚠️ 구독 중인 Sink가 없습니다. - 사용자: {}", username);
+        } else {
+            log.info("📢 UI Event 전달 - 사용자: {}, 로컬 스트림: {}, 원격 노드: {}, 타입: {}",
+                    username, localStreams, remoteNodes, eventWrapper.type());
+        }
+    }
+
+    /**
+     * 다른 노드에서 UIEventBus 로 넘어온 이벤트를 이 노드의 스트림에 전달
+     */
+    public void deliverLocal(String username, String streamId, UIEvent event) {
+        Map<String, Sinks.Many<UIEvent>> streams = userSinks.getOrDefault(username, Map.of());
+        if (streamId == null) {
+            streams.forEach((id, sink) -> emit(username, id, sink, event));
+            return;
+        }
+        Sinks.Many<UIEvent> sink = streams.get(streamId);
         if (sink != null) {
-            log.info("📢 UI Event 전달 - 사용자: {}, 타입: {}", username, eventWrapper.type());
-            sink.tryEmitNext(new UIEvent(eventWrapper.type(), eventWrapper.data()));
+            emit(username, streamId, sink, event);
         } else {
-            log.warn("⚠️ 구독 중인 Sink가 없습니다. - 사용자: {}", username);
+            log.warn("⚠️ 원격 UI Event 대상 스트림 없음 - 사용자: {}, 스트림: {}", username, streamId);
         }
+    }
+
+    private int publishRemote(String username, String streamId, UIEvent event) {
+        try {
+            return uiEventBus.publishRemote(username, streamId, event);
+        } catch (Exception e) {
+            log.warn("⚠️ 원격 UI Event 발행 실패 - 사용자: {}", username, e);
+            return 0;
+        }
+    }
 
+    /**
+     * 같은 스트림에 Tool 실행 스레드, 분석 스트리밍 스레드, Redis 리스너가 동시에 발행할 수 있으므로 Sink 단위로 직렬화
+     * (unicast Sink 의 tryEmitNext 는 동시 호출 시 FAIL_NON_SERIALIZED 로 이벤트를 버림)
+     */
+    private void emit(String username, String streamId, Sinks.Many<UIEvent> sink, UIEvent event) {
+        Sinks.EmitResult result;
+        synchronized (sink) {
+            result = sink.tryEmitNext(event);
+        }
+        if (result.isFailure()) {
+            log.warn("⚠️ UI Event 전달 실패 - 사용자: {}, 스트림: {}, 결과: {}", username, streamId, result);
+        }
     }
 }
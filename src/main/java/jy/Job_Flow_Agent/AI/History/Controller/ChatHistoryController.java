@@ -0,0 +1,44 @@
+package jy.Job_Flow_Agent.AI.History.Controller;
+
+import jy.Job_Flow_Agent.AI.History.DTO.ChatHistoryDTO;
+import jy.Job_Flow_Agent.AI.History.Service.ChatHistoryService;
+import jy.Job_Flow_Agent.Auth.Util.AuthUtils;
+import jy.Job_Flow_Agent.Member.Service.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 대화 기록 REST API 컨트롤러
+ * <p>
+ * 제공 API:
+ * 1. GET /api/v1/ai/history?cursor=&size= - 보관된 대화 최신순 조회 (키셋 페이지네이션)
+ * 2. POST /api/v1/ai/history/restore - 만료된 대화 메모리를 최근 기록으로 복원
+ */
+@RestController
+@RequestMapping("/api/v1/ai/history")
+@RequiredArgsConstructor
+@Slf4j
+public class ChatHistoryController {
+
+    private final ChatHistoryService chatHistoryService;
+
+    @GetMapping
+    public ResponseEntity<ChatHistoryDTO.PageResponse> history(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+        AuthUtils.loginCheck(customUserDetails);
+        return ResponseEntity.ok(chatHistoryService.history(customUserDetails.getUsername(), cursor, size));
+    }
+
+    @PostMapping("/restore")
+    public ResponseEntity<ChatHistoryDTO.RestoreResponse> restore(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+        AuthUtils.loginCheck(customUserDetails);
+        log.info("Chat memory restore request from {}", customUserDetails.getUsername());
+        return ResponseEntity.ok(chatHistoryService.restore(customUserDetails.getUsername()));
+    }
+}
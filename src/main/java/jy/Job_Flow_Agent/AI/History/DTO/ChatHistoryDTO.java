@@ -0,0 +1,63 @@
+package jy.Job_Flow_Agent.AI.History.DTO;
+
+import jy.Job_Flow_Agent.AI.History.Entity.ChatArchiveMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 대화 기록 관련 DTO 모음
+ */
+public class ChatHistoryDTO {
+
+    /**
+     * 보관된 메시지 1건
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MessageResponse {
+        private Long id;
+        private String role;
+        private String content;
+        private LocalDateTime createdAt;
+
+        public static MessageResponse from(ChatArchiveMessage message) {
+            return MessageResponse.builder()
+                    .id(message.getId())
+                    .role(message.getRole().name())
+                    .content(message.getContent())
+                    .createdAt(message.getCreatedAt())
+                    .build();
+        }
+    }
+
+    /**
+     * 대화 기록 페이지 (최신순). 다음 페이지는 nextCursor 를 cursor 로 전달, 마지막 페이지면 null
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PageResponse {
+        private List<MessageResponse> messages;
+        private Long nextCursor;
+    }
+
+    /**
+     * 대화 메모리 복원 결과
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RestoreResponse {
+        private Integer restoredCount;
+        private String message;
+    }
+}
@@ -0,0 +1,53 @@
+package jy.Job_Flow_Agent.AI.History.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대화 보관 엔티티 (Redis 대화 메모리는 1시간 후 만료되므로 장기 보관용)
+ *
+ * - 사용자 질문과 AI 텍스트 답변만 보관 (Tool 호출/결과, 시스템 메시지 제외)
+ * - 저장은 ChatArchiveWriter 가 JDBC 배치 INSERT 로 수행 (IDENTITY 키는 Hibernate 배치 INSERT 가 되지 않음)
+ * - 조회는 (username, id) 인덱스를 이용한 키셋 페이지네이션
+ */
+@Entity
+@Table(name = "chat_archive_messages", indexes = {
+    @Index(name = "idx_chat_archive_username_id", columnList = "username, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatArchiveMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 대화 소유자 (대화 메모리 ID)
+     */
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "role", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private Role role;
+
+    @Column(name = "content", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String content;
+
+    /**
+     * 대화 메모리에 추가된 시각 (DB 기록 시각이 아님)
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Role {
+        USER,   // 사용자 질문
+        AI      // AI 답변
+    }
+}
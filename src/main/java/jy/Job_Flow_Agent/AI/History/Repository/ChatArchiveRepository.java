@@ -0,0 +1,25 @@
+package jy.Job_Flow_Agent.AI.History.Repository;
+
+import jy.Job_Flow_Agent.AI.History.Entity.ChatArchiveMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 대화 보관 Repository (최신순 키셋 페이지네이션 - OFFSET 없이 id 기준으로 이어서 조회)
+ */
+@Repository
+public interface ChatArchiveRepository extends JpaRepository<ChatArchiveMessage, Long> {
+
+    /**
+     * 사용자 최근 메시지 (첫 페이지)
+     */
+    List<ChatArchiveMessage> findByUsernameOrderByIdDesc(String username, Pageable pageable);
+
+    /**
+     * 커서(id) 이전 메시지 (다음 페이지)
+     */
+    List<ChatArchiveMessage> findByUsernameAndIdLessThanOrderByIdDesc(String username, Long cursor, Pageable pageable);
+}
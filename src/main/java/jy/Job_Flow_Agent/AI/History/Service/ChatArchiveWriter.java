@@ -0,0 +1,180 @@
+package jy.Job_Flow_Agent.AI.History.Service;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jy.Job_Flow_Agent.AI.History.Entity.ChatArchiveMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대화 보관 write-behind (MySQL chat_archive_messages)
+ *
+ * - submit() 은 큐에 넣고 바로 반환 (스트리밍 응답 경로에서 DB 를 기다리지 않음)
+ * - 전용 가상 스레드가 최대 batchSize 건씩 모아 JDBC 배치 INSERT (첫 메시지 후 lingerMs 동안 더 모음)
+ * - 큐가 가득 차거나 INSERT 가 실패하면 해당 메시지는 버림 (대화 진행에는 영향 없음)
+ *
+ * 메트릭: ai.chat.archive.messages (outcome=archived|dropped|failed), ai.chat.archive.queue.depth
+ */
+@Slf4j
+@Component
+public class ChatArchiveWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_archive_messages (username, role, content, created_at) VALUES (?, ?, ?, ?)";
+    private static final String ANONYMOUS = "anonymous";
+    private static final long IDLE_POLL_MS = 1_000;
+
+    @Value("${ai.chat.archive.max-queue:10000}")
+    private int maxQueue;
+
+    @Value("${ai.chat.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ai.chat.archive.linger-ms:200}")
+    private long lingerMs;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<ChatArchiveMessage> queue = new LinkedBlockingQueue<>();
+    private final Counter archived;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ChatArchiveWriter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("ai.chat.archive.queue.depth", queue, BlockingQueue::size)
+                .description("Chat messages waiting to be archived")
+                .register(meterRegistry);
+        this.archived = counter(meterRegistry, "archived");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.failed = counter(meterRegistry, "failed");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.chat.archive.messages")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("chat-archive-writer").start(this::run);
+    }
+
+    /**
+     * 보관 예약 (즉시 반환). 사용자 질문과 AI 텍스트 답변만 보관
+     */
+    public void submit(Object memoryId, ChatMessage message) {
+        String username = String.valueOf(memoryId);
+        if (ANONYMOUS.equals(username)) {
+            return;
+        }
+        ChatArchiveMessage.Role role;
+        String content;
+        if (message instanceof UserMessage userMessage && userMessage.hasSingleText()) {
+            role = ChatArchiveMessage.Role.USER;
+            content = userMessage.singleText();
+        } else if (message instanceof AiMessage aiMessage && aiMessage.text() != null && !aiMessage.text().isBlank()) {
+            role = ChatArchiveMessage.Role.AI;
+            content = aiMessage.text();
+        } else {
+            return;
+        }
+
+        ChatArchiveMessage entry = ChatArchiveMessage.builder()
+                .username(username)
+                .role(role)
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build();
+        if (queue.size() >= maxQueue || !queue.offer(entry)) {
+            dropped.increment();
+            log.debug("대화 보관 큐 가득 참 - username: {}", username);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                ChatArchiveMessage first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    write(collect(first));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // 종료 시 남은 메시지 기록
+        List<ChatArchiveMessage> rest = new ArrayList<>(batchSize);
+        while (queue.drainTo(rest, batchSize) > 0) {
+            write(rest);
+            rest = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * 첫 메시지 이후 lingerMs 동안 batchSize 까지 모음
+     */
+    private List<ChatArchiveMessage> collect(ChatArchiveMessage first) throws InterruptedException {
+        List<ChatArchiveMessage> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                break;
+            }
+            ChatArchiveMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<ChatArchiveMessage> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, message) -> {
+                ps.setString(1, message.getUsername());
+                ps.setString(2, message.getRole().name());
+                ps.setString(3, message.getContent());
+                ps.setTimestamp(4, Timestamp.valueOf(message.getCreatedAt()));
+            });
+            archived.increment(batch.size());
+        } catch (DataAccessException e) {
+            failed.increment(batch.size());
+            log.warn("⚠️ 대화 보관 실패 - {}건, 원인: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+}
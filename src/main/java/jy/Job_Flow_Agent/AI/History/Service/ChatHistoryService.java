@@ -0,0 +1,107 @@
+package jy.Job_Flow_Agent.AI.History.Service;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import jy.Job_Flow_Agent.AI.History.DTO.ChatHistoryDTO;
+import jy.Job_Flow_Agent.AI.History.Entity.ChatArchiveMessage;
+import jy.Job_Flow_Agent.AI.History.Repository.ChatArchiveRepository;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import jy.Job_Flow_Agent.Redis.RedisChatMemoryStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보관된 대화 조회 / Redis 대화 메모리 복원
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ChatArchiveRepository chatArchiveRepository;
+    private final RedisChatMemoryStore chatMemoryStore;
+
+    /**
+     * 복원할 최근 메시지 수 (대화 메모리 윈도우와 같게)
+     */
+    @Value("${ai.chat.memory.max-messages:20}")
+    private int restoreMessages;
+
+    /**
+     * 대화 기록 최신순 조회 (키셋 페이지네이션)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     */
+    @Transactional(readOnly = true)
+    public ChatHistoryDTO.PageResponse history(String username, Long cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new GlobalException("페이지 크기는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.", "INVALID_PAGE_SIZE", HttpStatus.BAD_REQUEST);
+        }
+
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<ChatArchiveMessage> rows = cursor == null
+                ? chatArchiveRepository.findByUsernameOrderByIdDesc(username, limit)
+                : chatArchiveRepository.findByUsernameAndIdLessThanOrderByIdDesc(username, cursor, limit);
+
+        boolean hasNext = rows.size() > size;
+        List<ChatArchiveMessage> page = hasNext ? rows.subList(0, size) : rows;
+        return ChatHistoryDTO.PageResponse.builder()
+                .messages(page.stream().map(ChatHistoryDTO.MessageResponse::from).toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * 만료된 대화 메모리를 보관 기록의 최근 메시지로 복원 (진행 중인 대화가 있으면 그대로 둠)
+     */
+    @Transactional(readOnly = true)
+    public ChatHistoryDTO.RestoreResponse restore(String username) {
+        List<ChatMessage> current = chatMemoryStore.getMessages(username);
+        if (current.stream().anyMatch(message -> !(message instanceof SystemMessage))) {
+            return restoreResponse(0, "진행 중인 대화가 있어 복원하지 않았습니다.");
+        }
+
+        List<ChatArchiveMessage> recent = chatArchiveRepository.findByUsernameOrderByIdDesc(
+                username, PageRequest.of(0, restoreMessages));
+        List<ChatMessage> messages = new ArrayList<>(current);
+        int restored = 0;
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            ChatArchiveMessage archived = recent.get(i);
+            // 윈도우는 사용자 질문부터 시작
+            if (restored == 0 && archived.getRole() != ChatArchiveMessage.Role.USER) {
+                continue;
+            }
+            messages.add(archived.getRole() == ChatArchiveMessage.Role.USER
+                    ? UserMessage.from(archived.getContent())
+                    : AiMessage.from(archived.getContent()));
+            restored++;
+        }
+        if (restored == 0) {
+            return restoreResponse(0, "복원할 대화 기록이 없습니다.");
+        }
+
+        chatMemoryStore.updateMessages(username, messages);
+        log.info("♻️ 대화 메모리 복원 - username: {}, 메시지: {}개", username, restored);
+        return restoreResponse(restored, "최근 대화 " + restored + "건을 복원했습니다.");
+    }
+
+    private static ChatHistoryDTO.RestoreResponse restoreResponse(int restoredCount, String message) {
+        return ChatHistoryDTO.RestoreResponse.builder()
+                .restoredCount(restoredCount)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package jy.Job_Flow_Agent.AI.Memory;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+import jy.Job_Flow_Agent.AI.History.Service.ChatArchiveWriter;
+
+import java.util.List;
+
+/**
+ * 대화 메모리에 추가되는 메시지를 장기 보관 큐에도 넘기는 래퍼 (보관은 비동기, 메모리 동작은 그대로 위임)
+ */
+public class ArchivingChatMemory implements ChatMemory {
+
+    private final ChatMemory delegate;
+    private final ChatArchiveWriter archiveWriter;
+
+    public ArchivingChatMemory(ChatMemory delegate, ChatArchiveWriter archiveWriter) {
+        this.delegate = delegate;
+        this.archiveWriter = archiveWriter;
+    }
+
+    @Override
+    public Object id() {
+        return delegate.id();
+    }
+
+    @Override
+    public void add(ChatMessage message) {
+        delegate.add(message);
+        archiveWriter.submit(delegate.id(), message);
+    }
+
+    @Override
+    public List<ChatMessage> messages() {
+        return delegate.messages();
+    }
+
+    /**
+     * 대화 메모리만 비움 (보관된 기록은 유지)
+     */
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+}
@@ -0,0 +1,12 @@
+package jy.Job_Flow_Agent.AI.Memory;
+
+/**
+ * 대화 메모리 크기 제한 설정 (TokenBudgetChatMemory)
+ *
+ * @param maxMessages          보관 메시지 수 상한
+ * @param maxTokens            프롬프트에 들어가는 메모리 전체(요약 포함) 토큰 예산
+ * @param toolResultMaxTokens  Tool 결과 1건 저장 상한 (넘으면 잘라서 저장)
+ * @param staleToolResultTokens 지난 턴의 Tool 결과를 프롬프트에 넣을 때 상한
+ */
+public record ChatMemorySettings(int maxMessages, int maxTokens, int toolResultMaxTokens, int staleToolResultTokens) {
+}
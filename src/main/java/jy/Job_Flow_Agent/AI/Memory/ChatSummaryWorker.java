@@ -0,0 +1,164 @@
+package jy.Job_Flow_Agent.AI.Memory;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jy.Job_Flow_Agent.Redis.RedisChatMemoryStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 윈도우에서 밀려난 대화를 비동기로 요약해 Redis 에 저장 (chat:memory:summary:{id})
+ *
+ * - 응답 경로를 막지 않도록 가상 스레드에서 실행
+ * - 같은 대화는 한 번에 하나만 요약 (실행 중에 밀려난 메시지는 모아 두었다가 이어서 반영)
+ * - 요약 실패 시 기존 요약 유지 (밀려난 내용은 버림)
+ *
+ * 메트릭: ai.chat.memory.summaries (outcome=success|failure)
+ */
+@Slf4j
+@Component
+public class ChatSummaryWorker {
+
+    private static final int MAX_TOOL_RESULT_CHARS = 500;
+
+    private final ConversationSummarizer conversationSummarizer;
+    private final RedisChatMemoryStore chatMemoryStore;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * memoryId → 요약 대기 메시지. 키가 있으면 해당 대화의 요약 작업이 실행 중
+     */
+    private final Map<Object, List<ChatMessage>> pending = new ConcurrentHashMap<>();
+
+    public ChatSummaryWorker(ConversationSummarizer conversationSummarizer, RedisChatMemoryStore chatMemoryStore,
+                             MeterRegistry meterRegistry) {
+        this.conversationSummarizer = conversationSummarizer;
+        this.chatMemoryStore = chatMemoryStore;
+        this.succeeded = counter(meterRegistry, "success");
+        this.failed = counter(meterRegistry, "failure");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.chat.memory.summaries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 현재 요약, 없으면 null
+     */
+    public String summary(Object memoryId) {
+        return chatMemoryStore.getSummary(memoryId);
+    }
+
+    /**
+     * 밀려난 메시지 요약 예약 (즉시 반환)
+     */
+    public void submit(Object memoryId, List<ChatMessage> evicted) {
+        if (evicted.isEmpty()) {
+            return;
+        }
+        AtomicBoolean start = new AtomicBoolean(false);
+        pending.compute(memoryId, (id, queued) -> {
+            if (queued == null) {
+                start.set(true);
+                return new ArrayList<>(evicted);
+            }
+            queued.addAll(evicted);
+            return queued;
+        });
+        if (start.get()) {
+            executor.submit(() -> drain(memoryId));
+        }
+    }
+
+    private void drain(Object memoryId) {
+        List<ChatMessage> batch;
+        while ((batch = takeBatch(memoryId)) != null) {
+            summarize(memoryId, batch);
+        }
+    }
+
+    /**
+     * @return 대기 메시지 (없으면 작업 종료 표시로 키를 지우고 null)
+     */
+    private List<ChatMessage> takeBatch(Object memoryId) {
+        AtomicReference<List<ChatMessage>> taken = new AtomicReference<>();
+        pending.compute(memoryId, (id, queued) -> {
+            if (queued == null || queued.isEmpty()) {
+                return null;
+            }
+            taken.set(queued);
+            return new ArrayList<>();
+        });
+        return taken.get();
+    }
+
+    private void summarize(Object memoryId, List<ChatMessage> evicted) {
+        String conversation = render(evicted);
+        if (conversation.isBlank()) {
+            return;
+        }
+        try {
+            String previous = chatMemoryStore.getSummary(memoryId);
+            String summary = conversationSummarizer.summarize(previous == null ? "(없음)" : previous, conversation);
+            chatMemoryStore.saveSummary(memoryId, summary.strip());
+            succeeded.increment();
+            log.info("📝 대화 요약 갱신 - memoryId: {}, 반영 메시지: {}개, 요약 길이: {}자",
+                    memoryId, evicted.size(), summary.length());
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("⚠️ 대화 요약 실패 - memoryId: {}, 원인: {}", memoryId, e.getMessage());
+        }
+    }
+
+    /**
+     * 요약 입력용 대화록 (Tool 결과는 앞부분만)
+     */
+    private static String render(List<ChatMessage> messages) {
+        StringBuilder sb = new StringBuilder();
+        for (ChatMessage message : messages) {
+            if (message instanceof UserMessage userMessage && userMessage.hasSingleText()) {
+                sb.append("사용자: ").append(userMessage.singleText()).append('\n');
+            } else if (message instanceof AiMessage aiMessage) {
+                if (aiMessage.text() != null && !aiMessage.text().isBlank()) {
+                    sb.append("AI: ").append(aiMessage.text()).append('\n');
+                }
+                if (aiMessage.hasToolExecutionRequests()) {
+                    sb.append("AI 도구 호출: ").append(aiMessage.toolExecutionRequests().stream()
+                            .map(ToolExecutionRequest::name)
+                            .collect(Collectors.joining(", "))).append('\n');
+                }
+            } else if (message instanceof ToolExecutionResultMessage result) {
+                String text = result.text();
+                sb.append("도구 결과(").append(result.toolName()).append("): ")
+                        .append(text.length() > MAX_TOOL_RESULT_CHARS ? text.substring(0, MAX_TOOL_RESULT_CHARS) + "..." : text)
+                        .append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
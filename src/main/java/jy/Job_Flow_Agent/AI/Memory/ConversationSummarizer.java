@@ -0,0 +1,29 @@
+package jy.Job_Flow_Agent.AI.Memory;
+
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+
+/**
+ * 대화 요약기 - 메모리 윈도우에서 밀려난 대화를 기존 요약에 합쳐 짧은 요약으로 만든다 (ChatSummaryWorker)
+ */
+public interface ConversationSummarizer {
+
+    @SystemMessage("""
+            당신은 커리어 상담 대화의 기록 담당자입니다.
+            기존 요약과 새로 밀려난 대화를 합쳐, 이후 상담에 필요한 사실만 남긴 하나의 요약을 작성하세요.
+
+            [지침]
+            1. 사용자의 목표, 경력/기술 스택, 관심 공고(회사/직무), 이미 받은 조언과 결정 사항을 우선 보존하세요.
+            2. 인사, 잡담, 도구 호출 과정, 중복 내용은 버리세요.
+            3. 한국어 개조식으로 최대 600자 이내로 작성하고, 요약 외의 말은 하지 마세요.
+            """)
+    @UserMessage("""
+            [기존 요약]
+            {{summary}}
+
+            [새로 밀려난 대화]
+            {{conversation}}
+            """)
+    String summarize(@V("summary") String summary, @V("conversation") String conversation);
+}
@@ -0,0 +1,165 @@
+package jy.Job_Flow_Agent.AI.Memory;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 토큰 예산 기반 대화 메모리 (MessageWindowChatMemory 대체)
+ *
+ * 메시지 수(maxMessages)와 함께 프롬프트에 들어가는 토큰 수(maxTokens)를 제한한다.
+ * 1. Tool 결과는 저장 시 toolResultMaxTokens 로 자르고, 지난 턴의 Tool 결과는 프롬프트에 staleToolResultTokens 만큼만 넣음
+ * 2. 그래도 넘으면 오래된 메시지부터 제거 (시스템 메시지와 현재 턴은 유지, Tool 요청과 결과는 함께 제거)
+ * 3. 제거된 메시지는 ChatSummaryWorker 가 비동기로 요약하고, 요약은 시스템 메시지 뒤에 붙여 프롬프트에 넣음
+ */
+public class TokenBudgetChatMemory implements ChatMemory {
+
+    private static final String SUMMARY_HEADER = "[이전 대화 요약]\n";
+    private static final String TRUNCATED_MARK = "\n...(이하 생략)";
+
+    private final Object id;
+    private final ChatMemoryStore store;
+    private final ChatMemorySettings settings;
+    private final Tokenizer tokenizer;
+    private final ChatSummaryWorker summaryWorker;
+
+    public TokenBudgetChatMemory(Object id, ChatMemoryStore store, ChatMemorySettings settings, Tokenizer tokenizer,
+                                 ChatSummaryWorker summaryWorker) {
+        this.id = id;
+        this.store = store;
+        this.settings = settings;
+        this.tokenizer = tokenizer;
+        this.summaryWorker = summaryWorker;
+    }
+
+    @Override
+    public Object id() {
+        return id;
+    }
+
+    @Override
+    public void add(ChatMessage message) {
+        List<ChatMessage> messages = new ArrayList<>(store.getMessages(id));
+        if (message instanceof SystemMessage) {
+            Optional<ChatMessage> systemMessage = messages.stream().filter(SystemMessage.class::isInstance).findFirst();
+            if (systemMessage.isPresent()) {
+                if (systemMessage.get().equals(message)) {
+                    return;
+                }
+                messages.remove(systemMessage.get());
+            }
+            // 시스템 메시지는 항상 맨 앞 (제거 대상에서 제외, 요약을 덧붙이는 위치)
+            messages.add(0, message);
+        } else if (message instanceof ToolExecutionResultMessage result) {
+            messages.add(truncate(result, settings.toolResultMaxTokens()));
+        } else {
+            messages.add(message);
+        }
+
+        List<ChatMessage> evicted = ensureCapacity(messages);
+        store.updateMessages(id, messages);
+        summaryWorker.submit(id, evicted);
+    }
+
+    @Override
+    public List<ChatMessage> messages() {
+        return view(store.getMessages(id), summaryWorker.summary(id));
+    }
+
+    @Override
+    public void clear() {
+        store.deleteMessages(id);
+    }
+
+    /**
+     * 예산을 넘는 동안 오래된 메시지 제거
+     *
+     * @return 제거된 메시지 (요약 대상)
+     */
+    private List<ChatMessage> ensureCapacity(List<ChatMessage> messages) {
+        String summary = summaryWorker.summary(id);
+        List<ChatMessage> prompt = view(messages, null);
+        List<Integer> tokens = new ArrayList<>(prompt.size());
+        int total = summary != null ? tokenizer.estimateTokenCountInText(SUMMARY_HEADER + summary) : 0;
+        for (ChatMessage message : prompt) {
+            int count = tokenizer.estimateTokenCountInMessage(message);
+            tokens.add(count);
+            total += count;
+        }
+
+        List<ChatMessage> evicted = new ArrayList<>();
+        int first = !messages.isEmpty() && messages.get(0) instanceof SystemMessage ? 1 : 0;
+        while (messages.size() > settings.maxMessages() || total > settings.maxTokens()) {
+            if (first >= currentTurnStart(messages)) {
+                break;
+            }
+            ChatMessage removed = messages.remove(first);
+            evicted.add(removed);
+            total -= tokens.remove(first);
+            if (removed instanceof AiMessage aiMessage && aiMessage.hasToolExecutionRequests()) {
+                while (messages.size() > first && messages.get(first) instanceof ToolExecutionResultMessage) {
+                    evicted.add(messages.remove(first));
+                    total -= tokens.remove(first);
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 현재 턴 = 마지막 사용자 메시지부터 (없으면 마지막 메시지만)
+     */
+    private static int currentTurnStart(List<ChatMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) instanceof UserMessage) {
+                return i;
+            }
+        }
+        return messages.size() - 1;
+    }
+
+    /**
+     * 프롬프트에 넣을 목록 - 지난 턴 Tool 결과 축약 + 요약을 시스템 메시지에 덧붙임 (저장된 메시지는 바꾸지 않음)
+     */
+    private List<ChatMessage> view(List<ChatMessage> messages, String summary) {
+        int turnStart = currentTurnStart(messages);
+        List<ChatMessage> prompt = new ArrayList<>(messages.size() + 1);
+        for (int i = 0; i < messages.size(); i++) {
+            ChatMessage message = messages.get(i);
+            prompt.add(i < turnStart && message instanceof ToolExecutionResultMessage result
+                    ? truncate(result, settings.staleToolResultTokens())
+                    : message);
+        }
+        if (summary != null && !summary.isBlank()) {
+            if (!prompt.isEmpty() && prompt.get(0) instanceof SystemMessage systemMessage) {
+                prompt.set(0, SystemMessage.from(systemMessage.text() + "\n\n" + SUMMARY_HEADER + summary));
+            } else {
+                prompt.add(0, SystemMessage.from(SUMMARY_HEADER + summary));
+            }
+        }
+        return prompt;
+    }
+
+    private ToolExecutionResultMessage truncate(ToolExecutionResultMessage result, int maxTokens) {
+        String text = result.text();
+        // 토큰 수는 대개 글자 수 이하이므로 짧은 결과는 토큰 계산 생략
+        if (text == null || text.length() <= maxTokens) {
+            return result;
+        }
+        int count = tokenizer.estimateTokenCountInText(text);
+        if (count <= maxTokens) {
+            return result;
+        }
+        int keepChars = (int) ((long) text.length() * maxTokens / count);
+        return ToolExecutionResultMessage.from(result.id(), result.toolName(), text.substring(0, keepChars) + TRUNCATED_MARK);
+    }
+}
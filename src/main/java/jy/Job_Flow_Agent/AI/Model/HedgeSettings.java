@@ -0,0 +1,18 @@
+package jy.Job_Flow_Agent.AI.Model;
+
+import java.time.Duration;
+
+/**
+ * 헤지(hedged) 요청 설정
+ *
+ * @param enabled    사용 여부
+ * @param percentile 첫 후보의 최근 지연 시간 중 이 백분위를 넘기면 두 번째 요청 발사 (예: 0.95)
+ * @param minDelay   헤지 대기 시간 하한 (지연 측정값이 작아도 이보다 빨리 발사하지 않음)
+ * @param maxRate    전체 요청 대비 헤지 비율 상한 (비용 보호, 예: 0.1)
+ */
+public record HedgeSettings(boolean enabled, double percentile, Duration minDelay, double maxRate) {
+
+    public static HedgeSettings disabled() {
+        return new HedgeSettings(false, 0.95, Duration.ofMillis(500), 0.0);
+    }
+}
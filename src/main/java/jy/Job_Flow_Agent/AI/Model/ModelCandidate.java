@@ -0,0 +1,26 @@
+package jy.Job_Flow_Agent.AI.Model;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+
+/**
+ * 라우팅 대상 모델 1개
+ *
+ * @param name                 모델 이름 (메트릭/로그 태그)
+ * @param provider             제공자 (비용 예산 단위: openai, gemini)
+ * @param chatModel            동기 모델 (없으면 null)
+ * @param streamingModel       스트리밍 모델 (없으면 null)
+ * @param inputUsdPerMillion   입력 토큰 100만 개당 비용 (USD)
+ * @param outputUsdPerMillion  출력 토큰 100만 개당 비용 (USD)
+ */
+public record ModelCandidate(String name,
+                             String provider,
+                             ChatLanguageModel chatModel,
+                             StreamingChatLanguageModel streamingModel,
+                             double inputUsdPerMillion,
+                             double outputUsdPerMillion) {
+
+    public boolean supports(boolean streaming) {
+        return streaming ? streamingModel != null : chatModel != null;
+    }
+}
@@ -0,0 +1,370 @@
+package jy.Job_Flow_Agent.AI.Model;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청별 모델 선택기 (Gemini / OpenAI)
+ *
+ * 1. 요청 유형 분류 (모델 호출 없이 IntentClassifier 규칙 + 메시지 형태로 판단)
+ * 2. 유형별 후보 중 정상 + 일일 비용 예산 이내인 모델을 앞에 배치
+ *    - CHAT: 측정된 지연 시간(오류율 가중) 순, 그 외: 설정 순서
+ * 3. 장애(연속 실패)/예산 초과 모델은 뒤로 보내 다른 제공자로 자동 대체
+ * 4. (선택) 헤지: 첫 후보가 최근 지연 시간 백분위를 넘기면 두 번째 요청을 보내 먼저 온 응답 사용
+ *    (동기 헤지 호출은 이 라우터를 쓰는 모든 RoutingChatLanguageModel 이 hedgeExecutor 하나를 공유)
+ *
+ * 메트릭: ai.model.latency (model, task, outcome 태그, 실패 건수로 오류율 계산),
+ *        ai.model.ttft / ai.model.tokens.per.second (스트리밍 첫 토큰 지연 / 생성 속도),
+ *        ai.model.tokens (model, provider, type=input|output 태그, 누적 토큰 수),
+ *        ai.model.hedge.fired / ai.model.hedge.won (헤지 발사/승리 수, task·mode 태그),
+ *        ai.model.hedge.cost.usd (헤지로 추가된 예상 비용)
+ */
+@Slf4j
+public class ModelRouter {
+
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+    private static final double ERROR_EWMA_WEIGHT = 0.1;
+    private static final int DEGRADE_AFTER_FAILURES = 3;
+    private static final int LATENCY_WINDOW = 200;
+    private static final int MIN_SAMPLES_FOR_HEDGE = 20;
+
+    private final Map<ModelTask, List<ModelCandidate>> routes;
+    private final Map<String, Double> dailyBudgetUsd;
+    private final Duration degradedCooldown;
+    private final IntentClassifier intentClassifier;
+    private final MeterRegistry meterRegistry;
+    private final HedgeSettings hedgeSettings;
+    private final Map<String, ModelHealth> health = new ConcurrentHashMap<>();
+    private final Map<String, ProviderSpend> spend = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final Counter hedgeCostUsd;
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ModelRouter(Map<ModelTask, List<ModelCandidate>> routes,
+                       Map<String, Double> dailyBudgetUsd,
+                       Duration degradedCooldown,
+                       IntentClassifier intentClassifier,
+                       MeterRegistry meterRegistry) {
+        this(routes, dailyBudgetUsd, degradedCooldown, HedgeSettings.disabled(), intentClassifier, meterRegistry);
+    }
+
+    public ModelRouter(Map<ModelTask, List<ModelCandidate>> routes,
+                       Map<String, Double> dailyBudgetUsd,
+                       Duration degradedCooldown,
+                       HedgeSettings hedgeSettings,
+                       IntentClassifier intentClassifier,
+                       MeterRegistry meterRegistry) {
+        this.routes = new EnumMap<>(routes);
+        this.dailyBudgetUsd = Map.copyOf(dailyBudgetUsd);
+        this.degradedCooldown = degradedCooldown;
+        this.hedgeSettings = hedgeSettings;
+        this.intentClassifier = intentClassifier;
+        this.meterRegistry = meterRegistry;
+        this.hedgeCostUsd = Counter.builder("ai.model.hedge.cost.usd")
+                .description("Estimated extra provider cost caused by hedged requests")
+                .baseUnit("usd")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 도구 결과를 이어받는 호출이면 TOOL, 그 외에는 마지막 사용자 메시지의 의도로 판단
+     */
+    public ModelTask classify(ChatRequest request) {
+        List<ChatMessage> messages = request.messages();
+        ChatMessage last = messages.get(messages.size() - 1);
+        if (last instanceof ToolExecutionResultMessage) {
+            return ModelTask.TOOL;
+        }
+        if (last instanceof UserMessage userMessage && userMessage.hasSingleText()) {
+            ChatIntent intent = intentClassifier.classify(userMessage.singleText());
+            return (intent == ChatIntent.SMALL_TALK || intent == ChatIntent.GENERAL) ? ModelTask.CHAT : ModelTask.TOOL;
+        }
+        return ModelTask.CHAT;
+    }
+
+    /**
+     * 시도 순서대로 정렬한 후보 (정상 모델 → 장애/예산 초과 모델)
+     */
+    public List<ModelCandidate> route(ModelTask task, boolean streaming) {
+        List<ModelCandidate> available = new ArrayList<>();
+        List<ModelCandidate> demoted = new ArrayList<>();
+        for (ModelCandidate candidate : routes.getOrDefault(task, List.of())) {
+            if (!candidate.supports(streaming)) {
+                continue;
+            }
+            if (healthOf(candidate).degraded() || overBudget(candidate.provider())) {
+                demoted.add(candidate);
+            } else {
+                available.add(candidate);
+            }
+        }
+        if (task.latencySensitive()) {
+            available.sort(Comparator.comparingDouble(candidate -> healthOf(candidate).expectedLatencyMillis()));
+        }
+        available.addAll(demoted);
+        return available;
+    }
+
+    public void recordSuccess(ModelCandidate candidate, ModelTask task, long latencyNanos, TokenUsage tokenUsage) {
+        healthOf(candidate).success(latencyNanos / 1_000_000.0);
+        timer(candidate, task, "success").record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (tokenUsage != null) {
+            spend.computeIfAbsent(candidate.provider(), key -> new ProviderSpend()).add(cost(candidate, tokenUsage));
+            tokenCounter(candidate, "input").increment(tokens(tokenUsage.inputTokenCount()));
+            tokenCounter(candidate, "output").increment(tokens(tokenUsage.outputTokenCount()));
+        }
+    }
+
+    /**
+     * 스트리밍 응답 1건 완료 - 첫 토큰까지 지연 + 첫 토큰 이후 출력 토큰 생성 속도
+     */
+    public void recordStreamCompleted(ModelCandidate candidate, ModelTask task, long firstOutputNanos,
+                                      long totalNanos, TokenUsage tokenUsage) {
+        Timer.builder("ai.model.ttft")
+                .description("Time to first token for streaming calls")
+                .tag("model", candidate.name())
+                .tag("task", task.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(firstOutputNanos, TimeUnit.NANOSECONDS);
+        long generationNanos = totalNanos - firstOutputNanos;
+        if (tokenUsage == null || generationNanos <= 0 || tokens(tokenUsage.outputTokenCount()) == 0) {
+            return;
+        }
+        DistributionSummary.builder("ai.model.tokens.per.second")
+                .description("Output tokens generated per second after the first token")
+                .tag("model", candidate.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(tokens(tokenUsage.outputTokenCount()) / (generationNanos / 1_000_000_000.0));
+    }
+
+    /**
+     * 라우팅된 요청 1건 시작 (헤지 비율 계산용)
+     */
+    public void recordCall() {
+        calls.incrementAndGet();
+    }
+
+    /**
+     * 헤지 대기 시간. 비활성화, 측정값 부족, 헤지 비율 상한 도달 시 empty
+     */
+    public Optional<Duration> hedgeDelay(ModelCandidate primary) {
+        if (!hedgeSettings.enabled()) {
+            return Optional.empty();
+        }
+        if (hedges.get() >= hedgeSettings.maxRate() * calls.get()) {
+            return Optional.empty();
+        }
+        OptionalDouble percentileMillis = healthOf(primary).latencyPercentile(hedgeSettings.percentile());
+        if (percentileMillis.isEmpty()) {
+            return Optional.empty();
+        }
+        Duration delay = Duration.ofMillis((long) Math.ceil(percentileMillis.getAsDouble()));
+        return Optional.of(delay.compareTo(hedgeSettings.minDelay()) < 0 ? hedgeSettings.minDelay() : delay);
+    }
+
+    /**
+     * 동기 헤지 호출을 실행할 가상 스레드 실행기 (빈 종료 시 함께 종료)
+     */
+    public ExecutorService hedgeExecutor() {
+        return hedgeExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+
+    public void recordHedge(ModelTask task, boolean streaming) {
+        hedges.incrementAndGet();
+        hedgeCounter("ai.model.hedge.fired", task, streaming).increment();
+    }
+
+    public void recordHedgeWin(ModelTask task, boolean streaming) {
+        hedgeCounter("ai.model.hedge.won", task, streaming).increment();
+    }
+
+    /**
+     * 헤지 경쟁에서 진 요청의 비용 (취소된 요청은 승자 입력 토큰 수로 추정)
+     */
+    public void recordHedgeOverhead(ModelCandidate loser, TokenUsage tokenUsage) {
+        if (tokenUsage != null) {
+            hedgeCostUsd.increment(cost(loser, tokenUsage));
+        }
+    }
+
+    private static double cost(ModelCandidate candidate, TokenUsage tokenUsage) {
+        return tokens(tokenUsage.inputTokenCount()) * candidate.inputUsdPerMillion() / 1_000_000
+                + tokens(tokenUsage.outputTokenCount()) * candidate.outputUsdPerMillion() / 1_000_000;
+    }
+
+    private Counter hedgeCounter(String name, ModelTask task, boolean streaming) {
+        return Counter.builder(name)
+                .tag("task", task.name())
+                .tag("mode", streaming ? "streaming" : "sync")
+                .register(meterRegistry);
+    }
+
+    public void recordFailure(ModelCandidate candidate, ModelTask task, long latencyNanos, Throwable error) {
+        boolean degraded = healthOf(candidate).failure();
+        timer(candidate, task, "error").record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (degraded) {
+            log.warn("🚧 모델 장애 판정 - model: {}, {}초 동안 후순위로 라우팅 (원인: {})",
+                    candidate.name(), degradedCooldown.toSeconds(), error.getMessage());
+        }
+    }
+
+    private Counter tokenCounter(ModelCandidate candidate, String type) {
+        return Counter.builder("ai.model.tokens")
+                .tag("model", candidate.name())
+                .tag("provider", candidate.provider())
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static long tokens(Integer count) {
+        return count == null ? 0 : count;
+    }
+
+    private ModelHealth healthOf(ModelCandidate candidate) {
+        return health.computeIfAbsent(candidate.name(), key -> new ModelHealth());
+    }
+
+    private boolean overBudget(String provider) {
+        Double budget = dailyBudgetUsd.get(provider);
+        ProviderSpend providerSpend = spend.get(provider);
+        return budget != null && budget > 0 && providerSpend != null && providerSpend.today() >= budget;
+    }
+
+    private Timer timer(ModelCandidate candidate, ModelTask task, String outcome) {
+        return Timer.builder("ai.model.latency")
+                .description("Model latency (time to first output for streaming calls)")
+                .tag("model", candidate.name())
+                .tag("task", task.name())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 모델별 지연 시간/오류율 (EWMA) + 연속 실패 시 일정 시간 장애 상태
+     */
+    private class ModelHealth {
+
+        private double latencyMillis;
+        private final double[] samples = new double[LATENCY_WINDOW];
+        private int sampleCount;
+        private int sampleIndex;
+        private double errorRate;
+        private int consecutiveFailures;
+        private long degradedUntilNanos;
+        private boolean measured;
+
+        synchronized void success(double millis) {
+            latencyMillis = measured ? latencyMillis + LATENCY_EWMA_WEIGHT * (millis - latencyMillis) : millis;
+            measured = true;
+            samples[sampleIndex] = millis;
+            sampleIndex = (sampleIndex + 1) % LATENCY_WINDOW;
+            sampleCount = Math.min(sampleCount + 1, LATENCY_WINDOW);
+            errorRate -= ERROR_EWMA_WEIGHT * errorRate;
+            consecutiveFailures = 0;
+        }
+
+        /**
+         * @return 이번 실패로 장애 상태가 되었으면 true
+         */
+        synchronized boolean failure() {
+            errorRate += ERROR_EWMA_WEIGHT * (1 - errorRate);
+            consecutiveFailures++;
+            if (consecutiveFailures >= DEGRADE_AFTER_FAILURES) {
+                consecutiveFailures = 0;
+                degradedUntilNanos = System.nanoTime() + degradedCooldown.toNanos();
+                return true;
+            }
+            return false;
+        }
+
+        synchronized boolean degraded() {
+            return degradedUntilNanos != 0 && System.nanoTime() - degradedUntilNanos < 0;
+        }
+
+        /**
+         * 최근 LATENCY_WINDOW 건 성공 지연 시간의 백분위 (표본이 적으면 empty)
+         */
+        synchronized OptionalDouble latencyPercentile(double percentile) {
+            if (sampleCount < MIN_SAMPLES_FOR_HEDGE) {
+                return OptionalDouble.empty();
+            }
+            double[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sampleCount) - 1;
+            return OptionalDouble.of(sorted[Math.max(0, Math.min(index, sampleCount - 1))]);
+        }
+
+        /**
+         * 측정 전 모델은 0 으로 취급해 한 번은 시도되도록 함
+         */
+        synchronized double expectedLatencyMillis() {
+            return measured ? latencyMillis * (1 + 4 * errorRate) : 0;
+        }
+    }
+
+    /**
+     * 제공자별 당일 누적 비용
+     */
+    private static class ProviderSpend {
+
+        private LocalDate day = LocalDate.now();
+        private double usd;
+
+        synchronized void add(double costUsd) {
+            rollOver();
+            usd += costUsd;
+        }
+
+        synchronized double today() {
+            rollOver();
+            return usd;
+        }
+
+        private void rollOver() {
+            LocalDate now = LocalDate.now();
+            if (!now.equals(day)) {
+                day = now;
+                usd = 0;
+            }
+        }
+    }
+}
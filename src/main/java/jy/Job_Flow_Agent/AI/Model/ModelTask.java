@@ -0,0 +1,26 @@
+package jy.Job_Flow_Agent.AI.Model;
+
+/**
+ * 모델 라우팅 기준이 되는 요청 유형 (ModelRouter.classify)
+ */
+public enum ModelTask {
+    /** 잡담/일반 대화 → 현재 가장 빠른 모델 */
+    CHAT(true),
+    /** 도구 호출이 필요한 대화 (또는 도구 결과를 이어받는 호출) → 도구 호출이 안정적인 모델 우선 */
+    TOOL(false),
+    /** 구조화 추출 (JobAnalyzer) → 정확도 높은 모델 우선 */
+    EXTRACTION(false);
+
+    private final boolean latencySensitive;
+
+    ModelTask(boolean latencySensitive) {
+        this.latencySensitive = latencySensitive;
+    }
+
+    /**
+     * true 면 후보 순서 대신 측정된 지연 시간 순으로 고름
+     */
+    public boolean latencySensitive() {
+        return latencySensitive;
+    }
+}
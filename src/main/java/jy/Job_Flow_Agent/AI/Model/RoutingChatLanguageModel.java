@@ -0,0 +1,214 @@
+package jy.Job_Flow_Agent.AI.Model;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ModelRouter 가 고른 모델로 위임하는 동기 ChatLanguageModel
+ *
+ * 실패하면 다음 후보(다른 제공자)로 재시도한다. Assistant / JobAnalyzer 인터페이스는 그대로 사용.
+ * 헤지가 켜져 있으면 첫 후보가 느릴 때 두 번째 요청을 보내 먼저 온 응답을 사용한다 (ModelRouter.hedgeDelay).
+ */
+@Slf4j
+public class RoutingChatLanguageModel implements ChatLanguageModel {
+
+    private final ModelRouter modelRouter;
+    private final ModelTask fixedTask;
+    private final Set<Capability> capabilities;
+
+    /**
+     * @param fixedTask null 이면 요청마다 분류, 지정하면 항상 해당 유형으로 라우팅 (예: JobAnalyzer → EXTRACTION)
+     */
+    public RoutingChatLanguageModel(ModelRouter modelRouter, ModelTask fixedTask) {
+        this.modelRouter = modelRouter;
+        this.fixedTask = fixedTask;
+        this.capabilities = commonCapabilities(modelRouter, fixedTask);
+    }
+
+    /**
+     * 어느 후보로 가도 동작하도록 후보들이 공통으로 지원하는 기능만 노출 (예: JSON 스키마 응답 형식)
+     */
+    private static Set<Capability> commonCapabilities(ModelRouter modelRouter, ModelTask fixedTask) {
+        Set<Capability> common = null;
+        List<ModelTask> tasks = fixedTask != null ? List.of(fixedTask) : List.of(ModelTask.values());
+        for (ModelTask task : tasks) {
+            for (ModelCandidate candidate : modelRouter.route(task, false)) {
+                Set<Capability> supported = candidate.chatModel().supportedCapabilities();
+                if (common == null) {
+                    common = new HashSet<>(supported);
+                } else {
+                    common.retainAll(supported);
+                }
+            }
+        }
+        return common == null || common.isEmpty() ? EnumSet.noneOf(Capability.class) : EnumSet.copyOf(common);
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        ModelTask task = fixedTask != null ? fixedTask : modelRouter.classify(chatRequest);
+        List<ModelCandidate> candidates = modelRouter.route(task, false);
+        modelRouter.recordCall();
+        if (!candidates.isEmpty()) {
+            Optional<Duration> hedgeDelay = modelRouter.hedgeDelay(candidates.get(0));
+            if (hedgeDelay.isPresent()) {
+                return hedgedChat(chatRequest, task, candidates, hedgeDelay.get());
+            }
+        }
+        return sequentialChat(chatRequest, task, candidates, 0, null);
+    }
+
+    private ChatResponse sequentialChat(ChatRequest chatRequest, ModelTask task, List<ModelCandidate> candidates,
+                                        int from, RuntimeException lastError) {
+        for (ModelCandidate candidate : candidates.subList(Math.min(from, candidates.size()), candidates.size())) {
+            try {
+                return invoke(candidate, chatRequest, task, new AtomicBoolean(false));
+            } catch (RuntimeException e) {
+                log.warn("🔀 모델 호출 실패, 다음 후보로 전환 - model: {}, task: {}, 원인: {}", candidate.name(), task, e.getMessage());
+                lastError = e;
+            }
+        }
+        if (lastError != null) {
+            throw lastError;
+        }
+        throw new GlobalException("사용 가능한 AI 모델이 없습니다", "NO_MODEL_AVAILABLE", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * 헤지 호출: 첫 후보가 hedgeDelay 안에 응답하지 않으면 다음 후보(없으면 같은 모델)로 한 번 더 요청하고
+     * 먼저 성공한 응답을 사용한다. 진 요청은 인터럽트로 취소한다. 둘 다 실패하면 남은 후보로 순차 재시도.
+     */
+    private ChatResponse hedgedChat(ChatRequest chatRequest, ModelTask task, List<ModelCandidate> candidates, Duration hedgeDelay) {
+        ModelCandidate primary = candidates.get(0);
+        ModelCandidate backup = candidates.size() > 1 ? candidates.get(1) : primary;
+        AtomicBoolean primaryAbandoned = new AtomicBoolean(false);
+        AtomicBoolean backupAbandoned = new AtomicBoolean(false);
+        CompletionService<ChatResponse> race = new ExecutorCompletionService<>(modelRouter.hedgeExecutor());
+
+        Future<ChatResponse> primaryFuture = race.submit(() -> invoke(primary, chatRequest, task, primaryAbandoned));
+        Future<ChatResponse> backupFuture = null;
+        try {
+            Future<ChatResponse> early = race.poll(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+            if (early != null) {
+                try {
+                    return early.get();
+                } catch (ExecutionException e) {
+                    return sequentialChat(chatRequest, task, candidates, 1, unwrap(e));
+                }
+            }
+
+            modelRouter.recordHedge(task, false);
+            log.info("🪁 헤지 요청 발사 - task: {}, primary: {} ({}ms 초과), backup: {}",
+                    task, primary.name(), hedgeDelay.toMillis(), backup.name());
+            backupFuture = race.submit(() -> invoke(backup, chatRequest, task, backupAbandoned));
+
+            RuntimeException lastError = null;
+            for (int i = 0; i < 2; i++) {
+                Future<ChatResponse> finished = race.take();
+                try {
+                    ChatResponse response = finished.get();
+                    boolean hedgeWon = finished == backupFuture;
+                    if (hedgeWon) {
+                        modelRouter.recordHedgeWin(task, false);
+                    }
+                    (hedgeWon ? primaryAbandoned : backupAbandoned).set(true);
+                    abandon(hedgeWon ? primaryFuture : backupFuture, hedgeWon ? primary : backup, response);
+                    return response;
+                } catch (ExecutionException e) {
+                    lastError = unwrap(e);
+                }
+            }
+            return sequentialChat(chatRequest, task, candidates, backup == primary ? 1 : 2, lastError);
+        } catch (InterruptedException e) {
+            primaryFuture.cancel(true);
+            if (backupFuture != null) {
+                backupFuture.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            throw new GlobalException("AI 응답 대기 중 중단되었습니다", "MODEL_CALL_INTERRUPTED", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * 헤지 경쟁에서 진 요청 취소 + 추가 비용 기록 (이미 끝났으면 실제 사용량, 취소했으면 승자 입력 토큰 수로 추정)
+     */
+    private void abandon(Future<ChatResponse> loser, ModelCandidate loserCandidate, ChatResponse winnerResponse) {
+        if (loser.cancel(true)) {
+            TokenUsage winnerUsage = winnerResponse.tokenUsage();
+            modelRouter.recordHedgeOverhead(loserCandidate,
+                    winnerUsage == null ? null : new TokenUsage(winnerUsage.inputTokenCount(), 0));
+            return;
+        }
+        try {
+            modelRouter.recordHedgeOverhead(loserCandidate, loser.get().tokenUsage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 진 요청이 실패로 끝난 경우 추가 비용 없음
+        }
+    }
+
+    /**
+     * 모델 호출 1회 + 지연 시간/비용 기록. 헤지에서 진 뒤 취소로 실패한 경우는 장애로 집계하지 않음
+     */
+    private ChatResponse invoke(ModelCandidate candidate, ChatRequest chatRequest, ModelTask task, AtomicBoolean abandoned) {
+        long startedNanos = System.nanoTime();
+        try {
+            ChatResponse response = candidate.chatModel().chat(chatRequest);
+            modelRouter.recordSuccess(candidate, task, System.nanoTime() - startedNanos, response.tokenUsage());
+            return response;
+        } catch (RuntimeException e) {
+            if (!abandoned.get()) {
+                modelRouter.recordFailure(candidate, task, System.nanoTime() - startedNanos, e);
+            }
+            throw e;
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new GlobalException("AI 모델 호출 중 오류가 발생했습니다: " + e.getCause().getMessage(),
+                        "MODEL_CALL_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        ChatResponse response = chat(ChatRequest.builder().messages(messages).build());
+        return Response.from(response.aiMessage(), response.tokenUsage(), response.finishReason());
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        ChatResponse response = chat(ChatRequest.builder().messages(messages).toolSpecifications(toolSpecifications).build());
+        return Response.from(response.aiMessage(), response.tokenUsage(), response.finishReason());
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return capabilities;
+    }
+}
@@ -0,0 +1,247 @@
+package jy.Job_Flow_Agent.AI.Model;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.Response;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ModelRouter 가 고른 모델로 위임하는 StreamingChatLanguageModel
+ *
+ * 첫 출력(토큰 또는 도구 호출 응답)이 나오기 전에 실패하면 다음 후보(다른 제공자)로 재시도한다.
+ * 이미 토큰을 내보낸 뒤의 실패는 응답이 섞이지 않도록 그대로 오류로 전달한다.
+ * 지연 시간은 첫 출력까지의 시간으로 기록한다 (스트리밍 체감 지연, 헤지에서 진 시도도 동일).
+ * 헤지가 켜져 있으면 첫 출력이 hedgeDelay 안에 오지 않을 때 아직 쓰지 않은 후보로 두 번째 요청을 보내 먼저 출력한 쪽을 사용한다.
+ * 이미 다음 후보로 전환했거나 남은 후보가 없으면 헤지하지 않는다.
+ */
+@Slf4j
+public class RoutingStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private final ModelRouter modelRouter;
+    private final ModelTask fixedTask;
+
+    public RoutingStreamingChatLanguageModel(ModelRouter modelRouter) {
+        this(modelRouter, null);
+    }
+
+    /**
+     * @param fixedTask null 이면 요청마다 분류, 지정하면 항상 해당 유형으로 라우팅 (예: StreamingJobAnalyzer → EXTRACTION)
+     */
+    public RoutingStreamingChatLanguageModel(ModelRouter modelRouter, ModelTask fixedTask) {
+        this.modelRouter = modelRouter;
+        this.fixedTask = fixedTask;
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        ModelTask task = fixedTask != null ? fixedTask : modelRouter.classify(chatRequest);
+        List<ModelCandidate> candidates = modelRouter.route(task, true);
+        modelRouter.recordCall();
+        if (candidates.isEmpty()) {
+            handler.onError(new GlobalException("사용 가능한 AI 모델이 없습니다", "NO_MODEL_AVAILABLE", HttpStatus.SERVICE_UNAVAILABLE));
+            return;
+        }
+        Race race = new Race(chatRequest, handler, task, candidates);
+        race.launch(race.claimNext(), false);
+        modelRouter.hedgeDelay(candidates.get(0)).ifPresent(race::scheduleHedge);
+    }
+
+    /**
+     * 요청 1건의 시도들 (순차 대체 + 헤지). 첫 출력을 낸 시도가 승자가 되고, 나머지 시도의 출력은 버린다.
+     * langchain4j 1.0.0-beta1 스트리밍에는 취소 API 가 없어 진 시도는 끝까지 수신 후 무시된다.
+     */
+    private class Race {
+
+        private final ChatRequest chatRequest;
+        private final StreamingChatResponseHandler handler;
+        private final ModelTask task;
+        private final List<ModelCandidate> candidates;
+        private final AtomicReference<Attempt> winner = new AtomicReference<>();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        private final AtomicBoolean failedOver = new AtomicBoolean(false);
+        private volatile Disposable hedgeTimer;
+
+        private Race(ChatRequest chatRequest, StreamingChatResponseHandler handler,
+                     ModelTask task, List<ModelCandidate> candidates) {
+            this.chatRequest = chatRequest;
+            this.handler = handler;
+            this.task = task;
+            this.candidates = candidates;
+        }
+
+        void scheduleHedge(Duration delay) {
+            if (!failedOver.get() && !done.get()) {
+                hedgeTimer = Schedulers.parallel().schedule(this::hedge, delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * 첫 출력 전이고 아직 다음 후보로 전환하지 않았으면, 쓰지 않은 다음 후보로 두 번째 요청 발사
+         */
+        void hedge() {
+            if (winner.get() != null || done.get() || failedOver.get()) {
+                return;
+            }
+            ModelCandidate candidate = claimNext();
+            if (candidate == null) {
+                return;
+            }
+            modelRouter.recordHedge(task, true);
+            log.info("🪁 스트리밍 헤지 요청 발사 - task: {}, backup: {}", task, candidate.name());
+            launch(candidate, true);
+        }
+
+        /**
+         * 아직 시도하지 않은 다음 후보 (남은 후보가 없으면 null)
+         */
+        ModelCandidate claimNext() {
+            int index = nextIndex.getAndUpdate(i -> i < candidates.size() ? i + 1 : i);
+            return index < candidates.size() ? candidates.get(index) : null;
+        }
+
+        void launch(ModelCandidate candidate, boolean hedge) {
+            inFlight.incrementAndGet();
+            Attempt attempt = new Attempt(this, candidate, hedge);
+            try {
+                candidate.streamingModel().chat(chatRequest, attempt);
+            } catch (RuntimeException e) {
+                attempt.onError(e);
+            }
+        }
+
+        /**
+         * 승자 없이 모든 시도가 실패했을 때만 다음 후보로 넘어감
+         */
+        void failed(Attempt attempt, Throwable error) {
+            if (winner.get() == attempt) {
+                done.set(true);
+                handler.onError(error);
+                return;
+            }
+            if (winner.get() != null || inFlight.decrementAndGet() > 0) {
+                return;
+            }
+            // 순차 대체로 넘어가면 예약된 헤지는 취소 (실패한 후보를 다시 부르지 않도록)
+            failedOver.set(true);
+            cancelHedge();
+            ModelCandidate next = claimNext();
+            if (next != null) {
+                log.warn("🔀 스트리밍 모델 호출 실패, 다음 후보로 전환 - model: {}, task: {}, 원인: {}",
+                        attempt.candidate.name(), task, error.getMessage());
+                launch(next, false);
+            } else if (done.compareAndSet(false, true)) {
+                handler.onError(error);
+            }
+        }
+
+        private void cancelHedge() {
+            Disposable timer = hedgeTimer;
+            if (timer != null) {
+                timer.dispose();
+            }
+        }
+    }
+
+    private class Attempt implements StreamingChatResponseHandler {
+
+        private final Race race;
+        private final ModelCandidate candidate;
+        private final boolean hedge;
+        private final long startedNanos = System.nanoTime();
+        private volatile long firstOutputNanos;
+
+        private Attempt(Race race, ModelCandidate candidate, boolean hedge) {
+            this.race = race;
+            this.candidate = candidate;
+            this.hedge = hedge;
+        }
+
+        /**
+         * @return 이 시도가 승자면 true (처음 출력한 시도가 승자)
+         */
+        private boolean claimFirstOutput() {
+            if (firstOutputNanos == 0) {
+                firstOutputNanos = System.nanoTime() - startedNanos;
+            }
+            if (race.winner.compareAndSet(null, this)) {
+                race.cancelHedge();
+                if (hedge) {
+                    modelRouter.recordHedgeWin(race.task, true);
+                }
+                return true;
+            }
+            return race.winner.get() == this;
+        }
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            if (claimFirstOutput()) {
+                race.handler.onPartialResponse(partialResponse);
+            }
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            if (!claimFirstOutput()) {
+                // 헤지 경쟁에서 진 시도 - 지연(첫 출력 기준)/비용만 기록
+                modelRouter.recordSuccess(candidate, race.task, firstOutputNanos, completeResponse.tokenUsage());
+                modelRouter.recordHedgeOverhead(candidate, completeResponse.tokenUsage());
+                return;
+            }
+            modelRouter.recordSuccess(candidate, race.task, firstOutputNanos, completeResponse.tokenUsage());
+            modelRouter.recordStreamCompleted(candidate, race.task, firstOutputNanos,
+                    System.nanoTime() - startedNanos, completeResponse.tokenUsage());
+            if (race.done.compareAndSet(false, true)) {
+                race.handler.onCompleteResponse(completeResponse);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            modelRouter.recordFailure(candidate, race.task, System.nanoTime() - startedNanos, error);
+            race.failed(this, error);
+        }
+    }
+
+    /**
+     * 이전 API 호환용 (AiServices 는 chat(ChatRequest, handler) 사용)
+     */
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        chat(ChatRequest.builder().messages(messages).build(), new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                handler.onNext(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                handler.onComplete(Response.from(completeResponse.aiMessage(), completeResponse.tokenUsage(),
+                        completeResponse.finishReason()));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                handler.onError(error);
+            }
+        });
+    }
+}
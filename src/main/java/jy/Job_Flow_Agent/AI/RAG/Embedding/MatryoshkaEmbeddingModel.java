@@ -0,0 +1,67 @@
+package jy.Job_Flow_Agent.AI.RAG.Embedding;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+/**
+ * Matryoshka(MRL) 차원 축소 임베딩 모델
+ *
+ * gemini-embedding-001 은 Matryoshka 방식으로 학습되어 벡터의 앞쪽 차원에 정보가 집중되어 있으므로,
+ * 768차원 결과의 앞 N개만 잘라낸 뒤 L2 정규화하면 저장 공간과 검색 비용을 줄이면서도 recall 을 대부분 유지할 수 있다.
+ *
+ * 주의: Pinecone 인덱스의 dimension 은 여기서 설정한 차원과 반드시 일치해야 한다.
+ */
+public class MatryoshkaEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final int dimension;
+
+    public MatryoshkaEmbeddingModel(EmbeddingModel delegate, int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be positive: " + dimension);
+        }
+        this.delegate = delegate;
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        Response<List<Embedding>> response = delegate.embedAll(textSegments);
+        List<Embedding> truncated = response.content().stream()
+                .map(embedding -> Embedding.from(truncate(embedding.vector(), dimension)))
+                .toList();
+        return Response.from(truncated, response.tokenUsage(), response.finishReason());
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * 벡터의 앞 {@code dimension}개 성분만 남기고 L2 정규화한다.
+     * 원본 벡터가 더 짧으면 원본 길이를 그대로 사용한다.
+     */
+    public static float[] truncate(float[] vector, int dimension) {
+        int length = Math.min(vector.length, dimension);
+        float[] result = new float[length];
+
+        double norm = 0.0;
+        for (int i = 0; i < length; i++) {
+            result[i] = vector[i];
+            norm += (double) vector[i] * vector[i];
+        }
+
+        if (norm > 0.0) {
+            float inverse = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < length; i++) {
+                result[i] *= inverse;
+            }
+        }
+        return result;
+    }
+}
@@ -68,6 +68,13 @@ public class DocumentMetadata {
     @Column(name = "chunk_count")
     private Integer chunkCount;
 
+    /**
+     * 문서 요약 벡터 ID (2단계 검색용, 요약 namespace 에 저장)
+     * 기능 도입 이전에 업로드된 문서는 null
+     */
+    @Column(name = "summary_vector_id", length = 64)
+    private String summaryVectorId;
+
     /**
      * 문서 처리 상태
      * PENDING: 업로드 대기
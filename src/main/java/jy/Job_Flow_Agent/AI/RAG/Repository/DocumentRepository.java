@@ -70,4 +70,10 @@ public interface DocumentRepository extends JpaRepository<DocumentMetadata, Long
      */
     @Query("SELECT d FROM DocumentMetadata d WHERE d.username = :username AND d.status = 'COMPLETED' ORDER BY d.createdAt DESC")
     List<DocumentMetadata> findCompletedDocumentsByUsername(@Param("username") String username);
+
+    /**
+     * 요약 벡터 없이 처리 완료된 사용자 문서 ID (2단계 검색 도입 이전 업로드분)
+     */
+    @Query("SELECT d.id FROM DocumentMetadata d WHERE d.username = :username AND d.status = 'COMPLETED' AND d.summaryVectorId IS NULL")
+    List<Long> findUnsummarizedDocumentIdsByUsername(@Param("username") String username);
 }
@@ -0,0 +1,182 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import jakarta.annotation.PreDestroy;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 마감 시각(deadline)을 지키는 문서 검색기
+ *
+ * 임베딩 + 벡터 검색을 별도(가상) 스레드에서 실행하고 마감 시각까지만 기다린다.
+ * 마감을 넘기면 진행 중인 작업을 인터럽트로 취소하고, 해당 사용자의 최근 검색 결과 중
+ * 질문과 어휘가 겹치는 청크를 partial 플래그와 함께 반환한다.
+ * 최근 검색 결과는 사용자 수(LRU)와 보관 시간으로 제한하고, 문서 업로드/삭제 시 forget 으로 비운다.
+ */
+@Slf4j
+@Service
+public class DeadlineDocumentRetriever {
+
+    private static final int RECENT_MATCHES_PER_USER = 50;
+
+    private final DocumentRetriever documentRetriever;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, RecentMatches> recentMatches;
+    private final long recentTtlNanos;
+
+    /**
+     * 사용자별 최근 검색 결과 (마지막 기록 시각 이후 recentTtl 이 지나면 만료)
+     */
+    private static class RecentMatches {
+
+        private final Deque<EmbeddingMatch<TextSegment>> matches = new ArrayDeque<>();
+        private long updatedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * 최근 결과는 retrievalSettings 의 사용자 수(넘으면 가장 오래 쓰지 않은 사용자부터 제거)와 보관 시간으로 제한
+     */
+    public DeadlineDocumentRetriever(DocumentRetriever documentRetriever, RetrievalSettings retrievalSettings) {
+        this.documentRetriever = documentRetriever;
+        this.recentTtlNanos = retrievalSettings.recentTtl().toNanos();
+        int maxRecentUsers = retrievalSettings.recentMaxUsers();
+        this.recentMatches = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecentMatches> eldest) {
+                return size() > maxRecentUsers;
+            }
+        });
+    }
+
+    public RetrievalResult search(String query, String username, RetrievalProfile profile, Instant deadline) {
+        if (!Instant.now().isBefore(deadline)) {
+            log.warn("Retrieval skipped, deadline already passed - user: {}", username);
+            return RetrievalResult.partial(fallback(query, username, profile));
+        }
+        return await(submit(() -> documentRetriever.search(query, username, profile)), query, username, profile, deadline);
+    }
+
+    /**
+     * 검색 작업을 검색 전용 가상 스레드에서 시작 (선행 조회(prefetch) 등에서 결과를 나중에 await 으로 받음)
+     */
+    public Future<List<EmbeddingMatch<TextSegment>>> submit(Callable<List<EmbeddingMatch<TextSegment>>> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * 이미 시작된 검색을 마감 시각까지만 기다린다. 마감을 넘기면 작업을 취소하고 partial 결과를 반환
+     * (마감이 지났더라도 이미 끝난 작업이면 그 결과를 사용)
+     */
+    public RetrievalResult await(Future<List<EmbeddingMatch<TextSegment>>> future,
+                                 String query, String username, RetrievalProfile profile, Instant deadline) {
+        long remainingMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+        try {
+            List<EmbeddingMatch<TextSegment>> matches = future.get(remainingMillis, TimeUnit.MILLISECONDS);
+            remember(username, matches);
+            return RetrievalResult.complete(matches);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Retrieval timed out after {}ms - user: {}, returning partial results", remainingMillis, username);
+            return RetrievalResult.partial(fallback(query, username, profile));
+        } catch (CancellationException e) {
+            return RetrievalResult.partial(fallback(query, username, profile));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return RetrievalResult.partial(fallback(query, username, profile));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new GlobalException("문서 검색 중 오류가 발생했습니다: " + e.getCause().getMessage(),
+                    "RAG_SEARCH_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 사용자의 최근 검색 결과 삭제 (문서 업로드/삭제 후 지난 청크가 대체 결과로 나오지 않도록)
+     */
+    public void forget(String username) {
+        recentMatches.remove(username);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void remember(String username, List<EmbeddingMatch<TextSegment>> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        RecentMatches recent = recentMatches.computeIfAbsent(username, key -> new RecentMatches());
+        synchronized (recent) {
+            if (expired(recent)) {
+                recent.matches.clear();
+            }
+            for (EmbeddingMatch<TextSegment> match : matches) {
+                recent.matches.removeIf(existing -> existing.embeddingId().equals(match.embeddingId()));
+                recent.matches.addFirst(match);
+            }
+            while (recent.matches.size() > RECENT_MATCHES_PER_USER) {
+                recent.matches.removeLast();
+            }
+            recent.updatedAtNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * 최근 검색 결과를 질문과의 어휘 겹침 비율로 다시 점수화 (네트워크 호출 없음)
+     */
+    private List<EmbeddingMatch<TextSegment>> fallback(String query, String username, RetrievalProfile profile) {
+        RecentMatches recent = recentMatches.get(username);
+        Set<String> queryTerms = QueryTerms.of(query);
+        if (recent == null || queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        List<EmbeddingMatch<TextSegment>> snapshot;
+        synchronized (recent) {
+            if (expired(recent)) {
+                recentMatches.remove(username, recent);
+                return List.of();
+            }
+            snapshot = List.copyOf(recent.matches);
+        }
+        return snapshot.stream()
+                .map(match -> {
+                    double score = QueryTerms.overlap(queryTerms, QueryTerms.of(match.embedded().text()));
+                    return new EmbeddingMatch<>(score, match.embeddingId(), match.embedding(), match.embedded());
+                })
+                .filter(match -> match.score() > 0.0)
+                .sorted(Comparator.comparingDouble(EmbeddingMatch<TextSegment>::score).reversed())
+                .limit(profile.maxResults())
+                .toList();
+    }
+
+    private boolean expired(RecentMatches recent) {
+        return System.nanoTime() - recent.updatedAtNanos > recentTtlNanos;
+    }
+}
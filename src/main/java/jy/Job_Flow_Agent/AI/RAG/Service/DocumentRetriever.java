@@ -0,0 +1,92 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import jy.Job_Flow_Agent.AI.RAG.Repository.DocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자별 문서 청크 검색기
+ *
+ * RagService / RagTools / 오프라인 평가 하네스가 동일한 검색 경로를 사용하도록 한 곳에 모아둠
+ * 프로필의 mode 가 TWO_STAGE 이면 문서 요약 벡터로 후보 문서를 먼저 좁힌 뒤 청크를 검색한다.
+ * 요약 벡터가 없는 문서(기능 도입 이전 업로드)는 1단계에서 걸러지지 않도록 항상 2단계 검색 범위에 포함한다.
+ */
+@Slf4j
+@Service
+public class DocumentRetriever {
+
+    private final EmbeddingStore<TextSegment> embeddingStore;
+    private final EmbeddingModel embeddingModel;
+    private final DocumentSummaryIndex documentSummaryIndex;
+    private final DocumentRepository documentRepository;
+
+    public DocumentRetriever(EmbeddingStore<TextSegment> embeddingStore,
+                             EmbeddingModel embeddingModel,
+                             DocumentSummaryIndex documentSummaryIndex,
+                             DocumentRepository documentRepository) {
+        this.embeddingStore = embeddingStore;
+        this.embeddingModel = embeddingModel;
+        this.documentSummaryIndex = documentSummaryIndex;
+        this.documentRepository = documentRepository;
+    }
+
+    /**
+     * 질문을 임베딩한 뒤 해당 사용자의 문서 청크만 검색
+     */
+    public List<EmbeddingMatch<TextSegment>> search(String query, String username, RetrievalProfile profile) {
+        Embedding queryEmbedding = embeddingModel.embed(query).content();
+        return search(queryEmbedding, username, profile);
+    }
+
+    /**
+     * 이미 계산된 질문 임베딩으로 해당 사용자의 문서 청크만 검색
+     */
+    public List<EmbeddingMatch<TextSegment>> search(Embedding queryEmbedding, String username, RetrievalProfile profile) {
+        Filter filter = MetadataFilterBuilder.metadataKey("username").isEqualTo(username);
+
+        if (profile.mode() == RetrievalMode.TWO_STAGE) {
+            // 1단계: 요약 벡터로 관련 문서 선별 → 2단계 청크 검색 범위를 해당 문서로 한정
+            List<Long> documentIds = new ArrayList<>(documentSummaryIndex.findRelevantDocumentIds(
+                    queryEmbedding, username, profile.topDocuments()));
+            if (documentIds.isEmpty()) {
+                // 요약 벡터가 없는 기존 문서만 있는 경우 전체 청크 검색으로 대체
+                log.debug("No document summaries for user: {}, falling back to chunk search", username);
+            } else {
+                List<Long> unsummarized = unsummarizedDocumentIds(username);
+                documentIds.addAll(unsummarized);
+                filter = filter.and(MetadataFilterBuilder.metadataKey("document_id").isIn(documentIds));
+                log.debug("Two-stage retrieval narrowed to documents: {} (without summary: {})", documentIds, unsummarized);
+            }
+        }
+
+        EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(profile.maxResults())
+                .minScore(profile.minScore())
+                .filter(filter)
+                .build();
+
+        List<EmbeddingMatch<TextSegment>> matches = embeddingStore.search(searchRequest).matches();
+        log.debug("Retrieved {} chunks for user: {} (maxResults={}, minScore={})",
+                matches.size(), username, profile.maxResults(), profile.minScore());
+        return matches;
+    }
+
+    /**
+     * 요약 벡터 없이 처리 완료된 사용자 문서 ID
+     */
+    private List<Long> unsummarizedDocumentIds(String username) {
+        return documentRepository.findUnsummarizedDocumentIdsByUsername(username);
+    }
+}
@@ -0,0 +1,104 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 문서 단위 요약 벡터 인덱스 (2단계 검색의 1단계)
+ *
+ * 문서 하나당 벡터 하나(청크 임베딩의 정규화된 평균 = centroid)를 청크와 분리된 저장소(Pinecone 별도 namespace)에 저장한다.
+ * 추가 임베딩 호출 없이 ingest 시점에 이미 계산된 청크 임베딩만으로 만들 수 있다.
+ */
+@Slf4j
+public class DocumentSummaryIndex {
+
+    private static final int PREVIEW_LENGTH = 300;
+
+    private final EmbeddingStore<TextSegment> summaryStore;
+
+    public DocumentSummaryIndex(EmbeddingStore<TextSegment> summaryStore) {
+        this.summaryStore = summaryStore;
+    }
+
+    /**
+     * 문서 요약 벡터를 저장하고 벡터 ID 를 반환
+     */
+    public String index(Long documentId, String documentName, String username,
+                        List<Embedding> chunkEmbeddings, List<TextSegment> segments) {
+        if (chunkEmbeddings.isEmpty()) {
+            return null;
+        }
+
+        Embedding centroid = Embedding.from(centroid(chunkEmbeddings));
+        String preview = segments.isEmpty() ? "" : segments.get(0).text();
+        if (preview.length() > PREVIEW_LENGTH) {
+            preview = preview.substring(0, PREVIEW_LENGTH);
+        }
+
+        TextSegment summarySegment = TextSegment.from(
+                documentName + "\n" + preview,
+                new Metadata()
+                        .put("document_id", documentId)
+                        .put("document_name", documentName)
+                        .put("username", username));
+
+        String summaryVectorId = summaryStore.add(centroid, summarySegment);
+        log.info("Document summary vector stored - document_id: {}, chunks: {}", documentId, chunkEmbeddings.size());
+        return summaryVectorId;
+    }
+
+    /**
+     * 질문과 가장 유사한 사용자 문서 ID 목록 (유사도 내림차순)
+     */
+    public List<Long> findRelevantDocumentIds(Embedding queryEmbedding, String username, int maxDocuments) {
+        EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
+                .queryEmbedding(queryEmbedding)
+                .maxResults(maxDocuments)
+                .minScore(0.0)
+                .filter(MetadataFilterBuilder.metadataKey("username").isEqualTo(username))
+                .build();
+
+        return summaryStore.search(searchRequest).matches().stream()
+                .map(EmbeddingMatch::embedded)
+                .map(segment -> segment.metadata().getLong("document_id"))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    public void remove(String summaryVectorId) {
+        summaryStore.remove(summaryVectorId);
+    }
+
+    static float[] centroid(List<Embedding> embeddings) {
+        int dimension = embeddings.get(0).dimension();
+        float[] sum = new float[dimension];
+        for (Embedding embedding : embeddings) {
+            float[] vector = embedding.vector();
+            for (int i = 0; i < dimension; i++) {
+                sum[i] += vector[i];
+            }
+        }
+
+        double norm = 0.0;
+        for (float v : sum) {
+            norm += (double) v * v;
+        }
+        if (norm > 0.0) {
+            float inverse = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < dimension; i++) {
+                sum[i] *= inverse;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,35 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 질문/청크의 어휘(토큰) 단위 비교 유틸
+ */
+public final class QueryTerms {
+
+    private QueryTerms() {
+    }
+
+    /**
+     * 소문자화 후 문자/숫자 이외 기준으로 분리한 2글자 이상 토큰 집합
+     */
+    public static Set<String> of(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> term.length() >= 2)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * query 토큰 중 target 에도 있는 비율 (0~1)
+     */
+    public static double overlap(Set<String> query, Set<String> target) {
+        if (query.isEmpty()) {
+            return 0.0;
+        }
+        long common = query.stream().filter(target::contains).count();
+        return (double) common / query.size();
+    }
+}
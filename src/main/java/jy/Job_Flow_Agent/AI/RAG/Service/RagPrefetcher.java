@@ -0,0 +1,127 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry.ChatTurn;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 턴 시작 시 RAG 검색을 선행 실행(speculative prefetch)하는 턴 단위 캐시
+ *
+ * 문서 관련 질문으로 분류된 메시지는 첫 모델 호출과 병렬로 임베딩 + 검색을 시작하고,
+ * 같은 턴에서 searchUserDocuments Tool 이 호출되면 검색 질의가 원문과 충분히 겹칠 때 그 결과를 넘겨준다.
+ * 턴이 끝날 때까지 쓰이지 않은 선행 검색은 취소한다.
+ * 한 사용자의 동시 턴이 서로의 선행 검색을 가져가지 않도록 턴(streamId) 단위로 보관한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RagPrefetcher {
+
+    /**
+     * Tool 검색 질의 토큰 중 원문 메시지에도 있어야 하는 최소 비율 (모델이 질의를 크게 바꾼 경우 재검색)
+     */
+    private static final double MIN_TERM_OVERLAP = 0.5;
+
+    private final DocumentRetriever documentRetriever;
+    private final DeadlineDocumentRetriever deadlineDocumentRetriever;
+    private final RetrievalSettings retrievalSettings;
+
+    /**
+     * streamId → 선행 검색
+     */
+    private final Map<String, Prefetch> prefetches = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    @Value("${rag.prefetch.enabled:true}")
+    private boolean enabled;
+
+    private record Prefetch(ChatTurn turn, Set<String> terms, long startedNanos, AtomicLong completedNanos,
+                            Future<List<EmbeddingMatch<TextSegment>>> future) {
+    }
+
+    /**
+     * @param savedMillis 선행 검색 덕분에 Tool 이 기다리지 않은 시간의 누적 합 (= 첫 토큰까지 단축된 시간)
+     */
+    public record PrefetchStats(long started, long hits, long misses, long savedMillis) {
+    }
+
+    public void prefetch(String username, String message, ChatTurn turn) {
+        if (!enabled) {
+            return;
+        }
+        RetrievalProfile profile = retrievalSettings.tool();
+        AtomicLong completedNanos = new AtomicLong();
+        Future<List<EmbeddingMatch<TextSegment>>> future = deadlineDocumentRetriever.submit(() -> {
+            try {
+                return documentRetriever.search(message, username, profile);
+            } finally {
+                completedNanos.set(System.nanoTime());
+            }
+        });
+
+        Prefetch previous = prefetches.put(turn.streamId(),
+                new Prefetch(turn, QueryTerms.of(message), System.nanoTime(), completedNanos, future));
+        if (previous != null) {
+            previous.future().cancel(true);
+        }
+        started.incrementAndGet();
+        log.debug("RAG prefetch started - user: {}, stream: {}", username, turn.streamId());
+    }
+
+    /**
+     * 현재 턴의 선행 검색을 꺼낸다 (1회용). 턴이 다르거나 질의가 원문과 달라졌으면 empty
+     */
+    public Optional<Future<List<EmbeddingMatch<TextSegment>>>> take(String username, String query, ChatTurn turn) {
+        Prefetch prefetch = prefetches.get(turn.streamId());
+        if (prefetch == null || prefetch.turn() != turn) {
+            return Optional.empty();
+        }
+        if (QueryTerms.overlap(QueryTerms.of(query), prefetch.terms()) < MIN_TERM_OVERLAP) {
+            misses.incrementAndGet();
+            log.debug("RAG prefetch not reused, tool query diverged - user: {}, query: '{}'", username, query);
+            return Optional.empty();
+        }
+        if (!prefetches.remove(turn.streamId(), prefetch)) {
+            return Optional.empty();
+        }
+
+        // 이미 끝났으면 검색 전체 시간, 진행 중이면 Tool 호출 전까지 앞서 진행된 시간만큼 절약
+        long takenNanos = System.nanoTime();
+        long completed = prefetch.completedNanos().get();
+        long saved = (completed != 0 ? completed : takenNanos) - prefetch.startedNanos();
+        savedMillis.addAndGet(saved / 1_000_000);
+        hits.incrementAndGet();
+        log.info("⚡ RAG prefetch hit - user: {}, saved: {}ms (completed: {})", username, saved / 1_000_000, completed != 0);
+        return Optional.of(prefetch.future());
+    }
+
+    /**
+     * 턴 종료 시 사용되지 않은 선행 검색 취소
+     */
+    public void discard(ChatTurn turn) {
+        Prefetch prefetch = prefetches.get(turn.streamId());
+        if (prefetch != null && prefetch.turn() == turn && prefetches.remove(turn.streamId(), prefetch)) {
+            prefetch.future().cancel(true);
+            misses.incrementAndGet();
+        }
+    }
+
+    public PrefetchStats stats() {
+        return new PrefetchStats(started.get(), hits.get(), misses.get(), savedMillis.get());
+    }
+}
@@ -23,6 +23,7 @@ import jy.Job_Flow_Agent.AI.RAG.DTO.RagDTO;
 import jy.Job_Flow_Agent.AI.RAG.Entity.DocumentMetadata;
 import jy.Job_Flow_Agent.AI.AssistantModels.Assistant;
 import jy.Job_Flow_Agent.AI.RAG.Repository.DocumentRepository;
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
 import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
 import jy.Job_Flow_Agent.Member.Service.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
@@ -57,6 +58,11 @@ public class RagService {
     private final ContentRetriever contentRetriever;
     private final Assistant assistant; // 통합 Assistant 사용
     private final DocumentRepository documentRepository;
+    private final DocumentRetriever documentRetriever;
+    private final DeadlineDocumentRetriever deadlineDocumentRetriever;
+    private final DocumentSummaryIndex documentSummaryIndex;
+    private final RetrievalSettings retrievalSettings;
+    private final ToolResultCache toolResultCache;
 
     /**
      * 파일 업로드 및 임베딩 처리
@@ -110,11 +116,18 @@ public class RagService {
             embeddingStore.addAll(embeddings, segmentsWithMetadata);
             log.info("Embeddings stored in Pinecone");
 
-            // 6. 문서 상태 업데이트
+            // 6. 문서 요약 벡터 저장 (2단계 검색용)
+            documentEntity.setSummaryVectorId(indexDocumentSummary(documentId, documentName, username, embeddings, segmentsWithMetadata));
+
+            // 7. 문서 상태 업데이트
             documentEntity.setChunkCount(segments.size());
             documentEntity.setStatus(DocumentMetadata.DocumentStatus.COMPLETED);
             documentRepository.save(documentEntity);
 
+            // 8. 이 사용자의 대화에 남은 문서 검색 Tool 결과 / 마감 초과 대체용 최근 검색 결과 무효화
+            toolResultCache.invalidate(username, ToolResultCache.GROUP_RAG);
+            deadlineDocumentRetriever.forget(username);
+
             return RagDTO.IngestResponse.builder()
                     .documentId(documentEntity.getId())
                     .documentName(documentEntity.getDocumentName())
@@ -175,11 +188,18 @@ public class RagService {
             List<Embedding> embeddings = embeddingModel.embedAll(segmentsWithMetadata).content();
             embeddingStore.addAll(embeddings, segmentsWithMetadata);
 
-            // 6. 문서 상태 업데이트
+            // 6. 문서 요약 벡터 저장 (2단계 검색용)
+            documentEntity.setSummaryVectorId(indexDocumentSummary(documentId, documentName, username, embeddings, segmentsWithMetadata));
+
+            // 7. 문서 상태 업데이트
             documentEntity.setChunkCount(segments.size());
             documentEntity.setStatus(DocumentMetadata.DocumentStatus.COMPLETED);
             documentRepository.save(documentEntity);
 
+            // 8. 이 사용자의 대화에 남은 문서 검색 Tool 결과 / 마감 초과 대체용 최근 검색 결과 무효화
+            toolResultCache.invalidate(username, ToolResultCache.GROUP_RAG);
+            deadlineDocumentRetriever.forget(username);
+
             return RagDTO.IngestResponse.builder()
                     .documentId(documentEntity.getId())
                     .documentName(documentEntity.getDocumentName())
@@ -209,17 +229,8 @@ public class RagService {
 
         try {
             // 1. 관련 문서 검색 (Metadata Filter 적용)
-            Embedding queryEmbedding = embeddingModel.embed(request.getQuestion()).content();
-            
-            EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
-                    .queryEmbedding(queryEmbedding)
-                    .maxResults(5) // maxResults (기본값 설정)
-                    .minScore(0.6) // minScore (유사도 임계값)
-                    .filter(MetadataFilterBuilder.metadataKey("username").isEqualTo(user.getUsername()))
-                    .build();
-
-            EmbeddingSearchResult<TextSegment> searchResult = embeddingStore.search(searchRequest);
-            List<EmbeddingMatch<TextSegment>> relevantMatches = searchResult.matches();
+            List<EmbeddingMatch<TextSegment>> relevantMatches = documentRetriever.search(
+                    request.getQuestion(), user.getUsername(), retrievalSettings.ask());
             
             log.info("Found {} relevant content pieces", relevantMatches.size());
 
@@ -261,17 +272,8 @@ public class RagService {
         log.info("Searching documents for query: {} user: {}", request.getQuery(), user.getUsername());
 
         try {
-            Embedding queryEmbedding = embeddingModel.embed(request.getQuery()).content();
-
-            EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
-                    .queryEmbedding(queryEmbedding)
-                    .maxResults(10) // maxResults
-                    .minScore(0.5) // minScore
-                    .filter(MetadataFilterBuilder.metadataKey("username").isEqualTo(user.getUsername()))
-                    .build();
-
-            EmbeddingSearchResult<TextSegment> searchResult = embeddingStore.search(searchRequest);
-            List<EmbeddingMatch<TextSegment>> relevantMatches = searchResult.matches();
+            List<EmbeddingMatch<TextSegment>> relevantMatches = documentRetriever.search(
+                    request.getQuery(), user.getUsername(), retrievalSettings.search());
 
             List<RagDTO.SearchResult> results = relevantMatches.stream()
                     .map(match -> {
@@ -396,9 +398,18 @@ public class RagService {
                 log.warn("No vectors found to delete for document_id: {}", documentId);
             }
             
+            // 문서 요약 벡터 삭제
+            if (document.getSummaryVectorId() != null) {
+                documentSummaryIndex.remove(document.getSummaryVectorId());
+            }
+
             // Pinecone 삭제 성공 후 DB 삭제
             documentRepository.delete(document);
             log.info("Document metadata deleted from database: {}", documentName);
+
+            // 삭제된 문서가 담긴 문서 검색 Tool 결과 / 최근 검색 결과 무효화
+            toolResultCache.invalidate(document.getUsername(), ToolResultCache.GROUP_RAG);
+            deadlineDocumentRetriever.forget(document.getUsername());
             
         } catch (Exception e) {
             log.error("Error deleting vectors from Pinecone for document_id: {}", documentId, e);
@@ -418,6 +429,19 @@ public class RagService {
 
     // ========== Private Helper Methods ==========
 
+    /**
+     * 요약 벡터 저장 실패는 ingest 실패로 보지 않음 (2단계 검색은 청크 검색으로 대체됨)
+     */
+    private String indexDocumentSummary(Long documentId, String documentName, String username,
+                                        List<Embedding> embeddings, List<TextSegment> segments) {
+        try {
+            return documentSummaryIndex.index(documentId, documentName, username, embeddings, segments);
+        } catch (Exception e) {
+            log.warn("Failed to store document summary vector for document_id: {}", documentId, e);
+            return null;
+        }
+    }
+
     private DocumentMetadata createDocumentEntity(MultipartFile file, String username) {
         String fileName = file.getOriginalFilename();
         String fileType = getFileExtension(fileName);
@@ -0,0 +1,9 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+/**
+ * 문서 검색 방식
+ */
+public enum RetrievalMode {
+    CHUNK,      // 사용자의 전체 청크 대상 검색 (기존 방식)
+    TWO_STAGE   // 문서 요약 벡터로 상위 문서 선별 → 해당 문서의 청크만 검색
+}
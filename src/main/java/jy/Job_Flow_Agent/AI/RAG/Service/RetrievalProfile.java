@@ -0,0 +1,16 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+/**
+ * 벡터 검색 파라미터 묶음
+ *
+ * @param maxResults   최대 반환 청크 수 (프롬프트 크기와 직결)
+ * @param minScore     최소 유사도 (0~1, 낮을수록 관련 없는 청크가 섞임)
+ * @param mode         검색 방식
+ * @param topDocuments TWO_STAGE 모드에서 1단계로 선별할 문서 수
+ */
+public record RetrievalProfile(int maxResults, double minScore, RetrievalMode mode, int topDocuments) {
+
+    public RetrievalProfile(int maxResults, double minScore) {
+        this(maxResults, minScore, RetrievalMode.CHUNK, 0);
+    }
+}
@@ -0,0 +1,23 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+
+import java.util.List;
+
+/**
+ * 마감 시각이 있는 검색 결과
+ *
+ * @param matches 검색된 청크 (partial 이면 최근 검색 결과에서 어휘 매칭으로 고른 청크)
+ * @param partial 마감 시각 초과로 벡터 검색을 끝내지 못했는지 여부
+ */
+public record RetrievalResult(List<EmbeddingMatch<TextSegment>> matches, boolean partial) {
+
+    public static RetrievalResult complete(List<EmbeddingMatch<TextSegment>> matches) {
+        return new RetrievalResult(matches, false);
+    }
+
+    public static RetrievalResult partial(List<EmbeddingMatch<TextSegment>> matches) {
+        return new RetrievalResult(matches, true);
+    }
+}
@@ -0,0 +1,106 @@
+package jy.Job_Flow_Agent.AI.RAG.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 용도별 RAG 검색 파라미터 설정
+ *
+ * 기본값은 기존 하드코딩 값과 동일하며, 조정 시 ./gradlew ragEval 결과(recall@k, MRR, 지연시간)를 참고한다.
+ * rag.retrieval.mode=TWO_STAGE 로 문서 요약 벡터 기반 2단계 검색을 켤 수 있다.
+ * rag.retrieval.timeout-ms 는 채팅 턴 마감 시각과 별개로 한 번의 Tool 검색이 쓸 수 있는 최대 시간이다.
+ * rag.retrieval.recent.* 는 마감 초과 시 대체 결과로 쓰는 사용자별 최근 검색 결과의 보관 한도다.
+ */
+@Component
+public class RetrievalSettings {
+
+    @Value("${rag.retrieval.mode:CHUNK}")
+    private RetrievalMode mode;
+
+    @Value("${rag.retrieval.two-stage.top-documents:3}")
+    private int topDocuments;
+
+    @Value("${rag.retrieval.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${rag.retrieval.recent.max-users:1000}")
+    private int recentMaxUsers;
+
+    @Value("${rag.retrieval.recent.ttl-seconds:600}")
+    private long recentTtlSeconds;
+
+    @Value("${rag.retrieval.ask.max-results:5}")
+    private int askMaxResults;
+
+    @Value("${rag.retrieval.ask.min-score:0.6}")
+    private double askMinScore;
+
+    @Value("${rag.retrieval.search.max-results:10}")
+    private int searchMaxResults;
+
+    @Value("${rag.retrieval.search.min-score:0.5}")
+    private double searchMinScore;
+
+    @Value("${rag.retrieval.tool.max-results:5}")
+    private int toolMaxResults;
+
+    @Value("${rag.retrieval.tool.min-score:0.6}")
+    private double toolMinScore;
+
+    @Value("${rag.retrieval.retriever.max-results:3}")
+    private int retrieverMaxResults;
+
+    @Value("${rag.retrieval.retriever.min-score:0.6}")
+    private double retrieverMinScore;
+
+    /**
+     * RagService.ask (문서 기반 답변 생성)
+     */
+    public RetrievalProfile ask() {
+        return new RetrievalProfile(askMaxResults, askMinScore, mode, topDocuments);
+    }
+
+    /**
+     * RagService.search (답변 없이 문서 검색)
+     */
+    public RetrievalProfile search() {
+        return new RetrievalProfile(searchMaxResults, searchMinScore, mode, topDocuments);
+    }
+
+    /**
+     * RagTools.searchUserDocuments (AI Tool)
+     */
+    public RetrievalProfile tool() {
+        return new RetrievalProfile(toolMaxResults, toolMinScore, mode, topDocuments);
+    }
+
+    /**
+     * ContentRetriever Bean
+     */
+    public RetrievalProfile retriever() {
+        return new RetrievalProfile(retrieverMaxResults, retrieverMinScore, mode, topDocuments);
+    }
+
+    /**
+     * Tool 검색 1회 최대 소요 시간
+     */
+    public Duration timeout() {
+        return Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * 최근 검색 결과를 보관할 사용자 수
+     */
+    public int recentMaxUsers() {
+        return recentMaxUsers;
+    }
+
+    /**
+     * 최근 검색 결과 보관 시간
+     */
+    public Duration recentTtl() {
+        return Duration.ofSeconds(recentTtlSeconds);
+    }
+}
@@ -0,0 +1,16 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import java.time.Duration;
+
+/**
+ * 서킷 브레이커 설정 (모든 의존성 공통)
+ *
+ * @param failureRateThreshold 최근 windowSize 건 중 실패 비율이 이 값 이상이면 차단 (예: 0.5)
+ * @param windowSize           실패율 계산에 쓰는 최근 호출 수
+ * @param minCalls             실패율을 판단하기 위한 최소 호출 수
+ * @param openDuration         차단 후 시험 호출을 허용하기까지의 시간
+ * @param halfOpenCalls        시험 호출 수 (모두 성공하면 정상 복귀, 하나라도 실패하면 다시 차단)
+ */
+public record CircuitSettings(double failureRateThreshold, int windowSize, int minCalls,
+                              Duration openDuration, int halfOpenCalls) {
+}
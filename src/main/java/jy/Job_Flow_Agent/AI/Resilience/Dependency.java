@@ -0,0 +1,26 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+/**
+ * 서킷 브레이커 / 벌크헤드로 보호하는 외부 의존성
+ */
+public enum Dependency {
+
+    EMBEDDING("embedding"),
+    CHAT("chat"),
+    STREAMING_CHAT("streaming-chat"),
+    PINECONE("pinecone"),
+    JSOUP_FETCH("jsoup");
+
+    private final String key;
+
+    Dependency(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 메트릭 태그 / 설정 키에 쓰는 이름
+     */
+    public String key() {
+        return key;
+    }
+}
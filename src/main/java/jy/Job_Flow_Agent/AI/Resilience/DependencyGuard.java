@@ -0,0 +1,304 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 외부 의존성 1개에 대한 서킷 브레이커 + 벌크헤드
+ *
+ * - 벌크헤드: Semaphore 로 동시 호출 수 제한. maxWait 안에 자리가 나지 않으면 즉시 실패 (요청 스레드가 쌓이지 않도록)
+ * - 서킷 브레이커: 최근 windowSize 건 실패율이 임계치를 넘으면 openDuration 동안 호출 없이 즉시 실패,
+ *   이후 halfOpenCalls 건 시험 호출이 모두 성공하면 정상 복귀
+ * - 인터럽트(헤지 취소 등)로 끝난 호출은 실패로 집계하지 않음
+ *
+ * 메트릭: ai.dependency.circuit.state (0 CLOSED, 1 OPEN, 2 HALF_OPEN), ai.dependency.bulkhead.available,
+ *        ai.dependency.calls (outcome=success|failure|rejected_open|rejected_full)
+ */
+@Slf4j
+public class DependencyGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final CircuitSettings settings;
+    private final Semaphore bulkhead;
+    private final Duration maxWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejectedOpen;
+    private final Counter rejectedFull;
+
+    public DependencyGuard(String name, int maxConcurrent, Duration maxWait, CircuitSettings settings,
+                           MeterRegistry meterRegistry) {
+        this.name = name;
+        this.settings = settings;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWait = maxWait;
+        this.outcomes = new boolean[settings.windowSize()];
+
+        Gauge.builder("ai.dependency.circuit.state", this, guard -> guard.state().ordinal())
+                .description("Circuit state (0 closed, 1 open, 2 half-open)")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("ai.dependency.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free bulkhead slots")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        this.successes = callCounter(meterRegistry, "success");
+        this.failures = callCounter(meterRegistry, "failure");
+        this.rejectedOpen = callCounter(meterRegistry, "rejected_open");
+        this.rejectedFull = callCounter(meterRegistry, "rejected_full");
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.dependency.calls")
+                .tag("dependency", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        Permit permit = acquire();
+        try {
+            T result = call.get();
+            permit.success();
+            return result;
+        } catch (RuntimeException e) {
+            permit.failure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 검사 예외를 던지는 호출용 (예: Jsoup)
+     *
+     * @param isFailure 의존성 장애로 볼 예외인지 (예: 대상 페이지 404 는 제외)
+     */
+    public <T> T executeChecked(Callable<T> call, Predicate<Throwable> isFailure) throws Exception {
+        Permit permit = acquire();
+        try {
+            T result = call.call();
+            permit.success();
+            return result;
+        } catch (Exception e) {
+            if (isFailure.test(e)) {
+                permit.failure(e);
+            } else {
+                permit.success();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 호출 1건 시작 (스트리밍처럼 결과가 콜백으로 오는 경우 직접 사용). 반드시 success/failure 중 하나로 반납
+     *
+     * @throws DependencyUnavailableException 서킷 OPEN 또는 벌크헤드 대기 시간 초과
+     */
+    public Permit acquire() {
+        boolean trial = admit();
+        try {
+            if (!bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedFull.increment();
+                cancelTrial(trial);
+                throw new DependencyUnavailableException(
+                        name + " 요청이 몰려 지금은 처리할 수 없습니다. 잠시 후 다시 시도해주세요",
+                        DependencyUnavailableException.BULKHEAD_FULL, name, Duration.ofSeconds(1));
+            }
+        } catch (InterruptedException e) {
+            cancelTrial(trial);
+            Thread.currentThread().interrupt();
+            throw new DependencyUnavailableException(name + " 호출 대기 중 중단되었습니다",
+                    DependencyUnavailableException.BULKHEAD_FULL, name, Duration.ofSeconds(1));
+        }
+        return new Permit(trial);
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && System.nanoTime() - openedAtNanos >= settings.openDuration().toNanos()) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 시험 호출(HALF_OPEN)로 입장했으면 true
+     */
+    private boolean admit() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                long elapsedNanos = System.nanoTime() - openedAtNanos;
+                if (elapsedNanos < settings.openDuration().toNanos()) {
+                    rejectedOpen.increment();
+                    Duration retryAfter = settings.openDuration().minusNanos(elapsedNanos);
+                    throw new DependencyUnavailableException(
+                            name + " 서비스가 일시적으로 불안정하여 요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요",
+                            DependencyUnavailableException.CIRCUIT_OPEN, name, retryAfter);
+                }
+                state = State.HALF_OPEN;
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+                log.info("🔌 서킷 시험 호출 허용 - dependency: {}", name);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenStarted >= settings.halfOpenCalls()) {
+                    rejectedOpen.increment();
+                    throw new DependencyUnavailableException(
+                            name + " 서비스 복구 확인 중입니다. 잠시 후 다시 시도해주세요",
+                            DependencyUnavailableException.CIRCUIT_OPEN, name, Duration.ofSeconds(1));
+                }
+                halfOpenStarted++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancelTrial(boolean trial) {
+        if (!trial) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                halfOpenStarted--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(boolean trial) {
+        successes.increment();
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (trial && ++halfOpenSucceeded >= settings.halfOpenCalls()) {
+                    state = State.CLOSED;
+                    resetWindow();
+                    log.info("✅ 서킷 복구 - dependency: {}", name);
+                }
+                return;
+            }
+            if (state == State.CLOSED) {
+                recordOutcome(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure(boolean trial, Throwable error) {
+        if (Thread.currentThread().isInterrupted()) {
+            // 호출 측이 취소한 경우 (헤지 패배 등) - 장애로 보지 않음
+            cancelTrial(trial);
+            return;
+        }
+        failures.increment();
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open("시험 호출 실패: " + error.getMessage());
+                return;
+            }
+            if (state == State.CLOSED) {
+                recordOutcome(true);
+                if (outcomeCount >= settings.minCalls()
+                        && (double) failureCount / outcomeCount >= settings.failureRateThreshold()) {
+                    open(String.format("실패율 %d/%d", failureCount, outcomeCount));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordOutcome(boolean failed) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeIndex]) {
+                failureCount--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    }
+
+    private void resetWindow() {
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        resetWindow();
+        log.warn("🚫 서킷 차단 - dependency: {}, {}초 동안 즉시 실패 ({})", name, settings.openDuration().toSeconds(), reason);
+    }
+
+    /**
+     * 벌크헤드 자리 1개. 결과 기록과 함께 한 번만 반납된다
+     */
+    public class Permit {
+
+        private final boolean trial;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(boolean trial) {
+            this.trial = trial;
+        }
+
+        public void success() {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+                onSuccess(trial);
+            }
+        }
+
+        public void failure(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+                onFailure(trial, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 의존성별 DependencyGuard 보관소
+ *
+ * 의존성(제공자)마다 별도 서킷/벌크헤드를 두어 하나가 느려져도 다른 의존성 호출과 인증 등 일반 요청이
+ * 같은 스레드를 기다리며 함께 멈추지 않도록 한다.
+ */
+@Component
+public class DependencyGuards {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DependencyGuard> guards = new ConcurrentHashMap<>();
+
+    @Value("${resilience.circuit.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${resilience.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${resilience.circuit.min-calls:10}")
+    private int minCalls;
+
+    @Value("${resilience.circuit.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${resilience.circuit.half-open-calls:2}")
+    private int halfOpenCalls;
+
+    /**
+     * 벌크헤드 자리가 나기를 기다리는 최대 시간 (짧게 두고 초과 시 즉시 실패)
+     */
+    @Value("${resilience.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMs;
+
+    @Value("${resilience.bulkhead.embedding.max-concurrent:16}")
+    private int embeddingMaxConcurrent;
+
+    @Value("${resilience.bulkhead.chat.max-concurrent:32}")
+    private int chatMaxConcurrent;
+
+    @Value("${resilience.bulkhead.streaming-chat.max-concurrent:64}")
+    private int streamingChatMaxConcurrent;
+
+    @Value("${resilience.bulkhead.pinecone.max-concurrent:16}")
+    private int pineconeMaxConcurrent;
+
+    @Value("${resilience.bulkhead.jsoup.max-concurrent:8}")
+    private int jsoupMaxConcurrent;
+
+    public DependencyGuards(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public DependencyGuard guard(Dependency dependency) {
+        return guard(dependency, null);
+    }
+
+    /**
+     * @param qualifier 같은 종류 안에서 따로 격리할 대상 (예: 제공자 openai / gemini), 없으면 null
+     */
+    public DependencyGuard guard(Dependency dependency, String qualifier) {
+        String name = qualifier == null ? dependency.key() : dependency.key() + ":" + qualifier;
+        return guards.computeIfAbsent(name, key -> new DependencyGuard(
+                key,
+                maxConcurrent(dependency),
+                Duration.ofMillis(bulkheadMaxWaitMs),
+                new CircuitSettings(failureRateThreshold, windowSize, minCalls, Duration.ofSeconds(openSeconds), halfOpenCalls),
+                meterRegistry));
+    }
+
+    private int maxConcurrent(Dependency dependency) {
+        return switch (dependency) {
+            case EMBEDDING -> embeddingMaxConcurrent;
+            case CHAT -> chatMaxConcurrent;
+            case STREAMING_CHAT -> streamingChatMaxConcurrent;
+            case PINECONE -> pineconeMaxConcurrent;
+            case JSOUP_FETCH -> jsoupMaxConcurrent;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * 외부 의존성 차단(서킷 OPEN) / 동시 호출 한도 초과 시 즉시 실패 (503)
+ * GlobalExceptionHandler 가 dependency 필드와 Retry-After 헤더를 함께 내려준다.
+ */
+public class DependencyUnavailableException extends GlobalException {
+
+    public static final String CIRCUIT_OPEN = "DEPENDENCY_CIRCUIT_OPEN";
+    public static final String BULKHEAD_FULL = "DEPENDENCY_BULKHEAD_FULL";
+
+    private final String dependency;
+    private final Duration retryAfter;
+
+    public DependencyUnavailableException(String message, String errorCode, String dependency, Duration retryAfter) {
+        super(message, errorCode, HttpStatus.SERVICE_UNAVAILABLE);
+        this.dependency = dependency;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getDependency() { return dependency; }
+    public Duration getRetryAfter() { return retryAfter; }
+}
@@ -0,0 +1,48 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 제공자 ChatLanguageModel 호출을 DependencyGuard 로 감싸는 데코레이터
+ * 차단 시 DependencyUnavailableException 을 던지므로 RoutingChatLanguageModel 이 즉시 다음 후보로 넘어간다.
+ */
+public class GuardedChatLanguageModel implements ChatLanguageModel {
+
+    private final ChatLanguageModel delegate;
+    private final DependencyGuard guard;
+
+    public GuardedChatLanguageModel(ChatLanguageModel delegate, DependencyGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        return guard.execute(() -> delegate.chat(chatRequest));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        return guard.execute(() -> delegate.generate(messages));
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        return guard.execute(() -> delegate.generate(messages, toolSpecifications));
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+}
@@ -0,0 +1,32 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+/**
+ * 임베딩 모델 호출을 DependencyGuard 로 감싸는 데코레이터 (embed / embedAll 모두 embedAll 을 거침)
+ */
+public class GuardedEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final DependencyGuard guard;
+
+    public GuardedEmbeddingModel(EmbeddingModel delegate, DependencyGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        return guard.execute(() -> delegate.embedAll(textSegments));
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+}
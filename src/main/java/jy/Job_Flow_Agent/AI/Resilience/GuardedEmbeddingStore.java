@@ -0,0 +1,97 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 벡터 저장소(Pinecone) 호출을 DependencyGuard 로 감싸는 데코레이터
+ */
+public class GuardedEmbeddingStore<Embedded> implements EmbeddingStore<Embedded> {
+
+    private final EmbeddingStore<Embedded> delegate;
+    private final DependencyGuard guard;
+
+    public GuardedEmbeddingStore(EmbeddingStore<Embedded> delegate, DependencyGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        return guard.execute(() -> delegate.add(embedding));
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        guard.execute(() -> {
+            delegate.add(id, embedding);
+            return null;
+        });
+    }
+
+    @Override
+    public String add(Embedding embedding, Embedded embedded) {
+        return guard.execute(() -> delegate.add(embedding, embedded));
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        return guard.execute(() -> delegate.addAll(embeddings));
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<Embedded> embedded) {
+        return guard.execute(() -> delegate.addAll(embeddings, embedded));
+    }
+
+    @Override
+    public void addAll(List<String> ids, List<Embedding> embeddings, List<Embedded> embedded) {
+        guard.execute(() -> {
+            delegate.addAll(ids, embeddings, embedded);
+            return null;
+        });
+    }
+
+    @Override
+    public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest request) {
+        return guard.execute(() -> delegate.search(request));
+    }
+
+    @Override
+    public void remove(String id) {
+        guard.execute(() -> {
+            delegate.remove(id);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        guard.execute(() -> {
+            delegate.removeAll(ids);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAll(Filter filter) {
+        guard.execute(() -> {
+            delegate.removeAll(filter);
+            return null;
+        });
+    }
+
+    @Override
+    public void removeAll() {
+        guard.execute(() -> {
+            delegate.removeAll();
+            return null;
+        });
+    }
+}
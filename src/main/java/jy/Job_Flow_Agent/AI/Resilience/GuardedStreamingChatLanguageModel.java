@@ -0,0 +1,87 @@
+package jy.Job_Flow_Agent.AI.Resilience;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+
+/**
+ * 제공자 StreamingChatLanguageModel 호출을 DependencyGuard 로 감싸는 데코레이터
+ *
+ * 벌크헤드 자리는 호출 시작부터 완료/오류 콜백까지 유지한다.
+ * 완료 콜백 안에서 Tool 실행 후 다음 스트리밍 호출이 이어지므로 (AiServices) 자리를 먼저 반납한 뒤 handler 로 전달한다.
+ */
+public class GuardedStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private final StreamingChatLanguageModel delegate;
+    private final DependencyGuard guard;
+
+    public GuardedStreamingChatLanguageModel(StreamingChatLanguageModel delegate, DependencyGuard guard) {
+        this.delegate = delegate;
+        this.guard = guard;
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        DependencyGuard.Permit permit;
+        try {
+            permit = guard.acquire();
+        } catch (DependencyUnavailableException e) {
+            handler.onError(e);
+            return;
+        }
+        try {
+            delegate.chat(chatRequest, new StreamingChatResponseHandler() {
+                @Override
+                public void onPartialResponse(String partialResponse) {
+                    handler.onPartialResponse(partialResponse);
+                }
+
+                @Override
+                public void onCompleteResponse(ChatResponse completeResponse) {
+                    permit.success();
+                    handler.onCompleteResponse(completeResponse);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    permit.failure(error);
+                    handler.onError(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            permit.failure(e);
+            handler.onError(e);
+        }
+    }
+
+    /**
+     * 이전 API 호환용 (AiServices 는 chat(ChatRequest, handler) 사용)
+     */
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        chat(ChatRequest.builder().messages(messages).build(), new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                handler.onNext(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                handler.onComplete(Response.from(completeResponse.aiMessage(), completeResponse.tokenUsage(),
+                        completeResponse.finishReason()));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                handler.onError(error);
+            }
+        });
+    }
+}
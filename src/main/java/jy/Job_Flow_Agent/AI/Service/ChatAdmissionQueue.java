@@ -0,0 +1,299 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅(LLM 호출) 동시 실행 입장 제어
+ *
+ * - 전체 동시 실행 수(ai.chat.admission.max-concurrent)와 사용자별 동시 실행 수(ai.chat.admission.max-per-user) 제한
+ * - 자리가 없으면 대기열에 넣고, 자리가 나면 사용자 단위 라운드로빈으로 입장 (한 사용자가 대기열을 독점하지 않음)
+ * - 대기열이 가득 차거나 대기 시간(ai.chat.admission.queue-timeout-ms)을 넘기면 429
+ *
+ * 메트릭: ai.chat.admission.active, ai.chat.admission.queue.depth (gauge),
+ *        ai.chat.admission.wait (대기 시간 histogram), ai.chat.admission.rejected (reason 태그)
+ */
+@Slf4j
+@Component
+public class ChatAdmissionQueue {
+
+    /**
+     * 처리 시간 기록 전 예상 대기 시간 계산에 쓰는 턴 1건 평균 처리 시간
+     */
+    private static final double INITIAL_HOLD_MILLIS = 10_000;
+    private static final double HOLD_EWMA_WEIGHT = 0.2;
+
+    @Value("${ai.chat.admission.max-concurrent:64}")
+    private int maxConcurrent;
+
+    @Value("${ai.chat.admission.max-per-user:2}")
+    private int maxPerUser;
+
+    @Value("${ai.chat.admission.max-queue:500}")
+    private int maxQueue;
+
+    @Value("${ai.chat.admission.queue-timeout-ms:60000}")
+    private long queueTimeoutMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Deque<Ticket>> waiting = new HashMap<>();
+    private final Deque<String> rotation = new ArrayDeque<>();
+    private final Map<String, Integer> running = new HashMap<>();
+    private int active;
+    private int queued;
+    private double avgHoldMillis = INITIAL_HOLD_MILLIS;
+
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public ChatAdmissionQueue(MeterRegistry meterRegistry) {
+        Gauge.builder("ai.chat.admission.active", this, queue -> queue.active)
+                .description("Chat turns currently holding an admission slot")
+                .register(meterRegistry);
+        Gauge.builder("ai.chat.admission.queue.depth", this, queue -> queue.queued)
+                .description("Chat requests waiting for an admission slot")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("ai.chat.admission.wait")
+                .description("Time spent waiting for an admission slot")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("ai.chat.admission.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("ai.chat.admission.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입장 요청. 바로 입장 가능하면 admitted() 가 이미 완료된 Ticket 을 반환
+     *
+     * @throws GlobalException 대기열이 가득 찬 경우 (429)
+     */
+    public Ticket acquire(String username) {
+        Ticket ticket = new Ticket(username);
+        lock.lock();
+        try {
+            boolean userWaiting = waiting.containsKey(username);
+            if (active < maxConcurrent && runningOf(username) < maxPerUser && !userWaiting) {
+                admit(ticket);
+            } else if (queued >= maxQueue) {
+                rejectedQueueFull.increment();
+                throw new GlobalException("요청이 많아 잠시 후 다시 시도해주세요", "CHAT_QUEUE_FULL", HttpStatus.TOO_MANY_REQUESTS);
+            } else {
+                waiting.computeIfAbsent(username, key -> new ArrayDeque<>()).addLast(ticket);
+                if (!userWaiting) {
+                    rotation.addLast(username);
+                }
+                queued++;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (ticket.admitted.isDone()) {
+            waitTimer.record(Duration.ZERO);
+        } else {
+            log.info("⏳ 채팅 대기열 진입 - user: {}, 대기: {}, 실행 중: {}", username, queued, active);
+            Schedulers.parallel().schedule(() -> expire(ticket), queueTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        return ticket;
+    }
+
+    private int runningOf(String username) {
+        return running.getOrDefault(username, 0);
+    }
+
+    private void admit(Ticket ticket) {
+        ticket.state = TicketState.ADMITTED;
+        ticket.admittedNanos = System.nanoTime();
+        active++;
+        running.merge(ticket.username, 1, Integer::sum);
+        ticket.admitted.complete(null);
+    }
+
+    /**
+     * 빈 자리를 사용자 라운드로빈 순서로 채움 (lock 보유 상태에서 호출, 완료 알림은 호출 측에서 lock 해제 후)
+     */
+    private List<Ticket> dispatch() {
+        List<Ticket> admitted = new ArrayList<>();
+        int idlePasses = 0;
+        while (active < maxConcurrent && !rotation.isEmpty() && idlePasses < rotation.size()) {
+            String username = rotation.pollFirst();
+            Deque<Ticket> userQueue = waiting.get(username);
+            if (runningOf(username) >= maxPerUser) {
+                rotation.addLast(username);
+                idlePasses++;
+                continue;
+            }
+            Ticket ticket = userQueue.pollFirst();
+            queued--;
+            ticket.state = TicketState.ADMITTED;
+            ticket.admittedNanos = System.nanoTime();
+            active++;
+            running.merge(username, 1, Integer::sum);
+            admitted.add(ticket);
+            if (userQueue.isEmpty()) {
+                waiting.remove(username);
+            } else {
+                rotation.addLast(username);
+            }
+            idlePasses = 0;
+        }
+        return admitted;
+    }
+
+    private void notifyAdmitted(List<Ticket> admitted) {
+        for (Ticket ticket : admitted) {
+            waitTimer.record(ticket.admittedNanos - ticket.enqueuedNanos, TimeUnit.NANOSECONDS);
+            ticket.admitted.complete(null);
+        }
+    }
+
+    private void expire(Ticket ticket) {
+        lock.lock();
+        try {
+            if (ticket.state != TicketState.QUEUED) {
+                return;
+            }
+            removeQueued(ticket);
+        } finally {
+            lock.unlock();
+        }
+        rejectedTimeout.increment();
+        log.warn("⌛ 채팅 대기 시간 초과 - user: {}", ticket.username);
+        ticket.admitted.completeExceptionally(
+                new GlobalException("대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요", "CHAT_QUEUE_TIMEOUT", HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+    private void removeQueued(Ticket ticket) {
+        Deque<Ticket> userQueue = waiting.get(ticket.username);
+        userQueue.remove(ticket);
+        if (userQueue.isEmpty()) {
+            waiting.remove(ticket.username);
+            rotation.remove(ticket.username);
+        }
+        queued--;
+        ticket.state = TicketState.RELEASED;
+    }
+
+    public enum TicketState {
+        QUEUED, ADMITTED, RELEASED
+    }
+
+    /**
+     * 입장 요청 1건. 입장 후에는 턴 종료 시, 대기 중에는 연결이 끊길 때 release() 호출
+     */
+    public class Ticket {
+
+        private final String username;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<Void> admitted = new CompletableFuture<>();
+        private TicketState state = TicketState.QUEUED;
+        private long admittedNanos;
+
+        private Ticket(String username) {
+            this.username = username;
+        }
+
+        /**
+         * 입장 시 완료 (대기 시간 초과 시 GlobalException, 취소 시 CancellationException 으로 실패)
+         */
+        public CompletableFuture<Void> admitted() {
+            return admitted;
+        }
+
+        /**
+         * 대기열 순번 (1부터, 입장했으면 0). 사용자별 라운드로빈 기준 근사값
+         */
+        public int position() {
+            lock.lock();
+            try {
+                if (state != TicketState.QUEUED) {
+                    return 0;
+                }
+                int ownIndex = List.copyOf(waiting.get(username)).indexOf(this);
+                int ownRotation = List.copyOf(rotation).indexOf(username);
+                int ahead = ownIndex;
+                int rotationIndex = 0;
+                for (String other : rotation) {
+                    if (!other.equals(username)) {
+                        int turns = ownIndex + (rotationIndex < ownRotation ? 1 : 0);
+                        ahead += Math.min(waiting.get(other).size(), turns);
+                    }
+                    rotationIndex++;
+                }
+                return ahead + 1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 예상 대기 시간 (평균 처리 시간 × 순번 / 전체 동시 실행 수)
+         */
+        public long estimatedWaitMillis(int position) {
+            lock.lock();
+            try {
+                return (long) Math.ceil(avgHoldMillis * position / maxConcurrent);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 자리 반납 (대기 중이면 대기열에서 제거). 여러 번 호출해도 한 번만 반영
+         */
+        public void release() {
+            List<Ticket> next;
+            boolean cancelled = false;
+            lock.lock();
+            try {
+                switch (state) {
+                    case QUEUED -> {
+                        removeQueued(this);
+                        cancelled = true;
+                    }
+                    case ADMITTED -> {
+                        state = TicketState.RELEASED;
+                        active--;
+                        running.computeIfPresent(username, (key, count) -> count > 1 ? count - 1 : null);
+                        double heldMillis = (System.nanoTime() - admittedNanos) / 1_000_000.0;
+                        avgHoldMillis += HOLD_EWMA_WEIGHT * (heldMillis - avgHoldMillis);
+                    }
+                    case RELEASED -> {
+                        return;
+                    }
+                }
+                next = dispatch();
+            } finally {
+                lock.unlock();
+            }
+            if (cancelled) {
+                admitted.completeExceptionally(new CancellationException("대기 중 연결 종료"));
+            }
+            notifyAdmitted(next);
+        }
+    }
+}
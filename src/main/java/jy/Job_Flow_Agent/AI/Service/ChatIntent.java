@@ -0,0 +1,17 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+/**
+ * 사용자 메시지의 의도 (IntentClassifier 결과)
+ */
+public enum ChatIntent {
+    /** 업로드한 문서(이력서, 저장된 공고 등) 기반 질문 → RagTools */
+    DOCUMENT,
+    /** 채용 공고 URL 분석 → JobScrappingTools / UserInterfaceTools */
+    JOB_POSTING,
+    /** 회원 정보 조회 → MemberSearchTools */
+    MEMBER,
+    /** 인사/감사 등 짧은 잡담 (도구 불필요) */
+    SMALL_TALK,
+    /** 분류 불가 - 전체 도구 사용 */
+    GENERAL
+}
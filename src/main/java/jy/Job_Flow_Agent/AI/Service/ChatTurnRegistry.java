@@ -0,0 +1,135 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 진행 중인 채팅 턴(사용자 요청 1건) 레지스트리
+ *
+ * 턴 시작 시 지연 예산(ai.chat.latency-budget-ms)으로 마감 시각을 정하고,
+ * Tool 은 현재 턴의 마감 시각을 조회해 하위 호출(RAG 검색 등)에 전파한다.
+ * 한 사용자가 여러 턴을 동시에 가질 수 있으므로(탭, 재시도) 턴은 streamId 로 구분한다.
+ * 턴을 시작한 스레드에서 bind 한 턴은 모델 콜백/Tool 실행 스레드로 전파되어(propagate),
+ * Tool 과 UI 이벤트가 사용자 기준이 아니라 자신을 실행한 턴 기준으로 동작한다.
+ */
+@Slf4j
+@Component
+public class ChatTurnRegistry {
+
+    /**
+     * 현재 스레드에서 실행 중인 턴 (ToolResultCache.SKIP_CURRENT 와 같은 스레드 단위 전달 방식)
+     */
+    private static final ThreadLocal<ChatTurn> CURRENT = new ThreadLocal<>();
+
+    /**
+     * streamId → 턴
+     */
+    private final Map<String, ChatTurn> activeTurns = new ConcurrentHashMap<>();
+
+    @Value("${ai.chat.latency-budget-ms:30000}")
+    private long latencyBudgetMs;
+
+    /**
+     * @param username  턴을 시작한 사용자
+     * @param startedAt 턴 시작 시각
+     * @param deadline  턴 응답 마감 시각
+     * @param intent    IntentClassifier 로 분류한 메시지 의도
+     * @param streamId  턴을 시작한 SSE 스트림 ID (턴 식별자, Tool UI 이벤트 라우팅용)
+     */
+    public record ChatTurn(String username, Instant startedAt, Instant deadline, ChatIntent intent, String streamId) {
+
+        public Duration remaining() {
+            return Duration.between(Instant.now(), deadline);
+        }
+    }
+
+    public ChatTurn begin(String username, ChatIntent intent, String streamId) {
+        Instant now = Instant.now();
+        ChatTurn turn = new ChatTurn(username, now, now.plusMillis(latencyBudgetMs), intent, streamId);
+        activeTurns.put(streamId, turn);
+        log.debug("Chat turn started - user: {}, stream: {}, intent: {}, deadline: {}",
+                username, streamId, intent, turn.deadline());
+        return turn;
+    }
+
+    public void end(ChatTurn turn) {
+        activeTurns.remove(turn.streamId(), turn);
+    }
+
+    public Optional<ChatTurn> find(String streamId) {
+        return Optional.ofNullable(activeTurns.get(streamId));
+    }
+
+    /**
+     * 사용자의 현재 턴
+     * - 현재 스레드에 bind 된 그 사용자의 진행 중인 턴이 있으면 그 턴
+     * - 없으면 사용자의 진행 중인 턴이 하나뿐일 때만 그 턴 (여러 개면 어느 턴인지 알 수 없으므로 empty)
+     */
+    public Optional<ChatTurn> current(String username) {
+        ChatTurn bound = CURRENT.get();
+        if (bound != null && bound.username().equals(username) && activeTurns.get(bound.streamId()) == bound) {
+            return Optional.of(bound);
+        }
+        List<ChatTurn> turns = activeTurns.values().stream()
+                .filter(turn -> turn.username().equals(username))
+                .limit(2)
+                .toList();
+        return turns.size() == 1 ? Optional.of(turns.get(0)) : Optional.empty();
+    }
+
+    /**
+     * 현재 스레드에 bind 된 턴
+     */
+    public static Optional<ChatTurn> bound() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * 턴을 현재 스레드에 bind 한 채로 실행 (turn 이 null 이면 그대로 실행)
+     */
+    public static void runWithin(ChatTurn turn, Runnable action) {
+        ChatTurn previous = CURRENT.get();
+        CURRENT.set(turn);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * 현재 스레드의 턴을 다른 스레드에서 실행될 작업에 전파
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        ChatTurn turn = CURRENT.get();
+        if (turn == null) {
+            return task;
+        }
+        return () -> {
+            ChatTurn previous = CURRENT.get();
+            CURRENT.set(turn);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(ChatTurn previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
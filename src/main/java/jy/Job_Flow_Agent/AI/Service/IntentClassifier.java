@@ -0,0 +1,106 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 모델 호출 없이 키워드 규칙만으로 메시지 의도를 분류하는 경량 분류기
+ *
+ * 요청 경로에서 동기 호출되므로 마이크로초 단위로 끝나야 한다.
+ * 애매하면 GENERAL 로 분류해 기존 동작(전체 도구)을 유지한다.
+ * 한 메시지가 여러 의도에 걸치면(공고 URL + "내 이력서") classifyAll 이 모두 돌려주고, classify 는 우선순위가 가장 높은 하나만 돌려준다.
+ * 영문 키워드는 단어 경계에서만 일치 ("hi" 가 "this" 안에서 잡히지 않도록), 한글 키워드는 조사가 붙으므로 부분 일치.
+ */
+@Component
+public class IntentClassifier {
+
+    private static final Pattern URL_PATTERN = Pattern.compile("https?://\\S+");
+    private static final int SMALL_TALK_MAX_LENGTH = 20;
+
+    private static final Pattern JOB_POSTING_KEYWORDS = keywords(
+            "채용공고 분석", "채용 공고 분석", "공고 분석", "공고 링크", "jd 분석");
+
+    private static final Pattern DOCUMENT_KEYWORDS = keywords(
+            "이력서", "자소서", "자기소개서", "포트폴리오", "업로드", "문서", "저장된", "올린", "내 경력", "resume");
+
+    private static final Pattern MEMBER_KEYWORDS = keywords(
+            "내 정보", "회원 정보", "회원정보", "프로필", "닉네임", "가입일", "이메일");
+
+    private static final Pattern SMALL_TALK_KEYWORDS = keywords(
+            "안녕", "고마워", "감사", "반가", "ㅎㅎ", "ㅋㅋ", "hi", "hello", "thanks", "thank you");
+
+    /**
+     * classifyAll 결과가 여럿이면 고르는 순서
+     */
+    private static final List<ChatIntent> PRIORITY = List.of(
+            ChatIntent.JOB_POSTING, ChatIntent.DOCUMENT, ChatIntent.MEMBER, ChatIntent.SMALL_TALK, ChatIntent.GENERAL);
+
+    /**
+     * 대표 의도 하나 (여러 의도에 걸치면 JOB_POSTING > DOCUMENT > MEMBER 순)
+     */
+    public ChatIntent classify(String message) {
+        Set<ChatIntent> intents = classifyAll(message);
+        return PRIORITY.stream().filter(intents::contains).findFirst().orElse(ChatIntent.GENERAL);
+    }
+
+    /**
+     * 메시지가 걸친 모든 의도
+     * - 도구 의도(JOB_POSTING, DOCUMENT, MEMBER)는 일치하는 것 모두
+     * - 도구 의도가 없을 때만 SMALL_TALK (짧은 인사/감사), 그것도 아니면 GENERAL
+     */
+    public Set<ChatIntent> classifyAll(String message) {
+        if (message == null || message.isBlank()) {
+            return EnumSet.of(ChatIntent.GENERAL);
+        }
+        String normalized = message.toLowerCase(Locale.ROOT).strip();
+
+        Set<ChatIntent> intents = EnumSet.noneOf(ChatIntent.class);
+        if (URL_PATTERN.matcher(normalized).find() || containsAny(normalized, JOB_POSTING_KEYWORDS)) {
+            intents.add(ChatIntent.JOB_POSTING);
+        }
+        if (containsAny(normalized, DOCUMENT_KEYWORDS)) {
+            intents.add(ChatIntent.DOCUMENT);
+        }
+        if (containsAny(normalized, MEMBER_KEYWORDS)) {
+            intents.add(ChatIntent.MEMBER);
+        }
+        if (intents.isEmpty()) {
+            intents.add(normalized.length() <= SMALL_TALK_MAX_LENGTH && containsAny(normalized, SMALL_TALK_KEYWORDS)
+                    ? ChatIntent.SMALL_TALK
+                    : ChatIntent.GENERAL);
+        }
+        return intents;
+    }
+
+    private static boolean containsAny(String text, Pattern keywords) {
+        return keywords.matcher(text).find();
+    }
+
+    /**
+     * 키워드 목록 → 하나의 정규식 (영문/숫자로 시작·끝나는 키워드는 앞뒤가 영문/숫자가 아닐 때만 일치)
+     */
+    private static Pattern keywords(String... keywords) {
+        List<String> alternatives = new ArrayList<>(keywords.length);
+        for (String keyword : keywords) {
+            String quoted = Pattern.quote(keyword);
+            if (isLatin(keyword.charAt(0))) {
+                quoted = "(?<![a-z0-9])" + quoted;
+            }
+            if (isLatin(keyword.charAt(keyword.length() - 1))) {
+                quoted = quoted + "(?![a-z0-9])";
+            }
+            alternatives.add(quoted);
+        }
+        return Pattern.compile(String.join("|", alternatives));
+    }
+
+    private static boolean isLatin(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+}
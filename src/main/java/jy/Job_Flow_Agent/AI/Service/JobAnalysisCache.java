@@ -0,0 +1,101 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 채용공고 분석 결과 캐시 (Redis, 사용자/노드 공유)
+ *
+ * JobAnalyzer 는 temperature 0 추출이라 같은 본문이면 같은 결과가 나오므로,
+ * 정규화한 본문의 SHA-256 + 프롬프트 버전을 키로 JobPostingInfo(JSON)를 TTL 동안 보관한다.
+ * 프롬프트 버전은 결과를 만든 분석기 기준 (JobAnalyzer / StreamingJobAnalyzer 의 PROMPT_VERSION)
+ * - job:analysis:{promptVersion}:{sha256}
+ * Redis 오류는 캐시 미스로 취급해 분석 자체는 계속 진행한다.
+ */
+@Slf4j
+@Component
+public class JobAnalysisCache {
+
+    private static final String KEY_PREFIX = "job:analysis:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${ai.job-analysis.cache.ttl-hours:24}")
+    private long ttlHours;
+
+    public JobAnalysisCache(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("ai.job-analysis.cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("ai.job-analysis.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<JobPostingInfo> get(String content) {
+        return get(content, JobAnalyzer.PROMPT_VERSION);
+    }
+
+    public Optional<JobPostingInfo> get(String content, String promptVersion) {
+        String key = keyOf(content, promptVersion);
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            if (json != null) {
+                hits.increment();
+                return Optional.of(objectMapper.readValue(json, JobPostingInfo.class));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ 캐시된 분석 결과 역직렬화 실패, 삭제 후 재분석 - key: {}", key);
+            stringRedisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ 분석 결과 캐시 조회 실패 - key: {}, 원인: {}", key, e.getMessage());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(String content, JobPostingInfo info) {
+        put(content, JobAnalyzer.PROMPT_VERSION, info);
+    }
+
+    public void put(String content, String promptVersion, JobPostingInfo info) {
+        String key = keyOf(content, promptVersion);
+        try {
+            stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(info), Duration.ofHours(ttlHours));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("⚠️ 분석 결과 캐시 저장 실패 - key: {}, 원인: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 공백 차이는 같은 본문으로 취급 (공백 압축 + 앞뒤 공백 제거 후 해시)
+     */
+    static String keyOf(String content, String promptVersion) {
+        String normalized = content.replaceAll("\\s+", " ").strip();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return KEY_PREFIX + promptVersion + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+}
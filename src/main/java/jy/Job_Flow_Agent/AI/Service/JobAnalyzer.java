@@ -11,6 +11,11 @@ import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
  */
 public interface JobAnalyzer {
 
+    /**
+     * 프롬프트(시스템 메시지)/출력 스키마 버전. 바꾸면 JobAnalysisCache 의 기존 결과를 더 이상 사용하지 않음
+     */
+    String PROMPT_VERSION = "v1";
+
     @SystemMessage("""
             당신은 채용공고 분석 전문가입니다.
             제공된 웹페이지 텍스트(HTML Body)에서 핵심 채용 정보를 추출하여 구조화된 데이터로 반환하세요.
@@ -0,0 +1,256 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 스트리밍 중인 채용공고 JSON 의 점진 파서 (StreamingJobAnalyzer 출력용)
+ *
+ * 토큰 조각을 받을 때마다 이어서 읽고, 끝까지 읽힌 값만 반영한다.
+ * - 문자열 필드는 닫는 따옴표까지 온 뒤에 반영 (회사명이 반쯤 잘려 보이지 않도록)
+ * - 리스트 필드는 항목 단위로 반영
+ * - 객체 앞의 코드 블록 표시(```json) 등은 무시, 모르는 중첩 값은 건너뜀
+ * 스레드 안전하지 않음 (한 스트림의 콜백에서만 사용)
+ */
+public class JobPostingStreamParser {
+
+    private enum State {
+        BEFORE_OBJECT, KEY_OR_END, KEY, COLON, VALUE, STRING, LITERAL,
+        ARRAY_ITEM_OR_END, ARRAY_STRING, ARRAY_LITERAL, SKIP, DONE
+    }
+
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<String, List<String>> lists = new HashMap<>();
+    private final StringBuilder token = new StringBuilder();
+
+    private State state = State.BEFORE_OBJECT;
+    private String key;
+    private boolean escape;
+    private int unicodeDigits = -1;
+    private int unicodeValue;
+
+    private State skipReturn;
+    private int skipDepth;
+    private boolean skipInString;
+    private boolean skipEscape;
+
+    /**
+     * @return 이번 조각으로 새로 반영된 값이 있으면 true
+     */
+    public boolean feed(CharSequence chunk) {
+        boolean changed = false;
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            changed |= accept(chunk.charAt(i));
+        }
+        return changed;
+    }
+
+    /**
+     * @return 최상위 객체를 닫는 괄호까지 읽었으면 true
+     */
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    /**
+     * 지금까지 반영된 값 (아직 오지 않은 필드는 null)
+     */
+    public JobPostingInfo snapshot() {
+        return new JobPostingInfo(
+                strings.get("companyName"),
+                strings.get("title"),
+                list("majorTasks"),
+                list("requirements"),
+                list("preferredSkills"),
+                list("techStack"),
+                strings.get("deadline"),
+                strings.get("salary"),
+                strings.get("location"));
+    }
+
+    private List<String> list(String name) {
+        List<String> items = lists.get(name);
+        return items == null ? null : List.copyOf(items);
+    }
+
+    private boolean accept(char c) {
+        switch (state) {
+            case BEFORE_OBJECT:
+                if (c == '{') {
+                    state = State.KEY_OR_END;
+                }
+                return false;
+            case KEY_OR_END:
+                // 값 뒤의 쉼표/공백도 여기서 넘김
+                if (c == '"') {
+                    startString(State.KEY);
+                } else if (c == '}') {
+                    state = State.DONE;
+                    return true;
+                }
+                return false;
+            case KEY:
+                if (readString(c)) {
+                    key = token.toString();
+                    state = State.COLON;
+                }
+                return false;
+            case COLON:
+                if (c == ':') {
+                    state = State.VALUE;
+                }
+                return false;
+            case VALUE:
+                if (c == '"') {
+                    startString(State.STRING);
+                } else if (c == '[') {
+                    lists.put(key, new ArrayList<>());
+                    state = State.ARRAY_ITEM_OR_END;
+                } else if (c == '{') {
+                    startSkip(State.KEY_OR_END);
+                } else if (!Character.isWhitespace(c)) {
+                    token.setLength(0);
+                    token.append(c);
+                    state = State.LITERAL;
+                }
+                return false;
+            case STRING:
+                if (readString(c)) {
+                    strings.put(key, token.toString());
+                    state = State.KEY_OR_END;
+                    return true;
+                }
+                return false;
+            case LITERAL:
+                if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+                    boolean changed = putLiteral();
+                    state = State.KEY_OR_END;
+                    return accept(c) || changed;
+                }
+                token.append(c);
+                return false;
+            case ARRAY_ITEM_OR_END:
+                if (c == '"') {
+                    startString(State.ARRAY_STRING);
+                } else if (c == ']') {
+                    state = State.KEY_OR_END;
+                } else if (c == '{' || c == '[') {
+                    startSkip(State.ARRAY_ITEM_OR_END);
+                } else if (c != ',' && !Character.isWhitespace(c)) {
+                    token.setLength(0);
+                    token.append(c);
+                    state = State.ARRAY_LITERAL;
+                }
+                return false;
+            case ARRAY_STRING:
+                if (readString(c)) {
+                    lists.get(key).add(token.toString());
+                    state = State.ARRAY_ITEM_OR_END;
+                    return true;
+                }
+                return false;
+            case ARRAY_LITERAL:
+                if (c == ',' || c == ']' || Character.isWhitespace(c)) {
+                    String literal = token.toString();
+                    state = State.ARRAY_ITEM_OR_END;
+                    boolean changed = !"null".equals(literal) && lists.get(key).add(literal);
+                    return accept(c) || changed;
+                }
+                token.append(c);
+                return false;
+            case SKIP:
+                skip(c);
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    private boolean putLiteral() {
+        String literal = token.toString();
+        if ("null".equals(literal)) {
+            return false;
+        }
+        strings.put(key, literal);
+        return true;
+    }
+
+    private void startString(State next) {
+        token.setLength(0);
+        escape = false;
+        unicodeDigits = -1;
+        state = next;
+    }
+
+    /**
+     * @return 닫는 따옴표를 읽었으면 true (내용은 token)
+     */
+    private boolean readString(char c) {
+        if (unicodeDigits >= 0) {
+            int digit = Character.digit(c, 16);
+            unicodeValue = (unicodeValue << 4) | Math.max(digit, 0);
+            if (++unicodeDigits == 4) {
+                token.append((char) unicodeValue);
+                unicodeDigits = -1;
+            }
+            return false;
+        }
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n' -> token.append('\n');
+                case 't' -> token.append('\t');
+                case 'r' -> token.append('\r');
+                case 'b' -> token.append('\b');
+                case 'f' -> token.append('\f');
+                case 'u' -> {
+                    unicodeDigits = 0;
+                    unicodeValue = 0;
+                }
+                default -> token.append(c);
+            }
+            return false;
+        }
+        if (c == '\\') {
+            escape = true;
+            return false;
+        }
+        if (c == '"') {
+            return true;
+        }
+        token.append(c);
+        return false;
+    }
+
+    private void startSkip(State returnTo) {
+        skipReturn = returnTo;
+        skipDepth = 1;
+        skipInString = false;
+        skipEscape = false;
+        state = State.SKIP;
+    }
+
+    private void skip(char c) {
+        if (skipInString) {
+            if (skipEscape) {
+                skipEscape = false;
+            } else if (c == '\\') {
+                skipEscape = true;
+            } else if (c == '"') {
+                skipInString = false;
+            }
+            return;
+        }
+        if (c == '"') {
+            skipInString = true;
+        } else if (c == '{' || c == '[') {
+            skipDepth++;
+        } else if ((c == '}' || c == ']') && --skipDepth == 0) {
+            state = skipReturn;
+        }
+    }
+}
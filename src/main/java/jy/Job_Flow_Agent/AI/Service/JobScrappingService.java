@@ -1,25 +1,60 @@
 package jy.Job_Flow_Agent.AI.Service;
 
 import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+import jy.Job_Flow_Agent.AI.Resilience.Dependency;
+import jy.Job_Flow_Agent.AI.Resilience.DependencyGuards;
 import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class JobScrappingService {
 
+    /**
+     * 부분 결과 전달 최소 간격 (UI 이벤트 버퍼가 넘치지 않도록 항목 단위 변경을 묶음)
+     */
+    private static final long PARTIAL_INTERVAL_NANOS = 150_000_000L;
+
     private final JobAnalyzer jobAnalyzer;
+    private final StreamingJobAnalyzer streamingJobAnalyzer;
+    private final JobAnalysisCache jobAnalysisCache;
+    private final DependencyGuards dependencyGuards;
+
+    /**
+     * 스트리밍 분석 완료 대기 시간 (scrapeJobPosting 의 Tool 제한 시간 60초 안에서 페이지 조회 10초를 뺀 값)
+     */
+    @Value("${ai.job-analysis.timeout-ms:50000}")
+    private long analysisTimeoutMs;
 
     /**
      * URL에서 채용 공고를 스크래핑하고 구조화된 데이터로 변환합니다.
      */
-    public JobPostingInfo jobScrapping(String URL){
+    public JobPostingInfo jobScrapping(String URL) {
+        return jobScrapping(URL, null);
+    }
+
+    /**
+     * URL에서 채용 공고를 스크래핑하고 구조화된 데이터로 변환합니다.
+     *
+     * @param onPartial null 이 아니면 스트리밍 분석으로 채워진 필드부터 전달 (캐시 적중 시 호출되지 않음)
+     */
+    public JobPostingInfo jobScrapping(String URL, Consumer<JobPostingInfo> onPartial){
         if(URL == null || URL.isEmpty()){
             throw new GlobalException("URL을 입력하세요", "NEED_URL_LINK", HttpStatus.BAD_REQUEST);
         }
@@ -27,10 +62,11 @@ public class JobScrappingService {
             log.info("🌐 스크래핑 시작: {}", URL);
             
             // 1. Jsoup으로 HTML 가져오기 (User-Agent 설정 필수)
-            Document doc = Jsoup.connect(URL)
+            // (외부 페이지 호출은 서킷/벌크헤드로 보호, 대상 페이지의 4xx 응답은 장애로 집계하지 않음)
+            Document doc = dependencyGuards.guard(Dependency.JSOUP_FETCH).executeChecked(() -> Jsoup.connect(URL)
                     .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
                     .timeout(10000) // 타임아웃 10초로 증가
-                    .get();
+                    .get(), JobScrappingService::isFetchFailure);
 
             String title = doc.title();
             String bodyText = doc.body().text(); // 태그 제거된 순수 텍스트
@@ -40,16 +76,100 @@ public class JobScrappingService {
             // 2. AI를 통해 텍스트 구조화 (Structured Extraction)
             // 제목 정보도 함께 넘겨주면 분석에 도움이 됨
             String contentToAnalyze = "제목: " + title + "\n\n본문:\n" + bodyText;
-            
-            JobPostingInfo info = jobAnalyzer.analyze(contentToAnalyze);
+
+            // 같은 본문은 이전 분석 결과 재사용 (temperature 0 추출이라 결과 동일, 분석기 프롬프트 버전별)
+            String promptVersion = onPartial != null ? StreamingJobAnalyzer.PROMPT_VERSION : JobAnalyzer.PROMPT_VERSION;
+            Optional<JobPostingInfo> cached = jobAnalysisCache.get(contentToAnalyze, promptVersion);
+            if (cached.isPresent()) {
+                log.info("⚡ 분석 캐시 적중: {}", cached.get().companyName());
+                return cached.get();
+            }
+
+            JobPostingInfo info = onPartial != null
+                    ? analyzeStreaming(contentToAnalyze, onPartial)
+                    : analyze(contentToAnalyze);
             
             log.info("✨ AI 분석 완료: {} (기술스택: {})", info.companyName(), info.techStack());
 
             return info;
 
+        } catch (GlobalException e) {
+            // DependencyUnavailableException(서킷/벌크헤드) 포함
+            throw e;
+        } catch (InterruptedException e) {
+            // Tool 제한 시간 초과 등으로 취소됨
+            Thread.currentThread().interrupt();
+            throw new GlobalException("채용 공고 분석이 중단되었습니다", "JOB_SCRAPPING_INTERRUPTED", HttpStatus.SERVICE_UNAVAILABLE);
         } catch (Exception e){
             log.error("❌ 크롤링 및 분석 실패: {}", e.getMessage(), e);
             throw new GlobalException("채용 공고 분석 중 오류가 발생했습니다: " + e.getMessage(), "JOB_SCRAPPING_ERROR", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    private JobPostingInfo analyze(String contentToAnalyze) {
+        JobPostingInfo info = jobAnalyzer.analyze(contentToAnalyze);
+        jobAnalysisCache.put(contentToAnalyze, JobAnalyzer.PROMPT_VERSION, info);
+        return info;
+    }
+
+    /**
+     * 스트리밍 분석 - JSON 을 받는 대로 읽어 채워진 필드부터 onPartial 로 전달
+     * 응답이 JSON 객체로 끝나지 않으면 기존(비스트리밍) 분석으로 다시 추출
+     * ai.job-analysis.timeout-ms 안에 끝나지 않으면 이후 토큰은 카드로 보내지 않고 JOB_ANALYSIS_TIMEOUT 으로 실패
+     */
+    private JobPostingInfo analyzeStreaming(String contentToAnalyze, Consumer<JobPostingInfo> onPartial)
+            throws InterruptedException {
+        JobPostingStreamParser parser = new JobPostingStreamParser();
+        CompletableFuture<Boolean> completed = new CompletableFuture<>();
+        AtomicBoolean abandoned = new AtomicBoolean(false);
+        long[] lastEmitNanos = {0L};
+        long startedNanos = System.nanoTime();
+
+        streamingJobAnalyzer.analyze(contentToAnalyze)
+                .onPartialResponse(token -> {
+                    if (abandoned.get()) {
+                        return;
+                    }
+                    if (parser.feed(token) && System.nanoTime() - lastEmitNanos[0] >= PARTIAL_INTERVAL_NANOS) {
+                        if (lastEmitNanos[0] == 0L) {
+                            log.info("⏱️ 채용공고 첫 필드 {}ms", (System.nanoTime() - startedNanos) / 1_000_000);
+                        }
+                        lastEmitNanos[0] = System.nanoTime();
+                        onPartial.accept(parser.snapshot());
+                    }
+                })
+                .onCompleteResponse(response -> completed.complete(parser.isComplete()))
+                .onError(completed::completeExceptionally)
+                .start();
+
+        try {
+            if (completed.get(analysisTimeoutMs, TimeUnit.MILLISECONDS)) {
+                JobPostingInfo info = parser.snapshot();
+                onPartial.accept(info);
+                jobAnalysisCache.put(contentToAnalyze, StreamingJobAnalyzer.PROMPT_VERSION, info);
+                return info;
+            }
+        } catch (TimeoutException e) {
+            abandoned.set(true);
+            log.warn("⏱️ 스트리밍 분석 시간 초과 - {}ms", analysisTimeoutMs);
+            throw new GlobalException("채용 공고 분석 시간이 초과되었습니다", "JOB_ANALYSIS_TIMEOUT", HttpStatus.GATEWAY_TIMEOUT);
+        } catch (InterruptedException e) {
+            abandoned.set(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+        log.warn("⚠️ 스트리밍 분석 결과가 JSON 객체가 아님, 일반 분석으로 재시도");
+        return analyze(contentToAnalyze);
+    }
+
+    /**
+     * 대상 사이트가 4xx 로 응답한 경우(잘못된 URL 등)는 Jsoup 호출 경로 장애가 아님
+     */
+    private static boolean isFetchFailure(Throwable error) {
+        return !(error instanceof HttpStatusException statusException && statusException.getStatusCode() < 500);
+    }
+}
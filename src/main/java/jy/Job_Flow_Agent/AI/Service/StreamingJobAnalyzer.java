@@ -0,0 +1,38 @@
+package jy.Job_Flow_Agent.AI.Service;
+
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
+import dev.langchain4j.service.UserMessage;
+
+/**
+ * 채용공고 텍스트 스트리밍 분석기 (JobAnalyzer 와 같은 추출, 응답을 JSON 토큰 스트림으로 받음)
+ *
+ * 짧은 필드(회사명, 공고명 등)를 먼저 출력하도록 키 순서를 고정해 JobPostingStreamParser 가 채워진 필드부터 읽는다.
+ * 출력 스키마는 JobPostingInfo 와 같음 (JobAnalyzer.PROMPT_VERSION 과 함께 관리).
+ */
+public interface StreamingJobAnalyzer {
+
+    /**
+     * 스트리밍 프롬프트 버전. JobAnalyzer 와 프롬프트가 다르므로 JobAnalysisCache 에 별도 버전으로 저장
+     */
+    String PROMPT_VERSION = "stream-v1";
+
+    @SystemMessage("""
+            당신은 채용공고 분석 전문가입니다.
+            제공된 웹페이지 텍스트(HTML Body)에서 핵심 채용 정보를 추출하여 JSON 객체 하나로만 응답하세요.
+
+            [출력 형식 - 키 순서를 반드시 지키세요]
+            {"companyName": "회사 이름", "title": "채용 공고 제목", "location": "근무지 위치",
+             "deadline": "채용 마감일", "salary": "연봉 정보",
+             "techStack": ["기술 스택"], "majorTasks": ["주요 업무 요약"],
+             "requirements": ["자격 요건 요약"], "preferredSkills": ["우대 사항 요약"]}
+
+            [지침]
+            1. 불필요한 메뉴, 광고, 사이드바 내용은 무시하고 '실제 채용 공고 내용'에만 집중하세요.
+            2. 기술 스택은 영어 명칭(예: Java, Python)으로 명확히 추출하세요.
+            3. 정보가 명시되어 있지 않은 경우 null 대신 '정보 없음' 또는 문맥에 맞는 기본값(예: 마감일 '상시채용', 연봉 '회사 내규에 따름')을 사용하세요.
+            4. 주요 업무, 자격 요건, 우대 사항은 핵심 내용을 요약하여 리스트로 만드세요.
+            5. 코드 블록(```)이나 설명 없이 JSON 만 출력하세요.
+            """)
+    TokenStream analyze(@UserMessage String rawHtmlContent);
+}
@@ -2,10 +2,15 @@ package jy.Job_Flow_Agent.AI.Tools;
 
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.agent.tool.P;
+import dev.langchain4j.agent.tool.ToolMemoryId;
 import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry.ChatTurn;
 import jy.Job_Flow_Agent.AI.Service.JobScrappingService;
+import jy.Job_Flow_Agent.AI.Tools.UserInterfaceTools.UIEventWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -19,22 +24,28 @@ import java.util.List;
 public class JobScrappingTools {
     
     private final JobScrappingService jobScrappingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 채용 공고 URL을 스크래핑하고 구조화된 정보로 변환합니다.
+     * 분석 중에는 채워진 필드부터 JOB_POSTING 카드 이벤트로 보내 화면에 먼저 표시합니다.
+     * username은 모델이 채우는 인자가 아니라 대화의 memoryId가 주입됩니다.
      */
+    @ToolLimit(maxConcurrency = 8, timeoutMs = 60000)
     @Tool("""
           사용자가 제공한 채용 공고 URL을 스크래핑하여 핵심 정보를 분석합니다. 
           사용자가 채용 공고 링크를 공유하거나 분석을 요청할 때 사용하세요. 
           반환된 정보는 이미 구조화되어 있으므로, 이를 바탕으로 바로 답변하면 됩니다.
           """)
-    public String scrapeJobPosting(@P("스크래핑할 채용 공고 URL") String url) {
+    public String scrapeJobPosting(@ToolMemoryId String username, @P("스크래핑할 채용 공고 URL") String url) {
         
         log.info("🌐 Job Scraping Tool 호출 - URL: '{}'", url);
         
         try {
-            // 1. 서비스 호출 (스크래핑 + AI 구조화)
-            JobPostingInfo info = jobScrappingService.jobScrapping(url);
+            // 1. 서비스 호출 (스크래핑 + AI 구조화, 분석 중간 결과는 이 턴의 스트림에 카드로 바로 표시)
+            ChatTurn turn = ChatTurnRegistry.bound().orElse(null);
+            JobPostingInfo info = jobScrappingService.jobScrapping(url, partial -> ChatTurnRegistry.runWithin(turn,
+                    () -> eventPublisher.publishEvent(new UIEventWrapper(username, "JOB_POSTING", partial))));
             
             // 2. AI(Chat Model)에게 전달할 깔끔한 포맷 생성
             StringBuilder sb = new StringBuilder();
@@ -82,6 +93,7 @@ public class JobScrappingTools {
     /**
      * 채용 공고 URL을 스크래핑하고 구조화된 정보로 변환합니다.
      */
+    @ToolLimit(maxConcurrency = 8, timeoutMs = 60000)
     @Tool("""
           사용자가 제공한 채용 공고 URL을 스크래핑하여 핵심 정보의 DTO를 반환합니다.
           """)
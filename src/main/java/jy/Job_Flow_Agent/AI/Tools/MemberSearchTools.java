@@ -18,6 +18,8 @@ import java.util.Map;
  * LangChain4j 툴: 회원 검색 및 조회 기능
  * 
  * AI 어시스턴트가 회원 정보를 조회하고 검증할 수 있도록 하는 툴 모음
+ * 회원 정보는 가입/로그인/게스트 생성 등 대화와 무관한 경로에서 바뀌므로, 같은 턴 안의 반복 조회가 잦은
+ * username 조회만 짧은 TTL 로 캐시한다. 본인 로그인 시에는 해당 사용자의 member 그룹 세대를 올려 즉시 무효화한다.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -31,6 +33,7 @@ public class MemberSearchTools {
      * @param username 조회할 회원의 로그인 아이디
      * @return 회원 정보 (회원이 존재하는 경우), null (존재하지 않는 경우)
      */
+    @ToolCache(ttlSeconds = 60, group = ToolResultCache.GROUP_MEMBER)
     @Tool("사용자 이름(로그인 아이디)으로 회원 정보를 조회합니다. 회원이 존재하면 기본 정보를 반환하고, 존재하지 않으면 null을 반환합니다.")
     public MemberDto findMemberByUsername(
             @P("조회할 회원의 로그인 아이디 (username)") String username
@@ -0,0 +1,54 @@
+package jy.Job_Flow_Agent.AI.Tools;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 모델 응답의 Tool 요청 묶음을 ToolDispatcher 에 알려 같은 턴의 Tool 들이 동시에 실행되도록 하는 데코레이터
+ * (AiServices 는 Tool 요청을 하나씩 순서대로 실행하므로 응답 시점에 묶음을 등록해 둔다)
+ */
+public class ParallelToolChatLanguageModel implements ChatLanguageModel {
+
+    private final ChatLanguageModel delegate;
+    private final ToolDispatcher toolDispatcher;
+
+    public ParallelToolChatLanguageModel(ChatLanguageModel delegate, ToolDispatcher toolDispatcher) {
+        this.delegate = delegate;
+        this.toolDispatcher = toolDispatcher;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        ChatResponse response = delegate.chat(chatRequest);
+        toolDispatcher.prepare(response.aiMessage());
+        return response;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages) {
+        Response<AiMessage> response = delegate.generate(messages);
+        toolDispatcher.prepare(response.content());
+        return response;
+    }
+
+    @Override
+    public Response<AiMessage> generate(List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+        Response<AiMessage> response = delegate.generate(messages, toolSpecifications);
+        toolDispatcher.prepare(response.content());
+        return response;
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+}
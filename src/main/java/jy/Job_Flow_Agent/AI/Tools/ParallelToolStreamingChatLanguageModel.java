@@ -0,0 +1,90 @@
+package jy.Job_Flow_Agent.AI.Tools;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.Response;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry.ChatTurn;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ParallelToolChatLanguageModel 의 스트리밍 버전 - 완료 응답을 AiServices 에 넘기기 전에 Tool 요청 묶음 등록
+ * 완료 응답 처리(AiServices 의 Tool 실행 + 다음 모델 호출)는 ToolDispatcher.handOff 로 가상 스레드에 넘겨
+ * HTTP 클라이언트 콜백 스레드를 바로 돌려준다.
+ * 호출 스레드의 채팅 턴(ChatTurnRegistry)을 넘겨받은 스레드에 다시 bind 해, 콜백에서 실행하는 Tool 과
+ * 이어지는 모델 호출도 같은 턴으로 동작한다.
+ */
+public class ParallelToolStreamingChatLanguageModel implements StreamingChatLanguageModel {
+
+    private final StreamingChatLanguageModel delegate;
+    private final ToolDispatcher toolDispatcher;
+
+    public ParallelToolStreamingChatLanguageModel(StreamingChatLanguageModel delegate, ToolDispatcher toolDispatcher) {
+        this.delegate = delegate;
+        this.toolDispatcher = toolDispatcher;
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        ChatTurn turn = ChatTurnRegistry.bound().orElse(null);
+        delegate.chat(chatRequest, new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                handler.onPartialResponse(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                toolDispatcher.prepare(completeResponse.aiMessage());
+                try {
+                    toolDispatcher.handOff(() -> ChatTurnRegistry.runWithin(turn, () -> {
+                        try {
+                            handler.onCompleteResponse(completeResponse);
+                        } catch (RuntimeException e) {
+                            handler.onError(e);
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    // 종료 중이면 넘길 스레드가 없음
+                    handler.onError(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                handler.onError(error);
+            }
+        });
+    }
+
+    /**
+     * 이전 API 호환용 (AiServices 는 chat(ChatRequest, handler) 사용)
+     */
+    @Override
+    public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+        chat(ChatRequest.builder().messages(messages).build(), new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+                handler.onNext(partialResponse);
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                handler.onComplete(Response.from(completeResponse.aiMessage(), completeResponse.tokenUsage(),
+                        completeResponse.finishReason()));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                handler.onError(error);
+            }
+        });
+    }
+}
@@ -3,19 +3,21 @@ package jy.Job_Flow_Agent.AI.Tools;
 
 import dev.langchain4j.agent.tool.Tool;
 import dev.langchain4j.agent.tool.P;
-import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.store.embedding.EmbeddingMatch;
-import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
-import dev.langchain4j.store.embedding.EmbeddingSearchResult;
-import dev.langchain4j.store.embedding.EmbeddingStore;
-import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import jy.Job_Flow_Agent.AI.RAG.Service.DeadlineDocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.RagPrefetcher;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalResult;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalSettings;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -23,14 +25,20 @@ import java.util.stream.Collectors;
  * 
  * AI가 사용자의 업로드된 문서를 검색하고 관련 정보를 제공받을 수 있는 도구입니다.
  * AI는 이 도구를 통해 사용자별 문서 데이터베이스에 접근할 수 있습니다.
+ * 검색은 현재 채팅 턴의 마감 시각(과 검색 1회 제한 시간)을 넘기지 않으며, 넘기면 일부 결과만 반환합니다.
+ * 턴 시작 시 선행 검색(RagPrefetcher)이 있으면 그 결과를 재사용합니다.
+ * 같은 대화의 같은(정규화 기준) 질의는 ToolResultCache 결과를 사용하며, 문서 업로드/삭제 시 무효화됩니다.
+ * 일부 결과/시간 초과/오류 응답은 캐시하지 않습니다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RagTools {
 
-    private final EmbeddingStore<TextSegment> embeddingStore;
-    private final EmbeddingModel embeddingModel;
+    private final DeadlineDocumentRetriever deadlineDocumentRetriever;
+    private final RetrievalSettings retrievalSettings;
+    private final ChatTurnRegistry chatTurnRegistry;
+    private final RagPrefetcher ragPrefetcher;
 
     /**
      * 사용자가 업로드한 문서에서 관련 정보를 검색합니다.
@@ -44,6 +52,7 @@ public class RagTools {
      * @param username 현재 사용자 ID (해당 유저의 문서만 검색)
      * @return 검색된 관련 문서 내용과 출처 정보
      */
+    @ToolCache(ttlSeconds = 600, group = ToolResultCache.GROUP_RAG)
     @Tool("사용자가 업로드한 문서(이력서, 채용공고, 메모 등)에서 관련 정보를 검색합니다. " +
           "사용자가 자신의 문서, 과거 업로드한 정보, 저장된 내용에 대해 질문할 때 이 도구를 사용하세요. " +
           "예: '내 이력서에...', '업로드한 문서에서...', '저장된 공고 중...' 등")
@@ -54,23 +63,26 @@ public class RagTools {
         log.info("🔍 RAG Tool 호출 - Query: '{}', User: '{}'", query, username);
         
         try {
-            // 1. 질문을 임베딩으로 변환
-            Embedding queryEmbedding = embeddingModel.embed(query).content();
+            // 1~2. 질문 임베딩 + 사용자별 문서 검색 (Metadata Filter 적용, 마감 시각 전파, 선행 검색 재사용)
+            Optional<ChatTurnRegistry.ChatTurn> turn = chatTurnRegistry.current(username);
+            RetrievalProfile profile = retrievalSettings.tool();
+            Instant deadline = retrievalDeadline(turn);
+            RetrievalResult retrievalResult = turn
+                    .flatMap(currentTurn -> ragPrefetcher.take(username, query, currentTurn))
+                    .map(prefetched -> deadlineDocumentRetriever.await(prefetched, query, username, profile, deadline))
+                    .orElseGet(() -> deadlineDocumentRetriever.search(query, username, profile, deadline));
+            List<EmbeddingMatch<TextSegment>> relevantMatches = retrievalResult.matches();
             
-            // 2. 사용자별 문서 검색 (Metadata Filter 적용)
-            EmbeddingSearchRequest searchRequest = EmbeddingSearchRequest.builder()
-                    .queryEmbedding(queryEmbedding)
-                    .maxResults(5)      // 상위 5개 문서 검색
-                    .minScore(0.6)      // 유사도 60% 이상만 반환
-                    .filter(MetadataFilterBuilder.metadataKey("username").isEqualTo(username))
-                    .build();
-
-            EmbeddingSearchResult<TextSegment> searchResult = embeddingStore.search(searchRequest);
-            List<EmbeddingMatch<TextSegment>> relevantMatches = searchResult.matches();
-            
-            log.info("✅ 검색 결과: {}개 문서 조각 발견", relevantMatches.size());
+            log.info("✅ 검색 결과: {}개 문서 조각 발견 (partial: {})", relevantMatches.size(), retrievalResult.partial());
 
             // 3. 검색 결과가 없으면 안내 메시지 반환
+            if (retrievalResult.partial()) {
+                ToolResultCache.skipCurrentResult();
+            }
+            if (relevantMatches.isEmpty() && retrievalResult.partial()) {
+                return "문서 검색이 제한 시간 내에 완료되지 않아 결과를 가져오지 못했습니다. " +
+                       "문서 내용 없이 답변하고, 필요하면 사용자에게 잠시 후 다시 질문하도록 안내해주세요.";
+            }
             if (relevantMatches.isEmpty()) {
                 return "검색 결과가 없습니다. 사용자가 업로드한 문서에서 관련 정보를 찾을 수 없습니다. " +
                        "사용자에게 문서를 먼저 업로드하도록 안내해주세요.";
@@ -91,6 +103,9 @@ public class RagTools {
 
             // 6. AI가 사용할 수 있는 형태로 반환
             StringBuilder result = new StringBuilder();
+            if (retrievalResult.partial()) {
+                result.append("【주의】 검색 제한 시간을 초과해 최근 검색 결과 중 일부만 제공합니다.\n\n");
+            }
             result.append("【검색된 문서 내용】\n\n");
             result.append(documentContent);
             result.append("\n\n【출처】\n");
@@ -102,7 +117,19 @@ public class RagTools {
 
         } catch (Exception e) {
             log.error("❌ RAG 검색 중 오류 발생", e);
+            ToolResultCache.skipCurrentResult();
             return "문서 검색 중 오류가 발생했습니다: " + e.getMessage();
         }
     }
+
+    /**
+     * 현재 채팅 턴의 마감 시각과 검색 1회 제한 시간 중 빠른 쪽
+     */
+    private Instant retrievalDeadline(Optional<ChatTurnRegistry.ChatTurn> turn) {
+        Instant toolDeadline = Instant.now().plus(retrievalSettings.timeout());
+        return turn
+                .map(ChatTurnRegistry.ChatTurn::deadline)
+                .filter(turnDeadline -> turnDeadline.isBefore(toolDeadline))
+                .orElse(toolDeadline);
+    }
 }
@@ -0,0 +1,23 @@
+package jy.Job_Flow_Agent.AI.Tools;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 대화(memoryId)별 Tool 결과 캐시 대상 표시 (ToolDispatcher 에서 적용, ToolResultCache 에 저장)
+ *
+ * 붙이지 않은 Tool 은 캐시하지 않는다. 같은 group 의 결과는 ToolResultCache.invalidate 로 한 번에 무효화된다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ToolCache {
+
+    long ttlSeconds() default 300;
+
+    /**
+     * 무효화 단위 (예: "rag" - 문서 업로드/삭제 시 무효화)
+     */
+    String group();
+}
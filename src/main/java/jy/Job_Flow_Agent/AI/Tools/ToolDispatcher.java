@@ -0,0 +1,315 @@
+package jy.Job_Flow_Agent.AI.Tools;
+
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.agent.tool.ToolSpecifications;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.service.tool.DefaultToolExecutor;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tool 실행을 가상 스레드로 넘기는 디스패처
+ *
+ * 스트리밍 모델 콜백 스레드에서 JPA 조회, Jsoup 스크래핑, Pinecone 검색 같은 블로킹 Tool 을 직접 실행하지 않고
+ * 가상 스레드에서 실행한 뒤 제한 시간까지만 기다린다.
+ * - Tool 별 Semaphore 로 동시 실행 수 제한 (대기도 제한 시간에 포함)
+ * - 제한 시간 초과 시 인터럽트로 취소하고 모델에게 실패 안내 문자열을 반환
+ * - 모델이 한 턴에 Tool 을 여러 개 요청하면 (prepare) 첫 실행 시점에 모두 동시에 시작해,
+ *   AiServices 가 순서대로 execute 를 호출할 때 이미 진행 중인 결과를 돌려준다 (턴 지연 = 합 → 최댓값).
+ *   결과 순서는 AiServices 의 요청 순서 그대로이며, 턴 전체 제한 시간을 넘기면 남은 Tool 은 시간 초과 안내로 대체
+ * - 호출 스레드의 채팅 턴(ChatTurnRegistry)을 Tool 실행 스레드에 전파
+ * - @ToolCache 가 붙은 Tool 은 대화(memoryId)별 결과 캐시(ToolResultCache)에 적중하면 실행하지 않음
+ *
+ * 메트릭: ai.tool.calls (tool, outcome=success|error|timeout 태그, 대기 포함 실행 시간)
+ */
+@Slf4j
+@Component
+public class ToolDispatcher {
+
+    @Value("${ai.tool.max-concurrency:32}")
+    private int defaultMaxConcurrency;
+
+    @Value("${ai.tool.timeout-ms:20000}")
+    private long defaultTimeoutMs;
+
+    /**
+     * 한 턴에서 동시에 시작할 Tool 호출 수 상한 (초과분은 AiServices 가 실행할 때 순차 실행)
+     */
+    @Value("${ai.tool.turn.max-parallel:4}")
+    private int maxParallelPerTurn;
+
+    /**
+     * 한 턴의 Tool 호출 전체 제한 시간
+     */
+    @Value("${ai.tool.turn.timeout-ms:60000}")
+    private long turnTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MeterRegistry meterRegistry;
+    private final ToolResultCache toolResultCache;
+    private final Map<String, VirtualThreadToolExecutor> executorsByName = new ConcurrentHashMap<>();
+    private final Map<RequestKey, TurnBatch> batches = new ConcurrentHashMap<>();
+
+    public ToolDispatcher(MeterRegistry meterRegistry, ToolResultCache toolResultCache) {
+        this.meterRegistry = meterRegistry;
+        this.toolResultCache = toolResultCache;
+    }
+
+    /**
+     * AiServices.tools(Map) 에 넘길 Tool 명세 → 실행기 목록 생성
+     */
+    public Map<ToolSpecification, ToolExecutor> dispatch(Object... toolObjects) {
+        Map<ToolSpecification, ToolExecutor> tools = new LinkedHashMap<>();
+        for (Object toolObject : toolObjects) {
+            for (Method method : toolObject.getClass().getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Tool.class)) {
+                    continue;
+                }
+                ToolSpecification specification = ToolSpecifications.toolSpecificationFrom(method);
+                ToolLimit limit = method.getAnnotation(ToolLimit.class);
+                int maxConcurrency = (limit != null && limit.maxConcurrency() > 0) ? limit.maxConcurrency() : defaultMaxConcurrency;
+                long timeoutMs = (limit != null && limit.timeoutMs() > 0) ? limit.timeoutMs() : defaultTimeoutMs;
+                ToolCache cache = method.getAnnotation(ToolCache.class);
+                // 같은 Tool 은 Assistant 가 달라도 실행기(동시 실행 한도)를 공유
+                tools.put(specification, executorsByName.computeIfAbsent(specification.name(), name ->
+                        new VirtualThreadToolExecutor(name, new DefaultToolExecutor(toolObject, method), maxConcurrency, timeoutMs, cache)));
+            }
+        }
+        log.info("🧰 Tool 디스패처 등록 - {}개 Tool, 기본 동시 실행 {}개, 기본 제한 시간 {}ms",
+                tools.size(), defaultMaxConcurrency, defaultTimeoutMs);
+        return tools;
+    }
+
+    /**
+     * 모델 응답에 Tool 요청이 2개 이상이면 같은 턴 묶음으로 등록 (실행은 AiServices 의 첫 execute 시점에 시작)
+     * AiServices 는 응답의 ToolExecutionRequest 인스턴스를 그대로 넘기므로 인스턴스 기준으로 찾는다.
+     */
+    public void prepare(AiMessage aiMessage) {
+        long now = System.nanoTime();
+        batches.values().removeIf(batch -> batch.expired(now));
+        if (aiMessage == null || !aiMessage.hasToolExecutionRequests() || aiMessage.toolExecutionRequests().size() < 2) {
+            return;
+        }
+        TurnBatch batch = new TurnBatch(aiMessage.toolExecutionRequests(), now + TimeUnit.MILLISECONDS.toNanos(turnTimeoutMs));
+        for (ToolExecutionRequest request : batch.requests) {
+            batches.put(new RequestKey(request), batch);
+        }
+    }
+
+    /**
+     * 스트리밍 모델 완료 콜백을 가상 스레드로 넘김
+     * AiServices 는 완료 콜백 안에서 Tool 을 실행하고 결과를 기다린 뒤 다음 모델 호출을 하므로,
+     * 콜백 스레드(HTTP 클라이언트 스레드)에서 그대로 실행하면 Tool 이 끝날 때까지 그 스레드가 묶인다.
+     */
+    public void handOff(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private class VirtualThreadToolExecutor implements ToolExecutor {
+
+        private final String toolName;
+        private final ToolExecutor delegate;
+        private final Semaphore permits;
+        private final int maxConcurrency;
+        private final long timeoutMs;
+        private final ToolCache cache;
+        private final Timer success;
+        private final Timer error;
+        private final Timer timeout;
+
+        private VirtualThreadToolExecutor(String toolName, ToolExecutor delegate, int maxConcurrency, long timeoutMs,
+                                          ToolCache cache) {
+            this.toolName = toolName;
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrency);
+            this.maxConcurrency = maxConcurrency;
+            this.timeoutMs = timeoutMs;
+            this.cache = cache;
+            this.success = timer("success");
+            this.error = timer("error");
+            this.timeout = timer("timeout");
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder("ai.tool.calls")
+                    .description("Tool call latency including concurrency-limit wait")
+                    .tag("tool", toolName)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public String execute(ToolExecutionRequest request, Object memoryId) {
+            TurnBatch batch = batches.remove(new RequestKey(request));
+            if (batch != null) {
+                return batch.await(request, memoryId, this);
+            }
+            return executeNow(request, memoryId);
+        }
+
+        private String executeNow(ToolExecutionRequest request, Object memoryId) {
+            // 조회 시점 세대의 키를 저장에도 그대로 사용 (실행 중 무효화되면 이전 세대로 저장되어 조회되지 않음)
+            String cacheKey = (cache != null && memoryId != null)
+                    ? toolResultCache.resolveKey(memoryId, toolName, cache, request.arguments()).orElse(null)
+                    : null;
+            if (cacheKey != null) {
+                Optional<String> cached = toolResultCache.get(cacheKey, toolName);
+                if (cached.isPresent()) {
+                    log.info("⚡ Tool 결과 캐시 적중 - tool: {}, memoryId: {}", toolName, memoryId);
+                    return cached.get();
+                }
+            }
+            long startedNanos = System.nanoTime();
+            long deadlineNanos = startedNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            Future<String> future = executor.submit(ChatTurnRegistry.propagate(() -> {
+                if (!permits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException("동시 실행 한도 대기 시간 초과");
+                }
+                try {
+                    String result = delegate.execute(request, memoryId);
+                    if (!ToolResultCache.consumeSkip() && cacheKey != null) {
+                        toolResultCache.put(cacheKey, toolName, cache, result);
+                    }
+                    return result;
+                } finally {
+                    permits.release();
+                }
+            }));
+
+            try {
+                String result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+                success.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("⏱️ Tool 실행 시간 초과 - tool: {}, {}ms", toolName, timeoutMs);
+                timeout.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+                return timeoutMessage();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                timeout.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+                return timeoutMessage();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    log.warn("⏱️ Tool 동시 실행 한도 대기 시간 초과 - tool: {}, 한도: {}", toolName, maxConcurrency);
+                    timeout.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+                    return timeoutMessage();
+                }
+                log.error("❌ Tool 실행 실패 - tool: {}", toolName, e.getCause());
+                error.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+                return e.getCause().getMessage();
+            }
+        }
+
+        private String timeoutMessage() {
+            return ToolDispatcher.timeoutMessage(toolName, timeoutMs);
+        }
+    }
+
+    private static String timeoutMessage(String toolName, long timeoutMs) {
+        return "도구(" + toolName + ") 실행이 제한 시간(" + timeoutMs + "ms) 내에 끝나지 않았습니다. "
+                + "도구 결과 없이 답변하고, 필요하면 사용자에게 잠시 후 다시 시도하도록 안내해주세요.";
+    }
+
+    /**
+     * 한 턴의 Tool 요청 묶음. 첫 execute 시점에 (그 memoryId 로) 앞에서부터 maxParallelPerTurn 개를 동시에 시작
+     */
+    private class TurnBatch {
+
+        private final List<ToolExecutionRequest> requests;
+        private final long deadlineNanos;
+        private final Map<RequestKey, Future<String>> running = new ConcurrentHashMap<>();
+        private final AtomicBoolean started = new AtomicBoolean(false);
+
+        private TurnBatch(List<ToolExecutionRequest> requests, long deadlineNanos) {
+            this.requests = List.copyOf(requests);
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        boolean expired(long nowNanos) {
+            return nowNanos - deadlineNanos > 0;
+        }
+
+        String await(ToolExecutionRequest request, Object memoryId, VirtualThreadToolExecutor self) {
+            if (started.compareAndSet(false, true)) {
+                for (ToolExecutionRequest sibling : requests.subList(0, Math.min(maxParallelPerTurn, requests.size()))) {
+                    VirtualThreadToolExecutor siblingExecutor = sibling == request ? self : executorsByName.get(sibling.name());
+                    if (siblingExecutor != null) {
+                        running.put(new RequestKey(sibling), executor.submit(
+                                ChatTurnRegistry.propagate(() -> siblingExecutor.executeNow(sibling, memoryId))));
+                    }
+                }
+                if (running.size() > 1) {
+                    log.info("🧰 Tool 병렬 실행 - {}개 동시 시작 (요청 {}개)", running.size(), requests.size());
+                }
+            }
+
+            Future<String> future = running.get(new RequestKey(request));
+            if (future == null) {
+                // 동시 시작 한도 밖의 요청은 지금 실행
+                return self.executeNow(request, memoryId);
+            }
+            try {
+                return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("⏱️ 턴 Tool 실행 시간 초과 - tool: {}, 턴 제한 {}ms", request.name(), turnTimeoutMs);
+                return timeoutMessage(request.name(), turnTimeoutMs);
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                return timeoutMessage(request.name(), turnTimeoutMs);
+            } catch (ExecutionException e) {
+                log.error("❌ Tool 실행 실패 - tool: {}", request.name(), e.getCause());
+                return e.getCause().getMessage();
+            }
+        }
+    }
+
+    /**
+     * ToolExecutionRequest 인스턴스 동일성 키 (Gemini 는 요청 id 가 없고, 같은 인자의 요청이 다른 턴에 있을 수 있음)
+     */
+    private record RequestKey(ToolExecutionRequest request) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RequestKey key && key.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package jy.Job_Flow_Agent.AI.Tools;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tool 메서드별 동시 실행 수 / 제한 시간 (ToolDispatcher 에서 적용)
+ *
+ * 지정하지 않은 값(0 이하)은 ai.tool.max-concurrency / ai.tool.timeout-ms 기본값을 사용한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ToolLimit {
+
+    int maxConcurrency() default 0;
+
+    long timeoutMs() default 0;
+}
@@ -0,0 +1,165 @@
+package jy.Job_Flow_Agent.AI.Tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * 대화(memoryId)별 Tool 결과 캐시 (Redis, 노드 간 공유)
+ *
+ * - tool:cache:{memoryId}:{tool}:{generation}:{sha256(정규화한 인자)} : Tool 결과 (TTL = @ToolCache.ttlSeconds)
+ * - tool:cache-gen:{memoryId}:{group} : 무효화 세대. invalidate 시 INCR 하면 이전 세대 결과는 더 이상 조회되지 않고 TTL 로 사라짐
+ * 인자는 키 정렬 + 문자열 값 공백 압축/소문자화 후 해시해 표현만 다른 같은 질의도 적중하도록 한다.
+ * Tool 이 일시적인 결과(시간 초과, 오류 안내 등)를 반환할 때는 skipCurrentResult() 로 저장을 건너뛴다.
+ * Redis 오류는 캐시 미스로 취급한다.
+ */
+@Slf4j
+@Component
+public class ToolResultCache {
+
+    public static final String GROUP_RAG = "rag";
+    public static final String GROUP_MEMBER = "member";
+
+    private static final String KEY_PREFIX = "tool:cache:";
+    private static final String GENERATION_KEY_PREFIX = "tool:cache-gen:";
+    private static final ThreadLocal<Boolean> SKIP_CURRENT = ThreadLocal.withInitial(() -> false);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public ToolResultCache(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Tool 실행 스레드에서 호출 - 이번 결과는 캐시하지 않음 (ToolDispatcher 가 저장 직전에 확인 후 초기화)
+     */
+    public static void skipCurrentResult() {
+        SKIP_CURRENT.set(true);
+    }
+
+    /**
+     * @return 현재 스레드의 저장 건너뛰기 표시 (확인과 함께 초기화)
+     */
+    static boolean consumeSkip() {
+        boolean skip = SKIP_CURRENT.get();
+        SKIP_CURRENT.remove();
+        return skip;
+    }
+
+    /**
+     * 지금의 무효화 세대로 캐시 키 생성. Tool 실행 전 조회와 실행 후 저장에 같은 키를 써야
+     * 실행 중 무효화(문서 업로드/삭제 등)가 일어났을 때 이전 데이터로 만든 결과가 새 세대로 저장되지 않는다.
+     *
+     * @return Redis 오류 시 empty (이번 호출은 캐시 미사용)
+     */
+    public Optional<String> resolveKey(Object memoryId, String toolName, ToolCache cache, String arguments) {
+        try {
+            return Optional.of(key(memoryId, toolName, cache, arguments));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Tool 결과 캐시 세대 조회 실패 - tool: {}, 원인: {}", toolName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Optional<String> get(Object memoryId, String toolName, ToolCache cache, String arguments) {
+        return resolveKey(memoryId, toolName, cache, arguments).flatMap(key -> get(key, toolName));
+    }
+
+    /**
+     * @param key resolveKey 로 만든 키
+     */
+    public Optional<String> get(String key, String toolName) {
+        try {
+            String result = stringRedisTemplate.opsForValue().get(key);
+            counter(toolName, result != null ? "hit" : "miss").increment();
+            return Optional.ofNullable(result);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Tool 결과 캐시 조회 실패 - tool: {}, 원인: {}", toolName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(Object memoryId, String toolName, ToolCache cache, String arguments, String result) {
+        resolveKey(memoryId, toolName, cache, arguments).ifPresent(key -> put(key, toolName, cache, result));
+    }
+
+    /**
+     * @param key 조회 때 resolveKey 로 만든 키 (저장 시점에 세대를 다시 읽지 않음)
+     */
+    public void put(String key, String toolName, ToolCache cache, String result) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, result, Duration.ofSeconds(cache.ttlSeconds()));
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Tool 결과 캐시 저장 실패 - tool: {}, 원인: {}", toolName, e.getMessage());
+        }
+    }
+
+    /**
+     * 해당 대화의 group 캐시 전체 무효화 (예: 문서 업로드/삭제 → "rag")
+     */
+    public void invalidate(Object memoryId, String group) {
+        try {
+            stringRedisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + memoryId + ":" + group);
+            log.info("🧹 Tool 결과 캐시 무효화 - memoryId: {}, group: {}", memoryId, group);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Tool 결과 캐시 무효화 실패 - memoryId: {}, group: {}, 원인: {}", memoryId, group, e.getMessage());
+        }
+    }
+
+    private String key(Object memoryId, String toolName, ToolCache cache, String arguments) {
+        String generation = stringRedisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + memoryId + ":" + cache.group());
+        return KEY_PREFIX + memoryId + ":" + toolName + ":" + (generation == null ? "0" : generation) + ":" + hash(normalize(arguments));
+    }
+
+    /**
+     * 인자 JSON 정규화 (키 정렬, 문자열 값 공백 압축 + 소문자). JSON 이 아니면 원문 그대로
+     */
+    private String normalize(String arguments) {
+        if (arguments == null || arguments.isBlank()) {
+            return "";
+        }
+        try {
+            Map<String, Object> sorted = new TreeMap<>(objectMapper.readValue(arguments, new TypeReference<Map<String, Object>>() {}));
+            sorted.replaceAll((name, value) -> value instanceof String text
+                    ? text.replaceAll("\\s+", " ").strip().toLowerCase()
+                    : value);
+            return objectMapper.writeValueAsString(sorted);
+        } catch (JsonProcessingException e) {
+            return arguments;
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    private Counter counter(String toolName, String result) {
+        return Counter.builder("ai.tool.cache")
+                .tag("tool", toolName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
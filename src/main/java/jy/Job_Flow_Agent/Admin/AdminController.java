@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -27,6 +28,8 @@ public class AdminController {
     @Qualifier("assistantWithToolsForAdmin")
     private final Assistant assistantWithToolsForAdmin;
 
+    private final AdminService adminService;
+
 
     @PostMapping("/chat")
     public String chat(@RequestBody Map<String, String> request, @AuthenticationPrincipal CustomUserDetails customUserDetails) {
@@ -47,6 +50,12 @@ public class AdminController {
     }
 
 
-
+    /**
+     * AI 호출 계측 조회 - 모델별 TTFT/토큰 처리량/토큰 수/오류, Tool 별 호출 수/지연, 활성 스트림 등
+     */
+    @GetMapping("/metrics/ai")
+    public Map<String, Object> aiMetrics() {
+        return adminService.aiMetrics();
+    }
 
 }
@@ -2,18 +2,88 @@ package jy.Job_Flow_Agent.Admin;
 
 
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jy.Job_Flow_Agent.AI.RAG.Service.RagPrefetcher;
+import jy.Job_Flow_Agent.Admin.DTO.MeterStat;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor
 @Service
 public class AdminService {
 
+    private static final String AI_METER_PREFIX = "ai.";
 
+    private final MeterRegistry meterRegistry;
+    private final RagPrefetcher ragPrefetcher;
 
+    /**
+     * AI 관련 메트릭 요약 (모델 지연/TTFT/토큰, Tool 호출, 채팅 스트림/대기열, 캐시 등)
+     * 이름/태그 순 정렬, 값이 없는 미터(호출 0건)는 제외
+     */
+    public Map<String, Object> aiMetrics() {
+        List<MeterStat> meters = meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith(AI_METER_PREFIX))
+                .map(AdminService::toStat)
+                .filter(stat -> !stat.values().isEmpty())
+                .sorted(Comparator.comparing(MeterStat::name).thenComparing(stat -> stat.tags().toString()))
+                .toList();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("meters", meters);
+        result.put("ragPrefetch", ragPrefetcher.stats());
+        return result;
+    }
+
+    private static MeterStat toStat(Meter meter) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : meter.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        if (meter instanceof Timer timer) {
+            putSnapshot(values, timer.takeSnapshot(), TimeUnit.MILLISECONDS);
+        } else if (meter instanceof DistributionSummary summary) {
+            putSnapshot(values, summary.takeSnapshot(), null);
+        } else if (meter instanceof Counter counter) {
+            values.put("value", counter.count());
+        } else if (meter instanceof FunctionCounter counter) {
+            values.put("value", counter.count());
+        } else if (meter instanceof Gauge gauge) {
+            values.put("value", gauge.value());
+        }
+        return new MeterStat(meter.getId().getName(), tags, values);
+    }
+
+    /**
+     * @param unit Timer 면 ms 로 변환, DistributionSummary 면 null (기록 단위 그대로)
+     */
+    private static void putSnapshot(Map<String, Double> values, HistogramSnapshot snapshot, TimeUnit unit) {
+        if (snapshot.count() == 0) {
+            return;
+        }
+        values.put("count", (double) snapshot.count());
+        values.put("mean", unit == null ? snapshot.mean() : snapshot.mean(unit));
+        values.put("max", unit == null ? snapshot.max() : snapshot.max(unit));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            String key = "p" + Math.round(percentile.percentile() * 100);
+            values.put(key, unit == null ? percentile.value() : percentile.value(unit));
+        }
+    }
 }
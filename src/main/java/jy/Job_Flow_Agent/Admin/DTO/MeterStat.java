@@ -0,0 +1,13 @@
+package jy.Job_Flow_Agent.Admin.DTO;
+
+import java.util.Map;
+
+/**
+ * 관리자 메트릭 조회용 미터 1개 요약
+ *
+ * @param name   미터 이름 (예: ai.model.ttft)
+ * @param tags   태그 (model, task, tool, outcome 등)
+ * @param values 통계 값 (count, mean/max/p50/p95/p99 - Timer 는 ms 단위, Counter/Gauge 는 value)
+ */
+public record MeterStat(String name, Map<String, String> tags, Map<String, Double> values) {
+}
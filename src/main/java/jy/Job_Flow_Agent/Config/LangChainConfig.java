@@ -2,12 +2,18 @@ package jy.Job_Flow_Agent.Config;
 
 
 import dev.langchain4j.data.segment.TextSegment;
-import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.googleai.GoogleAiEmbeddingModel;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
 import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
 import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
 import dev.langchain4j.rag.content.retriever.ContentRetriever;
 import dev.langchain4j.rag.content.retriever.EmbeddingStoreContentRetriever;
 import dev.langchain4j.service.AiServices;
@@ -16,23 +22,58 @@ import dev.langchain4j.store.embedding.EmbeddingStore;
 import dev.langchain4j.store.embedding.pinecone.PineconeEmbeddingStore;
 import jy.Job_Flow_Agent.AI.AssistantModels.Assistant;
 import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistant;
+import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistantVariants;
+import jy.Job_Flow_Agent.AI.Model.HedgeSettings;
+import jy.Job_Flow_Agent.AI.Model.ModelCandidate;
+import jy.Job_Flow_Agent.AI.Model.ModelRouter;
+import jy.Job_Flow_Agent.AI.Model.ModelTask;
+import jy.Job_Flow_Agent.AI.Model.RoutingChatLanguageModel;
+import jy.Job_Flow_Agent.AI.Model.RoutingStreamingChatLanguageModel;
+import jy.Job_Flow_Agent.AI.RAG.Embedding.MatryoshkaEmbeddingModel;
+import jy.Job_Flow_Agent.AI.Resilience.Dependency;
+import jy.Job_Flow_Agent.AI.Resilience.DependencyGuards;
+import jy.Job_Flow_Agent.AI.Resilience.GuardedChatLanguageModel;
+import jy.Job_Flow_Agent.AI.Resilience.GuardedEmbeddingModel;
+import jy.Job_Flow_Agent.AI.Resilience.GuardedEmbeddingStore;
+import jy.Job_Flow_Agent.AI.Resilience.GuardedStreamingChatLanguageModel;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentSummaryIndex;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.AI.History.Service.ChatArchiveWriter;
+import jy.Job_Flow_Agent.AI.Memory.ArchivingChatMemory;
+import jy.Job_Flow_Agent.AI.Memory.ChatMemorySettings;
+import jy.Job_Flow_Agent.AI.Memory.ChatSummaryWorker;
+import jy.Job_Flow_Agent.AI.Memory.ConversationSummarizer;
+import jy.Job_Flow_Agent.AI.Memory.TokenBudgetChatMemory;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalSettings;
 import jy.Job_Flow_Agent.AI.Tools.*;
 import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import jy.Job_Flow_Agent.Redis.ChatMessageCodec;
 import jy.Job_Flow_Agent.Redis.RedisChatMemoryStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
 import jy.Job_Flow_Agent.AI.Service.JobAnalyzer;
+import jy.Job_Flow_Agent.AI.Service.StreamingJobAnalyzer;
 
 @Slf4j
 @RequiredArgsConstructor
 @Configuration
 public class LangChainConfig {
+    private static final int FULL_EMBEDDING_DIMENSION = 768;
+
     @Value("${google.gemini.api.key}")
     String apiKey;
 
@@ -41,6 +82,8 @@ public class LangChainConfig {
 
     private final StringRedisTemplate stringRedisTemplate;
 
+    private final DependencyGuards dependencyGuards;
+
     @Value("${pinecone.api.key}")
     private String pineconeApiKey;
 
@@ -55,27 +98,203 @@ public class LangChainConfig {
 
     @Value("${pinecone.environment:}")
     private String pineconeEnvironment;
-    
+
     /**
-     * 채용공고 분석 전용 AI 서비스
-     * (JSON 구조화 출력을 위해 별도 모델/설정 사용 가능)
+     * 저장/검색에 사용할 임베딩 차원 (Matryoshka 축소, 768 이하)
+     * 변경 시 Pinecone 인덱스 dimension 도 함께 맞춰야 함
+     */
+    @Value("${rag.embedding.dimension:768}")
+    private int embeddingDimension;
+
+    /**
+     * 제공자별 일일 비용 예산 (USD, 0 이하면 제한 없음). 초과 시 해당 제공자 모델은 후순위
+     */
+    @Value("${ai.routing.budget.openai-usd-per-day:50}")
+    private double openAiDailyBudgetUsd;
+
+    @Value("${ai.routing.budget.gemini-usd-per-day:50}")
+    private double geminiDailyBudgetUsd;
+
+    /**
+     * 연속 실패로 장애 판정된 모델을 후순위로 두는 시간
+     */
+    @Value("${ai.routing.degraded-cooldown-seconds:30}")
+    private long degradedCooldownSeconds;
+
+    /**
+     * 헤지 요청 (꼬리 지연 단축). 첫 후보의 최근 지연 시간 백분위를 넘기면 두 번째 요청 발사
+     */
+    @Value("${ai.routing.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${ai.routing.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${ai.routing.hedge.min-delay-ms:500}")
+    private long hedgeMinDelayMs;
+
+    @Value("${ai.routing.hedge.max-rate:0.1}")
+    private double hedgeMaxRate;
+
+    /**
+     * 대화 메모리 크기 제한 (메시지 수 + 토큰 예산). 넘치는 오래된 대화는 요약으로 대체
+     */
+    @Value("${ai.chat.memory.max-messages:20}")
+    private int memoryMaxMessages;
+
+    @Value("${ai.chat.memory.max-tokens:6000}")
+    private int memoryMaxTokens;
+
+    @Value("${ai.chat.memory.tool-result-max-tokens:2000}")
+    private int memoryToolResultMaxTokens;
+
+    @Value("${ai.chat.memory.stale-tool-result-tokens:300}")
+    private int memoryStaleToolResultTokens;
+
+    /**
+     * 대화 메모리 근접 캐시 (노드 로컬, 다른 노드 변경은 Pub/Sub 무효화 + ttl 경과 후 버전 확인)
+     */
+    @Value("${ai.chat.memory.near-cache.max-entries:1000}")
+    private int memoryNearCacheMaxEntries;
+
+    @Value("${ai.chat.memory.near-cache.ttl-seconds:30}")
+    private long memoryNearCacheTtlSeconds;
+
+    /**
+     * 의도별 도구 묶음 사용 여부 (false 면 항상 전체 도구 - 토큰/첫 토큰 지연 비교용)
+     */
+    @Value("${ai.assistant.tool-subsets.enabled:true}")
+    private boolean toolSubsetsEnabled;
+
+    /**
+     * 메모리 토큰 수 추정용 (제공자와 무관하게 o200k 인코딩 기준 근사치)
+     */
+    private final Tokenizer memoryTokenizer = new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O);
+
+    /**
+     * 요청별 모델 라우터 (Gemini / OpenAI)
+     * - CHAT: gpt-4o-mini / gemini-2.5-flash 중 측정 지연 시간이 낮은 쪽
+     * - TOOL: gpt-4o-mini 우선, 장애/예산 초과 시 gemini-2.5-flash
+     * - EXTRACTION: gemini-2.5-pro 우선, 장애/예산 초과 시 gpt-4o-mini
+     * 토큰 단가는 제공자 공개 가격(USD / 100만 토큰) 기준
      */
     @Bean
-    public JobAnalyzer jobAnalyzer() {
+    public ModelRouter modelRouter(IntentClassifier intentClassifier, MeterRegistry meterRegistry) {
         if (apiKey == null) {
-            throw new GlobalException("GEMINI_API_KEY_ERROR", "GEMINI_API_KEY not set", HttpStatus.INTERNAL_SERVER_ERROR);
+            throw new GlobalException("GEMINI_API_KEY_ERROR", "GEMINI_API_KEY not set in environment variables", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
-        // 구조화된 데이터 추출에는 일반 ChatModel을 사용하되, 
-        // LangChain4j가 내부적으로 JSON 스키마를 유도하여 추출함.
-                GoogleAiGeminiChatModel model = GoogleAiGeminiChatModel.builder()
+        ModelCandidate gptMini = new ModelCandidate("gpt-4o-mini", "openai",
+                guarded(OpenAiChatModel.builder()
+                        .apiKey(openAiApiKey)
+                        .modelName("gpt-4o-mini")
+                        .temperature(0.0)
+                        .build(), "openai"),
+                guarded(OpenAiStreamingChatModel.builder()
+                        .apiKey(openAiApiKey)
+                        .modelName("gpt-4o-mini")
+                        .temperature(0.0)
+                        .build(), "openai"),
+                0.15, 0.60);
+        ModelCandidate geminiFlash = new ModelCandidate("gemini-2.5-flash", "gemini",
+                guarded(GoogleAiGeminiChatModel.builder()
+                        .apiKey(apiKey)
+                        .modelName("gemini-2.5-flash")
+                        .temperature(0.0)
+                        .build(), "gemini"),
+                guarded(GoogleAiGeminiStreamingChatModel.builder()
+                        .apiKey(apiKey)
+                        .modelName("gemini-2.5-flash")
+                        .temperature(0.0)
+                        .build(), "gemini"),
+                0.30, 2.50);
+        ModelCandidate geminiPro = new ModelCandidate("gemini-2.5-pro", "gemini",
+                guarded(GoogleAiGeminiChatModel.builder()
                         .apiKey(apiKey)
                         .modelName("gemini-2.5-pro")
-                        .temperature(0.0) 
-         // 정형 데이터 추출이므로 창의성(Temperature)을 0으로 설정
+                        .temperature(0.0)
+                        .build(), "gemini"),
+                guarded(GoogleAiGeminiStreamingChatModel.builder()
+                        .apiKey(apiKey)
+                        .modelName("gemini-2.5-pro")
+                        .temperature(0.0)
+                        .build(), "gemini"),
+                1.25, 10.0);
+
+        return new ModelRouter(
+                Map.of(ModelTask.CHAT, List.of(gptMini, geminiFlash),
+                        ModelTask.TOOL, List.of(gptMini, geminiFlash),
+                        ModelTask.EXTRACTION, List.of(geminiPro, gptMini)),
+                Map.of("openai", openAiDailyBudgetUsd, "gemini", geminiDailyBudgetUsd),
+                Duration.ofSeconds(degradedCooldownSeconds),
+                new HedgeSettings(hedgeEnabled, hedgePercentile, Duration.ofMillis(hedgeMinDelayMs), hedgeMaxRate),
+                intentClassifier,
+                meterRegistry);
+    }
+
+    /**
+     * 제공자별 서킷 브레이커/벌크헤드 적용 (차단 시 즉시 실패 → 라우터가 다른 제공자로 대체)
+     */
+    private ChatLanguageModel guarded(ChatLanguageModel model, String provider) {
+        return new GuardedChatLanguageModel(model, dependencyGuards.guard(Dependency.CHAT, provider));
+    }
+
+    private StreamingChatLanguageModel guarded(StreamingChatLanguageModel model, String provider) {
+        return new GuardedStreamingChatLanguageModel(model, dependencyGuards.guard(Dependency.STREAMING_CHAT, provider));
+    }
+    
+    /**
+     * 채용공고 분석 전용 AI 서비스
+     * (JSON 구조화 출력을 위해 별도 모델/설정 사용 가능)
+     */
+    @Bean
+    public JobAnalyzer jobAnalyzer(ModelRouter modelRouter) {
+        // 구조화된 데이터 추출에는 일반 ChatModel을 사용하되, 
+        // LangChain4j가 내부적으로 JSON 스키마를 유도하여 추출함.
+        // 정형 데이터 추출이므로 정확도 우선 모델(EXTRACTION)로 고정, 장애 시 다른 제공자로 대체
+        return AiServices.create(JobAnalyzer.class, new RoutingChatLanguageModel(modelRouter, ModelTask.EXTRACTION));
+    }
+
+    /**
+     * 채용공고 스트리밍 분석 (JSON 을 토큰 단위로 받아 채워진 필드부터 카드로 표시)
+     */
+    @Bean
+    public StreamingJobAnalyzer streamingJobAnalyzer(ModelRouter modelRouter) {
+        return AiServices.builder(StreamingJobAnalyzer.class)
+                .streamingChatLanguageModel(new RoutingStreamingChatLanguageModel(modelRouter, ModelTask.EXTRACTION))
                 .build();
+    }
+
+
+    /**
+     * 대화 메모리 저장소 (두 Assistant 가 공유 - 같은 사용자 키를 쓰므로 스냅샷/근접 캐시도 하나로)
+     */
+    @Bean
+    public RedisChatMemoryStore chatMemoryStore(RedisMessageListenerContainer redisMessageListenerContainer) {
+        RedisChatMemoryStore store = new RedisChatMemoryStore(stringRedisTemplate, Duration.ofHours(1),
+                new ChatMessageCodec(), memoryNearCacheMaxEntries, Duration.ofSeconds(memoryNearCacheTtlSeconds));
+        store.listen(redisMessageListenerContainer);
+        return store;
+    }
+
+
+    /**
+     * 윈도우에서 밀려난 대화 요약기 (응답 속도 우선 CHAT 모델)
+     */
+    @Bean
+    public ConversationSummarizer conversationSummarizer(ModelRouter modelRouter) {
+        return AiServices.create(ConversationSummarizer.class, new RoutingChatLanguageModel(modelRouter, ModelTask.CHAT));
+    }
+
 
-        return AiServices.create(JobAnalyzer.class, model);
+    /**
+     * 토큰 예산 메모리 + MySQL 장기 보관 (보관은 write-behind 라 응답 경로에서 DB 를 기다리지 않음)
+     */
+    private ChatMemory chatMemory(Object username, RedisChatMemoryStore store, ChatSummaryWorker summaryWorker,
+                                  ChatArchiveWriter archiveWriter) {
+        return new ArchivingChatMemory(new TokenBudgetChatMemory(username, store,
+                new ChatMemorySettings(memoryMaxMessages, memoryMaxTokens, memoryToolResultMaxTokens, memoryStaleToolResultTokens),
+                memoryTokenizer, summaryWorker), archiveWriter);
     }
 
 
@@ -89,62 +308,64 @@ public class LangChainConfig {
                                UtilTools utilTools,
                                RagTools ragTools,
                                JobScrappingTools jobScrappingTools,
-                               UserInterfaceTools userInterfaceTools) {
-        if (apiKey == null) {
-            throw new GlobalException("GEMINI_API_KEY_ERROR", "GEMINI_API_KEY not set in environment variables", HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-
-        RedisChatMemoryStore store = new RedisChatMemoryStore(stringRedisTemplate);
-        
-
-        GoogleAiGeminiChatModel model = GoogleAiGeminiChatModel.builder()
-                .apiKey(apiKey)
-                .modelName("gemini-2.5-pro")
-                .temperature(0.0)
-                .build();
-
+                               UserInterfaceTools userInterfaceTools,
+                               ToolDispatcher toolDispatcher,
+                               ModelRouter modelRouter,
+                               RedisChatMemoryStore store,
+                               ChatSummaryWorker summaryWorker,
+                               ChatArchiveWriter archiveWriter) {
         return AiServices.builder(Assistant.class)
-                .chatLanguageModel(model)
-                .tools(memberSearchTools, utilTools, ragTools, jobScrappingTools, userInterfaceTools) // 도구 등록
-                .chatMemoryProvider(username -> MessageWindowChatMemory.builder()
-                        .id(username)
-                        .maxMessages(20)
-                        .chatMemoryStore(store)
-                        .build())
+                // 한 턴에 여러 Tool 을 요청하면 동시에 실행
+                .chatLanguageModel(new ParallelToolChatLanguageModel(new RoutingChatLanguageModel(modelRouter, null), toolDispatcher))
+                // 도구 등록 (스트리밍 Assistant 와 같은 디스패처 - 제한 시간/동시 실행 수/호출 메트릭 공유)
+                .tools(toolDispatcher.dispatch(memberSearchTools, utilTools, ragTools, jobScrappingTools, userInterfaceTools))
+                // 토큰 예산 메모리 (지난 Tool 결과 축약, 오래된 대화는 요약)
+                .chatMemoryProvider(username -> chatMemory(username, store, summaryWorker, archiveWriter))
                 .build();
     }
 
 
     /**
-     * 스트리밍 응답 Assistant
-     * (RAG나 Tool 없이 빠른 대화가 필요할 때 사용)
+     * 스트리밍 응답 Assistant (의도별 도구 묶음)
+     * - 의도에 필요한 Tool 명세만 실어 프롬프트 토큰/첫 토큰 지연을 줄임 (오늘 날짜 Tool 은 공통)
+     * - GENERAL 등 묶음이 없는 의도, 여러 도구 의도에 걸친 메시지, Tool 결과가 이어지는 대화는 전체 도구
      */
     @Bean
-    public StreamingAssistant streamingAssistant(MemberSearchTools memberSearchTools,
-                                                 UtilTools utilTools,
-                                                 RagTools ragTools,
-                                                 JobScrappingTools jobScrappingTools,
-                                                 UserInterfaceTools userInterfaceTools) {
-        if (apiKey == null) {
-            throw new GlobalException("GEMINI_API_KEY_ERROR", "GEMINI_API_KEY not set in environment variables", HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+    public StreamingAssistantVariants streamingAssistantVariants(MemberSearchTools memberSearchTools,
+                                                                 UtilTools utilTools,
+                                                                 RagTools ragTools,
+                                                                 JobScrappingTools jobScrappingTools,
+                                                                 UserInterfaceTools userInterfaceTools,
+                                                                 ToolDispatcher toolDispatcher,
+                                                                 ModelRouter modelRouter,
+                                                                 RedisChatMemoryStore store,
+                                                                 ChatSummaryWorker summaryWorker,
+                                                                 ChatArchiveWriter archiveWriter,
+                                                                 MeterRegistry meterRegistry) {
+        // 모든 묶음이 같은 모델/메모리 사용 (메모리는 Redis 저장소 기준이라 묶음이 바뀌어도 대화 유지)
+        StreamingChatLanguageModel streamingModel = new ParallelToolStreamingChatLanguageModel(
+                new RoutingStreamingChatLanguageModel(modelRouter), toolDispatcher);
+        Map<ChatIntent, List<Object>> toolsByIntent = Map.of(
+                ChatIntent.JOB_POSTING, List.of(jobScrappingTools, userInterfaceTools, utilTools),
+                ChatIntent.DOCUMENT, List.of(ragTools, utilTools),
+                ChatIntent.MEMBER, List.of(memberSearchTools, utilTools),
+                ChatIntent.SMALL_TALK, List.of(utilTools));
 
-        RedisChatMemoryStore store = new RedisChatMemoryStore(stringRedisTemplate);
-        OpenAiStreamingChatModel streamingModel =OpenAiStreamingChatModel.builder()
-                .apiKey(openAiApiKey)
-                .modelName("gpt-4o-mini")
-                .temperature(0.0)
-                .build();
-
-        return AiServices.builder(StreamingAssistant.class)
-                .streamingChatLanguageModel(streamingModel)
-                .tools(memberSearchTools, utilTools, ragTools, jobScrappingTools, userInterfaceTools) // 도구 등록
-                .chatMemoryProvider(username -> MessageWindowChatMemory.builder()
-                        .id(username)
-                        .maxMessages(20)
-                        .chatMemoryStore(store)
-                        .build())
-                .build();
+        return new StreamingAssistantVariants(
+                tools -> AiServices.builder(StreamingAssistant.class)
+                        .streamingChatLanguageModel(streamingModel)
+                        // 도구 등록 (블로킹 Tool 은 가상 스레드에서 동시 실행 수/제한 시간을 두고 실행)
+                        .tools(tools)
+                        // 토큰 예산 메모리 (지난 Tool 결과 축약, 오래된 대화는 요약)
+                        .chatMemoryProvider(username -> chatMemory(username, store, summaryWorker, archiveWriter))
+                        .build(),
+                toolDispatcher,
+                toolsByIntent,
+                List.of(memberSearchTools, utilTools, ragTools, jobScrappingTools, userInterfaceTools),
+                toolSubsetsEnabled,
+                store,
+                memoryTokenizer,
+                meterRegistry);
     }
 
 
@@ -157,13 +378,21 @@ public class LangChainConfig {
         }
 
         String modelName = "gemini-embedding-001";
-        log.info("🧠 Embedding Model 초기화 - Google AI ({})", modelName);
+        log.info("🧠 Embedding Model 초기화 - Google AI ({}), 저장 차원: {}", modelName, embeddingDimension);
 
-        return GoogleAiEmbeddingModel.builder()
+        EmbeddingModel googleEmbeddingModel = GoogleAiEmbeddingModel.builder()
                 .apiKey(apiKey)
-                .outputDimensionality(768)
+                .outputDimensionality(FULL_EMBEDDING_DIMENSION)
                 .modelName(modelName)
                 .build();
+
+        EmbeddingModel guardedEmbeddingModel =
+                new GuardedEmbeddingModel(googleEmbeddingModel, dependencyGuards.guard(Dependency.EMBEDDING));
+        if (embeddingDimension >= FULL_EMBEDDING_DIMENSION) {
+            return guardedEmbeddingModel;
+        }
+        // 앞쪽 차원만 잘라 재정규화 (저장 용량/검색 비용 절감)
+        return new MatryoshkaEmbeddingModel(guardedEmbeddingModel, embeddingDimension);
     }
 
     @Bean
@@ -171,11 +400,29 @@ public class LangChainConfig {
         log.info("Initializing Pinecone Embedding Store - Index: {}, Namespace: {}, Environment: {}",
                 pineconeIndexName, pineconeNamespace, pineconeEnvironment);
 
-        return PineconeEmbeddingStore.builder()
+        EmbeddingStore<TextSegment> pineconeStore = PineconeEmbeddingStore.builder()
                 .apiKey(pineconeApiKey)
                 .index(pineconeIndexName)
                 .nameSpace(pineconeNamespace) // 1.0.0-beta1 호환성 확인
                 .build();
+        return new GuardedEmbeddingStore<>(pineconeStore, dependencyGuards.guard(Dependency.PINECONE));
+    }
+
+    /**
+     * 문서 요약 벡터 인덱스 (2단계 검색)
+     * - 청크 검색 결과에 섞이지 않도록 별도 Pinecone namespace 사용
+     */
+    @Bean
+    public DocumentSummaryIndex documentSummaryIndex() {
+        String summaryNamespace = pineconeNamespace + "-summary";
+        log.info("Initializing Document Summary Index - Index: {}, Namespace: {}", pineconeIndexName, summaryNamespace);
+
+        EmbeddingStore<TextSegment> summaryStore = PineconeEmbeddingStore.builder()
+                .apiKey(pineconeApiKey)
+                .index(pineconeIndexName)
+                .nameSpace(summaryNamespace)
+                .build();
+        return new DocumentSummaryIndex(new GuardedEmbeddingStore<>(summaryStore, dependencyGuards.guard(Dependency.PINECONE)));
     }
 
     /**
@@ -183,12 +430,15 @@ public class LangChainConfig {
      * - 사용자의 질문을 임베딩하여 Vector Store에서 유사한 문서를 찾아오는 역할
      */
     @Bean
-    public ContentRetriever contentRetriever(EmbeddingStore<TextSegment> embeddingStore, EmbeddingModel embeddingModel) {
+    public ContentRetriever contentRetriever(EmbeddingStore<TextSegment> embeddingStore,
+                                             EmbeddingModel embeddingModel,
+                                             RetrievalSettings retrievalSettings) {
+        RetrievalProfile profile = retrievalSettings.retriever();
         return EmbeddingStoreContentRetriever.builder()
                 .embeddingStore(embeddingStore)
                 .embeddingModel(embeddingModel)
-                .maxResults(3)   // 상위 3개 문서 검색
-                .minScore(0.6)   // 유사도 0.6 이상인 것만 (너무 관련 없는 것 제외)
+                .maxResults(profile.maxResults())   // 기본 상위 3개 문서 검색
+                .minScore(profile.minScore())       // 기본 유사도 0.6 이상인 것만 (너무 관련 없는 것 제외)
                 .build();
     }
     
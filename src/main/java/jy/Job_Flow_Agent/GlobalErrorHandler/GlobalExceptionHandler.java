@@ -1,6 +1,8 @@
 package jy.Job_Flow_Agent.GlobalErrorHandler;
 
+import jy.Job_Flow_Agent.AI.Resilience.DependencyUnavailableException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -35,6 +37,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(ex.getHttpStatus()).body(errorResponse);
     }
 
+    /**
+     * 외부 의존성 차단/과부하 - 즉시 실패 (503 + Retry-After)
+     */
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleDependencyUnavailableException(DependencyUnavailableException ex) {
+        log.warn("Dependency Unavailable: {} - {} ({})", ex.getErrorCode(), ex.getDependency(), ex.getMessage());
+
+        Map<String, Object> errorResponse = createErrorResponse(
+                ex.getErrorCode(),
+                ex.getMessage(),
+                ex.getHttpStatus().value()
+        );
+        errorResponse.put("dependency", ex.getDependency());
+
+        return ResponseEntity.status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         log.error("Unexpected Exception: ", ex);
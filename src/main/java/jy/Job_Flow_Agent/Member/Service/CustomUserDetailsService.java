@@ -1,6 +1,7 @@
 package jy.Job_Flow_Agent.Member.Service;
 
 
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
 import jy.Job_Flow_Agent.Member.Entity.Member;
 import jy.Job_Flow_Agent.Member.Repository.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private ToolResultCache toolResultCache;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -42,5 +46,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         member.setLoginSuspendedTime(null);
         // 변경사항 저장
         memberRepository.save(member);
+        // 회원 조회 Tool 캐시 무효화 (본인 대화에 남은 이전 로그인 정보 제거)
+        toolResultCache.invalidate(member.getUsername(), ToolResultCache.GROUP_MEMBER);
     }
 }
\ No newline at end of file
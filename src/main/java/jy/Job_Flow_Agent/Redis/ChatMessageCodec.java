@@ -0,0 +1,278 @@
+package jy.Job_Flow_Agent.Redis;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 대화 메시지 바이너리 코덱 (RedisChatMemoryStore 저장 형식)
+ *
+ * 형식 v1: [0x01][버전][타입][플래그] + 본문
+ * - 타입: 자주 쓰는 메시지(시스템 / 텍스트 사용자 / AI / Tool 결과)는 필드만 (길이 varint + UTF-8) 로 기록,
+ *   그 외(이미지 포함 사용자 메시지 등)는 ChatMessageSerializer JSON 을 본문으로 기록
+ * - 플래그 bit1: 본문이 compressThresholdBytes 이상이고 줄어들면 LZ4 압축 (원본 길이 varint + 압축본)
+ *   매 턴 대화 전체를 읽고 쓰는 경로라 압축률보다 (해제) 속도를 우선한다.
+ * - 플래그 bit0: 이전에 저장된 Deflate 압축 본문 (읽기만 지원)
+ * 첫 바이트가 '{' 이면 이전 형식(JSON 문자열)으로 읽는다 (배포 전에 저장된 대화 호환).
+ */
+public class ChatMessageCodec {
+
+    public static final int DEFAULT_COMPRESS_THRESHOLD_BYTES = 512;
+
+    private static final byte MAGIC = 0x01;
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_JSON = 0;
+    private static final byte TYPE_SYSTEM = 1;
+    private static final byte TYPE_USER = 2;
+    private static final byte TYPE_AI = 3;
+    private static final byte TYPE_TOOL_RESULT = 4;
+
+    private static final byte FLAG_DEFLATE = 1;
+    private static final byte FLAG_LZ4 = 2;
+
+    private static final LZ4Compressor LZ4_COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4SafeDecompressor LZ4_DECOMPRESSOR = LZ4Factory.fastestInstance().safeDecompressor();
+
+    private final int compressThresholdBytes;
+
+    public ChatMessageCodec() {
+        this(DEFAULT_COMPRESS_THRESHOLD_BYTES);
+    }
+
+    public ChatMessageCodec(int compressThresholdBytes) {
+        this.compressThresholdBytes = compressThresholdBytes;
+    }
+
+    public byte[] encode(ChatMessage message) {
+        Writer body = new Writer();
+        byte type = writeBody(message, body);
+        byte[] raw = body.toByteArray();
+
+        byte flags = 0;
+        byte[] payload = raw;
+        if (raw.length >= compressThresholdBytes) {
+            Writer compressed = new Writer();
+            compressed.varint(raw.length);
+            compressed.bytes(LZ4_COMPRESSOR.compress(raw));
+            if (compressed.size() < raw.length) {
+                flags = FLAG_LZ4;
+                payload = compressed.toByteArray();
+            }
+        }
+
+        byte[] encoded = new byte[4 + payload.length];
+        encoded[0] = MAGIC;
+        encoded[1] = VERSION;
+        encoded[2] = type;
+        encoded[3] = flags;
+        System.arraycopy(payload, 0, encoded, 4, payload.length);
+        return encoded;
+    }
+
+    public ChatMessage decode(byte[] data) {
+        if (data.length > 0 && data[0] == '{') {
+            return ChatMessageDeserializer.messageFromJson(new String(data, StandardCharsets.UTF_8));
+        }
+        if (data.length < 4 || data[0] != MAGIC) {
+            throw new IllegalArgumentException("알 수 없는 대화 메시지 형식입니다");
+        }
+        if (data[1] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 대화 메시지 형식 버전입니다: " + data[1]);
+        }
+
+        Reader body = new Reader(data, 4);
+        if ((data[3] & FLAG_LZ4) != 0) {
+            int length = body.varint();
+            body = new Reader(decompressLz4(data, body.position, length), 0);
+        } else if ((data[3] & FLAG_DEFLATE) != 0) {
+            int length = body.varint();
+            body = new Reader(inflate(data, body.position, length), 0);
+        }
+        return readBody(data[2], body);
+    }
+
+    private static byte writeBody(ChatMessage message, Writer body) {
+        if (message instanceof SystemMessage systemMessage) {
+            body.string(systemMessage.text());
+            return TYPE_SYSTEM;
+        }
+        if (message instanceof UserMessage userMessage && userMessage.hasSingleText()) {
+            body.string(userMessage.name());
+            body.string(userMessage.singleText());
+            return TYPE_USER;
+        }
+        if (message instanceof AiMessage aiMessage && (aiMessage.text() != null || aiMessage.hasToolExecutionRequests())) {
+            body.string(aiMessage.text());
+            List<ToolExecutionRequest> requests = aiMessage.hasToolExecutionRequests()
+                    ? aiMessage.toolExecutionRequests()
+                    : List.of();
+            body.varint(requests.size());
+            for (ToolExecutionRequest request : requests) {
+                body.string(request.id());
+                body.string(request.name());
+                body.string(request.arguments());
+            }
+            return TYPE_AI;
+        }
+        if (message instanceof ToolExecutionResultMessage result) {
+            body.string(result.id());
+            body.string(result.toolName());
+            body.string(result.text());
+            return TYPE_TOOL_RESULT;
+        }
+        body.string(ChatMessageSerializer.messageToJson(message));
+        return TYPE_JSON;
+    }
+
+    private static ChatMessage readBody(byte type, Reader body) {
+        switch (type) {
+            case TYPE_SYSTEM:
+                return SystemMessage.from(body.string());
+            case TYPE_USER: {
+                String name = body.string();
+                String text = body.string();
+                return name == null ? UserMessage.from(text) : UserMessage.from(name, text);
+            }
+            case TYPE_AI: {
+                String text = body.string();
+                int count = body.varint();
+                List<ToolExecutionRequest> requests = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    requests.add(ToolExecutionRequest.builder()
+                            .id(body.string())
+                            .name(body.string())
+                            .arguments(body.string())
+                            .build());
+                }
+                if (requests.isEmpty()) {
+                    return AiMessage.from(text);
+                }
+                return text == null ? AiMessage.from(requests) : AiMessage.from(text, requests);
+            }
+            case TYPE_TOOL_RESULT:
+                return ToolExecutionResultMessage.from(body.string(), body.string(), body.string());
+            case TYPE_JSON:
+                return ChatMessageDeserializer.messageFromJson(body.string());
+            default:
+                throw new IllegalArgumentException("알 수 없는 대화 메시지 타입입니다: " + type);
+        }
+    }
+
+    private static byte[] decompressLz4(byte[] data, int offset, int length) {
+        try {
+            byte[] raw = new byte[length];
+            if (LZ4_DECOMPRESSOR.decompress(data, offset, data.length - offset, raw, 0, length) != length) {
+                throw new IllegalArgumentException("압축된 대화 메시지가 손상되었습니다");
+            }
+            return raw;
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("압축된 대화 메시지가 손상되었습니다", e);
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalArgumentException("압축된 대화 메시지가 손상되었습니다");
+                }
+                read += n;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("압축된 대화 메시지가 손상되었습니다", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * varint(부호 없는 LEB128) + 길이 접두 UTF-8 문자열 기록 (null 은 길이 0, 그 외 길이 + 1)
+     */
+    private static class Writer extends ByteArrayOutputStream {
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write(value);
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length + 1);
+            bytes(bytes);
+        }
+
+        void bytes(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static class Reader {
+
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int varint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= data.length || shift > 28) {
+                    throw new IllegalArgumentException("대화 메시지 길이 정보가 손상되었습니다");
+                }
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        String string() {
+            int length = varint();
+            if (length == 0) {
+                return null;
+            }
+            length--;
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("대화 메시지 본문이 손상되었습니다");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -1,92 +1,358 @@
 package jy.Job_Flow_Agent.Redis;
 
 import dev.langchain4j.data.message.ChatMessage;
-import dev.langchain4j.data.message.ChatMessageDeserializer;
-import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Redis 대화 메모리 저장소 (메시지 1개 = 리스트 항목 1개, ChatMessageCodec 바이너리 - 이전 JSON 항목도 읽음)
+ *
+ * ChatMemory(TokenBudgetChatMemory 등)는 매 add 마다 getMessages → (추가/윈도우 초과분 제거) → updateMessages 를 호출한다.
+ * 전체를 지우고 다시 넣는 대신, 직전에 읽은 목록(스냅샷)과 비교해 변경분만 Lua 스크립트 1회로 반영한다.
+ * - 앞쪽 제거(윈도우 초과, 시스템 메시지 뒤 제거 포함) + 새 메시지 RPUSH + TTL 갱신을 원자적으로 처리
+ * - 새 메시지만 직렬화 (기존 메시지는 재직렬화하지 않음)
+ * - 버전 키(chat:memory:version:{id})로 다른 노드/다른 Assistant 의 동시 변경을 감지하면 전체 재작성으로 대체
+ * 윈도우에서 밀려난 대화의 요약(chat:memory:summary:{id})도 같은 스크립트로 함께 읽고 TTL 을 갱신한다.
+ *
+ * 근접 캐시: 스냅샷은 역직렬화된 메시지 목록 캐시를 겸한다 (한 턴에 getMessages 가 여러 번 호출됨).
+ * - nearCacheMaxAge 안이면 Redis 없이 로컬 목록 반환, 지나면 버전 키만 조회해 같으면 계속 사용
+ * - 쓰기 스크립트가 chat:memory:invalidate 채널로 "{nodeId} {memoryId}" 를 발행 → 다른 노드는 해당 스냅샷 제거
+ *   (Pub/Sub 유실 시에도 nearCacheMaxAge 후 버전 확인으로 복구)
+ * - 최대 maxEntries 건, 오래 안 쓴 순으로 제거
+ */
 @Slf4j
 public class RedisChatMemoryStore implements ChatMemoryStore {
 
+    private static final String PREFIX = "chat:memory:";
+    private static final String VERSION_PREFIX = "chat:memory:version:";
+    private static final String SUMMARY_PREFIX = "chat:memory:summary:";
+    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    private static final String INVALIDATE_CHANNEL = "chat:memory:invalidate";
+    private static final int DEFAULT_NEAR_CACHE_MAX_ENTRIES = 1_000;
+    private static final Duration DEFAULT_NEAR_CACHE_MAX_AGE = Duration.ofSeconds(30);
+    private static final long STALE = -1L;
+    private static final RedisSerializer<byte[]> BYTES = RedisSerializer.byteArray();
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * KEYS[1] 메시지 리스트, KEYS[2] 버전, KEYS[3] 요약 → {버전, 요약(없으면 빈 문자열), 메시지...}
+     */
+    private static final RedisScript<List> READ_SCRIPT = new DefaultRedisScript<>(
+            "local items = redis.call('lrange', KEYS[1], 0, -1)\n" +
+                    "table.insert(items, 1, redis.call('get', KEYS[3]) or '')\n" +
+                    "table.insert(items, 1, redis.call('get', KEYS[2]) or '0')\n" +
+                    "return items", List.class);
+
+    /**
+     * ARGV[1] 기대 버전, ARGV[2] 앞에서 유지할 개수, ARGV[3] 그 뒤에서 제거할 개수, ARGV[4] TTL(초),
+     * ARGV[5] 무효화 메시지, ARGV[6..] 추가할 메시지 → 새 버전 (기대 버전과 다르면 -1)
+     */
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[1] then return -1 end\n" +
+                    "local keep = tonumber(ARGV[2])\n" +
+                    "local remove = tonumber(ARGV[3])\n" +
+                    "if remove > 0 then\n" +
+                    "    if keep == 0 then\n" +
+                    "        redis.call('ltrim', KEYS[1], remove, -1)\n" +
+                    "    else\n" +
+                    "        local head = redis.call('lrange', KEYS[1], 0, keep - 1)\n" +
+                    "        redis.call('ltrim', KEYS[1], keep + remove, -1)\n" +
+                    "        for i = #head, 1, -1 do redis.call('lpush', KEYS[1], head[i]) end\n" +
+                    "    end\n" +
+                    "end\n" +
+                    "if #ARGV > 5 then redis.call('rpush', KEYS[1], unpack(ARGV, 6)) end\n" +
+                    "local version = redis.call('incr', KEYS[2])\n" +
+                    "redis.call('expire', KEYS[1], ARGV[4])\n" +
+                    "redis.call('expire', KEYS[2], ARGV[4])\n" +
+                    "redis.call('expire', KEYS[3], ARGV[4])\n" +
+                    "redis.call('publish', '" + INVALIDATE_CHANNEL + "', ARGV[5])\n" +
+                    "return version", Long.class);
+
+    /**
+     * ARGV[1] TTL(초), ARGV[2] 무효화 메시지, ARGV[3..] 전체 메시지 → 새 버전
+     */
+    private static final RedisScript<Long> REWRITE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('del', KEYS[1])\n" +
+                    "if #ARGV > 2 then redis.call('rpush', KEYS[1], unpack(ARGV, 3)) end\n" +
+                    "local version = redis.call('incr', KEYS[2])\n" +
+                    "redis.call('expire', KEYS[1], ARGV[1])\n" +
+                    "redis.call('expire', KEYS[2], ARGV[1])\n" +
+                    "redis.call('expire', KEYS[3], ARGV[1])\n" +
+                    "redis.call('publish', '" + INVALIDATE_CHANNEL + "', ARGV[2])\n" +
+                    "return version", Long.class);
+
     private final StringRedisTemplate redisTemplate;
-    private final String prefix = "chat:memory:";
+    private final Duration ttl;
+    private final ChatMessageCodec codec;
+    private final Duration nearCacheMaxAge;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * memoryId → 이 노드가 마지막으로 읽거나 쓴 목록 (변경분 계산 + 근접 캐시, 오래 안 쓴 순 제거)
+     */
+    private final Map<Object, Snapshot> snapshots;
+
+    private RedisMessageListenerContainer listenerContainer;
+    private MessageListener invalidationListener;
+
+    /**
+     * @param summaryLoaded  false 면 요약은 아직 읽지 않음 (근접 캐시로 쓰지 않고, getSummary 는 Redis 조회)
+     * @param verifiedAtNanos Redis 와 같은 상태임을 마지막으로 확인한 시각
+     */
+    private record Snapshot(long version, List<ChatMessage> messages, String summary, boolean summaryLoaded,
+                            long verifiedAtNanos) {
+
+        Snapshot(long version, List<ChatMessage> messages, String summary, boolean summaryLoaded) {
+            this(version, messages, summary, summaryLoaded, System.nanoTime());
+        }
+    }
 
     public RedisChatMemoryStore(StringRedisTemplate redisTemplate) {
+        this(redisTemplate, DEFAULT_TTL);
+    }
+
+    public RedisChatMemoryStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this(redisTemplate, ttl, new ChatMessageCodec(), DEFAULT_NEAR_CACHE_MAX_ENTRIES, DEFAULT_NEAR_CACHE_MAX_AGE);
+    }
+
+    /**
+     * @param nearCacheMaxEntries 로컬에 보관할 대화 수
+     * @param nearCacheMaxAge     Redis 확인 없이 로컬 목록을 쓰는 시간 (0 이면 매번 버전 확인)
+     */
+    public RedisChatMemoryStore(StringRedisTemplate redisTemplate, Duration ttl, ChatMessageCodec codec,
+                                int nearCacheMaxEntries, Duration nearCacheMaxAge) {
         this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.codec = codec;
+        this.nearCacheMaxAge = nearCacheMaxAge;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Snapshot> eldest) {
+                return size() > nearCacheMaxEntries;
+            }
+        });
+    }
+
+    /**
+     * 다른 노드의 변경 알림 구독 시작 (구독하지 않으면 nearCacheMaxAge 마다 버전 확인으로만 갱신)
+     */
+    public void listen(RedisMessageListenerContainer container) {
+        invalidationListener = (message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf(' ');
+            if (separator > 0 && !nodeId.equals(body.substring(0, separator))) {
+                snapshots.remove(body.substring(separator + 1));
+            }
+        };
+        listenerContainer = container;
+        container.addMessageListener(invalidationListener, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (invalidationListener != null) {
+            listenerContainer.removeMessageListener(invalidationListener);
+        }
     }
 
     @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public List<ChatMessage> getMessages(Object memoryId) {
-        String key = prefix + memoryId;
-        
         try {
-            List<String> jsonMessages = redisTemplate.opsForList().range(key, 0, -1);
-            
-            if (jsonMessages == null || jsonMessages.isEmpty()) {
+            List<ChatMessage> cached = cachedMessages(memoryId);
+            if (cached != null) {
+                return cached;
+            }
+
+            // 결과 항목을 바이트 그대로 받음 (바이너리 메시지)
+            List<byte[]> result = redisTemplate.execute(READ_SCRIPT, BYTES, (RedisSerializer) BYTES, keys(memoryId));
+            if (result == null || result.size() < 2) {
                 return new ArrayList<>();
             }
-            
-            return jsonMessages.stream()
-                    .map(json -> {
-                        try {
-                            return ChatMessageDeserializer.messageFromJson(json);
-                        } catch (Exception e) {
-                            log.error("Failed to deserialize chat message: {}", json, e);
-                            return null;
-                        }
-                    })
-                    .filter(msg -> msg != null)
-                    .collect(Collectors.toList());
+
+            List<ChatMessage> messages = new ArrayList<>(result.size() - 2);
+            boolean complete = true;
+            for (byte[] item : result.subList(2, result.size())) {
+                try {
+                    messages.add(codec.decode(item));
+                } catch (Exception e) {
+                    log.error("Failed to deserialize chat message ({} bytes)", item.length, e);
+                    complete = false;
+                }
+            }
+            if (complete) {
+                String summary = result.get(1).length == 0 ? null : new String(result.get(1), StandardCharsets.UTF_8);
+                long version = Long.parseLong(new String(result.get(0), StandardCharsets.UTF_8));
+                snapshots.put(memoryId, new Snapshot(version, List.copyOf(messages), summary, true));
+            } else {
+                // Redis 목록과 위치가 어긋나므로 다음 update 는 전체 재작성
+                snapshots.remove(memoryId);
+            }
+            return messages;
         } catch (Exception e) {
             log.error("Failed to get messages for memoryId: {}", memoryId, e);
             return new ArrayList<>();
         }
     }
 
+    /**
+     * @return 근접 캐시 목록 (사본), 없거나 Redis 와 버전이 다르면 null
+     */
+    private List<ChatMessage> cachedMessages(Object memoryId) {
+        Snapshot snapshot = snapshots.get(memoryId);
+        if (snapshot == null || !snapshot.summaryLoaded()) {
+            return null;
+        }
+        if (System.nanoTime() - snapshot.verifiedAtNanos() >= nearCacheMaxAge.toNanos()) {
+            String version = redisTemplate.opsForValue().get(VERSION_PREFIX + memoryId);
+            if (!String.valueOf(snapshot.version()).equals(version == null ? "0" : version)) {
+                return null;
+            }
+            snapshots.replace(memoryId, snapshot, new Snapshot(snapshot.version(), snapshot.messages(),
+                    snapshot.summary(), true));
+        }
+        return new ArrayList<>(snapshot.messages());
+    }
+
     @Override
     public void updateMessages(Object memoryId, List<ChatMessage> messages) {
-        String key = prefix + memoryId;
-        
         try {
-            // 기존 메시지 삭제
-            redisTemplate.delete(key);
-            
-            if (messages != null && !messages.isEmpty()) {
-                // ChatMessage를 JSON 문자열로 변환
-                List<String> jsonMessages = messages.stream()
-                        .map(msg -> {
-                            try {
-                                return ChatMessageSerializer.messageToJson(msg);
-                            } catch (Exception e) {
-                                log.error("Failed to serialize chat message", e);
-                                return null;
-                            }
-                        })
-                        .filter(json -> json != null)
-                        .collect(Collectors.toList());
-                
-                if (!jsonMessages.isEmpty()) {
-                    redisTemplate.opsForList().rightPushAll(key, jsonMessages);
-                    // TTL 설정
-                    redisTemplate.expire(key, Duration.ofHours(1));
-                }
+            List<ChatMessage> stored = messages == null ? List.of() : messages;
+            Snapshot snapshot = snapshots.get(memoryId);
+            long version = snapshot != null ? append(memoryId, snapshot, stored) : STALE;
+            if (version == STALE) {
+                version = rewrite(memoryId, stored);
             }
+            snapshots.put(memoryId, snapshot != null
+                    ? new Snapshot(version, List.copyOf(stored), snapshot.summary(), snapshot.summaryLoaded())
+                    : new Snapshot(version, List.copyOf(stored), null, false));
         } catch (Exception e) {
+            snapshots.remove(memoryId);
             log.error("Failed to update messages for memoryId: {}", memoryId, e);
         }
     }
 
+    /**
+     * 스냅샷 = 앞부분 유지 + 연속 구간 제거 + 나머지 유지, 그 뒤에 새 메시지 추가 형태일 때만 변경분 반영
+     * (메시지 객체 동일성으로 비교 - ChatMemory 는 getMessages 가 준 객체를 그대로 돌려줌)
+     *
+     * @return 새 버전, 형태가 다르거나 다른 곳에서 변경되었으면 STALE
+     */
+    private long append(Object memoryId, Snapshot snapshot, List<ChatMessage> messages) {
+        List<ChatMessage> previous = snapshot.messages();
+        Set<ChatMessage> previousSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        previousSet.addAll(previous);
+
+        int kept = 0;
+        while (kept < messages.size() && previousSet.contains(messages.get(kept))) {
+            kept++;
+        }
+        int prefix = 0;
+        while (prefix < kept && previous.get(prefix) == messages.get(prefix)) {
+            prefix++;
+        }
+        int removed = previous.size() - kept;
+        if (removed < 0) {
+            return STALE;
+        }
+        for (int i = prefix; i < kept; i++) {
+            if (previous.get(i + removed) != messages.get(i)) {
+                return STALE;
+            }
+        }
+
+        List<byte[]> args = new ArrayList<>();
+        args.add(number(snapshot.version()));
+        args.add(number(prefix));
+        args.add(number(removed));
+        args.add(number(ttl.toSeconds()));
+        args.add(invalidation(memoryId));
+        for (ChatMessage message : messages.subList(kept, messages.size())) {
+            args.add(codec.encode(message));
+        }
+        if (removed == 0 && args.size() == 5) {
+            return snapshot.version();
+        }
+
+        Long version = redisTemplate.execute(APPEND_SCRIPT, BYTES, LONG, keys(memoryId), args.toArray());
+        if (version == null || version == STALE) {
+            log.debug("Chat memory changed elsewhere, rewriting - memoryId: {}", memoryId);
+            return STALE;
+        }
+        return version;
+    }
+
+    private long rewrite(Object memoryId, List<ChatMessage> messages) {
+        List<byte[]> args = new ArrayList<>(messages.size() + 1);
+        args.add(number(ttl.toSeconds()));
+        args.add(invalidation(memoryId));
+        for (ChatMessage message : messages) {
+            args.add(codec.encode(message));
+        }
+        Long version = redisTemplate.execute(REWRITE_SCRIPT, BYTES, LONG, keys(memoryId), args.toArray());
+        return version == null ? STALE : version;
+    }
+
+    private static byte[] number(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] invalidation(Object memoryId) {
+        return (nodeId + " " + memoryId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 윈도우에서 밀려난 대화의 요약 (직전 getMessages 에서 함께 읽은 값, 없으면 Redis 조회)
+     *
+     * @return 요약이 없으면 null
+     */
+    public String getSummary(Object memoryId) {
+        Snapshot snapshot = snapshots.get(memoryId);
+        if (snapshot != null && snapshot.summaryLoaded()) {
+            return snapshot.summary();
+        }
+        try {
+            return redisTemplate.opsForValue().get(SUMMARY_PREFIX + memoryId);
+        } catch (Exception e) {
+            log.error("Failed to get summary for memoryId: {}", memoryId, e);
+            return null;
+        }
+    }
+
+    public void saveSummary(Object memoryId, String summary) {
+        redisTemplate.opsForValue().set(SUMMARY_PREFIX + memoryId, summary, ttl);
+        redisTemplate.convertAndSend(INVALIDATE_CHANNEL, nodeId + " " + memoryId);
+        snapshots.computeIfPresent(memoryId, (id, snapshot) -> new Snapshot(snapshot.version(), snapshot.messages(), summary, true));
+    }
+
     @Override
     public void deleteMessages(Object memoryId) {
-        String key = prefix + memoryId;
-        redisTemplate.delete(key);
+        snapshots.remove(memoryId);
+        redisTemplate.delete(keys(memoryId));
+        redisTemplate.convertAndSend(INVALIDATE_CHANNEL, nodeId + " " + memoryId);
     }
-}
 
+    private static List<String> keys(Object memoryId) {
+        return List.of(PREFIX + memoryId, VERSION_PREFIX + memoryId, SUMMARY_PREFIX + memoryId);
+    }
+}
@@ -0,0 +1,128 @@
+package jy.Job_Flow_Agent.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistantVariants;
+import jy.Job_Flow_Agent.AI.Controller.AIController;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamService;
+import jy.Job_Flow_Agent.AI.Event.UIEventService;
+import jy.Job_Flow_Agent.AI.RAG.Service.RagPrefetcher;
+import jy.Job_Flow_Agent.AI.Service.ChatAdmissionQueue;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AIController 단위 테스트")
+class AIControllerTest {
+
+    @Mock
+    private StreamingAssistantVariants streamingAssistants;
+
+    @Mock
+    private UIEventService uiEventService;
+
+    @Mock
+    private ChatTurnRegistry chatTurnRegistry;
+
+    @Mock
+    private IntentClassifier intentClassifier;
+
+    @Mock
+    private RagPrefetcher ragPrefetcher;
+
+    @Mock
+    private ChatStreamService chatStreamService;
+
+    @Mock
+    private ChatAdmissionQueue chatAdmissionQueue;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private AIController aiController;
+
+    // ─────────────────────────────────────────────────
+    //  AIC-01: 잘못된 Last-Event-ID
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("AIC-01: resume() - Redis Stream ID 형식이 아닌 Last-Event-ID 는 BAD_REQUEST")
+    void resume_malformedLastEventId_throwsBadRequest() {
+        // when & then
+        for (String malformed : List.of("abc", "123", "1-2-3", "-1", "99999999999999999999-0")) {
+            assertThatThrownBy(() -> aiController.resume("stream-1", malformed, null))
+                    .isInstanceOf(GlobalException.class)
+                    .satisfies(ex -> {
+                        assertThat(((GlobalException) ex).getErrorCode()).isEqualTo("INVALID_LAST_EVENT_ID");
+                        assertThat(((GlobalException) ex).getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    });
+        }
+        then(chatStreamService).should(never()).attach(anyString(), anyString(), any());
+    }
+
+    // ─────────────────────────────────────────────────
+    //  AIC-02: 올바른 Last-Event-ID
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("AIC-02: resume() - 올바른 Last-Event-ID 는 그대로 세션 재연결에 전달")
+    void resume_validLastEventId_attaches() {
+        // given
+        given(chatStreamService.attach("anonymous", "stream-1", "1700000000000-3")).willReturn(Flux.empty());
+
+        // when
+        aiController.resume("stream-1", "1700000000000-3", null).blockLast(Duration.ofSeconds(1));
+
+        // then
+        then(chatStreamService).should().attach("anonymous", "stream-1", "1700000000000-3");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  AIC-03: 오류 이벤트 JSON 직렬화
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("AIC-03: chat() - 따옴표/역슬래시가 있는 오류 메시지도 올바른 JSON 오류 이벤트로 전달")
+    void chat_admissionError_serializesMessageAsJson() throws Exception {
+        // given
+        String reason = "대기열 \"초과\" \\ 잠시 후 다시 시도하세요";
+        ChatAdmissionQueue.Ticket ticket = mock(ChatAdmissionQueue.Ticket.class);
+        given(ticket.admitted()).willReturn(CompletableFuture.failedFuture(
+                new GlobalException(reason, "CHAT_QUEUE_FULL", HttpStatus.TOO_MANY_REQUESTS)));
+        given(chatAdmissionQueue.acquire("anonymous")).willReturn(ticket);
+
+        // when
+        List<ServerSentEvent<String>> events = aiController.chat(Map.of("message", "안녕"), null)
+                .collectList()
+                .block(Duration.ofSeconds(2));
+
+        // then
+        ServerSentEvent<String> error = events.get(events.size() - 1);
+        assertThat(error.event()).isEqualTo("error");
+        JsonNode data = objectMapper.readTree(error.data());
+        assertThat(data.get("message").asText()).isEqualTo(reason);
+    }
+}
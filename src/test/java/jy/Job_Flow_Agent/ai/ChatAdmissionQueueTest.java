@@ -0,0 +1,143 @@
+package jy.Job_Flow_Agent.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.Service.ChatAdmissionQueue;
+import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChatAdmissionQueue 단위 테스트")
+class ChatAdmissionQueueTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatAdmissionQueue admissionQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admissionQueue = new ChatAdmissionQueue(meterRegistry);
+        ReflectionTestUtils.setField(admissionQueue, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(admissionQueue, "maxPerUser", 1);
+        ReflectionTestUtils.setField(admissionQueue, "maxQueue", 3);
+        ReflectionTestUtils.setField(admissionQueue, "queueTimeoutMs", 60_000L);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CAQ-01: 자리가 있으면 즉시 입장, 사용자별 한도 초과 시 대기
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CAQ-01: acquire() - 여유가 있으면 바로 입장하고 사용자별 한도를 넘으면 대기열에 들어감")
+    void acquire_admitsImmediatelyOrQueuesPerUser() {
+        // when
+        ChatAdmissionQueue.Ticket first = admissionQueue.acquire("alice");
+        ChatAdmissionQueue.Ticket second = admissionQueue.acquire("alice");
+
+        // then
+        assertThat(first.admitted()).isDone();
+        assertThat(first.position()).isZero();
+        assertThat(second.admitted()).isNotDone();
+        assertThat(second.position()).isEqualTo(1);
+        assertThat(gauge("ai.chat.admission.active")).isEqualTo(1);
+        assertThat(gauge("ai.chat.admission.queue.depth")).isEqualTo(1);
+
+        // when - 앞선 턴 종료
+        first.release();
+
+        // then
+        assertThat(second.admitted()).isDone();
+        assertThat(gauge("ai.chat.admission.queue.depth")).isZero();
+        assertThat(meterRegistry.get("ai.chat.admission.wait").timer().count()).isEqualTo(2);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CAQ-02: 자리가 나면 사용자 라운드로빈으로 입장 (공정성)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CAQ-02: release() - 한 사용자가 먼저 여러 건 대기해도 다른 사용자가 번갈아 입장")
+    void release_admitsUsersRoundRobin() {
+        // given - 전체 한도 2 를 bob, carol 이 사용 중
+        ReflectionTestUtils.setField(admissionQueue, "maxPerUser", 2);
+        ChatAdmissionQueue.Ticket bob = admissionQueue.acquire("bob");
+        ChatAdmissionQueue.Ticket carol = admissionQueue.acquire("carol");
+        ChatAdmissionQueue.Ticket alice1 = admissionQueue.acquire("alice");
+        ChatAdmissionQueue.Ticket alice2 = admissionQueue.acquire("alice");
+        ChatAdmissionQueue.Ticket dave = admissionQueue.acquire("dave");
+
+        // then - dave 는 alice 의 두 번째 요청보다 앞 순번
+        assertThat(alice1.position()).isEqualTo(1);
+        assertThat(dave.position()).isEqualTo(2);
+        assertThat(alice2.position()).isEqualTo(3);
+
+        // when
+        bob.release();
+        carol.release();
+
+        // then
+        assertThat(alice1.admitted()).isDone();
+        assertThat(dave.admitted()).isDone();
+        assertThat(alice2.admitted()).isNotDone();
+        assertThat(alice2.position()).isEqualTo(1);
+        assertThat(alice2.estimatedWaitMillis(1)).isPositive();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CAQ-03: 대기열 초과 시 429, 대기 중 취소 시 대기열에서 제거
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CAQ-03: acquire()/release() - 대기열이 가득 차면 429, 대기 중 취소하면 대기열에서 빠짐")
+    void acquire_rejectsWhenQueueFull() {
+        // given
+        admissionQueue.acquire("a");
+        admissionQueue.acquire("b");
+        ChatAdmissionQueue.Ticket queued = admissionQueue.acquire("c");
+        admissionQueue.acquire("d");
+        admissionQueue.acquire("e");
+
+        // when & then
+        assertThatThrownBy(() -> admissionQueue.acquire("f"))
+                .isInstanceOf(GlobalException.class)
+                .satisfies(e -> assertThat(((GlobalException) e).getHttpStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+
+        // when - 대기 중 연결 종료
+        queued.release();
+
+        // then
+        assertThat(queued.admitted()).isCompletedExceptionally();
+        assertThat(gauge("ai.chat.admission.queue.depth")).isEqualTo(2);
+        assertThat(admissionQueue.acquire("f").position()).isEqualTo(3);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CAQ-04: 대기 시간 초과
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CAQ-04: acquire() - 대기 시간을 넘기면 CHAT_QUEUE_TIMEOUT 으로 실패하고 대기열에서 빠짐")
+    void acquire_expiresAfterQueueTimeout() {
+        // given
+        ReflectionTestUtils.setField(admissionQueue, "queueTimeoutMs", 50L);
+        admissionQueue.acquire("a");
+        admissionQueue.acquire("b");
+
+        // when
+        ChatAdmissionQueue.Ticket queued = admissionQueue.acquire("c");
+
+        // then
+        assertThatThrownBy(() -> queued.admitted().get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(GlobalException.class);
+        assertThat(gauge("ai.chat.admission.queue.depth")).isZero();
+    }
+}
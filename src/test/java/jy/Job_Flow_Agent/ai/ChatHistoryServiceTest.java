@@ -0,0 +1,221 @@
+package jy.Job_Flow_Agent.ai;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.History.DTO.ChatHistoryDTO;
+import jy.Job_Flow_Agent.AI.History.Entity.ChatArchiveMessage;
+import jy.Job_Flow_Agent.AI.History.Repository.ChatArchiveRepository;
+import jy.Job_Flow_Agent.AI.History.Service.ChatArchiveWriter;
+import jy.Job_Flow_Agent.AI.History.Service.ChatHistoryService;
+import jy.Job_Flow_Agent.Redis.RedisChatMemoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 비동기 writer 가 별도 커넥션으로 커밋한 결과를 읽어야 하므로 테스트 트랜잭션 없이 실행
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ChatArchiveWriter / ChatHistoryService 단위 테스트 (TestContainers MySQL)")
+class ChatHistoryServiceTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpw");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQL8Dialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private ChatArchiveRepository chatArchiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatArchiveWriter archiveWriter;
+    private RedisChatMemoryStore chatMemoryStore;
+    private ChatHistoryService chatHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        chatArchiveRepository.deleteAll();
+
+        meterRegistry = new SimpleMeterRegistry();
+        archiveWriter = new ChatArchiveWriter(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(archiveWriter, "maxQueue", 100);
+        ReflectionTestUtils.setField(archiveWriter, "batchSize", 10);
+        ReflectionTestUtils.setField(archiveWriter, "lingerMs", 50L);
+        archiveWriter.start();
+
+        chatMemoryStore = mock(RedisChatMemoryStore.class);
+        chatHistoryService = new ChatHistoryService(chatArchiveRepository, chatMemoryStore);
+        ReflectionTestUtils.setField(chatHistoryService, "restoreMessages", 5);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        archiveWriter.stop();
+    }
+
+    private void archive(String username, ChatArchiveMessage.Role role, String content) {
+        chatArchiveRepository.save(ChatArchiveMessage.builder()
+                .username(username)
+                .role(role)
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    private List<ChatArchiveMessage> awaitArchived(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (chatArchiveRepository.count() >= expected) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        return chatArchiveRepository.findAll(Sort.by("id"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CH-01: write-behind 보관 (질문 / 텍스트 답변만)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CH-01: submit() - 사용자 질문과 AI 텍스트 답변만 순서대로 보관, Tool 호출/결과와 익명 대화는 제외")
+    void submit_archivesQuestionsAndAnswersInBackground() throws InterruptedException {
+        // given
+        ToolExecutionRequest request = ToolExecutionRequest.builder().id("1").name("searchDocuments").arguments("{}").build();
+
+        // when
+        archiveWriter.submit("testuser", SystemMessage.from("너는 취업 도우미야"));
+        archiveWriter.submit("testuser", UserMessage.from("자소서 봐줘"));
+        archiveWriter.submit("testuser", AiMessage.from(List.of(request)));
+        archiveWriter.submit("testuser", ToolExecutionResultMessage.from(request, "검색 결과"));
+        archiveWriter.submit("testuser", AiMessage.from("첫 문단이 좋아요"));
+        archiveWriter.submit("anonymous", UserMessage.from("익명 질문"));
+
+        // then
+        List<ChatArchiveMessage> archived = awaitArchived(2);
+        assertThat(archived).extracting(ChatArchiveMessage::getUsername).containsOnly("testuser");
+        assertThat(archived).extracting(ChatArchiveMessage::getRole)
+                .containsExactly(ChatArchiveMessage.Role.USER, ChatArchiveMessage.Role.AI);
+        assertThat(archived).extracting(ChatArchiveMessage::getContent)
+                .containsExactly("자소서 봐줘", "첫 문단이 좋아요");
+        assertThat(meterRegistry.get("ai.chat.archive.messages").tag("outcome", "archived").counter().count())
+                .isEqualTo(2);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CH-02: 키셋 페이지네이션
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CH-02: history() - 최신순으로 겹치지 않게 이어서 조회, 마지막 페이지는 nextCursor 가 null")
+    void history_pagesByCursor() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            archive("testuser", ChatArchiveMessage.Role.USER, "질문 " + i);
+        }
+        archive("otheruser", ChatArchiveMessage.Role.USER, "다른 사용자 질문");
+
+        // when
+        ChatHistoryDTO.PageResponse first = chatHistoryService.history("testuser", null, 2);
+        ChatHistoryDTO.PageResponse second = chatHistoryService.history("testuser", first.getNextCursor(), 2);
+        ChatHistoryDTO.PageResponse last = chatHistoryService.history("testuser", second.getNextCursor(), 2);
+
+        // then
+        assertThat(first.getMessages()).extracting(ChatHistoryDTO.MessageResponse::getContent)
+                .containsExactly("질문 5", "질문 4");
+        assertThat(second.getMessages()).extracting(ChatHistoryDTO.MessageResponse::getContent)
+                .containsExactly("질문 3", "질문 2");
+        assertThat(last.getMessages()).extracting(ChatHistoryDTO.MessageResponse::getContent)
+                .containsExactly("질문 1");
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CH-03: 만료된 대화 메모리 복원
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CH-03: restore() - 대화 메모리가 비어 있으면 최근 기록을 사용자 질문부터 복원 (시스템 메시지 유지)")
+    void restore_rehydratesEmptyWindow() {
+        // given
+        archive("testuser", ChatArchiveMessage.Role.USER, "질문 0");
+        archive("testuser", ChatArchiveMessage.Role.AI, "답변 0");
+        archive("testuser", ChatArchiveMessage.Role.USER, "질문 1");
+        archive("testuser", ChatArchiveMessage.Role.AI, "답변 1");
+        archive("testuser", ChatArchiveMessage.Role.USER, "질문 2");
+        archive("testuser", ChatArchiveMessage.Role.AI, "답변 2");
+        SystemMessage systemMessage = SystemMessage.from("너는 취업 도우미야");
+        when(chatMemoryStore.getMessages("testuser")).thenReturn(List.of(systemMessage));
+
+        // when
+        ChatHistoryDTO.RestoreResponse response = chatHistoryService.restore("testuser");
+
+        // then - 최근 5건 중 앞의 AI 답변("답변 0")은 제외
+        assertThat(response.getRestoredCount()).isEqualTo(4);
+        List<ChatMessage> expected = List.of(systemMessage,
+                UserMessage.from("질문 1"), AiMessage.from("답변 1"),
+                UserMessage.from("질문 2"), AiMessage.from("답변 2"));
+        verify(chatMemoryStore).updateMessages("testuser", expected);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CH-04: 진행 중인 대화는 덮어쓰지 않음
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CH-04: restore() - 진행 중인 대화가 있으면 복원하지 않음")
+    void restore_keepsActiveConversation() {
+        // given
+        archive("testuser", ChatArchiveMessage.Role.USER, "예전 질문");
+        when(chatMemoryStore.getMessages("testuser")).thenReturn(List.of(UserMessage.from("지금 질문")));
+
+        // when
+        ChatHistoryDTO.RestoreResponse response = chatHistoryService.restore("testuser");
+
+        // then
+        assertThat(response.getRestoredCount()).isZero();
+        verify(chatMemoryStore, never()).updateMessages(any(), anyList());
+    }
+}
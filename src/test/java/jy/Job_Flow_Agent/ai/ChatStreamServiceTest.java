@@ -0,0 +1,117 @@
+package jy.Job_Flow_Agent.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.Event.ChatReplayBuffer;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamEvent;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamService;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamSession;
+import jy.Job_Flow_Agent.AI.Event.TokenCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatStreamService 단위 테스트")
+class ChatStreamServiceTest {
+
+    private static final long GRACE_MS = 300;
+
+    @Mock
+    private ChatReplayBuffer replayBuffer;
+
+    private ChatStreamService chatStreamService;
+
+    @BeforeEach
+    void setUp() {
+        TokenCoalescer tokenCoalescer = new TokenCoalescer(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenCoalescer, "intervalMs", 40L);
+        ReflectionTestUtils.setField(tokenCoalescer, "maxBytes", 512);
+        chatStreamService = new ChatStreamService(replayBuffer, new ObjectMapper(), tokenCoalescer);
+        ReflectionTestUtils.setField(chatStreamService, "resumeGraceMs", GRACE_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        chatStreamService.shutdown();
+    }
+
+    private static void waitUntil(AtomicBoolean condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.get() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CSS-01: 다른 노드 구독자의 임대가 남아 있으면 턴 유지
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CSS-01: 구독자가 모두 끊겨도 원격 구독자 임대가 남아 있으면 턴을 유지하고, 임대가 끝나면 오류 이벤트와 함께 종료")
+    void graceCheck_waitsForRemoteLease() throws InterruptedException {
+        // given
+        given(replayBuffer.open("stream-1", "testuser")).willReturn("1-0");
+        given(replayBuffer.owner("stream-1")).willReturn(Optional.of("testuser"));
+        lenient().when(replayBuffer.readAfter("stream-1", null)).thenReturn(List.of());
+        given(replayBuffer.leaseRemaining("stream-1"))
+                .willReturn(Optional.of(Duration.ofMillis(GRACE_MS)), Optional.empty());
+        AtomicBoolean finished = new AtomicBoolean();
+        ChatStreamSession session = chatStreamService.open("testuser", "stream-1", () -> finished.set(true));
+
+        // when - 로컬 구독자 연결 후 끊김
+        Disposable subscription = chatStreamService.attach("testuser", "stream-1", null).subscribe();
+        subscription.dispose();
+        Thread.sleep(GRACE_MS + GRACE_MS / 2);
+
+        // then - 첫 확인(유예 시간)에서 임대가 있어 유지
+        assertThat(finished).isFalse();
+
+        // when - 임대 종료 후 다시 확인
+        waitUntil(finished, Duration.ofSeconds(3));
+
+        // then
+        assertThat(finished).isTrue();
+        assertThat(session.live().collectList().block(Duration.ofSeconds(1)))
+                .extracting(ChatStreamEvent::event)
+                .contains("error", ChatStreamEvent.DONE);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CSS-02: 세션이 없는 노드에서의 재연결 - 임대 갱신 + 종료 이벤트까지 폴링
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CSS-02: attach() - 세션이 다른 노드에 있으면 임대(유효 시간 = 유예 시간)를 갱신하며 종료 이벤트까지 이어 보냄")
+    void attachRemote_renewsLeaseUntilTerminalEvent() {
+        // given
+        given(replayBuffer.owner("stream-2")).willReturn(Optional.of("testuser"));
+        given(replayBuffer.ttl()).willReturn(Duration.ofMinutes(10));
+        given(replayBuffer.readAfter("stream-2", "1-1")).willReturn(List.of(
+                new ChatStreamEvent("1-2", "message", "안녕"),
+                new ChatStreamEvent("1-3", ChatStreamEvent.DONE, "")));
+
+        // when & then
+        StepVerifier.create(chatStreamService.attach("testuser", "stream-2", "1-1"))
+                .expectNextMatches(event -> event.data().equals("안녕"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        then(replayBuffer).should(atLeastOnce()).renewLease("stream-2", Duration.ofMillis(GRACE_MS));
+    }
+}
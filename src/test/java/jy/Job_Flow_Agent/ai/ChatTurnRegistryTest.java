@@ -0,0 +1,97 @@
+package jy.Job_Flow_Agent.ai;
+
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry.ChatTurn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChatTurnRegistry 단위 테스트")
+class ChatTurnRegistryTest {
+
+    private ChatTurnRegistry chatTurnRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        chatTurnRegistry = new ChatTurnRegistry();
+        ReflectionTestUtils.setField(chatTurnRegistry, "latencyBudgetMs", 30000L);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CTR-01: 같은 사용자의 두 턴 - 스레드에 bind 된 턴 기준
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CTR-01: current() - 같은 사용자의 턴이 두 개면 스레드에 bind 된 턴을 돌려주고, 없으면 empty")
+    void current_twoTurns_resolvesBoundTurn() {
+        // given
+        ChatTurn older = chatTurnRegistry.begin("testuser", ChatIntent.JOB_POSTING, "stream-1");
+        ChatTurn newer = chatTurnRegistry.begin("testuser", ChatIntent.JOB_POSTING, "stream-2");
+        AtomicReference<Optional<ChatTurn>> resolved = new AtomicReference<>();
+
+        // when
+        ChatTurnRegistry.runWithin(older, () -> resolved.set(chatTurnRegistry.current("testuser")));
+
+        // then - 새 턴이 시작됐어도 이전 턴의 Tool 은 이전 턴으로 동작
+        assertThat(resolved.get()).contains(older);
+        assertThat(chatTurnRegistry.current("testuser")).isEmpty();
+        assertThat(chatTurnRegistry.find("stream-2")).contains(newer);
+        assertThat(ChatTurnRegistry.bound()).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CTR-02: 턴 종료
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CTR-02: end() - 이전 턴 종료가 새 턴을 지우지 않고, 턴이 하나면 bind 없이도 조회됨")
+    void end_keepsOtherTurn() {
+        // given
+        ChatTurn older = chatTurnRegistry.begin("testuser", ChatIntent.GENERAL, "stream-1");
+        ChatTurn newer = chatTurnRegistry.begin("testuser", ChatIntent.GENERAL, "stream-2");
+
+        // when
+        chatTurnRegistry.end(older);
+
+        // then
+        assertThat(chatTurnRegistry.find("stream-1")).isEmpty();
+        assertThat(chatTurnRegistry.current("testuser")).contains(newer);
+        assertThat(chatTurnRegistry.current("otheruser")).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CTR-03: 다른 스레드로 턴 전파
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CTR-03: propagate() - 제출 시점 스레드의 턴을 실행 스레드에 bind 하고 끝나면 해제")
+    void propagate_bindsTurnOnWorkerThread() throws Exception {
+        // given
+        ChatTurn turn = chatTurnRegistry.begin("testuser", ChatIntent.DOCUMENT, "stream-1");
+        chatTurnRegistry.begin("testuser", ChatIntent.DOCUMENT, "stream-2");
+        AtomicReference<Callable<Optional<ChatTurn>>> task = new AtomicReference<>();
+
+        // when
+        ChatTurnRegistry.runWithin(turn, () -> task.set(ChatTurnRegistry.propagate(() -> chatTurnRegistry.current("testuser"))));
+        Optional<ChatTurn> onWorker = executor.submit(task.get()).get();
+
+        // then
+        assertThat(onWorker).contains(turn);
+        assertThat(executor.submit(ChatTurnRegistry::bound).get()).isEmpty();
+    }
+}
@@ -0,0 +1,134 @@
+package jy.Job_Flow_Agent.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.Resilience.CircuitSettings;
+import jy.Job_Flow_Agent.AI.Resilience.DependencyGuard;
+import jy.Job_Flow_Agent.AI.Resilience.DependencyUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DependencyGuard 단위 테스트")
+class DependencyGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DependencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new DependencyGuard("pinecone", 2, Duration.ofMillis(50),
+                new CircuitSettings(0.5, 10, 4, Duration.ofMillis(200), 1), meterRegistry);
+    }
+
+    private void failOnce() {
+        try {
+            guard.execute(() -> {
+                throw new RuntimeException("503 Service Unavailable");
+            });
+        } catch (RuntimeException ignored) {
+            // 실패 기록용
+        }
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DG-01: 실패율 임계치 초과 시 차단
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DG-01: execute() - 최소 호출 수 이후 실패율이 임계치를 넘으면 OPEN, 이후 호출은 위임 없이 즉시 실패")
+    void execute_opensCircuitOnFailureRate() {
+        // given
+        guard.execute(() -> "ok");
+        guard.execute(() -> "ok");
+        failOnce();
+        failOnce();
+        AtomicInteger delegated = new AtomicInteger();
+
+        // when & then
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.OPEN);
+        assertThatThrownBy(() -> guard.execute(delegated::incrementAndGet))
+                .isInstanceOf(DependencyUnavailableException.class)
+                .satisfies(ex -> {
+                    DependencyUnavailableException due = (DependencyUnavailableException) ex;
+                    assertThat(due.getErrorCode()).isEqualTo(DependencyUnavailableException.CIRCUIT_OPEN);
+                    assertThat(due.getHttpStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(due.getDependency()).isEqualTo("pinecone");
+                });
+        assertThat(delegated.get()).isZero();
+        assertThat(meterRegistry.get("ai.dependency.circuit.state").tag("dependency", "pinecone").gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("ai.dependency.calls").tags("dependency", "pinecone", "outcome", "rejected_open")
+                .counter().count()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DG-02: 차단 시간 후 시험 호출 성공 시 복구
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DG-02: execute() - 차단 시간이 지나면 시험 호출을 허용하고, 성공하면 CLOSED 로 복구")
+    void execute_recoversAfterSuccessfulTrial() throws InterruptedException {
+        // given
+        for (int i = 0; i < 4; i++) {
+            failOnce();
+        }
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.OPEN);
+
+        // when
+        Thread.sleep(250);
+        String result = guard.execute(() -> "ok");
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DG-03: 시험 호출 실패 시 다시 차단
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DG-03: execute() - 시험 호출이 실패하면 다시 OPEN")
+    void execute_reopensWhenTrialFails() throws InterruptedException {
+        // given
+        for (int i = 0; i < 4; i++) {
+            failOnce();
+        }
+        Thread.sleep(250);
+
+        // when
+        failOnce();
+
+        // then
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.OPEN);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DG-04: 벌크헤드 - 동시 호출 한도 초과 시 즉시 실패
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DG-04: acquire() - 동시 호출 한도가 차 있으면 대기 시간 후 BULKHEAD_FULL, 반납하면 다시 입장 가능")
+    void acquire_rejectsWhenBulkheadFull() {
+        // given
+        DependencyGuard.Permit first = guard.acquire();
+        DependencyGuard.Permit second = guard.acquire();
+
+        // when & then
+        long started = System.nanoTime();
+        assertThatThrownBy(guard::acquire)
+                .isInstanceOf(DependencyUnavailableException.class)
+                .satisfies(ex -> assertThat(((DependencyUnavailableException) ex).getErrorCode())
+                        .isEqualTo(DependencyUnavailableException.BULKHEAD_FULL));
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(1_000);
+
+        first.success();
+        second.success();
+        assertThat(guard.execute(() -> "ok")).isEqualTo("ok");
+        assertThat(guard.state()).isEqualTo(DependencyGuard.State.CLOSED);
+    }
+}
@@ -0,0 +1,72 @@
+package jy.Job_Flow_Agent.ai;
+
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IntentClassifier 단위 테스트")
+class IntentClassifierTest {
+
+    private final IntentClassifier intentClassifier = new IntentClassifier();
+
+    // ─────────────────────────────────────────────────
+    //  IC-01: 도구별 의도 분류
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("IC-01: classify() - URL/문서/회원/잡담 키워드로 의도 분류")
+    void classify_byKeywords() {
+        assertThat(intentClassifier.classify("https://www.wanted.co.kr/wd/12345 이 공고 분석해줘"))
+                .isEqualTo(ChatIntent.JOB_POSTING);
+        assertThat(intentClassifier.classify("내 이력서에서 Spring 경력 알려줘")).isEqualTo(ChatIntent.DOCUMENT);
+        assertThat(intentClassifier.classify("저장된 공고 중에 카카오 있어?")).isEqualTo(ChatIntent.DOCUMENT);
+        assertThat(intentClassifier.classify("내 정보 보여줘")).isEqualTo(ChatIntent.MEMBER);
+        assertThat(intentClassifier.classify("안녕하세요!")).isEqualTo(ChatIntent.SMALL_TALK);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  IC-02: 애매한 메시지 → GENERAL
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("IC-02: classify() - 분류 불가/빈 메시지는 GENERAL")
+    void classify_ambiguous_returnsGeneral() {
+        assertThat(intentClassifier.classify("백엔드 개발자로 커리어를 어떻게 쌓아야 할까요?")).isEqualTo(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classify("안녕하세요, 백엔드 개발자로 커리어를 어떻게 쌓아야 할지 길게 상담받고 싶어요"))
+                .isEqualTo(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classify("  ")).isEqualTo(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classify(null)).isEqualTo(ChatIntent.GENERAL);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  IC-03: 영문 키워드는 단어 단위로만 일치
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("IC-03: classify() - 다른 단어 안에 포함된 영문 키워드(hi, resume)는 무시")
+    void classify_latinKeywordsMatchWholeWordsOnly() {
+        assertThat(intentClassifier.classify("which is this")).isEqualTo(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classify("nothing much")).isEqualTo(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classify("resumed 작업 어때?")).isEqualTo(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classify("Hi!")).isEqualTo(ChatIntent.SMALL_TALK);
+        assertThat(intentClassifier.classify("hi 반가워요")).isEqualTo(ChatIntent.SMALL_TALK);
+        assertThat(intentClassifier.classify("resume을 봐줘")).isEqualTo(ChatIntent.DOCUMENT);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  IC-04: 여러 의도에 걸친 메시지
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("IC-04: classifyAll() - 걸친 도구 의도를 모두 반환하고, classify() 는 우선순위가 높은 하나")
+    void classifyAll_mixedIntents() {
+        String mixed = "https://www.wanted.co.kr/wd/12345 이 공고랑 내 이력서 비교해줘";
+
+        assertThat(intentClassifier.classifyAll(mixed)).containsExactlyInAnyOrder(ChatIntent.JOB_POSTING, ChatIntent.DOCUMENT);
+        assertThat(intentClassifier.classify(mixed)).isEqualTo(ChatIntent.JOB_POSTING);
+        // 잡담 키워드는 도구 의도가 없을 때만
+        assertThat(intentClassifier.classifyAll("감사해요 내 정보 보여줘")).containsExactly(ChatIntent.MEMBER);
+        assertThat(intentClassifier.classifyAll("고마워")).containsExactly(ChatIntent.SMALL_TALK);
+        assertThat(intentClassifier.classifyAll("백엔드 개발자로 커리어를 어떻게 쌓아야 할까요?")).containsExactly(ChatIntent.GENERAL);
+        assertThat(intentClassifier.classifyAll(null)).containsExactly(ChatIntent.GENERAL);
+    }
+}
@@ -0,0 +1,102 @@
+package jy.Job_Flow_Agent.ai;
+
+import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+import jy.Job_Flow_Agent.AI.Service.JobPostingStreamParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JobPostingStreamParser 단위 테스트")
+class JobPostingStreamParserTest {
+
+    private static final String JSON = """
+            {"companyName": "테스트컴퍼니", "title": "백엔드 개발자 (Java/Spring)", "location": "서울 강남구",
+             "deadline": "2026-03-31", "salary": "회사 내규에 따름",
+             "techStack": ["Java", "Spring Boot"], "majorTasks": ["서버 개발", "API 설계"],
+             "requirements": ["Java 3년 이상"], "preferredSkills": ["AWS 경험자 우대"]}""";
+
+    /**
+     * 3글자씩 잘라 넣으며 값이 바뀐 시점의 스냅샷 기록
+     */
+    private List<JobPostingInfo> feedInChunks(JobPostingStreamParser parser, String json) {
+        List<JobPostingInfo> snapshots = new ArrayList<>();
+        for (int i = 0; i < json.length(); i += 3) {
+            if (parser.feed(json.substring(i, Math.min(i + 3, json.length())))) {
+                snapshots.add(parser.snapshot());
+            }
+        }
+        return snapshots;
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JPP-01: 조각 단위 입력 → 앞 필드부터 채워짐
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JPP-01: feed() - 회사명/공고명이 먼저 채워지고 리스트는 항목 단위로 늘어나며, 끝나면 전체 값 완성")
+    void feed_fillsFieldsProgressively() {
+        // given
+        JobPostingStreamParser parser = new JobPostingStreamParser();
+
+        // when
+        List<JobPostingInfo> snapshots = feedInChunks(parser, JSON);
+
+        // then
+        JobPostingInfo first = snapshots.get(0);
+        assertThat(first.companyName()).isEqualTo("테스트컴퍼니");
+        assertThat(first.title()).isNull();
+        assertThat(snapshots).anySatisfy(snapshot -> {
+            assertThat(snapshot.techStack()).containsExactly("Java");
+            assertThat(snapshot.majorTasks()).isNull();
+        });
+        assertThat(parser.isComplete()).isTrue();
+        assertThat(parser.snapshot()).isEqualTo(new JobPostingInfo(
+                "테스트컴퍼니", "백엔드 개발자 (Java/Spring)",
+                List.of("서버 개발", "API 설계"), List.of("Java 3년 이상"), List.of("AWS 경험자 우대"),
+                List.of("Java", "Spring Boot"), "2026-03-31", "회사 내규에 따름", "서울 강남구"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JPP-02: 코드 블록 / 이스케이프 / null / 모르는 값
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JPP-02: feed() - 코드 블록 표시와 모르는 중첩 값은 건너뛰고, 이스케이프는 복원, null 은 비워 둠")
+    void feed_toleratesFencesEscapesAndUnknownValues() {
+        // given
+        JobPostingStreamParser parser = new JobPostingStreamParser();
+        String json = "```json\n{\"companyName\": \"\\\"잡플로우\\\" \\uD83D\\uDE80\", \"extra\": {\"a\": [1, \"}\"]},"
+                + " \"salary\": null, \"techStack\": [\"C\\\\C++\", null], \"title\": \"개발자\\n(신입)\"}\n```";
+
+        // when
+        feedInChunks(parser, json);
+
+        // then
+        JobPostingInfo info = parser.snapshot();
+        assertThat(parser.isComplete()).isTrue();
+        assertThat(info.companyName()).isEqualTo("\"잡플로우\" 🚀");
+        assertThat(info.salary()).isNull();
+        assertThat(info.techStack()).containsExactly("C\\C++");
+        assertThat(info.title()).isEqualTo("개발자\n(신입)");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JPP-03: 중간에 끊긴 응답
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JPP-03: feed() - 객체가 닫히지 않으면 미완료, 쓰다 만 문자열은 반영하지 않음")
+    void feed_incompleteStream() {
+        // given
+        JobPostingStreamParser parser = new JobPostingStreamParser();
+
+        // when
+        parser.feed("{\"companyName\": \"테스트컴퍼니\", \"title\": \"백엔드 개");
+
+        // then
+        assertThat(parser.isComplete()).isFalse();
+        assertThat(parser.snapshot().companyName()).isEqualTo("테스트컴퍼니");
+        assertThat(parser.snapshot().title()).isNull();
+    }
+}
@@ -1,21 +1,45 @@
 package jy.Job_Flow_Agent.ai;
 
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.service.TokenStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+import jy.Job_Flow_Agent.AI.Resilience.CircuitSettings;
+import jy.Job_Flow_Agent.AI.Resilience.Dependency;
+import jy.Job_Flow_Agent.AI.Resilience.DependencyGuard;
+import jy.Job_Flow_Agent.AI.Resilience.DependencyGuards;
+import jy.Job_Flow_Agent.AI.Service.JobAnalysisCache;
 import jy.Job_Flow_Agent.AI.Service.JobAnalyzer;
 import jy.Job_Flow_Agent.AI.Service.JobScrappingService;
+import jy.Job_Flow_Agent.AI.Service.StreamingJobAnalyzer;
 import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.jsoup.Jsoup;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("JobScrappingService 단위 테스트")
@@ -24,6 +48,15 @@ class JobScrappingServiceTest {
     @Mock
     private JobAnalyzer jobAnalyzer;
 
+    @Mock
+    private StreamingJobAnalyzer streamingJobAnalyzer;
+
+    @Mock
+    private JobAnalysisCache jobAnalysisCache;
+
+    @Mock
+    private DependencyGuards dependencyGuards;
+
     @InjectMocks
     private JobScrappingService jobScrappingService;
 
@@ -72,10 +105,96 @@ class JobScrappingServiceTest {
     void jobScrapping_invalidUrl_throwsGlobalException() {
         // given - 존재하지 않는 URL → Jsoup 내부에서 예외 발생
         String invalidUrl = "http://this.url.does.not.exist.invalid/job/123";
+        given(dependencyGuards.guard(Dependency.JSOUP_FETCH)).willReturn(new DependencyGuard("jsoup", 8, Duration.ofMillis(100),
+                new CircuitSettings(0.5, 20, 10, Duration.ofSeconds(30), 2), new SimpleMeterRegistry()));
 
         // when & then
         assertThatThrownBy(() -> jobScrappingService.jobScrapping(invalidUrl))
                 .isInstanceOf(GlobalException.class)
                 .satisfies(ex -> assertThat(((GlobalException) ex).getErrorCode()).isEqualTo("JOB_SCRAPPING_ERROR"));
     }
+
+    private void givenFetchedPage() throws Exception {
+        DependencyGuard guard = mock(DependencyGuard.class);
+        given(dependencyGuards.guard(Dependency.JSOUP_FETCH)).willReturn(guard);
+        given(guard.executeChecked(any(), any())).willReturn(
+                Jsoup.parse("<html><head><title>백엔드 개발자</title></head><body>Java Spring 백엔드 개발자 채용</body></html>"));
+    }
+
+    /**
+     * start() 시 tokens 를 흘려보내고 complete 면 완료 콜백까지 호출하는 TokenStream
+     */
+    private TokenStream tokenStream(List<String> tokens, boolean complete) {
+        TokenStream tokenStream = mock(TokenStream.class);
+        AtomicReference<Consumer<String>> onToken = new AtomicReference<>();
+        AtomicReference<Consumer<ChatResponse>> onComplete = new AtomicReference<>();
+        given(tokenStream.onPartialResponse(any())).willAnswer(invocation -> {
+            onToken.set(invocation.getArgument(0));
+            return tokenStream;
+        });
+        given(tokenStream.onCompleteResponse(any())).willAnswer(invocation -> {
+            onComplete.set(invocation.getArgument(0));
+            return tokenStream;
+        });
+        given(tokenStream.onError(any())).willReturn(tokenStream);
+        willAnswer(invocation -> {
+            tokens.forEach(onToken.get());
+            if (complete) {
+                onComplete.get().accept(null);
+            }
+            return null;
+        }).given(tokenStream).start();
+        return tokenStream;
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JS-04: 스트리밍 분석 완료 대기 시간 초과
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JS-04: 스트리밍 분석이 제한 시간 내에 끝나지 않으면 GlobalException(JOB_ANALYSIS_TIMEOUT, 504), 캐시 저장 안 함")
+    void jobScrapping_streamingTimeout_throwsGlobalException() throws Exception {
+        // given - 첫 필드만 오고 완료되지 않는 스트림
+        ReflectionTestUtils.setField(jobScrappingService, "analysisTimeoutMs", 100L);
+        givenFetchedPage();
+        given(jobAnalysisCache.get(anyString(), eq(StreamingJobAnalyzer.PROMPT_VERSION))).willReturn(Optional.empty());
+        given(streamingJobAnalyzer.analyze(anyString()))
+                .willReturn(tokenStream(List.of("{\"companyName\": \"테스트컴퍼니\", "), false));
+        List<JobPostingInfo> partials = new ArrayList<>();
+
+        // when & then
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> jobScrappingService.jobScrapping("https://example.com/jobs/1", partials::add))
+                .isInstanceOf(GlobalException.class)
+                .satisfies(ex -> {
+                    assertThat(((GlobalException) ex).getErrorCode()).isEqualTo("JOB_ANALYSIS_TIMEOUT");
+                    assertThat(((GlobalException) ex).getHttpStatus()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+                });
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(2_000);
+        then(jobAnalysisCache).should(never()).put(anyString(), anyString(), any());
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JS-05: 스트리밍 분석 결과는 스트리밍 프롬프트 버전으로 캐시
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JS-05: 스트리밍 분석 결과는 StreamingJobAnalyzer.PROMPT_VERSION 으로 조회/저장")
+    void jobScrapping_streaming_cachesUnderStreamingPromptVersion() throws Exception {
+        // given
+        ReflectionTestUtils.setField(jobScrappingService, "analysisTimeoutMs", 1000L);
+        givenFetchedPage();
+        given(jobAnalysisCache.get(anyString(), eq(StreamingJobAnalyzer.PROMPT_VERSION))).willReturn(Optional.empty());
+        given(streamingJobAnalyzer.analyze(anyString())).willReturn(tokenStream(List.of(
+                "{\"companyName\": \"테스트컴퍼니\", \"title\": \"백엔드 개발자\", \"location\": \"서울\", ",
+                "\"deadline\": \"상시채용\", \"salary\": \"회사 내규에 따름\", \"techStack\": [\"Java\"], ",
+                "\"majorTasks\": [\"서버 개발\"], \"requirements\": [\"Java 3년\"], \"preferredSkills\": [\"AWS\"]}"), true));
+
+        // when
+        JobPostingInfo info = jobScrappingService.jobScrapping("https://example.com/jobs/1", partial -> {});
+
+        // then
+        assertThat(info.companyName()).isEqualTo("테스트컴퍼니");
+        then(jobAnalysisCache).should().put(anyString(), eq(StreamingJobAnalyzer.PROMPT_VERSION), eq(info));
+        then(jobAnalysisCache).should(never()).put(anyString(), eq(JobAnalyzer.PROMPT_VERSION), any());
+        assertThat(StreamingJobAnalyzer.PROMPT_VERSION).isNotEqualTo(JobAnalyzer.PROMPT_VERSION);
+    }
 }
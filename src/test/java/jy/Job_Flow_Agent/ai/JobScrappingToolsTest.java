@@ -1,8 +1,11 @@
 package jy.Job_Flow_Agent.ai;
 
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.agent.tool.ToolSpecifications;
 import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
 import jy.Job_Flow_Agent.AI.Service.JobScrappingService;
 import jy.Job_Flow_Agent.AI.Tools.JobScrappingTools;
+import jy.Job_Flow_Agent.AI.Tools.UserInterfaceTools.UIEventWrapper;
 import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,10 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
 
@@ -24,6 +31,9 @@ class JobScrappingToolsTest {
     @Mock
     private JobScrappingService jobScrappingService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private JobScrappingTools jobScrappingTools;
 
@@ -48,28 +58,28 @@ class JobScrappingToolsTest {
     @DisplayName("JST-01: scrapeJobPosting() - 회사명, 기술스택 포함 포맷 문자열 반환")
     void scrapeJobPosting_returnsFormattedString() {
         // given
-        given(jobScrappingService.jobScrapping("https://example.com/job/1")).willReturn(sampleInfo());
+        given(jobScrappingService.jobScrapping(eq("https://example.com/job/1"), any())).willReturn(sampleInfo());
 
         // when
-        String result = jobScrappingTools.scrapeJobPosting("https://example.com/job/1");
+        String result = jobScrappingTools.scrapeJobPosting("testuser", "https://example.com/job/1");
 
         // then
         assertThat(result).contains("테스트컴퍼니");
         assertThat(result).contains("백엔드 개발자");
         assertThat(result).contains("Java");
         assertThat(result).contains("채용 공고 분석 결과");
-        then(jobScrappingService).should().jobScrapping("https://example.com/job/1");
+        then(jobScrappingService).should().jobScrapping(eq("https://example.com/job/1"), any());
     }
 
     @Test
     @DisplayName("JST-01: scrapeJobPosting() 서비스 예외 시 오류 메시지 문자열 반환 (예외 전파 안 됨)")
     void scrapeJobPosting_serviceThrows_returnsErrorString() {
         // given
-        given(jobScrappingService.jobScrapping("https://bad.url"))
+        given(jobScrappingService.jobScrapping(eq("https://bad.url"), any()))
                 .willThrow(new GlobalException("오류", "JOB_SCRAPPING_ERROR"));
 
         // when
-        String result = jobScrappingTools.scrapeJobPosting("https://bad.url");
+        String result = jobScrappingTools.scrapeJobPosting("testuser", "https://bad.url");
 
         // then - 예외를 잡아서 오류 메시지 문자열 반환
         assertThat(result).contains("오류가 발생했습니다");
@@ -92,4 +102,43 @@ class JobScrappingToolsTest {
         assertThat(result.companyName()).isEqualTo("테스트컴퍼니");
         assertThat(result.techStack()).contains("Java", "Spring Boot");
     }
+
+    // ─────────────────────────────────────────────────
+    //  JST-03: scrapeJobPosting() - 분석 중간 결과를 카드 이벤트로 전달
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JST-03: scrapeJobPosting() - 분석 중 채워진 필드를 사용자별 JOB_POSTING UI 이벤트로 발행")
+    @SuppressWarnings("unchecked")
+    void scrapeJobPosting_publishesPartialCards() {
+        // given
+        JobPostingInfo partial = new JobPostingInfo("테스트컴퍼니", "백엔드 개발자",
+                null, null, null, null, null, null, null);
+        given(jobScrappingService.jobScrapping(eq("https://example.com/job/3"), any())).willAnswer(invocation -> {
+            Consumer<JobPostingInfo> onPartial = invocation.getArgument(1);
+            onPartial.accept(partial);
+            return sampleInfo();
+        });
+
+        // when
+        jobScrappingTools.scrapeJobPosting("testuser", "https://example.com/job/3");
+
+        // then
+        then(eventPublisher).should().publishEvent(new UIEventWrapper("testuser", "JOB_POSTING", partial));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JST-04: scrapeJobPosting() 툴 스키마 - 사용자 식별자는 모델 인자가 아님
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JST-04: scrapeJobPosting() 툴 스펙 - 모델에 노출되는 인자는 URL 하나뿐")
+    void scrapeJobPosting_specificationExposesOnlyUrl() {
+        // when
+        ToolSpecification spec = ToolSpecifications.toolSpecificationsFrom(JobScrappingTools.class).stream()
+                .filter(s -> s.name().equals("scrapeJobPosting"))
+                .findFirst()
+                .orElseThrow();
+
+        // then - memoryId로 주입되는 username은 스키마에 포함되지 않는다
+        assertThat(spec.parameters().properties()).hasSize(1);
+    }
 }
@@ -0,0 +1,358 @@
+package jy.Job_Flow_Agent.ai;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.Model.HedgeSettings;
+import jy.Job_Flow_Agent.AI.Model.ModelCandidate;
+import jy.Job_Flow_Agent.AI.Model.ModelRouter;
+import jy.Job_Flow_Agent.AI.Model.ModelTask;
+import jy.Job_Flow_Agent.AI.Model.RoutingChatLanguageModel;
+import jy.Job_Flow_Agent.AI.Model.RoutingStreamingChatLanguageModel;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ModelRouter 단위 테스트")
+class ModelRouterTest {
+
+    @Mock
+    private ChatLanguageModel openAiModel;
+
+    @Mock
+    private ChatLanguageModel geminiModel;
+
+    private ModelCandidate openAi;
+    private ModelCandidate gemini;
+    private ModelRouter modelRouter;
+
+    @BeforeEach
+    void setUp() {
+        openAi = new ModelCandidate("gpt-4o-mini", "openai", openAiModel, null, 0.15, 0.60);
+        gemini = new ModelCandidate("gemini-2.5-flash", "gemini", geminiModel, null, 0.30, 2.50);
+        modelRouter = new ModelRouter(
+                Map.of(ModelTask.CHAT, List.of(openAi, gemini),
+                        ModelTask.TOOL, List.of(openAi, gemini)),
+                Map.of("openai", 1.0, "gemini", 1.0),
+                Duration.ofSeconds(30),
+                new IntentClassifier(),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * 헤지 지연이 100ms 로 잡히는 스트리밍 라우터 (openAi p95 = 50ms → 최소 지연 100ms)
+     */
+    private ModelRouter hedgingStreamingRouter(ModelCandidate primary, ModelCandidate backup, SimpleMeterRegistry meterRegistry) {
+        ModelRouter router = new ModelRouter(
+                Map.of(ModelTask.TOOL, List.of(primary, backup)),
+                Map.of(),
+                Duration.ofSeconds(30),
+                new HedgeSettings(true, 0.95, Duration.ofMillis(100), 1.0),
+                new IntentClassifier(),
+                meterRegistry);
+        for (int i = 0; i < 20; i++) {
+            router.recordSuccess(primary, ModelTask.TOOL, Duration.ofMillis(50).toNanos(), null);
+        }
+        return router;
+    }
+
+    /**
+     * delayMillis 뒤 별도 스레드에서 토큰 1개를 내보내고, 다시 completeAfterMillis 뒤 완료하는 스트리밍 모델 응답
+     */
+    private static void streamLater(StreamingChatLanguageModel model, String text, long delayMillis, long completeAfterMillis) {
+        willAnswer(invocation -> {
+            StreamingChatResponseHandler handler = invocation.getArgument(1);
+            Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(delayMillis);
+                    handler.onPartialResponse(text);
+                    Thread.sleep(completeAfterMillis);
+                    handler.onCompleteResponse(response(text, 10, 5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            return null;
+        }).given(model).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+    }
+
+    private static CompletableFuture<ChatResponse> streamChat(RoutingStreamingChatLanguageModel routing, ChatRequest request) {
+        CompletableFuture<ChatResponse> result = new CompletableFuture<>();
+        routing.chat(request, new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                result.complete(completeResponse);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    private static ChatRequest request(String text) {
+        return ChatRequest.builder().messages(List.of(UserMessage.from(text))).build();
+    }
+
+    private static ChatResponse response(String text, int inputTokens, int outputTokens) {
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(text))
+                .tokenUsage(new TokenUsage(inputTokens, outputTokens))
+                .build();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-01: 요청 유형 분류
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-01: classify() - 잡담/일반 질문은 CHAT, 도구가 필요한 의도는 TOOL")
+    void classify_byIntent() {
+        // when & then
+        assertThat(modelRouter.classify(request("안녕!"))).isEqualTo(ModelTask.CHAT);
+        assertThat(modelRouter.classify(request("내 이력서에서 경력 알려줘"))).isEqualTo(ModelTask.TOOL);
+        assertThat(modelRouter.classify(request("https://jobs.example.com/1 분석해줘"))).isEqualTo(ModelTask.TOOL);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-02: 실패 시 다른 제공자로 대체, 연속 실패 시 후순위
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-02: chat() - 첫 후보가 실패하면 다른 제공자로 응답하고, 연속 실패한 모델은 후순위로 밀림")
+    void chat_fallsBackAndDemotesDegradedModel() {
+        // given
+        RoutingChatLanguageModel routing = new RoutingChatLanguageModel(modelRouter, ModelTask.TOOL);
+        given(openAiModel.chat(any(ChatRequest.class))).willThrow(new RuntimeException("429 Too Many Requests"));
+        given(geminiModel.chat(any(ChatRequest.class))).willReturn(response("gemini 응답", 10, 5));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            assertThat(routing.chat(request("내 정보 알려줘")).aiMessage().text()).isEqualTo("gemini 응답");
+        }
+
+        // then
+        assertThat(modelRouter.route(ModelTask.TOOL, false)).containsExactly(gemini, openAi);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-03: CHAT 은 측정 지연 시간 순
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-03: route() - CHAT 은 측정된 지연 시간이 짧은 모델을 먼저 고름")
+    void route_prefersLowerLatencyForChat() {
+        // given
+        modelRouter.recordSuccess(openAi, ModelTask.CHAT, Duration.ofMillis(900).toNanos(), null);
+        modelRouter.recordSuccess(gemini, ModelTask.CHAT, Duration.ofMillis(300).toNanos(), null);
+
+        // when & then
+        assertThat(modelRouter.route(ModelTask.CHAT, false)).containsExactly(gemini, openAi);
+        assertThat(modelRouter.route(ModelTask.TOOL, false)).containsExactly(openAi, gemini);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-04: 일일 비용 예산 초과 제공자 후순위
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-04: route() - 일일 비용 예산을 넘긴 제공자는 후순위로 밀림")
+    void route_demotesProviderOverBudget() {
+        // given - gpt-4o-mini 출력 100만 토큰 x 2 = $1.2 (예산 $1 초과)
+        given(openAiModel.chat(any(ChatRequest.class))).willReturn(response("openai 응답", 0, 2_000_000));
+        RoutingChatLanguageModel routing = new RoutingChatLanguageModel(modelRouter, ModelTask.TOOL);
+
+        // when
+        routing.chat(request("내 정보 알려줘"));
+
+        // then
+        assertThat(modelRouter.route(ModelTask.TOOL, false)).containsExactly(gemini, openAi);
+        then(geminiModel).should(never()).chat(any(ChatRequest.class));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-05: 헤지 - 지연 백분위를 넘기면 두 번째 요청, 먼저 온 응답 사용
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-05: chat() - 첫 후보가 p95 지연을 넘기면 다른 제공자로 헤지 요청을 보내 먼저 온 응답을 사용")
+    void chat_hedgesSlowPrimary() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ModelRouter hedgingRouter = new ModelRouter(
+                Map.of(ModelTask.TOOL, List.of(openAi, gemini)),
+                Map.of(),
+                Duration.ofSeconds(30),
+                new HedgeSettings(true, 0.95, Duration.ofMillis(100), 1.0),
+                new IntentClassifier(),
+                meterRegistry);
+        for (int i = 0; i < 20; i++) {
+            hedgingRouter.recordSuccess(openAi, ModelTask.TOOL, Duration.ofMillis(50).toNanos(), null);
+        }
+        given(openAiModel.chat(any(ChatRequest.class))).willAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return response("openai 응답", 10, 5);
+        });
+        given(geminiModel.chat(any(ChatRequest.class))).willReturn(response("gemini 응답", 10, 5));
+        RoutingChatLanguageModel routing = new RoutingChatLanguageModel(hedgingRouter, ModelTask.TOOL);
+
+        // when
+        long started = System.nanoTime();
+        ChatResponse result = routing.chat(request("내 정보 알려줘"));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // then
+        assertThat(result.aiMessage().text()).isEqualTo("gemini 응답");
+        assertThat(elapsedMillis).isLessThan(2_000);
+        assertThat(meterRegistry.get("ai.model.hedge.fired").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.model.hedge.won").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.model.hedge.cost.usd").counter().count()).isPositive();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-06: 헤지 조건 (비활성화 / 표본 부족 / 비율 상한)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-06: hedgeDelay() - 비활성화, 지연 표본 부족, 헤지 비율 상한 도달 시 헤지하지 않음")
+    void hedgeDelay_respectsSettings() {
+        // given
+        ModelRouter hedgingRouter = new ModelRouter(
+                Map.of(ModelTask.TOOL, List.of(openAi, gemini)),
+                Map.of(),
+                Duration.ofSeconds(30),
+                new HedgeSettings(true, 0.95, Duration.ofMillis(100), 0.5),
+                new IntentClassifier(),
+                new SimpleMeterRegistry());
+
+        // when & then - 비활성화 / 표본 부족
+        assertThat(modelRouter.hedgeDelay(openAi)).isEmpty();
+        hedgingRouter.recordCall();
+        assertThat(hedgingRouter.hedgeDelay(openAi)).isEmpty();
+
+        // when & then - 표본 충분 (p95 = 950ms)
+        for (int i = 1; i <= 20; i++) {
+            hedgingRouter.recordSuccess(openAi, ModelTask.TOOL, Duration.ofMillis(i * 50L).toNanos(), null);
+        }
+        assertThat(hedgingRouter.hedgeDelay(openAi)).contains(Duration.ofMillis(950));
+
+        // when & then - 헤지 비율 상한 (요청 1건 중 0.5 건까지)
+        hedgingRouter.recordHedge(ModelTask.TOOL, false);
+        assertThat(hedgingRouter.hedgeDelay(openAi)).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-07: 스트리밍 TTFT / 토큰 처리량 / 누적 토큰 메트릭
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-07: recordStreamCompleted() - 첫 토큰 지연, 첫 토큰 이후 초당 출력 토큰, 모델별 누적 토큰 기록")
+    void recordStreamCompleted_recordsTtftThroughputAndTokens() {
+        // given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ModelRouter router = new ModelRouter(
+                Map.of(ModelTask.CHAT, List.of(openAi)),
+                Map.of(),
+                Duration.ofSeconds(30),
+                new IntentClassifier(),
+                meterRegistry);
+        TokenUsage usage = new TokenUsage(100, 200);
+
+        // when - 첫 토큰 500ms, 이후 2초 동안 200 토큰
+        router.recordSuccess(openAi, ModelTask.CHAT, Duration.ofMillis(500).toNanos(), usage);
+        router.recordStreamCompleted(openAi, ModelTask.CHAT,
+                Duration.ofMillis(500).toNanos(), Duration.ofMillis(2_500).toNanos(), usage);
+
+        // then
+        assertThat(meterRegistry.get("ai.model.ttft").tag("model", "gpt-4o-mini").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(500);
+        assertThat(meterRegistry.get("ai.model.tokens.per.second").summary().mean()).isEqualTo(100);
+        assertThat(meterRegistry.get("ai.model.tokens").tags("model", "gpt-4o-mini", "type", "input").counter().count())
+                .isEqualTo(100);
+        assertThat(meterRegistry.get("ai.model.tokens").tags("model", "gpt-4o-mini", "type", "output").counter().count())
+                .isEqualTo(200);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-08: 스트리밍 - 순차 대체 후에는 헤지하지 않음
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-08: 스트리밍 chat() - 첫 후보 실패로 다음 후보로 전환하면 예약된 헤지를 취소해 실패한 후보를 다시 부르지 않음")
+    void streamingChat_failoverCancelsHedge() throws Exception {
+        // given
+        StreamingChatLanguageModel openAiStreaming = mock(StreamingChatLanguageModel.class);
+        StreamingChatLanguageModel geminiStreaming = mock(StreamingChatLanguageModel.class);
+        ModelCandidate streamingOpenAi = new ModelCandidate("gpt-4o-mini", "openai", null, openAiStreaming, 0.15, 0.60);
+        ModelCandidate streamingGemini = new ModelCandidate("gemini-2.5-flash", "gemini", null, geminiStreaming, 0.30, 2.50);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ModelRouter router = hedgingStreamingRouter(streamingOpenAi, streamingGemini, meterRegistry);
+        willAnswer(invocation -> {
+            invocation.<StreamingChatResponseHandler>getArgument(1).onError(new RuntimeException("429 Too Many Requests"));
+            return null;
+        }).given(openAiStreaming).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        streamLater(geminiStreaming, "gemini 응답", 400, 0);
+
+        // when
+        ChatResponse result = streamChat(new RoutingStreamingChatLanguageModel(router, ModelTask.TOOL), request("내 정보 알려줘"))
+                .get(5, TimeUnit.SECONDS);
+
+        // then - 헤지 지연(100ms)이 지났지만 헤지 요청 없음
+        assertThat(result.aiMessage().text()).isEqualTo("gemini 응답");
+        then(openAiStreaming).should(times(1)).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        then(geminiStreaming).should(times(1)).chat(any(ChatRequest.class), any(StreamingChatResponseHandler.class));
+        assertThat(meterRegistry.find("ai.model.hedge.fired").counter()).isNull();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  MR-09: 스트리밍 헤지 - 진 시도도 첫 출력 기준 지연으로 기록
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("MR-09: 스트리밍 chat() - 헤지에서 진 시도의 지연은 전체 스트림 시간이 아닌 첫 출력까지의 시간으로 기록")
+    void streamingChat_recordsLoserLatencyAtFirstOutput() throws Exception {
+        // given - 느린 첫 후보 (첫 토큰 300ms, 완료까지 +1000ms), 빠른 헤지 후보
+        StreamingChatLanguageModel openAiStreaming = mock(StreamingChatLanguageModel.class);
+        StreamingChatLanguageModel geminiStreaming = mock(StreamingChatLanguageModel.class);
+        ModelCandidate streamingOpenAi = new ModelCandidate("gpt-4o-mini", "openai", null, openAiStreaming, 0.15, 0.60);
+        ModelCandidate streamingGemini = new ModelCandidate("gemini-2.5-flash", "gemini", null, geminiStreaming, 0.30, 2.50);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ModelRouter router = hedgingStreamingRouter(streamingOpenAi, streamingGemini, meterRegistry);
+        streamLater(openAiStreaming, "openai 응답", 300, 1_000);
+        streamLater(geminiStreaming, "gemini 응답", 0, 0);
+
+        // when
+        ChatResponse result = streamChat(new RoutingStreamingChatLanguageModel(router, ModelTask.TOOL), request("내 정보 알려줘"))
+                .get(5, TimeUnit.SECONDS);
+        Thread.sleep(1_800);
+
+        // then - 진 시도(openai)의 최대 기록값은 첫 토큰 시점(~300ms) 근처 (표본 기록 50ms 포함)
+        assertThat(result.aiMessage().text()).isEqualTo("gemini 응답");
+        assertThat(meterRegistry.get("ai.model.hedge.won").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.model.latency").tags("model", "gpt-4o-mini", "outcome", "success").timer()
+                .max(TimeUnit.MILLISECONDS)).isLessThan(1_000);
+    }
+}
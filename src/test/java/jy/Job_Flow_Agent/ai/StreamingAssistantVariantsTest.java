@@ -0,0 +1,217 @@
+package jy.Job_Flow_Agent.ai;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+import dev.langchain4j.service.tool.ToolExecutor;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistant;
+import jy.Job_Flow_Agent.AI.AssistantModels.StreamingAssistantVariants;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.IntentClassifier;
+import jy.Job_Flow_Agent.AI.Service.JobScrappingService;
+import jy.Job_Flow_Agent.AI.Tools.JobScrappingTools;
+import jy.Job_Flow_Agent.AI.Tools.MemberSearchTools;
+import jy.Job_Flow_Agent.AI.Tools.ToolDispatcher;
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
+import jy.Job_Flow_Agent.AI.Tools.UserInterfaceTools;
+import jy.Job_Flow_Agent.AI.Tools.UtilTools;
+import jy.Job_Flow_Agent.Member.Repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("StreamingAssistantVariants 단위 테스트")
+class StreamingAssistantVariantsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ToolDispatcher toolDispatcher;
+    private Map<StreamingAssistant, Map<ToolSpecification, ToolExecutor>> toolsByAssistant;
+
+    private UtilTools utilTools;
+    private UserInterfaceTools userInterfaceTools;
+    private JobScrappingTools jobScrappingTools;
+    private MemberSearchTools memberSearchTools;
+    private InMemoryChatMemoryStore chatMemoryStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        toolDispatcher = new ToolDispatcher(meterRegistry, mock(ToolResultCache.class));
+        toolsByAssistant = new HashMap<>();
+
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        utilTools = new UtilTools();
+        userInterfaceTools = new UserInterfaceTools(eventPublisher);
+        jobScrappingTools = new JobScrappingTools(mock(JobScrappingService.class), eventPublisher);
+        memberSearchTools = new MemberSearchTools(mock(MemberRepository.class));
+        chatMemoryStore = new InMemoryChatMemoryStore();
+    }
+
+    private StreamingAssistantVariants variants(boolean enabled) {
+        return new StreamingAssistantVariants(
+                tools -> {
+                    StreamingAssistant assistant = mock(StreamingAssistant.class);
+                    toolsByAssistant.put(assistant, tools);
+                    return assistant;
+                },
+                toolDispatcher,
+                Map.of(ChatIntent.JOB_POSTING, List.of(jobScrappingTools, userInterfaceTools, utilTools),
+                        ChatIntent.MEMBER, List.of(memberSearchTools, utilTools),
+                        ChatIntent.SMALL_TALK, List.of(utilTools)),
+                List.of(memberSearchTools, utilTools, jobScrappingTools, userInterfaceTools),
+                enabled,
+                chatMemoryStore,
+                new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O),
+                meterRegistry);
+    }
+
+    private List<String> toolNames(StreamingAssistant assistant) {
+        return toolsByAssistant.get(assistant).keySet().stream().map(ToolSpecification::name).toList();
+    }
+
+    private double schemaTokens(String toolset) {
+        return meterRegistry.get("ai.assistant.tool.schema.tokens").tag("toolset", toolset).gauge().value();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  SAV-01: 의도별 도구 묶음
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("SAV-01: forIntent() - 의도에 맞는 Tool 만 가진 Assistant 를 돌려주고, 명세 토큰이 전체보다 적음")
+    void forIntent_returnsPrebuiltSubset() {
+        // given
+        StreamingAssistantVariants variants = variants(true);
+
+        // when
+        StreamingAssistant jobPosting = variants.forIntent(ChatIntent.JOB_POSTING);
+        StreamingAssistant smallTalk = variants.forIntent(ChatIntent.SMALL_TALK);
+
+        // then - 요청마다 새로 만들지 않음
+        assertThat(variants.forIntent(ChatIntent.JOB_POSTING)).isSameAs(jobPosting);
+        assertThat(toolNames(jobPosting))
+                .containsExactlyInAnyOrder("scrapeJobPosting", "returnJobInfo", "displayJobPostingCard", "getTodayDate");
+        assertThat(toolNames(smallTalk)).containsExactly("getTodayDate");
+        assertThat(toolsByAssistant).hasSize(4);
+        assertThat(schemaTokens("JOB_POSTING")).isLessThan(schemaTokens("full"));
+        assertThat(schemaTokens("SMALL_TALK")).isLessThan(schemaTokens("JOB_POSTING"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  SAV-02: 전체 도구로 대체
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("SAV-02: forIntent() - 묶음이 없는 의도/null/비활성화 시 전체 도구 Assistant 사용")
+    void forIntent_fallsBackToFullToolSet() {
+        // given
+        StreamingAssistantVariants variants = variants(true);
+        StreamingAssistantVariants disabled = variants(false);
+
+        // when
+        StreamingAssistant general = variants.forIntent(ChatIntent.GENERAL);
+
+        // then
+        assertThat(toolNames(general)).hasSize(7);
+        assertThat(variants.forIntent(ChatIntent.DOCUMENT)).isSameAs(general);
+        assertThat(variants.forIntent(null)).isSameAs(general);
+        assertThat(toolNames(disabled.forIntent(ChatIntent.JOB_POSTING))).hasSize(7);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  SAV-03: 첫 토큰 지연 기록
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("SAV-03: recordTtft() - 의도와 도구 묶음 적용 여부(subset/full) 태그로 기록")
+    void recordTtft_tagsToolset() {
+        // given
+        StreamingAssistantVariants variants = variants(true);
+
+        // when
+        variants.recordTtft(ChatIntent.JOB_POSTING, variants.forIntent(ChatIntent.JOB_POSTING), TimeUnit.MILLISECONDS.toNanos(300));
+        variants.recordTtft(ChatIntent.GENERAL, variants.forIntent(ChatIntent.GENERAL), TimeUnit.MILLISECONDS.toNanos(500));
+
+        // then
+        assertThat(meterRegistry.get("ai.chat.ttft").tag("intent", "JOB_POSTING").tag("toolset", "subset")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.chat.ttft").tag("intent", "GENERAL").tag("toolset", "full")
+                .timer().count()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  SAV-04: 여러 의도에 걸친 메시지
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("SAV-04: select() - 공고 URL + \"내 이력서\"처럼 도구 의도가 둘 이상이면 전체 도구, 잡담 + 도구 의도 하나는 그 묶음")
+    void select_mixedIntents_usesFullToolSet() {
+        // given
+        StreamingAssistantVariants variants = variants(true);
+        IntentClassifier intentClassifier = new IntentClassifier();
+        Set<ChatIntent> mixed = intentClassifier.classifyAll("https://www.wanted.co.kr/wd/12345 이 공고랑 내 이력서 비교해줘");
+        Set<ChatIntent> thanksAndJob = intentClassifier.classifyAll("감사해요 이 공고 분석도 해줘");
+
+        // when
+        StreamingAssistant forMixed = variants.select("testuser", mixed);
+        StreamingAssistant forThanksAndJob = variants.select("testuser", thanksAndJob);
+
+        // then
+        assertThat(mixed).containsExactlyInAnyOrder(ChatIntent.JOB_POSTING, ChatIntent.DOCUMENT);
+        assertThat(forMixed).isSameAs(variants.forIntent(ChatIntent.GENERAL));
+        assertThat(toolNames(forMixed)).contains("scrapeJobPosting", "displayJobPostingCard");
+        assertThat(forThanksAndJob).isSameAs(variants.forIntent(ChatIntent.JOB_POSTING));
+        assertThat(toolNames(forThanksAndJob)).contains("getTodayDate");
+        assertThat(variants.select("testuser", EnumSet.of(ChatIntent.GENERAL))).isSameAs(forMixed);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  SAV-05: Tool 결과가 이어지는 대화의 잡담 메시지
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("SAV-05: select() - 대화 중 Tool 결과 뒤의 \"hi\"/\"감사\" 는 전체 도구, Tool 결과가 없거나 오래됐으면 잡담 묶음")
+    void select_smallTalkAfterToolResult_usesFullToolSet() {
+        // given
+        StreamingAssistantVariants variants = variants(true);
+        IntentClassifier intentClassifier = new IntentClassifier();
+        ToolExecutionRequest toolRequest = ToolExecutionRequest.builder()
+                .id("call-1").name("scrapeJobPosting").arguments("{\"url\":\"https://www.wanted.co.kr/wd/12345\"}").build();
+        chatMemoryStore.updateMessages("testuser", List.of(
+                UserMessage.from("https://www.wanted.co.kr/wd/12345 분석해줘"),
+                AiMessage.from(List.of(toolRequest)),
+                ToolExecutionResultMessage.from(toolRequest, "【채용 공고 분석 결과】 ..."),
+                AiMessage.from("테스트컴퍼니 백엔드 개발자 공고입니다.")));
+        List<ChatMessage> longChat = new ArrayList<>(chatMemoryStore.getMessages("testuser"));
+        for (int i = 0; i < 6; i++) {
+            longChat.add(i % 2 == 0 ? UserMessage.from("질문 " + i) : AiMessage.from("답변 " + i));
+        }
+        chatMemoryStore.updateMessages("olduser", longChat);
+
+        // when
+        Set<ChatIntent> hi = intentClassifier.classifyAll("hi");
+        Set<ChatIntent> thanks = intentClassifier.classifyAll("감사합니다! 연봉은요?");
+
+        // then
+        assertThat(hi).containsExactly(ChatIntent.SMALL_TALK);
+        assertThat(thanks).containsExactly(ChatIntent.SMALL_TALK);
+        assertThat(variants.select("testuser", hi)).isSameAs(variants.forIntent(ChatIntent.GENERAL));
+        assertThat(variants.select("testuser", thanks)).isSameAs(variants.forIntent(ChatIntent.GENERAL));
+        assertThat(variants.select("newuser", hi)).isSameAs(variants.forIntent(ChatIntent.SMALL_TALK));
+        assertThat(variants.select("olduser", hi)).isSameAs(variants.forIntent(ChatIntent.SMALL_TALK));
+    }
+}
@@ -0,0 +1,128 @@
+package jy.Job_Flow_Agent.ai;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.Tokenizer;
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenizer;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+import jy.Job_Flow_Agent.AI.Memory.ChatMemorySettings;
+import jy.Job_Flow_Agent.AI.Memory.ChatSummaryWorker;
+import jy.Job_Flow_Agent.AI.Memory.TokenBudgetChatMemory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBudgetChatMemory 단위 테스트")
+class TokenBudgetChatMemoryTest {
+
+    @Mock
+    private ChatSummaryWorker summaryWorker;
+
+    private final Tokenizer tokenizer = new OpenAiTokenizer(OpenAiChatModelName.GPT_4_O);
+    private TokenBudgetChatMemory memory;
+
+    @BeforeEach
+    void setUp() {
+        memory = new TokenBudgetChatMemory("testuser", new InMemoryChatMemoryStore(),
+                new ChatMemorySettings(20, 200, 100, 20), tokenizer, summaryWorker);
+    }
+
+    private static String words(String prefix, int count) {
+        return prefix + " word".repeat(count);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TB-01: Tool 결과 저장 상한 + 지난 턴 Tool 결과 축약
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TB-01: add() - 긴 Tool 결과는 잘라서 저장하고, 다음 턴부터는 프롬프트에 더 짧게 넣음")
+    void add_truncatesToolResults() {
+        // given
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .id("call-1").name("analyzeJobPosting").arguments("{}").build();
+        memory.add(UserMessage.from("이 공고 분석해줘"));
+        memory.add(AiMessage.from(request));
+
+        // when - 현재 턴
+        memory.add(ToolExecutionResultMessage.from(request, words("회사: 테스트컴퍼니", 2_000)));
+        ToolExecutionResultMessage current = (ToolExecutionResultMessage) memory.messages().get(2);
+
+        // then
+        assertThat(current.text()).endsWith("...(이하 생략)");
+        assertThat(tokenizer.estimateTokenCountInText(current.text())).isBetween(80, 120);
+
+        // when - 다음 턴
+        memory.add(AiMessage.from("분석 결과입니다"));
+        memory.add(UserMessage.from("연봉 정보도 있어?"));
+        ToolExecutionResultMessage stale = (ToolExecutionResultMessage) memory.messages().get(2);
+
+        // then
+        assertThat(stale.text()).startsWith("회사: 테스트컴퍼니");
+        assertThat(tokenizer.estimateTokenCountInText(stale.text())).isLessThan(40);
+        assertThat(memory.messages().get(4)).isEqualTo(UserMessage.from("연봉 정보도 있어?"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TB-02: 토큰 예산 초과 시 오래된 메시지 제거 → 요약 요청
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TB-02: add() - 토큰 예산을 넘으면 시스템 메시지를 제외한 오래된 메시지를 제거하고 요약을 요청")
+    void add_evictsOldestOverBudget() {
+        // given
+        UserMessage firstQuestion = UserMessage.from(words("question 1", 40));
+        memory.add(SystemMessage.from("너는 취업 도우미야"));
+        memory.add(firstQuestion);
+        memory.add(AiMessage.from(words("answer 1", 40)));
+
+        // when
+        for (int i = 2; i <= 3; i++) {
+            memory.add(UserMessage.from(words("question " + i, 40)));
+            memory.add(AiMessage.from(words("answer " + i, 40)));
+        }
+
+        // then
+        List<ChatMessage> messages = memory.messages();
+        assertThat(messages.get(0)).isEqualTo(SystemMessage.from("너는 취업 도우미야"));
+        assertThat(messages).doesNotContain(firstQuestion);
+        assertThat(messages.get(messages.size() - 1)).isEqualTo(AiMessage.from(words("answer 3", 40)));
+        assertThat(messages.stream().mapToInt(tokenizer::estimateTokenCountInMessage).sum()).isLessThanOrEqualTo(200);
+        then(summaryWorker).should().submit(eq("testuser"), argThat(evicted -> evicted.contains(firstQuestion)));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TB-03: 요약을 시스템 메시지에 덧붙여 프롬프트에 포함
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TB-03: messages() - 요약이 있으면 시스템 메시지 뒤에 붙이고, 시스템 메시지가 없으면 요약 시스템 메시지를 앞에 추가")
+    void messages_includesSummary() {
+        // given
+        given(summaryWorker.summary("testuser")).willReturn("- 백엔드 개발자 지망, Java 3년");
+        memory.add(UserMessage.from("안녕"));
+
+        // when & then - 시스템 메시지 없음
+        assertThat(memory.messages().get(0))
+                .isEqualTo(SystemMessage.from("[이전 대화 요약]\n- 백엔드 개발자 지망, Java 3년"));
+
+        // when & then - 시스템 메시지 있음
+        memory.add(SystemMessage.from("너는 취업 도우미야"));
+        assertThat(((SystemMessage) memory.messages().get(0)).text())
+                .isEqualTo("너는 취업 도우미야\n\n[이전 대화 요약]\n- 백엔드 개발자 지망, Java 3년");
+    }
+}
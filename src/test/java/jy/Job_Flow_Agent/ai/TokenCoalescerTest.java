@@ -0,0 +1,155 @@
+package jy.Job_Flow_Agent.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.Event.ChatReplayBuffer;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamEvent;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamSession;
+import jy.Job_Flow_Agent.AI.Event.TokenCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.inOrder;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenCoalescer 단위 테스트")
+class TokenCoalescerTest {
+
+    @Mock
+    private ChatReplayBuffer replayBuffer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenCoalescer tokenCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCoalescer = new TokenCoalescer(meterRegistry);
+        ReflectionTestUtils.setField(tokenCoalescer, "intervalMs", 50L);
+        ReflectionTestUtils.setField(tokenCoalescer, "maxBytes", 16);
+    }
+
+    private List<ChatStreamEvent> collect(ChatStreamSession session) {
+        List<ChatStreamEvent> received = new CopyOnWriteArrayList<>();
+        session.live().subscribe(received::add);
+        return received;
+    }
+
+    private ChatStreamSession newSession() {
+        return new ChatStreamSession("stream-1", "testuser", "1-0", replayBuffer, Runnable::run, tokenCoalescer, () -> { });
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TC-01: 첫 토큰 즉시 전송, 이후 토큰은 주기마다 한 프레임으로
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TC-01: emitToken() - 첫 토큰은 바로 전송하고 이후 토큰은 묶어서 한 프레임으로 전송")
+    void emitToken_flushesFirstTokenThenCoalesces() throws InterruptedException {
+        // given
+        ChatStreamSession session = newSession();
+        List<ChatStreamEvent> received = collect(session);
+
+        // when
+        session.emitToken("안");
+        session.emitToken("녕");
+        session.emitToken("하세요");
+        assertThat(received).extracting(ChatStreamEvent::data).containsExactly("안");
+        Thread.sleep(Duration.ofMillis(200));
+
+        // then
+        assertThat(received).extracting(ChatStreamEvent::data).containsExactly("안", "녕하세요");
+        assertThat(meterRegistry.get("ai.chat.sse.tokens").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("ai.chat.sse.frames").counter().count()).isEqualTo(2);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TC-02: 크기 초과 시 주기를 기다리지 않고 전송
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TC-02: emitToken() - 대기 토큰이 max-bytes 이상이면 즉시 전송")
+    void emitToken_flushesWhenMaxBytesReached() {
+        // given
+        ChatStreamSession session = newSession();
+        List<ChatStreamEvent> received = collect(session);
+
+        // when
+        session.emitToken("first");
+        session.emitToken("0123456789");
+        session.emitToken("abcdef");
+
+        // then
+        assertThat(received).extracting(ChatStreamEvent::data).containsExactly("first", "0123456789abcdef");
+        assertThat(meterRegistry.get("ai.chat.sse.frame.bytes").summary().totalAmount()).isEqualTo(21);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TC-03: 다른 이벤트/종료 전에 대기 토큰 먼저 전송 (순서 유지)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TC-03: emit()/complete() - UI 이벤트와 종료 이벤트 앞에 대기 토큰을 먼저 전송")
+    void emit_flushesPendingTokensFirst() {
+        // given
+        ChatStreamSession session = newSession();
+        List<ChatStreamEvent> received = collect(session);
+
+        // when
+        session.emitToken("a");
+        session.emitToken("b");
+        session.emit("ui_render", "{}");
+        session.emitToken("c");
+        session.complete();
+
+        // then
+        assertThat(received).extracting(ChatStreamEvent::event)
+                .containsExactly("message", "message", "ui_render", "message", ChatStreamEvent.DONE);
+        assertThat(received).extracting(ChatStreamEvent::data)
+                .containsExactly("a", "b", "{}", "c", "");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TC-04: ID 는 세션이 발급, 버퍼 기록은 실행기에서 순서대로
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TC-04: emit() - 호출 스레드에서 Redis 를 기다리지 않고 발급한 ID 로 바로 전달, 버퍼 기록은 실행기에서 같은 ID 순서로")
+    void emit_assignsIdsLocallyAndAppendsInOrderOnWriter() {
+        // given - 실행기에 넘어간 기록 작업을 직접 실행할 때까지 보관
+        List<Runnable> queued = new ArrayList<>();
+        ChatStreamSession session = new ChatStreamSession("stream-1", "testuser", "1-0", replayBuffer,
+                queued::add, tokenCoalescer, () -> { });
+        List<ChatStreamEvent> received = collect(session);
+
+        // when
+        session.emit("ui_render", "{}");
+        session.emit("message", "안녕");
+
+        // then - 라이브 전달은 즉시, 시작 이벤트 이후의 증가하는 ID
+        assertThat(received).extracting(ChatStreamEvent::event).containsExactly("ui_render", "message");
+        String first = received.get(0).id();
+        String second = received.get(1).id();
+        assertThat(ChatStreamEvent.compareIds(first, "1-0")).isPositive();
+        assertThat(ChatStreamEvent.compareIds(second, first)).isPositive();
+        then(replayBuffer).shouldHaveNoInteractions();
+
+        // when - 실행기 작업 실행 (앞선 기록이 끝나야 다음 기록이 실행기로 넘어감)
+        while (!queued.isEmpty()) {
+            queued.remove(0).run();
+        }
+
+        // then
+        InOrder order = inOrder(replayBuffer);
+        order.verify(replayBuffer).append("stream-1", first, "ui_render", "{}");
+        order.verify(replayBuffer).append("stream-1", second, "message", "안녕");
+    }
+}
@@ -0,0 +1,341 @@
+package jy.Job_Flow_Agent.ai;
+
+import dev.langchain4j.agent.tool.P;
+import dev.langchain4j.agent.tool.Tool;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.service.tool.ToolExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry.ChatTurn;
+import jy.Job_Flow_Agent.AI.Tools.ParallelToolStreamingChatLanguageModel;
+import jy.Job_Flow_Agent.AI.Tools.ToolDispatcher;
+import jy.Job_Flow_Agent.AI.Tools.ToolLimit;
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("ToolDispatcher 단위 테스트")
+class ToolDispatcherTest {
+
+    /**
+     * 블로킹 Tool 흉내 (동시 실행 수 기록)
+     */
+    static class SlowTools {
+
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final List<Boolean> virtualThreads = new CopyOnWriteArrayList<>();
+
+        @ToolLimit(maxConcurrency = 2)
+        @Tool("느린 조회")
+        public String slowLookup(@P("키") String key) throws InterruptedException {
+            virtualThreads.add(Thread.currentThread().isVirtual());
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                return "result-" + key;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Tool("대기")
+        public String pause(@P("대기 시간(ms)") long millis) throws InterruptedException {
+            Thread.sleep(millis);
+            return "paused-" + millis;
+        }
+
+        @ToolLimit(timeoutMs = 100)
+        @Tool("멈춘 조회")
+        public String stuckLookup() throws InterruptedException {
+            Thread.sleep(10_000);
+            return "never";
+        }
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private ToolDispatcher toolDispatcher;
+    private SlowTools slowTools;
+    private Map<ToolSpecification, ToolExecutor> tools;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        toolDispatcher = new ToolDispatcher(meterRegistry, mock(ToolResultCache.class));
+        ReflectionTestUtils.setField(toolDispatcher, "defaultMaxConcurrency", 32);
+        ReflectionTestUtils.setField(toolDispatcher, "defaultTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(toolDispatcher, "maxParallelPerTurn", 4);
+        ReflectionTestUtils.setField(toolDispatcher, "turnTimeoutMs", 60000L);
+        slowTools = new SlowTools();
+        tools = toolDispatcher.dispatch(slowTools);
+    }
+
+    @AfterEach
+    void tearDown() {
+        toolDispatcher.shutdown();
+    }
+
+    private ToolExecutor executor(String name) {
+        return tools.entrySet().stream()
+                .filter(entry -> entry.getKey().name().equals(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ToolExecutionRequest request(String name, String arguments) {
+        return ToolExecutionRequest.builder().id("call-1").name(name).arguments(arguments).build();
+    }
+
+    /**
+     * AiServices 처럼 응답의 Tool 요청을 순서대로 하나씩 실행
+     */
+    private List<String> executeTurn(List<ToolExecutionRequest> requests) {
+        toolDispatcher.prepare(AiMessage.from(requests));
+        List<String> outputs = new ArrayList<>();
+        for (ToolExecutionRequest request : requests) {
+            outputs.add(executor(request.name()).execute(request, "testuser"));
+        }
+        return outputs;
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-01: 가상 스레드 실행 + Tool 별 동시 실행 수 제한
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-01: execute() - 가상 스레드에서 실행되고 @ToolLimit 동시 실행 수를 넘지 않음")
+    void execute_runsOnVirtualThreadsWithinConcurrencyLimit() throws Exception {
+        // given
+        ToolExecutor slowLookup = executor("slowLookup");
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String key = "k" + i;
+            results.add(callers.submit(() -> slowLookup.execute(request("slowLookup", "{\"key\":\"" + key + "\"}"), "testuser")));
+        }
+        List<String> outputs = new ArrayList<>();
+        for (Future<String> result : results) {
+            outputs.add(result.get());
+        }
+        callers.shutdown();
+
+        // then
+        assertThat(outputs).allMatch(output -> output.startsWith("result-k"));
+        assertThat(slowTools.maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(slowTools.virtualThreads).containsOnly(true);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-02: 제한 시간 초과 시 취소 후 안내 문자열 반환
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-02: execute() - 제한 시간을 넘기면 작업을 취소하고 시간 초과 안내를 반환")
+    void execute_returnsTimeoutMessage() {
+        // given
+        ToolExecutor stuckLookup = executor("stuckLookup");
+
+        // when
+        long started = System.nanoTime();
+        String output = stuckLookup.execute(request("stuckLookup", "{}"), "testuser");
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // then
+        assertThat(output).contains("제한 시간");
+        assertThat(elapsedMillis).isLessThan(2000);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-03: 가상 스레드 캐리어 고정(pinning) 감지 (JFR)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-03: execute() - 동시 실행 한도 대기/블로킹 중 jdk.VirtualThreadPinned 이벤트가 발생하지 않음")
+    void execute_doesNotPinCarrierThreads() throws Exception {
+        // given
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        ToolExecutor slowLookup = executor("slowLookup");
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            // when
+            ExecutorService callers = Executors.newFixedThreadPool(4);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> slowLookup.execute(request("slowLookup", "{\"key\":\"k\"}"), "testuser")));
+            }
+            for (Future<String> result : results) {
+                result.get();
+            }
+            callers.shutdown();
+            Thread.sleep(200); // JFR 이벤트 flush 대기
+        }
+
+        // then
+        assertThat(pinned).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-04: Tool 별 호출 수/지연 메트릭 (outcome 태그)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-04: execute() - Tool 이름과 결과(success/timeout)별로 ai.tool.calls 타이머에 기록")
+    void execute_recordsCallMetricsPerTool() {
+        // when
+        executor("slowLookup").execute(request("slowLookup", "{\"key\":\"k\"}"), "testuser");
+        executor("stuckLookup").execute(request("stuckLookup", "{}"), "testuser");
+
+        // then
+        assertThat(meterRegistry.get("ai.tool.calls").tags("tool", "slowLookup", "outcome", "success").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("ai.tool.calls").tags("tool", "stuckLookup", "outcome", "timeout").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("ai.tool.calls").tags("tool", "slowLookup", "outcome", "error").timer().count())
+                .isZero();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-05: 한 턴의 Tool 요청 동시 실행 (결과 순서 유지)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-05: prepare() 후 execute() - 같은 턴의 Tool 들이 동시에 실행되어 턴 지연이 합이 아닌 최댓값, 결과는 요청 순서")
+    void executeTurn_runsToolsConcurrentlyInRequestOrder() {
+        // given
+        List<ToolExecutionRequest> requests = List.of(
+                request("pause", "{\"millis\":300}"),
+                request("pause", "{\"millis\":200}"),
+                request("pause", "{\"millis\":250}"));
+
+        // when
+        long started = System.nanoTime();
+        List<String> outputs = executeTurn(requests);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // then
+        assertThat(outputs).containsExactly("paused-300", "paused-200", "paused-250");
+        assertThat(elapsedMillis).isLessThan(600);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-06: 턴 전체 제한 시간
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-06: prepare() 후 execute() - 턴 제한 시간을 넘기면 남은 Tool 은 시간 초과 안내로 대체")
+    void executeTurn_appliesTurnTimeout() {
+        // given
+        ReflectionTestUtils.setField(toolDispatcher, "turnTimeoutMs", 150L);
+        List<ToolExecutionRequest> requests = List.of(
+                request("pause", "{\"millis\":50}"),
+                request("pause", "{\"millis\":2000}"));
+
+        // when
+        long started = System.nanoTime();
+        List<String> outputs = executeTurn(requests);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // then
+        assertThat(outputs.get(0)).isEqualTo("paused-50");
+        assertThat(outputs.get(1)).contains("제한 시간");
+        assertThat(elapsedMillis).isLessThan(1_000);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TD-07: 스트리밍 완료 콜백 스레드 반환
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TD-07: ParallelToolStreamingChatLanguageModel - Tool 실행은 가상 스레드로 넘기고 HTTP 콜백 스레드는 바로 반환, 턴도 전파")
+    void streamingCompletion_releasesCallbackThread() throws Exception {
+        // given - HTTP 클라이언트처럼 별도 스레드에서 완료 콜백을 호출하는 모델
+        ChatTurnRegistry chatTurnRegistry = new ChatTurnRegistry();
+        ChatTurn turn = chatTurnRegistry.begin("testuser", ChatIntent.GENERAL, "stream-1");
+        ExecutorService httpCallbackThread = Executors.newSingleThreadExecutor();
+        ToolExecutionRequest toolRequest = request("pause", "{\"millis\":300}");
+        StreamingChatLanguageModel delegate = new StreamingChatLanguageModel() {
+            @Override
+            public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                httpCallbackThread.execute(() -> handler.onCompleteResponse(
+                        ChatResponse.builder().aiMessage(AiMessage.from(List.of(toolRequest))).build()));
+            }
+
+            @Override
+            public void generate(List<ChatMessage> messages, StreamingResponseHandler<AiMessage> handler) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        CompletableFuture<Long> callbackReturnedNanos = new CompletableFuture<>();
+        CompletableFuture<String> toolOutput = new CompletableFuture<>();
+        AtomicReference<Thread> completionThread = new AtomicReference<>();
+        AtomicReference<Optional<ChatTurn>> completionTurn = new AtomicReference<>();
+        StreamingChatResponseHandler aiServicesHandler = new StreamingChatResponseHandler() {
+            @Override
+            public void onPartialResponse(String partialResponse) {
+            }
+
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                // AiServices 처럼 완료 콜백 안에서 Tool 실행
+                completionThread.set(Thread.currentThread());
+                completionTurn.set(ChatTurnRegistry.bound());
+                toolOutput.complete(executor("pause").execute(toolRequest, "testuser"));
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                toolOutput.completeExceptionally(error);
+            }
+        };
+        ParallelToolStreamingChatLanguageModel model = new ParallelToolStreamingChatLanguageModel(delegate, toolDispatcher);
+
+        // when
+        long started = System.nanoTime();
+        ChatTurnRegistry.runWithin(turn, () -> model.chat(ChatRequest.builder().messages(List.of(UserMessage.from("hi"))).build(),
+                aiServicesHandler));
+        httpCallbackThread.submit(() -> callbackReturnedNanos.complete(System.nanoTime())).get(1, TimeUnit.SECONDS);
+        long callbackMillis = (callbackReturnedNanos.get() - started) / 1_000_000;
+
+        // then - 콜백 스레드는 Tool(300ms) 을 기다리지 않음
+        try {
+            assertThat(callbackMillis).isLessThan(200);
+            assertThat(toolOutput.get(2, TimeUnit.SECONDS)).isEqualTo("paused-300");
+            assertThat(completionThread.get().isVirtual()).isTrue();
+            assertThat(completionTurn.get()).contains(turn);
+        } finally {
+            httpCallbackThread.shutdownNow();
+        }
+    }
+}
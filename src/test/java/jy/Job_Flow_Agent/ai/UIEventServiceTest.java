@@ -0,0 +1,198 @@
+package jy.Job_Flow_Agent.ai;
+
+import jy.Job_Flow_Agent.AI.Event.UIEvent;
+import jy.Job_Flow_Agent.AI.Event.UIEventBus;
+import jy.Job_Flow_Agent.AI.Event.UIEventService;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry;
+import jy.Job_Flow_Agent.AI.Tools.UserInterfaceTools.UIEventWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UIEventService 단위 테스트")
+class UIEventServiceTest {
+
+    @Mock
+    private ChatTurnRegistry chatTurnRegistry;
+
+    @Mock
+    private UIEventBus uiEventBus;
+
+    @InjectMocks
+    private UIEventService uiEventService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(uiEventService, "bufferSize", 4);
+    }
+
+    private void givenTurnFrom(String streamId) {
+        given(chatTurnRegistry.current("testuser")).willReturn(Optional.of(
+                new ChatTurnRegistry.ChatTurn("testuser", Instant.now(), Instant.now().plusSeconds(30), ChatIntent.JOB_POSTING, streamId)));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UES-01: 같은 사용자의 여러 스트림 - 턴을 시작한 스트림으로만 전달
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UES-01: handleUIEvent() - 두 탭 중 턴을 시작한 스트림에만 이벤트 전달")
+    void handleUIEvent_routesToOriginStream() {
+        // given
+        Flux<UIEvent> tab1 = uiEventService.subscribe("testuser", "stream-1");
+        Flux<UIEvent> tab2 = uiEventService.subscribe("testuser", "stream-2");
+        givenTurnFrom("stream-2");
+
+        // when
+        uiEventService.handleUIEvent(new UIEventWrapper("testuser", "JOB_POSTING", "card"));
+
+        // then - 같은 노드의 스트림이므로 Redis 로 발행하지 않음
+        then(uiEventBus).should(never()).publishRemote(anyString(), any(), any());
+        StepVerifier.create(tab2)
+                .expectNextMatches(event -> event.getType().equals("JOB_POSTING") && event.getData().equals("card"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(tab1)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UES-02: 이전 스트림 종료가 새 스트림 구독을 지우지 않음
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UES-02: 재시도 요청 - 이전 스트림 종료 후에도 새 스트림은 이벤트를 받음")
+    void oldStreamTermination_keepsNewStream() {
+        // given - 이전 요청 스트림이 새 요청 이후에 종료됨
+        Flux<UIEvent> oldStream = uiEventService.subscribe("testuser", "stream-old");
+        Flux<UIEvent> newStream = uiEventService.subscribe("testuser", "stream-new");
+        StepVerifier.create(oldStream).thenCancel().verify(Duration.ofSeconds(1));
+        givenTurnFrom("stream-new");
+
+        // when
+        uiEventService.handleUIEvent(new UIEventWrapper("testuser", "JOB_POSTING", "card"));
+
+        // then
+        StepVerifier.create(newStream)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UES-03: 스트림별 버퍼 크기 제한
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UES-03: 소비되지 않는 스트림은 bufferSize 까지만 보관하고 나머지는 버림")
+    void boundedBuffer_dropsOverflow() {
+        // given
+        Flux<UIEvent> stream = uiEventService.subscribe("testuser", "stream-1");
+        givenTurnFrom("stream-1");
+
+        // when - 구독자가 소비하기 전에 10건 발행
+        for (int i = 0; i < 10; i++) {
+            uiEventService.handleUIEvent(new UIEventWrapper("testuser", "JOB_POSTING", i));
+        }
+
+        // then
+        StepVerifier.create(stream)
+                .expectNextCount(4)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UES-04: 대상 스트림이 다른 노드에 있으면 UIEventBus 로 발행
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UES-04: handleUIEvent() - 턴 스트림이 이 노드에 없으면 해당 streamId 로 원격 발행")
+    void handleUIEvent_originOnOtherNode_publishesRemote() {
+        // given
+        Flux<UIEvent> localTab = uiEventService.subscribe("testuser", "stream-local");
+        givenTurnFrom("stream-remote");
+        given(uiEventBus.publishRemote(eq("testuser"), eq("stream-remote"), any(UIEvent.class))).willReturn(1);
+
+        // when
+        uiEventService.handleUIEvent(new UIEventWrapper("testuser", "JOB_POSTING", "card"));
+
+        // then - 로컬 탭에는 전달되지 않음
+        then(uiEventBus).should().publishRemote(eq("testuser"), eq("stream-remote"), any(UIEvent.class));
+        StepVerifier.create(localTab)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UES-05: 여러 스레드의 동시 발행
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UES-05: handleUIEvent() - 여러 스레드가 같은 스트림에 동시에 발행해도 이벤트가 유실되지 않음")
+    void concurrentEmits_areSerialized() throws Exception {
+        // given
+        int threads = 8;
+        int eventsPerThread = 50;
+        ReflectionTestUtils.setField(uiEventService, "bufferSize", threads * eventsPerThread);
+        Flux<UIEvent> stream = uiEventService.subscribe("testuser", "stream-1");
+        givenTurnFrom("stream-1");
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < eventsPerThread; i++) {
+                        uiEventService.handleUIEvent(new UIEventWrapper("testuser", "JOB_POSTING", i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        StepVerifier.create(stream)
+                .expectNextCount(threads * eventsPerThread)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify(Duration.ofSeconds(2));
+    }
+}
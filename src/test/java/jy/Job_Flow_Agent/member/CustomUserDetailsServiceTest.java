@@ -1,5 +1,6 @@
 package jy.Job_Flow_Agent.member;
 
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
 import jy.Job_Flow_Agent.Member.Entity.Member;
 import jy.Job_Flow_Agent.Member.Repository.MemberRepository;
 import jy.Job_Flow_Agent.Member.Service.CustomUserDetails;
@@ -29,6 +30,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private ToolResultCache toolResultCache;
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -103,4 +107,22 @@ class CustomUserDetailsServiceTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("nobody");
     }
+
+    // ─────────────────────────────────────────────────
+    //  CU-03: 로그인 정보 갱신 → 회원 조회 Tool 캐시 무효화
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CU-03: loadUserByUsername() 성공 시 해당 사용자의 member Tool 캐시 그룹 무효화")
+    void loadUserByUsername_invalidatesMemberToolCache() {
+        // given
+        Member member = buildMember("testuser");
+        given(memberRepository.findByUsername("testuser")).willReturn(Optional.of(member));
+        given(memberRepository.save(any(Member.class))).willReturn(member);
+
+        // when
+        customUserDetailsService.loadUserByUsername("testuser");
+
+        // then
+        then(toolResultCache).should().invalidate("testuser", ToolResultCache.GROUP_MEMBER);
+    }
 }
@@ -0,0 +1,166 @@
+package jy.Job_Flow_Agent.rag;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import jy.Job_Flow_Agent.AI.RAG.Service.DeadlineDocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalResult;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadlineDocumentRetriever 단위 테스트")
+class DeadlineDocumentRetrieverTest {
+
+    private static final RetrievalProfile PROFILE = new RetrievalProfile(5, 0.6);
+
+    @Mock
+    private DocumentRetriever documentRetriever;
+
+    private DeadlineDocumentRetriever deadlineDocumentRetriever;
+
+    @BeforeEach
+    void setUp() {
+        deadlineDocumentRetriever = retriever(1000, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        deadlineDocumentRetriever.shutdown();
+    }
+
+    private DeadlineDocumentRetriever retriever(int recentMaxUsers, Duration recentTtl) {
+        RetrievalSettings retrievalSettings = mock(RetrievalSettings.class);
+        given(retrievalSettings.recentMaxUsers()).willReturn(recentMaxUsers);
+        given(retrievalSettings.recentTtl()).willReturn(recentTtl);
+        return new DeadlineDocumentRetriever(documentRetriever, retrievalSettings);
+    }
+
+    private static EmbeddingMatch<TextSegment> match(String id, String text) {
+        return new EmbeddingMatch<>(0.9, id, null,
+                TextSegment.from(text, new Metadata().put("document_name", "resume.txt")));
+    }
+
+    private static Instant inMillis(long millis) {
+        return Instant.now().plusMillis(millis);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DDR-01: 마감 전 완료 → 전체 결과
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DDR-01: search() - 마감 전에 끝나면 partial=false 로 결과 그대로 반환")
+    void search_completesBeforeDeadline() {
+        // given
+        List<EmbeddingMatch<TextSegment>> matches = List.of(match("v1", "Java Spring 백엔드 경력 5년"));
+        given(documentRetriever.search("경력", "testuser", PROFILE)).willReturn(matches);
+
+        // when
+        RetrievalResult result = deadlineDocumentRetriever.search("경력", "testuser", PROFILE, inMillis(2_000));
+
+        // then
+        assertThat(result.partial()).isFalse();
+        assertThat(result.matches()).isEqualTo(matches);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DDR-02: 마감 초과 → 취소 + 최근 결과 기반 partial
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DDR-02: search() - 마감 초과 시 기다리지 않고 최근 결과 중 어휘가 겹치는 청크를 partial 로 반환")
+    void search_timesOut_returnsPartialFromRecentMatches() {
+        // given - 첫 검색은 정상 완료되어 최근 결과로 기억됨
+        given(documentRetriever.search("Spring 경력", "testuser", PROFILE))
+                .willReturn(List.of(match("v1", "Java Spring 백엔드 경력 5년"), match("v2", "취미는 등산")));
+        deadlineDocumentRetriever.search("Spring 경력", "testuser", PROFILE, inMillis(2_000));
+
+        // 두 번째 검색은 Pinecone 지연을 흉내냄
+        given(documentRetriever.search("Spring 프로젝트", "testuser", PROFILE)).willAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        // when
+        long start = System.nanoTime();
+        RetrievalResult result = deadlineDocumentRetriever.search("Spring 프로젝트", "testuser", PROFILE, inMillis(100));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // then
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+        assertThat(result.partial()).isTrue();
+        assertThat(result.matches()).extracting(EmbeddingMatch::embeddingId).containsExactly("v1");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DDR-03: 이미 지난 마감 → 검색 호출 없음
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DDR-03: search() - 마감이 이미 지났으면 벡터 검색을 호출하지 않음")
+    void search_deadlinePassed_skipsVectorSearch() {
+        // when
+        RetrievalResult result = deadlineDocumentRetriever.search("경력", "testuser", PROFILE, inMillis(-1));
+
+        // then
+        assertThat(result.partial()).isTrue();
+        assertThat(result.matches()).isEmpty();
+        then(documentRetriever).should(never()).search(anyString(), anyString(), any(RetrievalProfile.class));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DDR-04: 최근 결과 무효화 / 보관 제한
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DDR-04: forget()/보관 제한 - 문서 변경 후, 보관 시간 경과 후, 사용자 수 초과 시 최근 결과를 대체 결과로 쓰지 않음")
+    void fallback_skipsForgottenExpiredAndEvictedMatches() throws InterruptedException {
+        // given
+        DeadlineDocumentRetriever bounded = retriever(1, Duration.ofMillis(200));
+        given(documentRetriever.search("Spring 경력", "testuser", PROFILE))
+                .willReturn(List.of(match("v1", "Java Spring 백엔드 경력 5년")));
+        given(documentRetriever.search("Spring 경력", "otheruser", PROFILE))
+                .willReturn(List.of(match("v2", "Spring 경력 3년")));
+        try {
+            // when - forget
+            deadlineDocumentRetriever.search("Spring 경력", "testuser", PROFILE, inMillis(2_000));
+            deadlineDocumentRetriever.forget("testuser");
+            RetrievalResult forgotten = deadlineDocumentRetriever.search("Spring 경력", "testuser", PROFILE, inMillis(-1));
+
+            // when - 사용자 수 초과 (1명만 보관)
+            bounded.search("Spring 경력", "testuser", PROFILE, inMillis(2_000));
+            bounded.search("Spring 경력", "otheruser", PROFILE, inMillis(2_000));
+            RetrievalResult evicted = bounded.search("Spring 경력", "testuser", PROFILE, inMillis(-1));
+            RetrievalResult kept = bounded.search("Spring 경력", "otheruser", PROFILE, inMillis(-1));
+
+            // when - 보관 시간 경과
+            Thread.sleep(300);
+            RetrievalResult expired = bounded.search("Spring 경력", "otheruser", PROFILE, inMillis(-1));
+
+            // then
+            assertThat(forgotten.matches()).isEmpty();
+            assertThat(evicted.matches()).isEmpty();
+            assertThat(kept.matches()).extracting(EmbeddingMatch::embeddingId).containsExactly("v2");
+            assertThat(expired.matches()).isEmpty();
+        } finally {
+            bounded.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package jy.Job_Flow_Agent.rag;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import jy.Job_Flow_Agent.AI.RAG.Repository.DocumentRepository;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentSummaryIndex;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalMode;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.rag.eval.EvalCorpus;
+import jy.Job_Flow_Agent.rag.eval.LocalHashingEmbeddingModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DocumentRetriever 단위 테스트 (InMemoryEmbeddingStore + 로컬 임베딩)")
+class DocumentRetrieverTest {
+
+    private EmbeddingModel model;
+    private InMemoryEmbeddingStore<TextSegment> store;
+    private DocumentSummaryIndex summaryIndex;
+    private DocumentRetriever documentRetriever;
+
+    @BeforeEach
+    void setUp() {
+        model = new LocalHashingEmbeddingModel(EvalCorpus.FULL_DIMENSION);
+        store = new InMemoryEmbeddingStore<>();
+        summaryIndex = new DocumentSummaryIndex(new InMemoryEmbeddingStore<>());
+        EvalCorpus.index(model, store, summaryIndex);
+        documentRetriever = new DocumentRetriever(store, model, summaryIndex, mock(DocumentRepository.class));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DR-01: 사용자 필터 + maxResults 적용
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DR-01: search() - 요청 사용자의 청크만, maxResults 이하로 반환")
+    void search_filtersByUsernameAndLimitsResults() {
+        // when
+        List<EmbeddingMatch<TextSegment>> matches =
+                documentRetriever.search("프론트엔드 경력", "otheruser", new RetrievalProfile(3, 0.0));
+
+        // then
+        assertThat(matches).hasSizeLessThanOrEqualTo(3).isNotEmpty();
+        assertThat(matches).allSatisfy(match ->
+                assertThat(match.embedded().metadata().getString("username")).isEqualTo("otheruser"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DR-02: minScore 임계값 적용
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DR-02: search() - minScore 1.0 이면 결과 없음")
+    void search_minScoreFiltersEverything() {
+        List<EmbeddingMatch<TextSegment>> matches =
+                documentRetriever.search("카카오 근무지", "evaluser", new RetrievalProfile(5, 1.0));
+
+        assertThat(matches).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DR-03: 2단계 검색 - 선별된 문서의 청크만 반환
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DR-03: TWO_STAGE - 상위 1개 문서로 범위를 좁혀 해당 문서의 청크만 반환")
+    void search_twoStage_restrictsToTopDocuments() {
+        // when
+        List<EmbeddingMatch<TextSegment>> matches = documentRetriever.search(
+                "카카오페이 결제 플랫폼 우대 사항", "evaluser",
+                new RetrievalProfile(5, 0.0, RetrievalMode.TWO_STAGE, 1));
+
+        // then - 모든 결과가 하나의 문서에서 나옴
+        assertThat(matches).isNotEmpty();
+        assertThat(matches.stream()
+                .map(match -> match.embedded().metadata().getString("document_name"))
+                .distinct())
+                .hasSize(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  DR-04: 2단계 검색 - 요약 벡터 없는 기존 문서 포함
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("DR-04: TWO_STAGE - 요약 벡터가 있는 문서와 섞여 있어도 요약 벡터 없는 기존 문서의 청크는 검색 범위에 포함")
+    void search_twoStage_includesDocumentsWithoutSummary() {
+        // given - 요약 벡터 없이 청크만 저장된 기존 문서
+        TextSegment legacy = TextSegment.from("카카오페이 결제 플랫폼 우대 사항 (기존 업로드 문서)", new Metadata()
+                .put("chunk_id", "legacy-1")
+                .put("document_id", 999L)
+                .put("username", "evaluser")
+                .put("document_name", "legacy.pdf"));
+        store.add(model.embed(legacy).content(), legacy);
+        DocumentRepository documentRepository = mock(DocumentRepository.class);
+        when(documentRepository.findUnsummarizedDocumentIdsByUsername("evaluser")).thenReturn(List.of(999L));
+        DocumentRetriever retriever = new DocumentRetriever(store, model, summaryIndex, documentRepository);
+        RetrievalProfile profile = new RetrievalProfile(20, 0.0, RetrievalMode.TWO_STAGE, 1);
+
+        // when
+        List<EmbeddingMatch<TextSegment>> withLegacy = retriever.search("카카오페이 결제 플랫폼 우대 사항", "evaluser", profile);
+        List<EmbeddingMatch<TextSegment>> summaryOnly =
+                documentRetriever.search("카카오페이 결제 플랫폼 우대 사항", "evaluser", profile);
+
+        // then
+        assertThat(withLegacy).extracting(match -> match.embedded().metadata().getString("chunk_id"))
+                .contains("legacy-1");
+        assertThat(withLegacy.stream()
+                .map(match -> match.embedded().metadata().getString("document_name"))
+                .distinct())
+                .hasSize(2);
+        assertThat(summaryOnly).extracting(match -> match.embedded().metadata().getString("chunk_id"))
+                .doesNotContain("legacy-1");
+    }
+}
@@ -0,0 +1,69 @@
+package jy.Job_Flow_Agent.rag;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import jy.Job_Flow_Agent.AI.RAG.Embedding.MatryoshkaEmbeddingModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatryoshkaEmbeddingModel 단위 테스트")
+class MatryoshkaEmbeddingModelTest {
+
+    @Mock
+    private EmbeddingModel delegate;
+
+    // ─────────────────────────────────────────────────
+    //  ME-01: 앞쪽 차원만 남기고 L2 정규화
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("ME-01: embedAll() - 지정 차원으로 잘린 뒤 단위 벡터로 정규화")
+    void embedAll_truncatesAndNormalizes() {
+        // given
+        given(delegate.embedAll(anyList()))
+                .willReturn(Response.from(List.of(Embedding.from(new float[]{3f, 4f, 100f, 100f}))));
+        MatryoshkaEmbeddingModel model = new MatryoshkaEmbeddingModel(delegate, 2);
+
+        // when
+        Embedding embedding = model.embed(TextSegment.from("Java 개발자")).content();
+
+        // then
+        assertThat(embedding.dimension()).isEqualTo(2);
+        assertThat(embedding.vector()[0]).isCloseTo(0.6f, within(1e-6f));
+        assertThat(embedding.vector()[1]).isCloseTo(0.8f, within(1e-6f));
+        assertThat(model.dimension()).isEqualTo(2);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  ME-02: 원본보다 큰 차원 / 영벡터 처리
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("ME-02: truncate() - 원본 길이 유지, 영벡터는 그대로 반환")
+    void truncate_edgeCases() {
+        assertThat(MatryoshkaEmbeddingModel.truncate(new float[]{1f, 0f}, 8)).containsExactly(1f, 0f);
+        assertThat(MatryoshkaEmbeddingModel.truncate(new float[]{0f, 0f, 0f}, 2)).containsExactly(0f, 0f);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  ME-03: 잘못된 차원 설정
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("ME-03: 0 이하 차원 설정 시 IllegalArgumentException")
+    void constructor_invalidDimension_throws() {
+        assertThatThrownBy(() -> new MatryoshkaEmbeddingModel(delegate, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
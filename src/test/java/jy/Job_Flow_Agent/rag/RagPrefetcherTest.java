@@ -0,0 +1,163 @@
+package jy.Job_Flow_Agent.rag;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import jy.Job_Flow_Agent.AI.RAG.Service.DeadlineDocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.RagPrefetcher;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalResult;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalSettings;
+import jy.Job_Flow_Agent.AI.Service.ChatIntent;
+import jy.Job_Flow_Agent.AI.Service.ChatTurnRegistry.ChatTurn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RagPrefetcher 단위 테스트")
+class RagPrefetcherTest {
+
+    private static final RetrievalProfile PROFILE = new RetrievalProfile(5, 0.6);
+    private static final long SEARCH_LATENCY_MS = 300;
+    private static final String MESSAGE = "내 이력서에서 Spring 경력 알려줘";
+
+    @Mock
+    private DocumentRetriever documentRetriever;
+
+    @Mock
+    private RetrievalSettings retrievalSettings;
+
+    private DeadlineDocumentRetriever deadlineDocumentRetriever;
+    private RagPrefetcher ragPrefetcher;
+    private ChatTurn turn;
+
+    @BeforeEach
+    void setUp() {
+        given(retrievalSettings.recentMaxUsers()).willReturn(1000);
+        given(retrievalSettings.recentTtl()).willReturn(Duration.ofMinutes(10));
+        deadlineDocumentRetriever = new DeadlineDocumentRetriever(documentRetriever, retrievalSettings);
+        ragPrefetcher = new RagPrefetcher(documentRetriever, deadlineDocumentRetriever, retrievalSettings);
+        ReflectionTestUtils.setField(ragPrefetcher, "enabled", true);
+        turn = new ChatTurn("testuser", Instant.now(), Instant.now().plusSeconds(30), ChatIntent.DOCUMENT, "stream-1");
+        given(retrievalSettings.tool()).willReturn(PROFILE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deadlineDocumentRetriever.shutdown();
+    }
+
+    private void givenSlowSearch() {
+        // 선행 검색은 별도 스레드에서 실행되므로 취소되면 호출되지 않을 수도 있음
+        lenient().when(documentRetriever.search(MESSAGE, "testuser", PROFILE)).thenAnswer(invocation -> {
+            Thread.sleep(SEARCH_LATENCY_MS);
+            return List.of(new EmbeddingMatch<>(0.9, "v1", null,
+                    TextSegment.from("Spring Boot 백엔드 경력 5년", new Metadata())));
+        });
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RP-01: 같은 턴 + 유사 질의 → 선행 검색 재사용, 절약 시간 측정
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RP-01: take() - 모델 첫 호출 동안 끝난 선행 검색을 재사용해 Tool 대기 시간이 사라짐")
+    void take_reusesPrefetchAndMeasuresSavedTime() throws Exception {
+        // given
+        givenSlowSearch();
+        ragPrefetcher.prefetch("testuser", MESSAGE, turn);
+        Thread.sleep(SEARCH_LATENCY_MS + 100); // 첫 모델 호출(도구 호출 결정) 시간 흉내
+
+        // when
+        long start = System.nanoTime();
+        Optional<Future<List<EmbeddingMatch<TextSegment>>>> prefetched =
+                ragPrefetcher.take("testuser", "이력서 Spring 경력", turn);
+        RetrievalResult result = deadlineDocumentRetriever.await(prefetched.orElseThrow(),
+                "이력서 Spring 경력", "testuser", PROFILE, Instant.now().plusSeconds(3));
+        long toolWaitMs = (System.nanoTime() - start) / 1_000_000;
+
+        // then - 검색은 한 번만 수행, Tool 은 거의 기다리지 않음
+        assertThat(result.partial()).isFalse();
+        assertThat(result.matches()).hasSize(1);
+        assertThat(toolWaitMs).isLessThan(SEARCH_LATENCY_MS / 2);
+        assertThat(ragPrefetcher.stats().hits()).isEqualTo(1);
+        assertThat(ragPrefetcher.stats().savedMillis()).isGreaterThanOrEqualTo(SEARCH_LATENCY_MS - 50);
+        then(documentRetriever).should(times(1)).search(MESSAGE, "testuser", PROFILE);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RP-02: 모델이 질의를 크게 바꾼 경우 → 재사용 안 함
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RP-02: take() - Tool 질의가 원문 메시지와 겹치지 않으면 empty")
+    void take_divergedQuery_returnsEmpty() {
+        // given
+        givenSlowSearch();
+        ragPrefetcher.prefetch("testuser", MESSAGE, turn);
+
+        // when
+        Optional<Future<List<EmbeddingMatch<TextSegment>>>> prefetched =
+                ragPrefetcher.take("testuser", "카카오 채용공고 우대사항", turn);
+
+        // then
+        assertThat(prefetched).isEmpty();
+        assertThat(ragPrefetcher.stats().misses()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RP-03: 다른 턴 / 턴 종료 후 → 재사용 안 함
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RP-03: discard() - 턴 종료 시 미사용 선행 검색을 취소하고 이후 take() 는 empty")
+    void discard_cancelsUnusedPrefetch() {
+        // given
+        givenSlowSearch();
+        ragPrefetcher.prefetch("testuser", MESSAGE, turn);
+
+        // when
+        ragPrefetcher.discard(turn);
+
+        // then
+        assertThat(ragPrefetcher.take("testuser", MESSAGE, turn)).isEmpty();
+        assertThat(ragPrefetcher.stats().misses()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RP-04: 같은 사용자의 동시 턴 → 턴별로 분리
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RP-04: 같은 사용자의 두 턴 - 새 턴 선행 검색이 이전 턴을 덮지 않고, 이전 턴 종료가 새 턴 검색을 취소하지 않음")
+    void concurrentTurns_keepSeparatePrefetches() {
+        // given
+        givenSlowSearch();
+        ChatTurn newer = new ChatTurn("testuser", Instant.now(), Instant.now().plusSeconds(30), ChatIntent.DOCUMENT, "stream-2");
+        ragPrefetcher.prefetch("testuser", MESSAGE, turn);
+        ragPrefetcher.prefetch("testuser", MESSAGE, newer);
+
+        // when
+        ragPrefetcher.discard(turn);
+
+        // then
+        assertThat(ragPrefetcher.take("testuser", MESSAGE, turn)).isEmpty();
+        assertThat(ragPrefetcher.take("testuser", MESSAGE, newer)).isPresent();
+        assertThat(ragPrefetcher.stats().hits()).isEqualTo(1);
+    }
+}
@@ -12,7 +12,13 @@ import jy.Job_Flow_Agent.AI.AssistantModels.Assistant;
 import jy.Job_Flow_Agent.AI.RAG.DTO.RagDTO;
 import jy.Job_Flow_Agent.AI.RAG.Entity.DocumentMetadata;
 import jy.Job_Flow_Agent.AI.RAG.Repository.DocumentRepository;
+import jy.Job_Flow_Agent.AI.RAG.Service.DeadlineDocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentSummaryIndex;
 import jy.Job_Flow_Agent.AI.RAG.Service.RagService;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalSettings;
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
 import jy.Job_Flow_Agent.GlobalErrorHandler.GlobalException;
 import jy.Job_Flow_Agent.Member.Entity.Member;
 import jy.Job_Flow_Agent.Member.Service.CustomUserDetails;
@@ -59,6 +65,21 @@ class RagServiceTest {
     @Mock
     private DocumentRepository documentRepository;
 
+    @Mock
+    private DocumentRetriever documentRetriever;
+
+    @Mock
+    private RetrievalSettings retrievalSettings;
+
+    @Mock
+    private DocumentSummaryIndex documentSummaryIndex;
+
+    @Mock
+    private ToolResultCache toolResultCache;
+
+    @Mock
+    private DeadlineDocumentRetriever deadlineDocumentRetriever;
+
     @InjectMocks
     private RagService ragService;
 
@@ -139,6 +160,8 @@ class RagServiceTest {
         assertThat(response.getStatus()).isEqualTo("COMPLETED");
         then(documentRepository).should(times(2)).save(any(DocumentMetadata.class));
         then(embeddingStore).should().addAll(anyList(), anyList());
+        then(toolResultCache).should().invalidate("testuser", ToolResultCache.GROUP_RAG);
+        then(deadlineDocumentRetriever).should().forget("testuser");
     }
 
     // ─────────────────────────────────────────────────
@@ -165,15 +188,13 @@ class RagServiceTest {
     //  RS-04: 문서 검색 정상
     // ─────────────────────────────────────────────────
     @Test
-    @DisplayName("RS-04: search() - embeddingStore.search() 호출 확인, SearchResponse 반환")
+    @DisplayName("RS-04: search() - documentRetriever.search() 호출 확인, SearchResponse 반환")
     void search_returnsSearchResponse() {
         // given
         RagDTO.SearchRequest request = new RagDTO.SearchRequest("Java 개발자", 5, 0.5);
-        Embedding queryEmbedding = Embedding.from(new float[]{0.1f});
-        given(embeddingModel.embed(anyString())).willReturn(Response.from(queryEmbedding));
-
-        EmbeddingSearchResult<TextSegment> emptyResult = new EmbeddingSearchResult<>(Collections.emptyList());
-        given(embeddingStore.search(any())).willReturn(emptyResult);
+        RetrievalProfile profile = new RetrievalProfile(10, 0.5);
+        given(retrievalSettings.search()).willReturn(profile);
+        given(documentRetriever.search(anyString(), anyString(), any())).willReturn(Collections.emptyList());
 
         // when
         RagDTO.SearchResponse response = ragService.search(request, testUser());
@@ -181,7 +202,7 @@ class RagServiceTest {
         // then
         assertThat(response).isNotNull();
         assertThat(response.getQuery()).isEqualTo("Java 개발자");
-        then(embeddingStore).should().search(any());
+        then(documentRetriever).should().search("Java 개발자", "testuser", profile);
     }
 
     // ─────────────────────────────────────────────────
@@ -212,6 +233,8 @@ class RagServiceTest {
         assertThat(response.getDocumentId()).isEqualTo(50L);
         then(embeddingStore).should().removeAll(List.of("vector-id-1"));
         then(documentRepository).should().delete(doc);
+        then(toolResultCache).should().invalidate("testuser", ToolResultCache.GROUP_RAG);
+        then(deadlineDocumentRetriever).should().forget("testuser");
     }
 
     // ─────────────────────────────────────────────────
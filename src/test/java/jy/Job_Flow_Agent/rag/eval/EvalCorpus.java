@@ -0,0 +1,131 @@
+package jy.Job_Flow_Agent.rag.eval;
+
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.googleai.GoogleAiEmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentSummaryIndex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 평가/벤치마크용 고정 코퍼스 로더 (src/test/resources/rag/eval)
+ */
+public final class EvalCorpus {
+
+    public static final int FULL_DIMENSION = 768;
+
+    private EvalCorpus() {
+    }
+
+    /**
+     * @param documentId (username, documentName) 조합별로 부여한 문서 ID
+     */
+    public record Chunk(String id, Long documentId, String username, String documentName, String text) {
+
+        /**
+         * 운영 ingest 와 동일한 메타데이터 키로 TextSegment 를 만든다.
+         */
+        public TextSegment toSegment() {
+            Metadata metadata = new Metadata()
+                    .put("chunk_id", id)
+                    .put("document_id", documentId)
+                    .put("username", username)
+                    .put("document_name", documentName);
+            return TextSegment.from(text, metadata);
+        }
+    }
+
+    /**
+     * @param relevantChunkIds 정답(관련) 청크 ID 목록
+     */
+    public record Query(String username, String text, Set<String> relevantChunkIds) {
+    }
+
+    public static List<Chunk> chunks() {
+        Map<String, Long> documentIds = new HashMap<>();
+        return readRows("rag/eval/corpus.tsv").stream()
+                .map(cols -> {
+                    Long documentId = documentIds.computeIfAbsent(cols[1] + "/" + cols[2], key -> documentIds.size() + 1L);
+                    return new Chunk(cols[0], documentId, cols[1], cols[2], cols[3]);
+                })
+                .toList();
+    }
+
+    public static List<Query> queries() {
+        return readRows("rag/eval/golden.tsv").stream()
+                .map(cols -> new Query(cols[0], cols[1], Set.of(cols[2].split(","))))
+                .toList();
+    }
+
+    /**
+     * 코퍼스 전체를 임베딩해 청크 저장소와 문서 요약 인덱스를 채운다.
+     */
+    public static void index(EmbeddingModel model,
+                             EmbeddingStore<TextSegment> chunkStore,
+                             DocumentSummaryIndex summaryIndex) {
+        List<Chunk> chunks = chunks();
+        List<TextSegment> segments = chunks.stream().map(Chunk::toSegment).toList();
+        List<Embedding> embeddings = model.embedAll(segments).content();
+        chunkStore.addAll(embeddings, segments);
+
+        Map<Long, List<Integer>> byDocument = new LinkedHashMap<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            byDocument.computeIfAbsent(chunks.get(i).documentId(), key -> new ArrayList<>()).add(i);
+        }
+        byDocument.forEach((documentId, indexes) -> {
+            Chunk first = chunks.get(indexes.get(0));
+            summaryIndex.index(documentId, first.documentName(), first.username(),
+                    indexes.stream().map(embeddings::get).toList(),
+                    indexes.stream().map(segments::get).toList());
+        });
+    }
+
+    /**
+     * GEMINI_API_KEY 가 있으면 실제 gemini-embedding-001(768), 없으면 결정적 로컬 모델을 사용한다.
+     */
+    public static EmbeddingModel embeddingModel() {
+        String apiKey = System.getenv("GEMINI_API_KEY");
+        if (apiKey != null && !apiKey.isBlank()) {
+            return GoogleAiEmbeddingModel.builder()
+                    .apiKey(apiKey)
+                    .modelName("gemini-embedding-001")
+                    .outputDimensionality(FULL_DIMENSION)
+                    .build();
+        }
+        return new LocalHashingEmbeddingModel(FULL_DIMENSION);
+    }
+
+    static List<String[]> readRows(String resource) {
+        InputStream in = EvalCorpus.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalStateException("평가 리소스를 찾을 수 없습니다: " + resource);
+        }
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                rows.add(line.split("\t"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+}
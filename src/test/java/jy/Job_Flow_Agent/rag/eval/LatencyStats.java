@@ -0,0 +1,25 @@
+package jy.Job_Flow_Agent.rag.eval;
+
+import java.util.Arrays;
+
+/**
+ * 평가/벤치마크 지연시간 백분위 계산
+ */
+final class LatencyStats {
+
+    private LatencyStats() {
+    }
+
+    /**
+     * nearest-rank 방식 백분위
+     */
+    static long percentile(long[] values, int percentile) {
+        if (values.length == 0) {
+            return 0L;
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
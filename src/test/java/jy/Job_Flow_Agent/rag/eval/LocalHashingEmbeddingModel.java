@@ -0,0 +1,84 @@
+package jy.Job_Flow_Agent.rag.eval;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 네트워크 없이 동작하는 결정적(deterministic) 로컬 임베딩 모델 (평가/벤치마크 전용)
+ *
+ * 단어 토큰과 문자 3-gram 을 feature hashing 으로 고정 차원 벡터에 누적한 뒤 L2 정규화한다.
+ * 같은 입력은 항상 같은 벡터를 만들기 때문에 CI 에서도 재현 가능한 수치를 얻을 수 있다.
+ */
+public class LocalHashingEmbeddingModel implements EmbeddingModel {
+
+    private final int dimension;
+
+    public LocalHashingEmbeddingModel(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        List<Embedding> embeddings = textSegments.stream()
+                .map(segment -> Embedding.from(vectorize(segment.text())))
+                .toList();
+        return Response.from(embeddings);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    private float[] vectorize(String text) {
+        float[] vector = new float[dimension];
+        String normalized = text.toLowerCase(Locale.ROOT);
+
+        for (String token : normalized.split("[^\\p{L}\\p{N}+#]+")) {
+            if (token.isBlank()) {
+                continue;
+            }
+            accumulate(vector, "w:" + token, 1.0f);
+
+            // 한국어 조사/어미 변화에 강하도록 문자 3-gram 도 함께 반영
+            String padded = "^" + token + "$";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                accumulate(vector, "c:" + padded.substring(i, i + 3), 0.5f);
+            }
+        }
+
+        double norm = 0.0;
+        for (float v : vector) {
+            norm += (double) v * v;
+        }
+        if (norm > 0.0) {
+            float inverse = (float) (1.0 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inverse;
+            }
+        }
+        return vector;
+    }
+
+    private void accumulate(float[] vector, String feature, float weight) {
+        long hash = fnv1a(feature);
+        int index = (int) Math.floorMod(hash, (long) dimension);
+        float sign = ((hash >>> 63) == 0) ? 1.0f : -1.0f;
+        vector[index] += sign * weight;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
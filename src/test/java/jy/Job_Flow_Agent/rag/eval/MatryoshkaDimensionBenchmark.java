@@ -0,0 +1,130 @@
+package jy.Job_Flow_Agent.rag.eval;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.filter.MetadataFilterBuilder;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import jy.Job_Flow_Agent.AI.RAG.Embedding.MatryoshkaEmbeddingModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Matryoshka 차원 축소 벤치마크
+ *
+ * 고정 코퍼스를 768차원으로 한 번 임베딩한 뒤 차원별로 잘라(재정규화) 검색하고,
+ * 768차원 검색 결과 대비 recall@k, 검색 지연시간(p50/p99), 벡터 메모리를 출력한다.
+ *
+ * 실행: ./gradlew ragBenchmark  (GEMINI_API_KEY 환경변수가 있으면 실제 모델 사용)
+ */
+@Tag("benchmark")
+@DisplayName("Matryoshka 임베딩 차원별 recall/latency 벤치마크")
+class MatryoshkaDimensionBenchmark {
+
+    private static final int[] DIMENSIONS = {768, 512, 256, 128};
+    private static final int TOP_K = 5;
+    private static final int LATENCY_ROUNDS = 200;
+
+    @Test
+    @DisplayName("BENCH-01: 차원별 recall@5 / 검색 지연 / 메모리")
+    void compareDimensions() {
+        EmbeddingModel model = EvalCorpus.embeddingModel();
+        List<EvalCorpus.Chunk> chunks = EvalCorpus.chunks();
+        List<EvalCorpus.Query> queries = EvalCorpus.queries();
+
+        List<TextSegment> segments = chunks.stream().map(EvalCorpus.Chunk::toSegment).toList();
+        List<Embedding> fullChunkVectors = model.embedAll(segments).content();
+        List<Embedding> fullQueryVectors = queries.stream()
+                .map(query -> model.embed(query.text()).content())
+                .toList();
+
+        List<Set<String>> baseline = null;
+        System.out.printf("%nmodel=%s, chunks=%d, queries=%d, k=%d%n",
+                model.getClass().getSimpleName(), chunks.size(), queries.size(), TOP_K);
+        System.out.printf("%-6s %-10s %-10s %-10s %-12s%n", "dim", "recall@k", "p50(us)", "p99(us)", "vectorBytes");
+
+        for (int dimension : DIMENSIONS) {
+            InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+            store.addAll(truncateAll(fullChunkVectors, dimension), segments);
+            List<Embedding> queryVectors = truncateAll(fullQueryVectors, dimension);
+
+            List<Set<String>> results = new ArrayList<>();
+            for (int i = 0; i < queries.size(); i++) {
+                results.add(search(store, queryVectors.get(i), queries.get(i).username()));
+            }
+            if (baseline == null) {
+                baseline = results;
+            }
+
+            double recall = recallAgainst(baseline, results);
+            long[] latencies = measureLatencies(store, queryVectors, queries);
+            long vectorBytes = (long) chunks.size() * dimension * Float.BYTES;
+
+            System.out.printf("%-6d %-10.3f %-10d %-10d %-12d%n",
+                    dimension, recall, LatencyStats.percentile(latencies, 50), LatencyStats.percentile(latencies, 99), vectorBytes);
+
+            assertThat(recall).isBetween(0.0, 1.0);
+        }
+    }
+
+    private static List<Embedding> truncateAll(List<Embedding> vectors, int dimension) {
+        return vectors.stream()
+                .map(vector -> Embedding.from(MatryoshkaEmbeddingModel.truncate(vector.vector(), dimension)))
+                .toList();
+    }
+
+    private static Set<String> search(InMemoryEmbeddingStore<TextSegment> store, Embedding query, String username) {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(query)
+                .maxResults(TOP_K)
+                .minScore(0.0)
+                .filter(MetadataFilterBuilder.metadataKey("username").isEqualTo(username))
+                .build();
+        Set<String> ids = new HashSet<>();
+        for (EmbeddingMatch<TextSegment> match : store.search(request).matches()) {
+            ids.add(match.embedded().metadata().getString("chunk_id"));
+        }
+        return ids;
+    }
+
+    private static double recallAgainst(List<Set<String>> baseline, List<Set<String>> results) {
+        double sum = 0.0;
+        for (int i = 0; i < baseline.size(); i++) {
+            Set<String> expected = baseline.get(i);
+            if (expected.isEmpty()) {
+                sum += 1.0;
+                continue;
+            }
+            long hits = results.get(i).stream().filter(expected::contains).count();
+            sum += (double) hits / expected.size();
+        }
+        return sum / baseline.size();
+    }
+
+    private static long[] measureLatencies(InMemoryEmbeddingStore<TextSegment> store,
+                                           List<Embedding> queryVectors,
+                                           List<EvalCorpus.Query> queries) {
+        // JIT 워밍업
+        for (int i = 0; i < queries.size(); i++) {
+            search(store, queryVectors.get(i), queries.get(i).username());
+        }
+        long[] latencies = new long[LATENCY_ROUNDS];
+        for (int round = 0; round < LATENCY_ROUNDS; round++) {
+            int i = round % queries.size();
+            long start = System.nanoTime();
+            search(store, queryVectors.get(i), queries.get(i).username());
+            latencies[round] = (System.nanoTime() - start) / 1_000;
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,152 @@
+package jy.Job_Flow_Agent.rag.eval;
+
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+import jy.Job_Flow_Agent.AI.RAG.Repository.DocumentRepository;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentRetriever;
+import jy.Job_Flow_Agent.AI.RAG.Service.DocumentSummaryIndex;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalMode;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalProfile;
+import jy.Job_Flow_Agent.AI.RAG.Service.RetrievalSettings;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 오프라인 RAG 검색 품질/지연시간 평가 하네스
+ *
+ * 정답 세트(golden.tsv: 질문 → 관련 청크)를 기준으로 운영 설정(RetrievalSettings)과 비교용 검색 파라미터 조합별
+ * recall@k, MRR, 평균 반환 청크 수/문자 수(프롬프트 크기), p50/p99 검색 지연시간을 출력한다.
+ * 운영과 동일한 DocumentRetriever 경로를 타며, 결정적 로컬 임베딩 모델을 사용하므로 네트워크가 필요 없다.
+ *
+ * 실행: ./gradlew ragEval
+ */
+@Tag("rag-eval")
+@DisplayName("RAG 검색 파라미터 오프라인 평가")
+class RetrievalEvaluation {
+
+    private static final int ROUNDS = 20;
+
+    @Test
+    @DisplayName("EVAL-01: 검색 파라미터 조합별 recall@k / MRR / 지연시간")
+    void evaluateProfiles() {
+        EmbeddingModel model = new LocalHashingEmbeddingModel(EvalCorpus.FULL_DIMENSION);
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        DocumentSummaryIndex summaryIndex = new DocumentSummaryIndex(new InMemoryEmbeddingStore<>());
+        EvalCorpus.index(model, store, summaryIndex);
+
+        DocumentRetriever retriever = new DocumentRetriever(store, model, summaryIndex, mock(DocumentRepository.class));
+        List<EvalCorpus.Query> queries = EvalCorpus.queries();
+
+        System.out.printf("%nqueries=%d, chunks=%d, rounds=%d%n", queries.size(), EvalCorpus.chunks().size(), ROUNDS);
+        System.out.printf("%-24s %-10s %-8s %-10s %-12s %-9s %-9s%n",
+                "profile", "recall@k", "MRR", "avgChunks", "avgCtxChars", "p50(us)", "p99(us)");
+
+        for (Map.Entry<String, RetrievalProfile> entry : profiles().entrySet()) {
+            Result result = evaluate(retriever, queries, entry.getValue());
+            System.out.printf("%-24s %-10.3f %-8.3f %-10.2f %-12.1f %-9d %-9d%n",
+                    entry.getKey(), result.recall(), result.mrr(), result.avgChunks(), result.avgContextChars(),
+                    result.p50Micros(), result.p99Micros());
+
+            assertThat(result.recall()).isBetween(0.0, 1.0);
+            assertThat(result.mrr()).isBetween(0.0, 1.0);
+        }
+    }
+
+    /**
+     * 운영 설정(RetrievalSettings) 용도별 프로파일 + 비교용 그리드
+     * 설정값은 운영과 같은 @Value 기본값에 시스템 프로퍼티/환경 변수를 덮어써 읽는다
+     * (예: ./gradlew ragEval -Drag.retrieval.mode=TWO_STAGE)
+     */
+    private static Map<String, RetrievalProfile> profiles() {
+        RetrievalSettings settings = loadSettings();
+        Map<String, RetrievalProfile> profiles = new LinkedHashMap<>();
+        profiles.put(label("ask", settings.ask()), settings.ask());
+        profiles.put(label("search", settings.search()), settings.search());
+        profiles.put(label("tool", settings.tool()), settings.tool());
+        profiles.put(label("retriever", settings.retriever()), settings.retriever());
+        for (int maxResults : new int[]{1, 3, 5, 10}) {
+            for (double minScore : new double[]{0.5, 0.55, 0.6, 0.65}) {
+                profiles.put("grid(" + maxResults + "/" + minScore + ")", new RetrievalProfile(maxResults, minScore));
+            }
+        }
+        RetrievalProfile ask = settings.ask();
+        for (int topDocuments : new int[]{1, 2, 3}) {
+            profiles.put("2stage(" + ask.maxResults() + "/" + ask.minScore() + ",top" + topDocuments + ")",
+                    new RetrievalProfile(ask.maxResults(), ask.minScore(), RetrievalMode.TWO_STAGE, topDocuments));
+        }
+        return profiles;
+    }
+
+    private static RetrievalSettings loadSettings() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(RetrievalSettings.class)) {
+            return context.getBean(RetrievalSettings.class);
+        }
+    }
+
+    private static String label(String name, RetrievalProfile profile) {
+        String label = name + "(" + profile.maxResults() + "/" + profile.minScore();
+        return profile.mode() == RetrievalMode.TWO_STAGE ? label + ",top" + profile.topDocuments() + ")" : label + ")";
+    }
+
+    private static Result evaluate(DocumentRetriever retriever, List<EvalCorpus.Query> queries, RetrievalProfile profile) {
+        double recallSum = 0.0;
+        double reciprocalRankSum = 0.0;
+        long chunkSum = 0;
+        long charSum = 0;
+        List<Long> latencies = new ArrayList<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (EvalCorpus.Query query : queries) {
+                long start = System.nanoTime();
+                List<EmbeddingMatch<TextSegment>> matches = retriever.search(query.text(), query.username(), profile);
+                latencies.add((System.nanoTime() - start) / 1_000);
+
+                // 품질 지표는 결정적이므로 첫 라운드만 집계
+                if (round > 0) {
+                    continue;
+                }
+                int hits = 0;
+                int firstRelevantRank = 0;
+                for (int rank = 0; rank < matches.size(); rank++) {
+                    TextSegment segment = matches.get(rank).embedded();
+                    charSum += segment.text().length();
+                    if (query.relevantChunkIds().contains(segment.metadata().getString("chunk_id"))) {
+                        hits++;
+                        if (firstRelevantRank == 0) {
+                            firstRelevantRank = rank + 1;
+                        }
+                    }
+                }
+                chunkSum += matches.size();
+                recallSum += (double) hits / query.relevantChunkIds().size();
+                reciprocalRankSum += firstRelevantRank == 0 ? 0.0 : 1.0 / firstRelevantRank;
+            }
+        }
+
+        long[] latencyArray = latencies.stream().mapToLong(Long::longValue).toArray();
+        int n = queries.size();
+        return new Result(
+                recallSum / n,
+                reciprocalRankSum / n,
+                (double) chunkSum / n,
+                (double) charSum / n,
+                LatencyStats.percentile(latencyArray, 50),
+                LatencyStats.percentile(latencyArray, 99));
+    }
+
+    private record Result(double recall, double mrr, double avgChunks, double avgContextChars,
+                          long p50Micros, long p99Micros) {
+    }
+}
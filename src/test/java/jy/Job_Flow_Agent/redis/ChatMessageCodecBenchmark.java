@@ -0,0 +1,106 @@
+package jy.Job_Flow_Agent.redis;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import jy.Job_Flow_Agent.Redis.ChatMessageCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대화 메시지 저장 형식 벤치마크 (JSON vs ChatMessageCodec)
+ *
+ * 채용공고 분석 + 문서 검색이 섞인 20개 메시지 대화 1건을 기준으로
+ * 대화당 저장 바이트와 대화 1건 인코딩/디코딩 시간(us)을 출력한다.
+ *
+ * 실행: ./gradlew ragBenchmark --tests '*ChatMessageCodecBenchmark'
+ */
+@Tag("benchmark")
+@DisplayName("대화 메시지 코덱 크기/속도 벤치마크")
+class ChatMessageCodecBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int ROUNDS = 5_000;
+
+    @Test
+    @DisplayName("BENCH-CODEC-01: 대화당 바이트 / 인코딩·디코딩 시간")
+    void compareFormats() {
+        List<ChatMessage> conversation = conversation();
+        ChatMessageCodec codec = new ChatMessageCodec();
+
+        long jsonBytes = conversation.stream()
+                .mapToLong(message -> ChatMessageSerializer.messageToJson(message).getBytes(StandardCharsets.UTF_8).length)
+                .sum();
+        long codecBytes = conversation.stream().mapToLong(message -> codec.encode(message).length).sum();
+
+        double jsonEncodeUs = measure(() -> conversation.forEach(ChatMessageSerializer::messageToJson));
+        double codecEncodeUs = measure(() -> conversation.forEach(codec::encode));
+        List<String> jsonEncoded = conversation.stream().map(ChatMessageSerializer::messageToJson).toList();
+        List<byte[]> codecEncoded = conversation.stream().map(codec::encode).toList();
+        double jsonDecodeUs = measure(() -> jsonEncoded.forEach(ChatMessageDeserializer::messageFromJson));
+        double codecDecodeUs = measure(() -> codecEncoded.forEach(codec::decode));
+
+        System.out.printf("%nmessages=%d, rounds=%d%n", conversation.size(), ROUNDS);
+        System.out.printf("%-8s %-12s %-12s %-12s%n", "format", "bytes", "encode(us)", "decode(us)");
+        System.out.printf("%-8s %-12d %-12.1f %-12.1f%n", "json", jsonBytes, jsonEncodeUs, jsonDecodeUs);
+        System.out.printf("%-8s %-12d %-12.1f %-12.1f%n", "codec", codecBytes, codecEncodeUs, codecDecodeUs);
+        System.out.printf("bytes ratio = %.2f%n", (double) codecBytes / jsonBytes);
+
+        assertThat(codecBytes).isLessThan(jsonBytes);
+    }
+
+    private static double measure(Runnable encodeOrDecode) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encodeOrDecode.run();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            encodeOrDecode.run();
+        }
+        return (System.nanoTime() - started) / 1_000.0 / ROUNDS;
+    }
+
+    private static List<ChatMessage> conversation() {
+        String jobPosting = """
+                {"companyName":"테스트컴퍼니","jobTitle":"백엔드 개발자 (Java/Spring)",
+                "mainTasks":["대용량 트래픽 처리를 위한 서버 개발","REST API 설계 및 개발","MSA 전환 및 운영"],
+                "qualifications":["Java 3년 이상","Spring Boot 실무 경험","RDBMS 설계 경험"],
+                "preferred":["AWS 운영 경험","Kafka 사용 경험","대규모 서비스 장애 대응 경험"],
+                "techStack":["Java","Spring Boot","JPA","MySQL","Redis","Kafka","AWS"],
+                "deadline":"2026-03-31","salary":"회사 내규에 따름","location":"서울 강남구"}
+                """;
+        String ragExcerpt = "📄 [문서 1] 이력서.pdf (관련도: 0.87)\n"
+                + "주요 경력: 커머스 플랫폼 백엔드 3년, 주문/결제 API 개발, 배치 처리 성능 개선 (처리 시간 40% 단축). ".repeat(12);
+
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(SystemMessage.from("당신은 전문 'AI 커리어 컨설턴트'입니다. 사용자의 이력서, 채용 공고를 분석하여 조언을 제공합니다. ".repeat(8)));
+        for (int turn = 1; turn <= 3; turn++) {
+            ToolExecutionRequest analyze = ToolExecutionRequest.builder()
+                    .id("call-a" + turn).name("analyzeJobPosting")
+                    .arguments("{\"url\":\"https://jobs.example.com/" + turn + "\"}").build();
+            ToolExecutionRequest search = ToolExecutionRequest.builder()
+                    .id("call-s" + turn).name("searchMyDocuments")
+                    .arguments("{\"query\":\"백엔드 경력\",\"username\":\"testuser\"}").build();
+            messages.add(UserMessage.from("이 공고 https://jobs.example.com/" + turn + " 랑 내 이력서 비교해줘"));
+            messages.add(AiMessage.from(List.of(analyze, search)));
+            messages.add(ToolExecutionResultMessage.from(analyze, jobPosting.repeat(3)));
+            messages.add(ToolExecutionResultMessage.from(search, ragExcerpt));
+            messages.add(AiMessage.from("### 비교 결과\n\n1. 기술 스택 일치도가 높습니다.\n\n2. Kafka 경험을 보완하면 좋습니다. ".repeat(6)));
+            messages.add(UserMessage.from("고마워, 자기소개서 방향도 알려줘"));
+        }
+        messages.add(AiMessage.from("자기소개서는 주문/결제 API 성능 개선 경험을 중심으로 구성해보세요."));
+        return messages;
+    }
+}
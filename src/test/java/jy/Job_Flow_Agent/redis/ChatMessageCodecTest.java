@@ -0,0 +1,131 @@
+package jy.Job_Flow_Agent.redis;
+
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.image.Image;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.ImageContent;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import jy.Job_Flow_Agent.Redis.ChatMessageCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ChatMessageCodec 단위 테스트")
+class ChatMessageCodecTest {
+
+    private final ChatMessageCodec codec = new ChatMessageCodec();
+
+    // ─────────────────────────────────────────────────
+    //  CMC-01: 메시지 종류별 왕복
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CMC-01: encode() → decode() - 시스템/사용자/AI(도구 호출 포함)/Tool 결과/이미지 메시지가 그대로 복원")
+    void encodeDecode_roundTripsAllTypes() {
+        // given
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .id("call-1").name("searchMyDocuments").arguments("{\"query\":\"경력\"}").build();
+        List<ChatMessage> messages = List.of(
+                SystemMessage.from("너는 취업 도우미야"),
+                UserMessage.from("내 경력 알려줘"),
+                UserMessage.from("jy", "이름 있는 메시지"),
+                UserMessage.from(TextContent.from("이 이미지 봐줘"), ImageContent.from(Image.builder().url("https://example.com/a.png").build())),
+                AiMessage.from(request),
+                AiMessage.from("문서를 찾아볼게요", List.of(request)),
+                ToolExecutionResultMessage.from(request, "Java 3년"),
+                AiMessage.from("Java 3년 경력이 있습니다")
+        );
+
+        // when & then
+        for (ChatMessage message : messages) {
+            assertThat(codec.decode(codec.encode(message))).isEqualTo(message);
+        }
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CMC-02: 큰 본문 압축
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CMC-02: encode() - 큰 Tool 결과는 LZ4 로 압축되어 JSON 대비 크게 줄고, 작은 메시지는 압축하지 않음")
+    void encode_compressesLargePayloads() {
+        // given
+        ToolExecutionResultMessage large = ToolExecutionResultMessage.from("call-1", "analyzeJobPosting",
+                "{\"company\":\"테스트컴퍼니\",\"skills\":[\"Java\",\"Spring Boot\",\"MySQL\"]}\n".repeat(200));
+        UserMessage small = UserMessage.from("안녕");
+
+        // when
+        byte[] largeEncoded = codec.encode(large);
+        byte[] smallEncoded = codec.encode(small);
+
+        // then
+        int largeJson = ChatMessageSerializer.messageToJson(large).getBytes(StandardCharsets.UTF_8).length;
+        assertThat(largeEncoded[3]).isEqualTo((byte) 2);
+        assertThat(largeEncoded.length).isLessThan(largeJson / 10);
+        assertThat(smallEncoded[3]).isZero();
+        assertThat(smallEncoded.length)
+                .isLessThan(ChatMessageSerializer.messageToJson(small).getBytes(StandardCharsets.UTF_8).length);
+        assertThat(codec.decode(largeEncoded)).isEqualTo(large);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CMC-03: 이전 JSON 형식 읽기 / 손상 데이터
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CMC-03: decode() - 이전 JSON 형식은 그대로 읽고, 알 수 없는 형식은 IllegalArgumentException")
+    void decode_readsLegacyJsonAndRejectsUnknown() {
+        // given
+        AiMessage message = AiMessage.from("예전 답변");
+        byte[] legacy = ChatMessageSerializer.messageToJson(message).getBytes(StandardCharsets.UTF_8);
+
+        // when & then
+        assertThat(codec.decode(legacy)).isEqualTo(message);
+        assertThatThrownBy(() -> codec.decode(new byte[]{0x7F, 1, 2, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CMC-04: 이전 Deflate 압축 형식 읽기
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CMC-04: decode() - LZ4 도입 전에 Deflate(플래그 bit0)로 저장된 메시지도 그대로 복원")
+    void decode_readsLegacyDeflatePayload() {
+        // given - 압축하지 않은 본문을 이전 형식([헤더][플래그=1][원본 길이 varint][raw Deflate])으로 재구성
+        ToolExecutionResultMessage message = ToolExecutionResultMessage.from("call-1", "searchMyDocuments",
+                "주요 경력: 커머스 플랫폼 백엔드 3년, 주문/결제 API 개발. ".repeat(50));
+        byte[] uncompressed = new ChatMessageCodec(Integer.MAX_VALUE).encode(message);
+        byte[] body = Arrays.copyOfRange(uncompressed, 4, uncompressed.length);
+        ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+        legacy.write(uncompressed, 0, 3);
+        legacy.write(1);
+        for (int length = body.length; ; length >>>= 7) {
+            if ((length & ~0x7F) == 0) {
+                legacy.write(length);
+                break;
+            }
+            legacy.write((length & 0x7F) | 0x80);
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        deflater.setInput(body);
+        deflater.finish();
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            legacy.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        // when & then
+        assertThat(codec.decode(legacy.toByteArray())).isEqualTo(message);
+    }
+}
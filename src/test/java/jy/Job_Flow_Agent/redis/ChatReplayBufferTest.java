@@ -0,0 +1,127 @@
+package jy.Job_Flow_Agent.redis;
+
+import jy.Job_Flow_Agent.AI.Event.ChatReplayBuffer;
+import jy.Job_Flow_Agent.AI.Event.ChatStreamEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("ChatReplayBuffer 단위 테스트 (TestContainers Redis)")
+class ChatReplayBufferTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate stringRedisTemplate;
+    private ChatReplayBuffer replayBuffer;
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        factory.afterPropertiesSet();
+
+        stringRedisTemplate = new StringRedisTemplate(factory);
+        replayBuffer = new ChatReplayBuffer(stringRedisTemplate);
+        ReflectionTestUtils.setField(replayBuffer, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(replayBuffer, "maxEvents", 2000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.getConnectionFactory().getConnection().flushAll();
+        factory.destroy();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CRB-01: 스트림 생성 시 소유자/시작 이벤트/TTL 기록
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CRB-01: open() - 소유자와 streamId 를 담은 시작 이벤트가 TTL 과 함께 기록됨")
+    void open_recordsOwnerAndStreamEvent() {
+        // when
+        replayBuffer.open("stream-1", "testuser");
+
+        // then
+        assertThat(replayBuffer.owner("stream-1")).contains("testuser");
+        List<ChatStreamEvent> events = replayBuffer.readAfter("stream-1", null);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).event()).isEqualTo("stream");
+        assertThat(events.get(0).data()).isEqualTo("stream-1");
+        assertThat(stringRedisTemplate.getExpire("chat:replay:stream-1")).isPositive();
+        assertThat(stringRedisTemplate.getExpire("chat:replay-owner:stream-1")).isPositive();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CRB-02: Last-Event-ID 이후 이벤트만 순서대로 재전송
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CRB-02: readAfter() - 마지막으로 받은 이벤트는 제외하고 이후 이벤트만 기록 순서대로 반환")
+    void readAfter_returnsEventsAfterLastEventIdInOrder() {
+        // given
+        replayBuffer.open("stream-1", "testuser");
+        String first = replayBuffer.append("stream-1", "message", "안녕");
+        replayBuffer.append("stream-1", "message", "하세요");
+        replayBuffer.append("stream-1", "ui_render", "{\"type\":\"JOB_POSTING\"}");
+
+        // when
+        List<ChatStreamEvent> events = replayBuffer.readAfter("stream-1", first);
+
+        // then
+        assertThat(events).extracting(ChatStreamEvent::event).containsExactly("message", "ui_render");
+        assertThat(events).extracting(ChatStreamEvent::data).containsExactly("하세요", "{\"type\":\"JOB_POSTING\"}");
+        assertThat(ChatStreamEvent.compareIds(events.get(0).id(), first)).isPositive();
+        assertThat(ChatStreamEvent.compareIds(events.get(1).id(), events.get(0).id())).isPositive();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CRB-03: 만료/없는 스트림
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CRB-03: owner()/readAfter() - 없는 스트림은 소유자 없음, 빈 목록 반환")
+    void unknownStream_returnsEmpty() {
+        // when & then
+        assertThat(replayBuffer.owner("missing")).isEmpty();
+        assertThat(replayBuffer.readAfter("missing", null)).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  CRB-04: 세션이 발급한 ID 로 기록
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("CRB-04: append(id) - 시작 이벤트 이후로 발급한 ID 가 그대로 기록되어 readAfter 기준으로 사용됨")
+    void appendWithId_keepsCallerAssignedId() {
+        // given
+        String startEventId = replayBuffer.open("stream-1", "testuser");
+        long startMillis = Long.parseLong(startEventId.substring(0, startEventId.indexOf('-')));
+        String first = (startMillis + 1) + "-0";
+        String second = (startMillis + 1) + "-1";
+
+        // when
+        replayBuffer.append("stream-1", first, "message", "안녕");
+        replayBuffer.append("stream-1", second, "message", "하세요");
+
+        // then
+        assertThat(replayBuffer.readAfter("stream-1", startEventId)).extracting(ChatStreamEvent::id)
+                .containsExactly(first, second);
+        assertThat(replayBuffer.readAfter("stream-1", first)).extracting(ChatStreamEvent::data)
+                .containsExactly("하세요");
+    }
+}
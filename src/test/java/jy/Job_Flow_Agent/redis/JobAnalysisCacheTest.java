@@ -0,0 +1,119 @@
+package jy.Job_Flow_Agent.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.DTO.JobPostingInfo;
+import jy.Job_Flow_Agent.AI.Service.JobAnalysisCache;
+import jy.Job_Flow_Agent.AI.Service.JobAnalyzer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("JobAnalysisCache 단위 테스트 (TestContainers Redis)")
+class JobAnalysisCacheTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private JobAnalysisCache jobAnalysisCache;
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        factory.afterPropertiesSet();
+
+        stringRedisTemplate = new StringRedisTemplate(factory);
+        meterRegistry = new SimpleMeterRegistry();
+        jobAnalysisCache = new JobAnalysisCache(stringRedisTemplate, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(jobAnalysisCache, "ttlHours", 24L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.getConnectionFactory().getConnection().flushAll();
+        factory.destroy();
+    }
+
+    private JobPostingInfo sampleJobInfo() {
+        return new JobPostingInfo(
+                "테스트컴퍼니",
+                "백엔드 개발자 (Java/Spring)",
+                List.of("서버 개발", "API 설계"),
+                List.of("Java 3년 이상"),
+                List.of("AWS 경험자 우대"),
+                List.of("Java", "Spring Boot", "MySQL"),
+                "2026-03-31",
+                "회사 내규에 따름",
+                "서울 강남구"
+        );
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JAC-01: 같은 본문(공백 차이 무시)이면 캐시 적중
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JAC-01: put() 후 get() - 공백만 다른 같은 본문이면 저장된 JobPostingInfo 반환")
+    void get_returnsCachedInfoForSameContent() {
+        // given
+        jobAnalysisCache.put("제목: 백엔드 개발자\n\n본문:\nJava  Spring", sampleJobInfo());
+
+        // when
+        var cached = jobAnalysisCache.get("제목: 백엔드 개발자 본문: Java Spring ");
+
+        // then
+        assertThat(cached).contains(sampleJobInfo());
+        assertThat(meterRegistry.get("ai.job-analysis.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JAC-02: 다른 본문은 미스
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JAC-02: get() - 본문이 다르면 캐시 미스")
+    void get_missesForDifferentContent() {
+        // given
+        jobAnalysisCache.put("제목: 백엔드 개발자\n\n본문:\nJava Spring", sampleJobInfo());
+
+        // when & then
+        assertThat(jobAnalysisCache.get("제목: 프론트엔드 개발자\n\n본문:\nReact")).isEmpty();
+        assertThat(meterRegistry.get("ai.job-analysis.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  JAC-03: 프롬프트 버전이 포함된 키 + TTL
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("JAC-03: put() - 프롬프트 버전이 포함된 SHA-256 키로 TTL 과 함께 저장")
+    void put_storesUnderVersionedHashKeyWithTtl() {
+        // when
+        jobAnalysisCache.put("제목: 백엔드 개발자", sampleJobInfo());
+
+        // then
+        Set<String> keys = stringRedisTemplate.keys("job:analysis:*");
+        assertThat(keys).hasSize(1);
+        String key = keys.iterator().next();
+        assertThat(key).matches("job:analysis:" + JobAnalyzer.PROMPT_VERSION + ":[0-9a-f]{64}");
+        assertThat(stringRedisTemplate.getExpire(key)).isPositive();
+    }
+}
@@ -0,0 +1,223 @@
+package jy.Job_Flow_Agent.redis;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import jy.Job_Flow_Agent.Redis.ChatMessageCodec;
+import jy.Job_Flow_Agent.Redis.RedisChatMemoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("RedisChatMemoryStore 단위 테스트 (TestContainers Redis)")
+class RedisChatMemoryStoreTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisChatMemoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        factory.afterPropertiesSet();
+
+        stringRedisTemplate = new StringRedisTemplate(factory);
+        store = new RedisChatMemoryStore(stringRedisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.getConnectionFactory().getConnection().flushAll();
+        factory.destroy();
+    }
+
+    private ChatMemory memory(RedisChatMemoryStore chatMemoryStore, int maxMessages) {
+        return MessageWindowChatMemory.builder()
+                .id("testuser")
+                .maxMessages(maxMessages)
+                .chatMemoryStore(chatMemoryStore)
+                .build();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RCM-01: 추가 + 윈도우 초과분 제거 (시스템 메시지 유지)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RCM-01: add() 반복 - 시스템 메시지는 유지하고 오래된 메시지만 제거, 다른 노드에서도 같은 순서로 조회")
+    void add_appendsAndTrimsWindow() {
+        // given
+        ChatMemory memory = memory(store, 4);
+        List<ChatMessage> added = new ArrayList<>();
+        added.add(SystemMessage.from("너는 취업 도우미야"));
+        for (int i = 1; i <= 3; i++) {
+            added.add(UserMessage.from("질문 " + i));
+            added.add(AiMessage.from("답변 " + i));
+        }
+
+        // when
+        added.forEach(memory::add);
+
+        // then
+        List<ChatMessage> expected = List.of(added.get(0), added.get(4), added.get(5), added.get(6));
+        assertThat(memory.messages()).containsExactlyElementsOf(expected);
+        assertThat(new RedisChatMemoryStore(stringRedisTemplate).getMessages("testuser"))
+                .containsExactlyElementsOf(expected);
+        assertThat(stringRedisTemplate.opsForList().size("chat:memory:testuser")).isEqualTo(4);
+        assertThat(stringRedisTemplate.opsForValue().get("chat:memory:version:testuser")).isEqualTo("7");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RCM-02: 다른 노드가 먼저 변경한 경우 전체 재작성
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RCM-02: updateMessages() - 읽은 뒤 다른 노드가 변경했으면 변경분 대신 전체 재작성으로 일관성 유지")
+    void updateMessages_rewritesWhenChangedElsewhere() {
+        // given
+        RedisChatMemoryStore otherNode = new RedisChatMemoryStore(stringRedisTemplate);
+        memory(store, 10).add(UserMessage.from("질문 1"));
+        List<ChatMessage> read = store.getMessages("testuser");
+        memory(otherNode, 10).add(AiMessage.from("다른 노드 답변"));
+
+        // when
+        List<ChatMessage> updated = new ArrayList<>(read);
+        updated.add(AiMessage.from("이 노드 답변"));
+        store.updateMessages("testuser", updated);
+
+        // then
+        assertThat(otherNode.getMessages("testuser"))
+                .containsExactly(UserMessage.from("질문 1"), AiMessage.from("이 노드 답변"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RCM-03: TTL 갱신 / 삭제
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RCM-03: add() 시 메시지/버전 키 TTL 갱신, deleteMessages() 시 두 키 모두 삭제")
+    void add_refreshesTtlAndDeleteRemovesKeys() {
+        // given
+        RedisChatMemoryStore shortLived = new RedisChatMemoryStore(stringRedisTemplate, Duration.ofMinutes(10));
+        ChatMemory memory = memory(shortLived, 10);
+
+        // when
+        memory.add(UserMessage.from("질문 1"));
+
+        // then
+        assertThat(stringRedisTemplate.getExpire("chat:memory:testuser")).isBetween(590L, 600L);
+        assertThat(stringRedisTemplate.getExpire("chat:memory:version:testuser")).isBetween(590L, 600L);
+
+        shortLived.deleteMessages("testuser");
+        assertThat(stringRedisTemplate.hasKey("chat:memory:testuser")).isFalse();
+        assertThat(stringRedisTemplate.hasKey("chat:memory:version:testuser")).isFalse();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RCM-04: 이전 형식(JSON) 항목 호환
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RCM-04: getMessages() - 배포 전에 JSON 으로 저장된 대화도 읽고, 이어서 추가한 메시지는 바이너리로 저장")
+    void getMessages_readsLegacyJsonEntries() {
+        // given
+        UserMessage legacyQuestion = UserMessage.from("예전 질문");
+        AiMessage legacyAnswer = AiMessage.from("예전 답변");
+        stringRedisTemplate.opsForList().rightPushAll("chat:memory:testuser",
+                ChatMessageSerializer.messageToJson(legacyQuestion), ChatMessageSerializer.messageToJson(legacyAnswer));
+
+        // when
+        memory(store, 10).add(UserMessage.from("새 질문"));
+
+        // then
+        assertThat(new RedisChatMemoryStore(stringRedisTemplate).getMessages("testuser"))
+                .containsExactly(legacyQuestion, legacyAnswer, UserMessage.from("새 질문"));
+        assertThat(stringRedisTemplate.opsForList().index("chat:memory:testuser", 0)).startsWith("{");
+        assertThat(stringRedisTemplate.opsForList().index("chat:memory:testuser", 2)).doesNotStartWith("{");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RCM-05: 근접 캐시 - 유효 시간 안에는 로컬, 지나면 버전 확인
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RCM-05: getMessages() - 유효 시간 안에는 Redis 를 읽지 않고, 유효 시간이 지나면 버전이 바뀐 경우에만 다시 읽음")
+    void getMessages_servesNearCacheUntilVersionChanges() {
+        // given
+        RedisChatMemoryStore cached = new RedisChatMemoryStore(stringRedisTemplate, Duration.ofHours(1),
+                new ChatMessageCodec(), 10, Duration.ofHours(1));
+        RedisChatMemoryStore verifying = new RedisChatMemoryStore(stringRedisTemplate, Duration.ofHours(1),
+                new ChatMessageCodec(), 10, Duration.ZERO);
+        memory(store, 10).add(UserMessage.from("질문 1"));
+        cached.getMessages("testuser");
+        verifying.getMessages("testuser");
+
+        // when
+        memory(store, 10).add(AiMessage.from("답변 1"));
+
+        // then
+        assertThat(cached.getMessages("testuser")).containsExactly(UserMessage.from("질문 1"));
+        assertThat(verifying.getMessages("testuser"))
+                .containsExactly(UserMessage.from("질문 1"), AiMessage.from("답변 1"));
+
+        List<ChatMessage> copy = verifying.getMessages("testuser");
+        copy.clear();
+        assertThat(verifying.getMessages("testuser")).hasSize(2);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  RCM-06: 근접 캐시 - 다른 노드 쓰기 시 Pub/Sub 무효화
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("RCM-06: listen() - 다른 노드가 쓰면 유효 시간 전이라도 근접 캐시를 버리고 새 목록을 읽음")
+    void listen_invalidatesOnRemoteWrite() throws Exception {
+        // given
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.afterPropertiesSet();
+        container.start();
+        RedisChatMemoryStore cached = new RedisChatMemoryStore(stringRedisTemplate, Duration.ofHours(1),
+                new ChatMessageCodec(), 10, Duration.ofHours(1));
+        cached.listen(container);
+        memory(store, 10).add(UserMessage.from("질문 0"));
+        cached.getMessages("testuser");
+
+        try {
+            // when - 구독이 비동기로 활성화되므로 반영될 때까지 다른 노드에서 추가
+            List<ChatMessage> seen = List.of();
+            for (int i = 1; i <= 50 && seen.size() < 2; i++) {
+                memory(store, 100).add(UserMessage.from("질문 " + i));
+                Thread.sleep(100);
+                seen = cached.getMessages("testuser");
+            }
+
+            // then
+            assertThat(seen).hasSizeGreaterThanOrEqualTo(2);
+            assertThat(seen).isEqualTo(store.getMessages("testuser"));
+        } finally {
+            cached.stop();
+            container.destroy();
+        }
+    }
+}
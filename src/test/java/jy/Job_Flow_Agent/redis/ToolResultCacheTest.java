@@ -0,0 +1,138 @@
+package jy.Job_Flow_Agent.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jy.Job_Flow_Agent.AI.Tools.ToolCache;
+import jy.Job_Flow_Agent.AI.Tools.ToolResultCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("ToolResultCache 단위 테스트 (TestContainers Redis)")
+class ToolResultCacheTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate stringRedisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ToolResultCache toolResultCache;
+    private ToolCache ragCache;
+
+    static class CachedTools {
+
+        @ToolCache(ttlSeconds = 600, group = ToolResultCache.GROUP_RAG)
+        public String searchMyDocuments(String query) {
+            return query;
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        factory.afterPropertiesSet();
+
+        stringRedisTemplate = new StringRedisTemplate(factory);
+        meterRegistry = new SimpleMeterRegistry();
+        toolResultCache = new ToolResultCache(stringRedisTemplate, new ObjectMapper(), meterRegistry);
+        ragCache = CachedTools.class.getMethod("searchMyDocuments", String.class).getAnnotation(ToolCache.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.getConnectionFactory().getConnection().flushAll();
+        factory.destroy();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TRC-01: 표현만 다른 같은 인자면 캐시 적중
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TRC-01: put() 후 get() - 공백/대소문자/키 순서만 다른 인자면 저장된 결과 반환, 다른 대화는 미스")
+    void get_hitsForEquivalentArguments() {
+        // given
+        toolResultCache.put("testuser", "searchMyDocuments", ragCache,
+                "{\"query\":\"Java  경력\",\"limit\":3}", "검색 결과");
+
+        // when & then
+        assertThat(toolResultCache.get("testuser", "searchMyDocuments", ragCache,
+                "{\"limit\":3,\"query\":\" java 경력 \"}")).contains("검색 결과");
+        assertThat(toolResultCache.get("otheruser", "searchMyDocuments", ragCache,
+                "{\"query\":\"Java  경력\",\"limit\":3}")).isEmpty();
+        assertThat(meterRegistry.get("ai.tool.cache").tags("tool", "searchMyDocuments", "result", "hit")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.tool.cache").tags("tool", "searchMyDocuments", "result", "miss")
+                .counter().count()).isEqualTo(1);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TRC-02: 무효화 후 이전 결과 미스
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TRC-02: invalidate() - 세대가 올라가 이전 결과는 조회되지 않고, 새로 저장한 결과만 적중")
+    void invalidate_missesPreviousGeneration() {
+        // given
+        String arguments = "{\"query\":\"프로젝트\"}";
+        toolResultCache.put("testuser", "searchMyDocuments", ragCache, arguments, "이전 결과");
+
+        // when
+        toolResultCache.invalidate("testuser", ToolResultCache.GROUP_RAG);
+
+        // then
+        assertThat(toolResultCache.get("testuser", "searchMyDocuments", ragCache, arguments)).isEmpty();
+        toolResultCache.put("testuser", "searchMyDocuments", ragCache, arguments, "새 결과");
+        assertThat(toolResultCache.get("testuser", "searchMyDocuments", ragCache, arguments)).contains("새 결과");
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TRC-03: @ToolCache TTL 적용
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TRC-03: put() - @ToolCache.ttlSeconds 로 만료 시간 설정")
+    void put_appliesAnnotationTtl() {
+        // when
+        toolResultCache.put("testuser", "searchMyDocuments", ragCache, "{\"query\":\"기술 스택\"}", "결과");
+
+        // then
+        Set<String> keys = stringRedisTemplate.keys("tool:cache:testuser:searchMyDocuments:*");
+        assertThat(keys).hasSize(1);
+        Long ttl = stringRedisTemplate.getExpire(keys.iterator().next());
+        assertThat(ttl).isBetween(590L, 600L);
+    }
+
+    // ─────────────────────────────────────────────────
+    //  TRC-04: Tool 실행 중 무효화
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("TRC-04: resolveKey() - 조회 시점 키로 저장하면 실행 중 무효화된 결과는 새 세대에서 조회되지 않음")
+    void put_withResolvedKey_ignoresInvalidationDuringRun() {
+        // given - Tool 실행 전 조회
+        String arguments = "{\"query\":\"프로젝트\"}";
+        String key = toolResultCache.resolveKey("testuser", "searchMyDocuments", ragCache, arguments).orElseThrow();
+        assertThat(toolResultCache.get(key, "searchMyDocuments")).isEmpty();
+
+        // when - 실행 중 문서 업로드로 무효화된 뒤 저장
+        toolResultCache.invalidate("testuser", ToolResultCache.GROUP_RAG);
+        toolResultCache.put(key, "searchMyDocuments", ragCache, "이전 문서 기준 결과");
+
+        // then
+        assertThat(toolResultCache.get("testuser", "searchMyDocuments", ragCache, arguments)).isEmpty();
+    }
+}
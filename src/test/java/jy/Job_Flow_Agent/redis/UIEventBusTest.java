@@ -0,0 +1,151 @@
+package jy.Job_Flow_Agent.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jy.Job_Flow_Agent.AI.Event.UIEvent;
+import jy.Job_Flow_Agent.AI.Event.UIEventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@DisplayName("UIEventBus 단위 테스트 (TestContainers Redis, 2개 노드)")
+class UIEventBusTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private record Delivery(String username, String streamId, UIEvent event) {
+    }
+
+    private LettuceConnectionFactory factory;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisMessageListenerContainer containerA;
+    private RedisMessageListenerContainer containerB;
+    private UIEventBus nodeA;
+    private UIEventBus nodeB;
+    private final BlockingQueue<Delivery> deliveredToB = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379))
+        );
+        factory.afterPropertiesSet();
+
+        stringRedisTemplate = new StringRedisTemplate(factory);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        containerA = listenerContainer();
+        containerB = listenerContainer();
+        nodeA = new UIEventBus(stringRedisTemplate, containerA, objectMapper);
+        nodeB = new UIEventBus(stringRedisTemplate, containerB, objectMapper);
+        nodeA.listen((username, streamId, event) -> { });
+        nodeB.listen((username, streamId, event) -> deliveredToB.add(new Delivery(username, streamId, event)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        containerA.destroy();
+        containerB.destroy();
+        stringRedisTemplate.getConnectionFactory().getConnection().flushAll();
+        factory.destroy();
+    }
+
+    private RedisMessageListenerContainer listenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    /**
+     * 구독이 비동기로 활성화되므로 수신 노드가 생길 때까지 재발행
+     */
+    private int publishUntilReceived(UIEventBus publisher, String username, String streamId, UIEvent event)
+            throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            int delivered = publisher.publishRemote(username, streamId, event);
+            if (delivered > 0) {
+                return delivered;
+            }
+            nodeB.registerStream(username, "stream-b"); // 구독 전 발행으로 정리된 레지스트리 복구
+            Thread.sleep(100);
+        }
+        return 0;
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UEB-01: 다른 노드의 스트림으로 전달 (JSON 배열 직렬화)
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UEB-01: publishRemote() - 노드 A 에서 발행한 이벤트가 노드 B 의 스트림으로 전달됨")
+    void publishRemote_deliversToOtherNode() throws Exception {
+        // given
+        nodeB.registerStream("testuser", "stream-b");
+        UIEvent event = new UIEvent("JOB_POSTING", Map.of("companyName", "테스트컴퍼니"));
+
+        // when
+        int delivered = publishUntilReceived(nodeA, "testuser", "stream-b", event);
+
+        // then
+        assertThat(delivered).isEqualTo(1);
+        Delivery delivery = deliveredToB.poll(5, TimeUnit.SECONDS);
+        assertThat(delivery).isNotNull();
+        assertThat(delivery.username()).isEqualTo("testuser");
+        assertThat(delivery.streamId()).isEqualTo("stream-b");
+        assertThat(delivery.event().getType()).isEqualTo("JOB_POSTING");
+        assertThat(delivery.event().getData()).isEqualTo(Map.of("companyName", "테스트컴퍼니"));
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UEB-02: 같은 노드의 스트림은 원격 발행 대상에서 제외
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UEB-02: publishRemote() - 발행 노드 자신의 스트림만 있으면 발행하지 않음")
+    void publishRemote_skipsOwnNode() {
+        // given
+        nodeA.registerStream("testuser", "stream-a");
+
+        // when
+        int delivered = nodeA.publishRemote("testuser", null, new UIEvent("JOB_POSTING", "card"));
+
+        // then
+        assertThat(delivered).isZero();
+        assertThat(deliveredToB).isEmpty();
+    }
+
+    // ─────────────────────────────────────────────────
+    //  UEB-03: 구독자 없는 노드의 스트림은 레지스트리에서 정리
+    // ─────────────────────────────────────────────────
+    @Test
+    @DisplayName("UEB-03: publishRemote() - 종료된 노드로 등록된 스트림은 발행 후 레지스트리에서 제거")
+    void publishRemote_removesStreamsOfDeadNode() {
+        // given
+        stringRedisTemplate.opsForHash().put("ui:streams:testuser", "stream-dead", "dead-node");
+
+        // when
+        int delivered = nodeA.publishRemote("testuser", null, new UIEvent("JOB_POSTING", "card"));
+
+        // then
+        assertThat(delivered).isZero();
+        assertThat(stringRedisTemplate.opsForHash().hasKey("ui:streams:testuser", "stream-dead")).isFalse();
+    }
+}